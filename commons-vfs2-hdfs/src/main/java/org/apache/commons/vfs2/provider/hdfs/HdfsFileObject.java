@@ -20,7 +20,9 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Stream;
@@ -32,10 +34,13 @@ import org.apache.commons.vfs2.FileType;
 import org.apache.commons.vfs2.RandomAccessContent;
 import org.apache.commons.vfs2.provider.AbstractFileName;
 import org.apache.commons.vfs2.provider.AbstractFileObject;
+import org.apache.commons.vfs2.provider.UriParser;
+import org.apache.commons.vfs2.util.FileObjectUtils;
 import org.apache.commons.vfs2.util.RandomAccessMode;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RemoteIterator;
 
 /**
  * A VFS representation of an HDFS file.
@@ -44,11 +49,15 @@ import org.apache.hadoop.fs.Path;
  */
 public class HdfsFileObject extends AbstractFileObject<HdfsFileSystem> {
 
-    private final HdfsFileSystem fs;
     private final FileSystem hdfs;
     private final Path path;
     private FileStatus stat;
 
+    /**
+     * The status of this file from the listing of its parent folder, null until the parent lists it.
+     */
+    private volatile FileStatus listedStat;
+
     /**
      * Constructs a new HDFS FileObject
      *
@@ -60,7 +69,6 @@ public class HdfsFileObject extends AbstractFileObject<HdfsFileSystem> {
     protected HdfsFileObject(final AbstractFileName name, final HdfsFileSystem fs, final FileSystem hdfs,
             final Path path) {
         super(name, fs);
-        this.fs = fs;
         this.hdfs = hdfs;
         this.path = path;
     }
@@ -87,6 +95,12 @@ public class HdfsFileObject extends AbstractFileObject<HdfsFileSystem> {
      */
     @Override
     protected void doAttach() throws Exception {
+        final FileStatus listed = listedStat;
+        if (listed != null) {
+            // Provided by the listing of the parent folder since the last refresh
+            stat = listed;
+            return;
+        }
         try {
             stat = hdfs.getFileStatus(path);
         } catch (final FileNotFoundException e) {
@@ -100,6 +114,7 @@ public class HdfsFileObject extends AbstractFileObject<HdfsFileSystem> {
      */
     @Override
     protected void doCreateFolder() throws Exception {
+        listedStat = null;
         hdfs.mkdirs(path);
     }
 
@@ -109,9 +124,19 @@ public class HdfsFileObject extends AbstractFileObject<HdfsFileSystem> {
      */
     @Override
     protected void doDelete() throws Exception {
+        listedStat = null;
         hdfs.delete(path, true);
     }
 
+    /**
+     * @see org.apache.commons.vfs2.provider.AbstractFileObject#doDetach()
+     */
+    @Override
+    protected void doDetach() throws Exception {
+        // The listing of the parent folder is outdated once this file is attached again
+        listedStat = null;
+    }
+
     /**
      * @see org.apache.commons.vfs2.provider.AbstractFileObject#doGetAttributes()
      */
@@ -168,6 +193,7 @@ public class HdfsFileObject extends AbstractFileObject<HdfsFileSystem> {
         if (append) {
             throw new FileSystemException("vfs.provider/write-append-not-supported.error", path.getName());
         }
+        listedStat = null;
         return hdfs.create(path);
     }
 
@@ -240,6 +266,9 @@ public class HdfsFileObject extends AbstractFileObject<HdfsFileSystem> {
     }
 
     /**
+     * Lists the children of this folder in batches, and gives each child the status listed for it, so that it does not
+     * fetch it again.
+     *
      * @see org.apache.commons.vfs2.provider.AbstractFileObject#doListChildrenResolved()
      */
     @Override
@@ -247,13 +276,22 @@ public class HdfsFileObject extends AbstractFileObject<HdfsFileSystem> {
         if (doGetType() != FileType.FOLDER) {
             return null;
         }
-        final String[] children = doListChildren();
-        final FileObject[] fo = new FileObject[children.length];
-        for (int i = 0; i < children.length; i++) {
-            final Path p = new Path(path, children[i]);
-            fo[i] = fs.resolveFile(p.toUri().toString());
+        final List<FileObject> children = new ArrayList<>();
+        final RemoteIterator<FileStatus> fileStatuses = hdfs.listStatusIterator(path);
+        while (fileStatuses.hasNext()) {
+            final FileStatus status = fileStatuses.next();
+            if (status == null) {
+                continue;
+            }
+            final String childName = UriParser.encode(status.getPath().getName());
+            final FileObject child = resolveFileInternal(resolveChildName(childName));
+            final HdfsFileObject hdfsChild = (HdfsFileObject) FileObjectUtils.getAbstractFileObject(child);
+            hdfsChild.listedStat = status;
+            // Clear the cached type so that it is evaluated again from the listed status
+            hdfsChild.injectType(null);
+            children.add(child);
         }
-        return fo;
+        return children.toArray(FileObject.EMPTY_ARRAY);
     }
 
     /**
@@ -270,6 +308,7 @@ public class HdfsFileObject extends AbstractFileObject<HdfsFileSystem> {
      */
     @Override
     protected void doRename(final FileObject newfile) throws Exception {
+        listedStat = null;
         hdfs.rename(path, new Path(newfile.getName().getPath()));
     }
 
@@ -286,6 +325,7 @@ public class HdfsFileObject extends AbstractFileObject<HdfsFileSystem> {
      */
     @Override
     protected boolean doSetLastModifiedTime(final long modtime) throws Exception {
+        listedStat = null;
         try {
             hdfs.setTimes(path, modtime, System.currentTimeMillis());
         } catch (final IOException ioe) {
@@ -310,4 +350,16 @@ public class HdfsFileObject extends AbstractFileObject<HdfsFileSystem> {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Also discards the status from the listing of the parent folder, which can be set without attaching this file.
+     * </p>
+     */
+    @Override
+    public void refresh() throws FileSystemException {
+        super.refresh();
+        listedStat = null;
+    }
+
 }
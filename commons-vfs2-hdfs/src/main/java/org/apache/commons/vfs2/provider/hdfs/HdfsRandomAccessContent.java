@@ -18,12 +18,14 @@ package org.apache.commons.vfs2.provider.hdfs;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 import org.apache.commons.vfs2.provider.AbstractRandomAccessContent;
 import org.apache.commons.vfs2.util.RandomAccessMode;
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.StreamCapabilities;
 
 /**
  * Provides random access to content in an HdfsFileObject. Currently this only supports read operations. All write
@@ -83,6 +85,56 @@ public class HdfsRandomAccessContent extends AbstractRandomAccessContent {
         return fs.getFileStatus(path).getLen();
     }
 
+    /**
+     * Reads into the buffer directly when the underlying stream supports it.
+     *
+     * @see org.apache.commons.vfs2.RandomAccessContent#read(ByteBuffer)
+     */
+    @Override
+    public int read(final ByteBuffer dst) throws IOException {
+        if (fis.hasCapability(StreamCapabilities.READBYTEBUFFER)) {
+            return fis.read(dst);
+        }
+        if (dst.hasArray()) {
+            final int count = fis.read(dst.array(), dst.arrayOffset() + dst.position(), dst.remaining());
+            if (count > 0) {
+                dst.position(dst.position() + count);
+            }
+            return count;
+        }
+        final byte[] bytes = new byte[dst.remaining()];
+        final int count = fis.read(bytes);
+        if (count > 0) {
+            dst.put(bytes, 0, count);
+        }
+        return count;
+    }
+
+    /**
+     * Reads with a positioned read of the underlying stream, which does not move the file pointer.
+     *
+     * @see org.apache.commons.vfs2.RandomAccessContent#read(ByteBuffer, long)
+     */
+    @Override
+    public int read(final ByteBuffer dst, final long position) throws IOException {
+        if (fis.hasCapability(StreamCapabilities.PREADBYTEBUFFER)) {
+            return fis.read(position, dst);
+        }
+        if (dst.hasArray()) {
+            final int count = fis.read(position, dst.array(), dst.arrayOffset() + dst.position(), dst.remaining());
+            if (count > 0) {
+                dst.position(dst.position() + count);
+            }
+            return count;
+        }
+        final byte[] bytes = new byte[dst.remaining()];
+        final int count = fis.read(position, bytes, 0, bytes.length);
+        if (count > 0) {
+            dst.put(bytes, 0, count);
+        }
+        return count;
+    }
+
     /**
      * @see java.io.DataInput#readBoolean()
      */
@@ -27,6 +27,7 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.util.Map;
 
 import org.apache.commons.io.FileUtils;
@@ -311,6 +312,29 @@ public class HdfsFileProviderTest {
         assertNotEquals(-1, file.getContent().getLastModifiedTime());
     }
 
+    @Test
+    public void testListedChildChanged() throws Exception {
+        final FileObject file = createTestFile(hdfs);
+        final FileObject[] children = file.getParent().getChildren();
+        assertEquals(1, children.length);
+        final FileObject child = children[0];
+        assertEquals(FileType.FILE, child.getType());
+        assertEquals(0, child.getContent().getSize());
+
+        // Change the file behind the listed file object, which then reads its status again once detached
+        try (OutputStream out = hdfs.create(FILE1_PATH, true)) {
+            out.write(new byte[] {1, 2, 3});
+        }
+        child.close();
+        assertEquals(FileType.FILE, child.getType());
+        assertEquals(3, child.getContent().getSize());
+
+        hdfs.delete(FILE1_PATH, false);
+        hdfs.mkdirs(FILE1_PATH);
+        child.close();
+        assertEquals(FileType.FOLDER, child.getType());
+    }
+
     @Test
     public void testRandomAccessContent() throws Exception {
         final FileObject fo = manager.resolveFile(TEST_DIR1);
@@ -40,7 +40,6 @@ import org.apache.commons.vfs2.FileNotFoundException;
 import org.apache.commons.vfs2.FileObject;
 import org.apache.commons.vfs2.FileSystemException;
 import org.apache.commons.vfs2.FileType;
-import org.apache.commons.vfs2.NameScope;
 import org.apache.commons.vfs2.provider.AbstractFileName;
 import org.apache.commons.vfs2.provider.DefaultFileContent;
 import org.apache.commons.vfs2.provider.URLFileName;
@@ -53,6 +52,7 @@ import org.apache.jackrabbit.webdav.MultiStatus;
 import org.apache.jackrabbit.webdav.MultiStatusResponse;
 import org.apache.jackrabbit.webdav.client.methods.CheckinMethod;
 import org.apache.jackrabbit.webdav.client.methods.CheckoutMethod;
+import org.apache.jackrabbit.webdav.client.methods.CopyMethod;
 import org.apache.jackrabbit.webdav.client.methods.DavMethod;
 import org.apache.jackrabbit.webdav.client.methods.DeleteMethod;
 import org.apache.jackrabbit.webdav.client.methods.MkColMethod;
@@ -192,6 +192,7 @@ public class WebdavFileObject extends HttpFileObject<WebdavFileSystem> {
                 }
             }
             ((DefaultFileContent) file.getContent()).resetAttributes();
+            file.listedProperties = null;
         }
 
         private void setUserName(final URLFileName fileName, final String urlStr) throws IOException {
@@ -224,6 +225,11 @@ public class WebdavFileObject extends HttpFileObject<WebdavFileSystem> {
 
     private final WebdavFileSystem fileSystem;
 
+    /**
+     * The properties of this file from the listing of its parent folder, null until the parent lists it.
+     */
+    private volatile DavPropertySet listedProperties;
+
     /**
      * Constructs a new instance.
      *
@@ -245,6 +251,18 @@ public class WebdavFileObject extends HttpFileObject<WebdavFileSystem> {
         httpMethod.getParams().setParameter(HttpMethodParams.RETRY_HANDLER, WebdavMethodRetryHandler.getInstance());
     }
 
+    /**
+     * Has the server copy this file with a WebDAV COPY request.
+     */
+    @Override
+    protected void doCopyTo(final FileObject destFile) throws Exception {
+        final String url = encodePath(toUrlString((URLFileName) getName()));
+        final String dest = toUrlString((URLFileName) destFile.getName(), false);
+        final DavMethod method = new CopyMethod(url, dest, true);
+        setupMethod(method);
+        execute(method);
+    }
+
     /**
      * Creates this file as a folder.
      */
@@ -264,11 +282,21 @@ public class WebdavFileObject extends HttpFileObject<WebdavFileSystem> {
      */
     @Override
     protected void doDelete() throws Exception {
+        listedProperties = null;
         final DavMethod method = new DeleteMethod(toUrlString((URLFileName) getName()));
         setupMethod(method);
         execute(method);
     }
 
+    /**
+     * Detaches this file object from its file resource, forgetting the properties listed by its parent.
+     */
+    @Override
+    protected void doDetach() throws Exception {
+        listedProperties = null;
+        super.doDetach();
+    }
+
     /**
      * Returns the properties of the WebDAV resource.
      */
@@ -312,7 +340,7 @@ public class WebdavFileObject extends HttpFileObject<WebdavFileSystem> {
      */
     @Override
     protected long doGetContentSize() throws Exception {
-        final DavProperty property = getProperty((URLFileName) getName(), DavConstants.PROPERTY_GETCONTENTLENGTH);
+        final DavProperty property = getProperty(DavPropertyName.GETCONTENTLENGTH);
         if (property != null) {
             final String value = (String) property.getValue();
             return Long.parseLong(value);
@@ -326,7 +354,7 @@ public class WebdavFileObject extends HttpFileObject<WebdavFileSystem> {
      */
     @Override
     protected long doGetLastModifiedTime() throws Exception {
-        final DavProperty property = getProperty((URLFileName) getName(), DavConstants.PROPERTY_GETLASTMODIFIED);
+        final DavProperty property = getProperty(DavPropertyName.GETLASTMODIFIED);
         if (property != null) {
             final String value = (String) property.getValue();
             return DateUtil.parseDate(value).getTime();
@@ -345,6 +373,10 @@ public class WebdavFileObject extends HttpFileObject<WebdavFileSystem> {
      */
     @Override
     protected FileType doGetType() throws Exception {
+        final DavPropertySet properties = listedProperties;
+        if (properties != null) {
+            return isCollection(properties.get(DavPropertyName.RESOURCETYPE)) ? FileType.FOLDER : FileType.FILE;
+        }
         try {
             return isDirectory((URLFileName) getName()) ? FileType.FOLDER : FileType.FILE;
         } catch (final FileNotFolderException | FileNotFoundException fnfe) {
@@ -378,15 +410,23 @@ public class WebdavFileObject extends HttpFileObject<WebdavFileSystem> {
 
     /**
      * Lists the children of the file.
+     * <p>
+     * The listing also requests the type, size, last modified time and entity tag of the children, so that they do
+     * not request them one by one.
+     * </p>
      */
     @Override
     protected FileObject[] doListChildrenResolved() throws Exception {
         PropFindMethod method = null;
         try {
             final URLFileName name = (URLFileName) getName();
-            if (isDirectory(name)) {
+            if (getType().hasChildren()) {
                 final DavPropertyNameSet nameSet = new DavPropertyNameSet();
-                nameSet.add(DavPropertyName.create(DavConstants.PROPERTY_DISPLAYNAME));
+                nameSet.add(DavPropertyName.DISPLAYNAME);
+                nameSet.add(DavPropertyName.RESOURCETYPE);
+                nameSet.add(DavPropertyName.GETCONTENTLENGTH);
+                nameSet.add(DavPropertyName.GETLASTMODIFIED);
+                nameSet.add(DavPropertyName.GETETAG);
 
                 method = new PropFindMethod(toUrlString(name), nameSet, DavConstants.DEPTH_1);
 
@@ -402,8 +442,10 @@ public class WebdavFileObject extends HttpFileObject<WebdavFileSystem> {
                         final String resourceName = resourceName(response.getHref());
                         if (!resourceName.isEmpty()) {
                             final WebdavFileObject fo = (WebdavFileObject) FileObjectUtils.getAbstractFileObject(
-                                    getFileSystem().resolveFile(getFileSystem().getFileSystemManager()
-                                            .resolveName(getName(), resourceName, NameScope.CHILD)));
+                                    resolveFileInternal(resolveChildName(resourceName)));
+                            fo.listedProperties = response.getProperties(HttpStatus.SC_OK);
+                            // Clear the cached type so that it is evaluated again from the listed properties
+                            fo.injectType(null);
                             vfs.add(fo);
                         }
                     }
@@ -427,6 +469,7 @@ public class WebdavFileObject extends HttpFileObject<WebdavFileSystem> {
      */
     @Override
     protected void doRename(final FileObject newFile) throws Exception {
+        listedProperties = null;
         final String url = encodePath(toUrlString((URLFileName) getName()));
         final String dest = toUrlString((URLFileName) newFile.getName(), false);
         final DavMethod method = new MoveMethod(url, dest, false);
@@ -530,6 +573,18 @@ public class WebdavFileObject extends HttpFileObject<WebdavFileSystem> {
         }
     }
 
+    /**
+     * Gets a property of this file, from the listing of its parent folder if it listed this file.
+     *
+     * @param name The property name.
+     * @return The property, or null if the file does not have it.
+     * @throws FileSystemException if an error occurs.
+     */
+    private DavProperty getProperty(final DavPropertyName name) throws FileSystemException {
+        final DavPropertySet properties = listedProperties;
+        return properties != null ? properties.get(name) : getProperty((URLFileName) getName(), name);
+    }
+
     DavProperty getProperty(final URLFileName fileName, final DavPropertyName name) throws FileSystemException {
         final DavPropertyNameSet nameSet = new DavPropertyNameSet();
         nameSet.add(name);
@@ -569,14 +624,17 @@ public class WebdavFileObject extends HttpFileObject<WebdavFileSystem> {
         return href.equals(name) || href.equals(fileName.getPath());
     }
 
+    private boolean isCollection(final DavProperty resourceType) {
+        final Node node;
+        if (resourceType != null && (node = (Node) resourceType.getValue()) != null) {
+            return node.getLocalName().equals(DavConstants.XML_COLLECTION);
+        }
+        return false;
+    }
+
     private boolean isDirectory(final URLFileName name) throws IOException {
         try {
-            final DavProperty property = getProperty(name, DavConstants.PROPERTY_RESOURCETYPE);
-            final Node node;
-            if (property != null && (node = (Node) property.getValue()) != null) {
-                return node.getLocalName().equals(DavConstants.XML_COLLECTION);
-            }
-            return false;
+            return isCollection(getProperty(name, DavConstants.PROPERTY_RESOURCETYPE));
         } catch (final FileNotFoundException fse) {
             throw new FileNotFolderException(name);
         }
@@ -586,6 +644,19 @@ public class WebdavFileObject extends HttpFileObject<WebdavFileSystem> {
         // TODO Consider logging.
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Also discards the properties from the listing of the parent folder, which can be set without attaching this
+     * file.
+     * </p>
+     */
+    @Override
+    public void refresh() throws FileSystemException {
+        super.refresh();
+        listedProperties = null;
+    }
+
     /**
      * Returns the resource name from the path.
      *
@@ -55,7 +55,7 @@ public class WebdavFileProvider extends HttpFileProvider {
             .unmodifiableCollection(Arrays.asList(Capability.CREATE, Capability.DELETE, Capability.RENAME, Capability.GET_TYPE,
                     Capability.LIST_CHILDREN, Capability.READ_CONTENT, Capability.URI, Capability.WRITE_CONTENT,
                     Capability.GET_LAST_MODIFIED, Capability.ATTRIBUTES, Capability.RANDOM_ACCESS_READ,
-                    Capability.DIRECTORY_READ_CONTENT));
+                    Capability.DIRECTORY_READ_CONTENT, Capability.COPY_SERVER_SIDE));
 
     /**
      * Constructs a new instance.
@@ -77,6 +77,7 @@ public class WebdavProviderTestSuite extends ProviderTestSuiteJunit5 {
         addTests(LastModifiedTests.class);
         addTests(UrlTests.class);
         addTests(UrlStructureTests.class);
+        addTests(WebdavListChildrenTests.class);
         // The class loader test requires the classes be uploaded to the webdav repo.
         // addTests(VfsClassLoaderTests.class);
     }
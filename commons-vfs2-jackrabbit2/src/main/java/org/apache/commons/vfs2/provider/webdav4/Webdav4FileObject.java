@@ -31,7 +31,6 @@ import org.apache.commons.vfs2.FileNotFoundException;
 import org.apache.commons.vfs2.FileObject;
 import org.apache.commons.vfs2.FileSystemException;
 import org.apache.commons.vfs2.FileType;
-import org.apache.commons.vfs2.NameScope;
 import org.apache.commons.vfs2.provider.AbstractFileName;
 import org.apache.commons.vfs2.provider.DefaultFileContent;
 import org.apache.commons.vfs2.provider.GenericURLFileName;
@@ -55,6 +54,7 @@ import org.apache.jackrabbit.webdav.MultiStatusResponse;
 import org.apache.jackrabbit.webdav.client.methods.BaseDavRequest;
 import org.apache.jackrabbit.webdav.client.methods.HttpCheckin;
 import org.apache.jackrabbit.webdav.client.methods.HttpCheckout;
+import org.apache.jackrabbit.webdav.client.methods.HttpCopy;
 import org.apache.jackrabbit.webdav.client.methods.HttpDelete;
 import org.apache.jackrabbit.webdav.client.methods.HttpMkcol;
 import org.apache.jackrabbit.webdav.client.methods.HttpMove;
@@ -202,6 +202,7 @@ public class Webdav4FileObject extends Http4FileObject<Webdav4FileSystem> {
                 }
             }
             ((DefaultFileContent) file.getContent()).resetAttributes();
+            file.listedProperties = null;
         }
 
         private void setUserName(final GenericURLFileName fileName, final String urlStr) throws IOException {
@@ -236,6 +237,11 @@ public class Webdav4FileObject extends Http4FileObject<Webdav4FileSystem> {
     /** The FileSystemConfigBuilder */
     private final Webdav4FileSystemConfigBuilder builder;
 
+    /**
+     * The properties of this file from the listing of its parent folder, null until the parent lists it.
+     */
+    private volatile DavPropertySet listedProperties;
+
     /**
      * Constructs a new instance.
      *
@@ -262,6 +268,20 @@ public class Webdav4FileObject extends Http4FileObject<Webdav4FileSystem> {
         this.builder = builder;
     }
 
+    /**
+     * Has the server copy this file with a WebDAV COPY request.
+     */
+    @Override
+    protected void doCopyTo(final FileObject destFile) throws Exception {
+        final String url = toUrlString((GenericURLFileName) getName());
+        final String dest = toUrlString((GenericURLFileName) destFile.getName(), false);
+        final HttpCopy request = setupRequest(new HttpCopy(url, dest, true, false));
+        // AutoClose the underlying HTTP connection which is held by the response object
+        try (CloseableHttpResponse res = (CloseableHttpResponse) executeRequest(request)) {
+            request.succeeded(res);
+        }
+    }
+
     /**
      * Creates this file as a folder.
      */
@@ -284,6 +304,7 @@ public class Webdav4FileObject extends Http4FileObject<Webdav4FileSystem> {
      */
     @Override
     protected void doDelete() throws Exception {
+        listedProperties = null;
         final HttpDelete request = setupRequest(new HttpDelete(toUrlString((GenericURLFileName) getName())));
         // AutoClose the underlying HTTP connection which is held by the response object
         try (CloseableHttpResponse res = (CloseableHttpResponse) executeRequest(request)) {
@@ -292,6 +313,15 @@ public class Webdav4FileObject extends Http4FileObject<Webdav4FileSystem> {
         }
     }
 
+    /**
+     * Detaches this file object from its file resource, forgetting the properties listed by its parent.
+     */
+    @Override
+    protected void doDetach() throws Exception {
+        listedProperties = null;
+        super.doDetach();
+    }
+
     /**
      * Returns the properties of the Webdav resource.
      */
@@ -329,7 +359,7 @@ public class Webdav4FileObject extends Http4FileObject<Webdav4FileSystem> {
      */
     @Override
     protected long doGetContentSize() throws Exception {
-        final DavProperty<?> property = getProperty((GenericURLFileName) getName(), DavConstants.PROPERTY_GETCONTENTLENGTH);
+        final DavProperty<?> property = getProperty(DavPropertyName.GETCONTENTLENGTH);
         if (property != null) {
             final String value = (String) property.getValue();
             return Long.parseLong(value);
@@ -343,7 +373,7 @@ public class Webdav4FileObject extends Http4FileObject<Webdav4FileSystem> {
      */
     @Override
     protected long doGetLastModifiedTime() throws Exception {
-        final DavProperty<?> property = getProperty((GenericURLFileName) getName(), DavConstants.PROPERTY_GETLASTMODIFIED);
+        final DavProperty<?> property = getProperty(DavPropertyName.GETLASTMODIFIED);
         if (property != null) {
             final String value = (String) property.getValue();
             return DateUtils.parseDate(value).getTime();
@@ -362,6 +392,10 @@ public class Webdav4FileObject extends Http4FileObject<Webdav4FileSystem> {
      */
     @Override
     protected FileType doGetType() throws Exception {
+        final DavPropertySet properties = listedProperties;
+        if (properties != null) {
+            return isCollection(properties.get(DavPropertyName.RESOURCETYPE)) ? FileType.FOLDER : FileType.FILE;
+        }
         try {
             return isDirectory((GenericURLFileName) getName()) ? FileType.FOLDER : FileType.FILE;
         } catch (final FileNotFolderException | FileNotFoundException fnfe) {
@@ -395,15 +429,23 @@ public class Webdav4FileObject extends Http4FileObject<Webdav4FileSystem> {
 
     /**
      * Lists the children of the file.
+     * <p>
+     * The listing also requests the type, size, last modified time and entity tag of the children, so that they do
+     * not request them one by one.
+     * </p>
      */
     @Override
     protected FileObject[] doListChildrenResolved() throws Exception {
         HttpPropfind request = null;
         try {
             final GenericURLFileName name = (GenericURLFileName) getName();
-            if (isDirectory(name)) {
+            if (getType().hasChildren()) {
                 final DavPropertyNameSet nameSet = new DavPropertyNameSet();
-                nameSet.add(DavPropertyName.create(DavConstants.PROPERTY_DISPLAYNAME));
+                nameSet.add(DavPropertyName.DISPLAYNAME);
+                nameSet.add(DavPropertyName.RESOURCETYPE);
+                nameSet.add(DavPropertyName.GETCONTENTLENGTH);
+                nameSet.add(DavPropertyName.GETLASTMODIFIED);
+                nameSet.add(DavPropertyName.GETETAG);
 
                 request = new HttpPropfind(toUrlString(name), nameSet, DavConstants.DEPTH_1);
 
@@ -419,8 +461,10 @@ public class Webdav4FileObject extends Http4FileObject<Webdav4FileSystem> {
                             final String resourceName = resourceName(response.getHref());
                             if (!resourceName.isEmpty()) {
                                 final Webdav4FileObject fo = (Webdav4FileObject) FileObjectUtils.getAbstractFileObject(
-                                        getFileSystem().resolveFile(getFileSystem().getFileSystemManager()
-                                                .resolveName(getName(), resourceName, NameScope.CHILD)));
+                                        resolveFileInternal(resolveChildName(resourceName)));
+                                fo.listedProperties = response.getProperties(HttpStatus.SC_OK);
+                                // Clear the cached type so that it is evaluated again from the listed properties
+                                fo.injectType(null);
                                 vfs.add(fo);
                             }
                         }
@@ -441,6 +485,7 @@ public class Webdav4FileObject extends Http4FileObject<Webdav4FileSystem> {
      */
     @Override
     protected void doRename(final FileObject newFile) throws Exception {
+        listedProperties = null;
         final String url = toUrlString((GenericURLFileName) getName());
         final String dest = toUrlString((GenericURLFileName) newFile.getName(), false);
         final HttpMove request = setupRequest(new HttpMove(url, dest, false));
@@ -549,6 +594,18 @@ public class Webdav4FileObject extends Http4FileObject<Webdav4FileSystem> {
         }
     }
 
+    /**
+     * Gets a property of this file, from the listing of its parent folder if it listed this file.
+     *
+     * @param name The property name.
+     * @return The property, or null if the file does not have it.
+     * @throws FileSystemException if an error occurs.
+     */
+    private DavProperty<?> getProperty(final DavPropertyName name) throws FileSystemException {
+        final DavPropertySet properties = listedProperties;
+        return properties != null ? properties.get(name) : getProperty((GenericURLFileName) getName(), name);
+    }
+
     DavProperty<?> getProperty(final GenericURLFileName fileName, final DavPropertyName name) throws FileSystemException {
         final DavPropertyNameSet nameSet = new DavPropertyNameSet();
         nameSet.add(name);
@@ -588,14 +645,17 @@ public class Webdav4FileObject extends Http4FileObject<Webdav4FileSystem> {
         return href.equals(name) || href.equals(fileName.getPath());
     }
 
+    private boolean isCollection(final DavProperty<?> resourceType) {
+        final Node node;
+        if (resourceType != null && (node = (Node) resourceType.getValue()) != null) {
+            return node.getLocalName().equals(DavConstants.XML_COLLECTION);
+        }
+        return false;
+    }
+
     private boolean isDirectory(final GenericURLFileName name) throws IOException {
         try {
-            final DavProperty<?> property = getProperty(name, DavConstants.PROPERTY_RESOURCETYPE);
-            final Node node;
-            if (property != null && (node = (Node) property.getValue()) != null) {
-                return node.getLocalName().equals(DavConstants.XML_COLLECTION);
-            }
-            return false;
+            return isCollection(getProperty(name, DavConstants.PROPERTY_RESOURCETYPE));
         } catch (final FileNotFoundException fse) {
             throw new FileNotFolderException(name);
         }
@@ -605,6 +665,19 @@ public class Webdav4FileObject extends Http4FileObject<Webdav4FileSystem> {
         // TODO Consider logging
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Also discards the properties from the listing of the parent folder, which can be set without attaching this
+     * file.
+     * </p>
+     */
+    @Override
+    public void refresh() throws FileSystemException {
+        super.refresh();
+        listedProperties = null;
+    }
+
     /**
      * Returns the resource name from the path.
      *
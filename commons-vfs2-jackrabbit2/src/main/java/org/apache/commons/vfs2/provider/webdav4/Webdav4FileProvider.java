@@ -65,7 +65,8 @@ public class Webdav4FileProvider extends Http4FileProvider {
                             Capability.GET_LAST_MODIFIED,
                             Capability.ATTRIBUTES,
                             Capability.RANDOM_ACCESS_READ,
-                            Capability.DIRECTORY_READ_CONTENT
+                            Capability.DIRECTORY_READ_CONTENT,
+                            Capability.COPY_SERVER_SIDE
                             )
                     );
 
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider.webdav4.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.vfs2.AbstractProviderTestCase;
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystem;
+import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.FileType;
+import org.apache.commons.vfs2.Selectors;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the properties of the children of a folder, which WebDAV files read from the listing of their parent.
+ */
+public class Webdav4ListChildrenTests extends AbstractProviderTestCase {
+
+    /**
+     * Sets up a scratch folder for the test to use.
+     */
+    protected FileObject createScratchFolder() throws Exception {
+        final FileObject scratchFolder = getWriteFolder();
+
+        // Make sure the test folder is empty
+        scratchFolder.delete(Selectors.EXCLUDE_SELF);
+        scratchFolder.createFolder();
+
+        return scratchFolder;
+    }
+
+    /**
+     * Resolves a new file object for a file, which reads its properties from the server rather than from a listing.
+     */
+    private FileObject resolveUncached(final FileObject file) throws FileSystemException {
+        final FileSystem fileSystem = file.getFileSystem();
+        getManager().getFilesCache().removeFile(fileSystem, file.getName());
+        final FileObject resolved = fileSystem.resolveFile(file.getName());
+        assertNotSame(file, resolved);
+        return resolved;
+    }
+
+    private void write(final FileObject file, final String content) throws Exception {
+        try (OutputStream os = file.getContent().getOutputStream()) {
+            os.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testListedChildReattached() throws Exception {
+        final FileObject folder = createScratchFolder();
+        write(folder.resolveFile("file1.txt"), "1");
+        folder.refresh();
+        final FileObject child = folder.getChild("file1.txt");
+        assertEquals(FileType.FILE, child.getType());
+        assertEquals(1, child.getContent().getSize());
+
+        // Change the file behind the listed file object, which then forgets the listed properties once detached
+        write(resolveUncached(child), "12345");
+        child.close();
+        assertEquals(FileType.FILE, child.getType());
+        assertEquals(5, child.getContent().getSize());
+    }
+
+    @Test
+    public void testListedChildren() throws Exception {
+        final FileObject folder = getReadFolder();
+        folder.refresh();
+        final FileObject[] children = folder.getChildren();
+        assertTrue(children.length > 0);
+        for (final FileObject child : children) {
+            final FileObject resolved = resolveUncached(child);
+            assertEquals(resolved.getType(), child.getType(), child::toString);
+            if (resolved.isFile()) {
+                assertEquals(resolved.getContent().getSize(), child.getContent().getSize(), child::toString);
+                assertEquals(resolved.getContent().getLastModifiedTime(), child.getContent().getLastModifiedTime(),
+                    child::toString);
+            }
+        }
+    }
+
+}
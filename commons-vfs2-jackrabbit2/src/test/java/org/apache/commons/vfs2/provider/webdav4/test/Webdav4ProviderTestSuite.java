@@ -77,6 +77,7 @@ public class Webdav4ProviderTestSuite extends ProviderTestSuiteJunit5 {
         addTests(LastModifiedTests.class);
         addTests(UrlTests.class);
         addTests(UrlStructureTests.class);
+        addTests(Webdav4ListChildrenTests.class);
         // The class loader test requires the classes be uploaded to the webdav repo.
         // addTests(VfsClassLoaderTests.class);
     }
@@ -153,5 +153,13 @@ public enum Capability {
      *
      * @since 2.0
      */
-    DIRECTORY_READ_CONTENT
+    DIRECTORY_READ_CONTENT,
+
+    /**
+     * Files can be copied within the file system, by the server for remote file systems, without their content going
+     * through the client.
+     *
+     * @since 2.11.0
+     */
+    COPY_SERVER_SIDE
 }
@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2;
+
+/**
+ * Listens to the progress of {@link FileObject#copyFrom(FileObject, FileSelector, FileCopyListener)}.
+ * <p>
+ * Parallel copies call the listener from several threads at once.
+ * </p>
+ *
+ * @since 2.11.0
+ */
+@FunctionalInterface
+public interface FileCopyListener {
+
+    /**
+     * Called when the content of a file has been copied.
+     *
+     * @param srcFile The copied file.
+     * @param destFile The file it has been copied to.
+     * @param size The number of bytes copied.
+     * @throws Exception Thrown if an error occurs, which fails the copy.
+     */
+    void fileCopied(FileObject srcFile, FileObject destFile, long size) throws Exception;
+}
@@ -23,8 +23,14 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.commons.vfs2.operations.FileOperations;
+import org.apache.commons.vfs2.provider.FileCopier;
 
 /**
  * Represents a file, and is used to access the content and structure of the file.
@@ -80,7 +86,7 @@ import org.apache.commons.vfs2.operations.FileOperations;
  *
  * <p>
  * You can iterate over a FileObject using the Java "foreach" statement, which provides all descendants of a File
- * Object.
+ * Object. To process large trees without collecting them first, use {@link #walk(FileSelector, boolean)}.
  * </p>
  *
  * <h2>Sorting Files</h2>
@@ -155,6 +161,25 @@ public interface FileObject extends Comparable<FileObject>, Iterable<FileObject>
      */
     void copyFrom(FileObject srcFile, FileSelector selector) throws FileSystemException;
 
+    /**
+     * Copies another file, and all its descendants, to this file, reporting each copied file to a listener.
+     * <p>
+     * This implementation copies the files with a {@link FileCopier}.
+     * </p>
+     *
+     * @param srcFile The source file to copy.
+     * @param selector The selector to use to select which files to copy.
+     * @param listener The listener notified of each copied file, may be null.
+     * @throws FileSystemException If this file is read-only, or if the source file does not exist, or on error copying
+     *             the file.
+     * @see #copyFrom(FileObject, FileSelector)
+     * @since 2.11.0
+     */
+    default void copyFrom(final FileObject srcFile, final FileSelector selector, final FileCopyListener listener)
+            throws FileSystemException {
+        FileCopier.copy(this, srcFile, selector, listener);
+    }
+
     /**
      * Creates this file, if it does not exist. Also creates any ancestor folders which do not exist. This method does
      * nothing if the file already exists and is a file.
@@ -497,4 +522,33 @@ public interface FileObject extends Comparable<FileObject>, Iterable<FileObject>
      * @since 2.1
      */
     boolean setWritable(boolean writable, boolean ownerOnly) throws FileSystemException;
+
+    /**
+     * Walks the descendants of this file that match a selector, lazily.
+     * <p>
+     * Unlike {@link #findFiles(FileSelector, boolean, List)}, files are found as the returned stream is consumed, so a
+     * consumer can process the first files while the rest of the tree has not been listed yet, and only the folders on
+     * the path to the current file are kept in memory. The files are returned in the same order as
+     * {@link #findFiles(FileSelector, boolean, List)}. The selector decides whether a file is included when the walk
+     * reaches it: before its descendants are listed if not {@code depthwise}, after otherwise.
+     * </p>
+     * <p>
+     * Errors listing files or calling the selector are thrown by the stream as an {@link java.io.UncheckedIOException}
+     * wrapping a {@link FileSystemException}.
+     * </p>
+     *
+     * @param selector The selector used to determine if a file should be returned and if a folder should be traversed.
+     * @param depthwise Whether files are returned after their descendants, before otherwise.
+     * @return A sequential stream of the selected files, empty if this file does not exist.
+     * @throws FileSystemException if an error occurs determining if this file exists.
+     * @since 2.11.0
+     */
+    default Stream<FileObject> walk(final FileSelector selector, final boolean depthwise) throws FileSystemException {
+        Objects.requireNonNull(selector, "selector");
+        if (!exists()) {
+            return Stream.empty();
+        }
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new FileWalker(this, selector, depthwise),
+            Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
 }
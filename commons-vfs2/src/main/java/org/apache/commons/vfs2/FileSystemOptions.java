@@ -19,6 +19,7 @@ package org.apache.commons.vfs2;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Objects;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
@@ -32,6 +33,10 @@ import java.util.TreeMap;
  * To use the options, pass them to {@link FileSystemManager#resolveFile(String,FileSystemOptions)}. From there, the
  * options apply to all files that are resolved relative to that file.
  * </p>
+ * <p>
+ * File systems are cached by their root and options. The hash code of the options is computed once and kept until an
+ * option is set, so that looking up a file system with the same options again does not walk them.
+ * </p>
  *
  * @see org.apache.commons.vfs2.impl.DefaultFileSystemConfigBuilder
  * @see org.apache.commons.vfs2.provider.ftp.FtpFileSystemConfigBuilder
@@ -107,6 +112,11 @@ public final class FileSystemOptions implements Cloneable, Comparable<FileSystem
     /** The options */
     private final Map<FileSystemOptionKey, Object> options;
 
+    /**
+     * The hash code of the options, 0 until computed and again once an option is set.
+     */
+    private int hash;
+
     /**
      * Constructs a new instance.
      */
@@ -189,7 +199,17 @@ public final class FileSystemOptions implements Cloneable, Comparable<FileSystem
             return false;
         }
         final FileSystemOptions other = (FileSystemOptions) obj;
-        return compareTo(other) == 0;
+        if (hashCode() != other.hashCode() || size() != other.size()) {
+            return false;
+        }
+        for (final Map.Entry<FileSystemOptionKey, Object> entry : options.entrySet()) {
+            final Object otherValue = other.options.get(entry.getKey());
+            if (!Objects.deepEquals(entry.getValue(), otherValue)
+                    || otherValue == null && !other.options.containsKey(entry.getKey())) {
+                return false;
+            }
+        }
+        return true;
     }
 
     <T> T getOption(final Class<? extends FileSystem> fileSystemClass, final String name) {
@@ -201,18 +221,21 @@ public final class FileSystemOptions implements Cloneable, Comparable<FileSystem
         return value != null ? value : defaultValue;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The hash code is computed once and kept until an option is set.
+     * </p>
+     */
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        if (options == null) {
-            result = prime * result;
-        } else {
-            final SortedMap<FileSystemOptionKey, Object> myOptions = options instanceof SortedMap
-                    ? (SortedMap<FileSystemOptionKey, Object>) options
-                    : new TreeMap<>(options);
-            result = prime * result + myOptions.keySet().hashCode();
-            result = prime * result + Arrays.deepHashCode(myOptions.values().toArray());
+        int result = hash;
+        if (result == 0 && options != null) {
+            // Independent of the order of the options, like Map.hashCode(), and of the content of array values
+            for (final Map.Entry<FileSystemOptionKey, Object> entry : options.entrySet()) {
+                result += entry.getKey().hashCode() ^ Arrays.deepHashCode(new Object[] {entry.getValue()});
+            }
+            hash = result;
         }
         return result;
     }
@@ -223,6 +246,7 @@ public final class FileSystemOptions implements Cloneable, Comparable<FileSystem
 
     void setOption(final Class<? extends FileSystem> fileSystemClass, final String name, final Object value) {
         options.put(new FileSystemOptionKey(fileSystemClass, name), value);
+        hash = 0;
     }
 
     int size() {
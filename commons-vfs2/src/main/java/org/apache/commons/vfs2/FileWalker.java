@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily walks a tree of files for {@link FileObject#walk(FileSelector, boolean)}.
+ * <p>
+ * Only the folders on the path to the current file are kept, each with its list of children, so memory is bounded by
+ * the depth and width of the tree rather than its size.
+ * </p>
+ */
+final class FileWalker implements Iterator<FileObject>, FileSelectInfo {
+
+    /**
+     * A folder on the path to the current file.
+     */
+    private static final class Frame {
+
+        private final FileObject file;
+        private final int depth;
+        private FileObject[] children;
+        private int next;
+
+        Frame(final FileObject file, final int depth) {
+            this.file = file;
+            this.depth = depth;
+        }
+    }
+
+    private final FileObject baseFolder;
+    private final FileSelector selector;
+    private final boolean depthwise;
+    private final Deque<Frame> stack = new ArrayDeque<>();
+    private FileObject file;
+    private int depth;
+    private FileObject nextFile;
+
+    FileWalker(final FileObject baseFolder, final FileSelector selector, final boolean depthwise) {
+        this.baseFolder = baseFolder;
+        this.selector = selector;
+        this.depthwise = depthwise;
+        stack.push(new Frame(baseFolder, 0));
+    }
+
+    /**
+     * Walks to the next selected file.
+     *
+     * @return The next selected file, or null at the end of the walk.
+     */
+    private FileObject advance() throws Exception {
+        while (!stack.isEmpty()) {
+            final Frame frame = stack.peek();
+            if (frame.children == null) {
+                // First visit, before the descendants
+                select(frame);
+                frame.children = frame.file.getType().hasChildren() && selector.traverseDescendants(this)
+                    ? frame.file.getChildren() : FileObject.EMPTY_ARRAY;
+                if (!depthwise && selector.includeFile(this)) {
+                    return frame.file;
+                }
+            } else if (frame.next < frame.children.length) {
+                stack.push(new Frame(frame.children[frame.next++], frame.depth + 1));
+            } else {
+                // Last visit, after the descendants
+                stack.pop();
+                if (depthwise && selector.includeFile(select(frame))) {
+                    return frame.file;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public FileObject getBaseFolder() {
+        return baseFolder;
+    }
+
+    @Override
+    public int getDepth() {
+        return depth;
+    }
+
+    @Override
+    public FileObject getFile() {
+        return file;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextFile == null && !stack.isEmpty()) {
+            try {
+                nextFile = advance();
+            } catch (final FileSystemException e) {
+                stack.clear();
+                throw new UncheckedIOException(e);
+            } catch (final Exception e) {
+                stack.clear();
+                throw new UncheckedIOException(
+                    new FileSystemException("vfs.provider/find-files.error", baseFolder.getName(), e));
+            }
+        }
+        return nextFile != null;
+    }
+
+    @Override
+    public FileObject next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final FileObject result = nextFile;
+        nextFile = null;
+        return result;
+    }
+
+    private FileWalker select(final Frame frame) {
+        file = frame.file;
+        depth = frame.depth;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + " [baseFolder=" + baseFolder + ", file=" + file + ", depth=" + depth + "]";
+    }
+}
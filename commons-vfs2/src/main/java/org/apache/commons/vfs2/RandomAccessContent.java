@@ -21,6 +21,10 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+
+import org.apache.commons.vfs2.util.RandomAccessContentChannel;
 
 /**
  * Provides random access over content.
@@ -41,6 +45,20 @@ public interface RandomAccessContent extends DataOutput, DataInput, Closeable {
     @Override
     void close() throws IOException;
 
+    /**
+     * Gets a channel over this content, sharing its file pointer.
+     * <p>
+     * Closing the channel closes this content.
+     * </p>
+     *
+     * @return a channel over this content.
+     * @throws IOException Thrown if an I/O error occurs.
+     * @since 2.11.0
+     */
+    default SeekableByteChannel getChannel() throws IOException {
+        return new RandomAccessContentChannel(this);
+    }
+
     /**
      * Returns the current offset in this file.
      *
@@ -68,6 +86,63 @@ public interface RandomAccessContent extends DataOutput, DataInput, Closeable {
      */
     long length() throws IOException;
 
+    /**
+     * Reads a sequence of bytes from this content at the file pointer into the given buffer, and moves the file pointer
+     * past the bytes read.
+     * <p>
+     * The default implementation copies the bytes through {@link #readFully(byte[], int, int)}, implementations override
+     * it to read directly into the buffer.
+     * </p>
+     *
+     * @param dst The buffer into which bytes are to be transferred.
+     * @return The number of bytes read, possibly zero, or -1 if the file pointer is at or past the end of the content.
+     * @throws IOException Thrown if an I/O error occurs.
+     * @since 2.11.0
+     */
+    default int read(final ByteBuffer dst) throws IOException {
+        if (!dst.hasRemaining()) {
+            return 0;
+        }
+        final long left = length() - getFilePointer();
+        if (left <= 0) {
+            return -1;
+        }
+        final int len = (int) Math.min(dst.remaining(), left);
+        if (dst.hasArray()) {
+            readFully(dst.array(), dst.arrayOffset() + dst.position(), len);
+            dst.position(dst.position() + len);
+        } else {
+            final byte[] bytes = new byte[len];
+            readFully(bytes);
+            dst.put(bytes);
+        }
+        return len;
+    }
+
+    /**
+     * Reads a sequence of bytes from this content at the given position into the given buffer, without moving the
+     * file pointer.
+     * <p>
+     * The default implementation seeks to the position, reads and seeks back, implementations override it to read
+     * without seeking.
+     * </p>
+     *
+     * @param dst The buffer into which bytes are to be transferred.
+     * @param position The position at which to read, measured in bytes from the beginning of the content.
+     * @return The number of bytes read, possibly zero, or -1 if the position is at or past the end of the content.
+     * @throws IOException Thrown if an I/O error occurs.
+     * @since 2.11.0
+     */
+    default int read(final ByteBuffer dst, final long position) throws IOException {
+        final long filePointer = getFilePointer();
+        seek(position);
+        try {
+            return read(dst);
+        } finally {
+            seek(filePointer);
+        }
+    }
+
     /**
      * Sets the file-pointer offset, measured from the beginning of this file, at which the next read or write occurs.
      * <p>
@@ -103,4 +178,29 @@ public interface RandomAccessContent extends DataOutput, DataInput, Closeable {
      */
     void setLength(long newLength) throws IOException;
 
+    /**
+     * Writes a sequence of bytes to this content at the file pointer from the given buffer, and moves the file pointer
+     * past the bytes written.
+     * <p>
+     * The default implementation copies the bytes through {@link #write(byte[], int, int)}, implementations override
+     * it to write directly from the buffer.
+     * </p>
+     *
+     * @param src The buffer from which bytes are to be transferred.
+     * @return The number of bytes written, all the bytes remaining in the buffer.
+     * @throws IOException Thrown if an I/O error occurs.
+     * @since 2.11.0
+     */
+    default int write(final ByteBuffer src) throws IOException {
+        final int len = src.remaining();
+        if (src.hasArray()) {
+            write(src.array(), src.arrayOffset() + src.position(), len);
+            src.position(src.position() + len);
+        } else {
+            final byte[] bytes = new byte[len];
+            src.get(bytes);
+            write(bytes);
+        }
+        return len;
+    }
 }
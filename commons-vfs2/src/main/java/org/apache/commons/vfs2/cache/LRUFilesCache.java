@@ -16,17 +16,17 @@
  */
 package org.apache.commons.vfs2.cache;
 
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.apache.commons.collections4.map.AbstractLinkedMap;
 import org.apache.commons.collections4.map.LRUMap;
 import org.apache.commons.io.IOUtils;
-import org.apache.commons.lang3.concurrent.locks.LockingVisitors;
-import org.apache.commons.lang3.concurrent.locks.LockingVisitors.ReadWriteLockVisitor;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.commons.vfs2.FileName;
@@ -40,58 +40,170 @@ import org.apache.commons.vfs2.util.Messages;
  * <p>
  * The default constructor uses a LRU size of 100 per file system.
  * </p>
+ * <p>
+ * Each file system has its own cache, so file systems never contend with each other. Large caches are split into
+ * segments by the hash of the file name, each one an independently locked {@link LRUMap} holding its share of the LRU
+ * size. Eviction is then least recently used per segment, which approximates the least recently used file of the whole
+ * file system. A segment holds at least 128 files, so small caches use a single segment and keep an exact LRU order.
+ * </p>
  */
 public class LRUFilesCache extends AbstractFilesCache {
 
     /**
-     * The file cache.
+     * The cache of one file system.
+     */
+    private final class FileSystemCache extends AbstractMap<FileName, FileObject> {
+
+        private final Segment[] segments;
+
+        FileSystemCache(final int size) {
+            final int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(Math.max(1, size / MIN_SEGMENT_SIZE)));
+            final int segmentSize = (size + segmentCount - 1) / segmentCount;
+            segments = new Segment[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                segments[i] = new Segment(segmentSize);
+            }
+        }
+
+        @Override
+        public void clear() {
+            for (final Segment segment : segments) {
+                synchronized (segment) {
+                    segment.clear();
+                }
+            }
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            final Segment segment = segmentFor(key);
+            synchronized (segment) {
+                return segment.containsKey(key);
+            }
+        }
+
+        /**
+         * Gets a snapshot of the cached files.
+         */
+        @Override
+        public Set<Entry<FileName, FileObject>> entrySet() {
+            final Map<FileName, FileObject> snapshot = new HashMap<>();
+            for (final Segment segment : segments) {
+                synchronized (segment) {
+                    snapshot.putAll(segment);
+                }
+            }
+            return Collections.unmodifiableMap(snapshot).entrySet();
+        }
+
+        @Override
+        public FileObject get(final Object key) {
+            final Segment segment = segmentFor(key);
+            // LRUMap.get() moves the entry to the most recently used position, readers need the lock too
+            synchronized (segment) {
+                return segment.get(key);
+            }
+        }
+
+        @Override
+        public FileObject put(final FileName key, final FileObject value) {
+            final Segment segment = segmentFor(key);
+            final FileObject previous;
+            final FileObject evicted;
+            synchronized (segment) {
+                previous = segment.put(key, value);
+                evicted = segment.takeEvicted();
+            }
+            close(evicted);
+            return previous;
+        }
+
+        @Override
+        public FileObject putIfAbsent(final FileName key, final FileObject value) {
+            final Segment segment = segmentFor(key);
+            final FileObject previous;
+            final FileObject evicted;
+            synchronized (segment) {
+                previous = segment.putIfAbsent(key, value);
+                evicted = segment.takeEvicted();
+            }
+            close(evicted);
+            return previous;
+        }
+
+        @Override
+        public FileObject remove(final Object key) {
+            final Segment segment = segmentFor(key);
+            synchronized (segment) {
+                return segment.remove(key);
+            }
+        }
+
+        private Segment segmentFor(final Object key) {
+            final int hash = key.hashCode();
+            return segments[(hash ^ hash >>> 16) & segments.length - 1];
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (final Segment segment : segments) {
+                synchronized (segment) {
+                    size += segment.size();
+                }
+            }
+            return size;
+        }
+    }
+
+    /**
+     * A segment of a file system cache, guarded by its own monitor.
      */
-    private class MyLRUMap extends LRUMap<FileName, FileObject> {
+    private static final class Segment extends LRUMap<FileName, FileObject> {
 
         /**
          * serialVersionUID format is YYYYMMDD for the date of the last binary change.
          */
-        private static final long serialVersionUID = 20101208L;
+        private static final long serialVersionUID = 20261016L;
 
-        /** The FileSystem */
-        private final FileSystem fileSystem;
+        /** The file removed by the last put, closed by the caller once the segment lock is released. */
+        private transient FileObject evicted;
 
-        MyLRUMap(final FileSystem filesystem, final int size) {
+        Segment(final int size) {
             super(size, true);
-            this.fileSystem = filesystem;
         }
 
         @Override
         protected boolean removeLRU(final AbstractLinkedMap.LinkEntry<FileName, FileObject> linkEntry) {
-            synchronized (LRUFilesCache.this) {
-                @SuppressWarnings("resource") // FileObject allocated elsewhere.
-                final FileObject fileObject = linkEntry.getValue();
-                // System.err.println(">>> " + size() + " check removeLRU:" + linkEntry.getKey().toString());
-                if (fileObject.isAttached() || fileObject.isContentOpen()) {
-                    // do not allow open or attached files to be removed
-                    // System.err.println(">>> " + size() + " VETO removeLRU:" +
-                    // linkEntry.getKey().toString() + " (" + file.isAttached() + "/" +
-                    // file.isContentOpen() + ")");
-                    return false;
-                }
-                // System.err.println(">>> " + size() + " removeLRU:" + linkEntry.getKey().toString());
-                if (super.removeLRU(linkEntry)) {
-                    // force detach
-                    IOUtils.closeQuietly(fileObject, e -> VfsLog.warn(getLogger(), log, Messages.getString("vfs.impl/LRUFilesCache-remove-ex.warn"), e));
-                    final Map<?, ?> files = fileSystemCache.get(fileSystem);
-                    if (files.isEmpty()) {
-                        fileSystemCache.remove(fileSystem);
-                    }
-                    return true;
-                }
+            @SuppressWarnings("resource") // FileObject allocated elsewhere.
+            final FileObject fileObject = linkEntry.getValue();
+            if (fileObject.isAttached() || fileObject.isContentOpen()) {
+                // do not allow open or attached files to be removed
                 return false;
             }
+            if (super.removeLRU(linkEntry)) {
+                evicted = fileObject;
+                return true;
+            }
+            return false;
+        }
+
+        FileObject takeEvicted() {
+            final FileObject fileObject = evicted;
+            evicted = null;
+            return fileObject;
         }
     }
 
     /** The default LRU size. */
     private static final int DEFAULT_LRU_SIZE = 100;
 
+    /** The minimum number of files per segment. */
+    private static final int MIN_SEGMENT_SIZE = 128;
+
+    /** The maximum number of segments per file system. */
+    private static final int MAX_SEGMENTS = 16;
+
     /** The logger to use. */
     private static final Log log = LogFactory.getLog(LRUFilesCache.class);
 
@@ -100,7 +212,6 @@ public class LRUFilesCache extends AbstractFilesCache {
 
     /** The size of the cache */
     private final int lruSize;
-    private final ReadWriteLock rwLock = new ReentrantReadWriteLock();
 
     /**
      * Constructs a new instance. Uses an LRU size of 100 per file system.
@@ -120,10 +231,10 @@ public class LRUFilesCache extends AbstractFilesCache {
 
     @Override
     public void clear(final FileSystem filesystem) {
-        createLockingVisitors(filesystem).acceptReadLocked(m -> {
-            m.clear();
-            fileSystemCache.remove(filesystem);
-        });
+        final Map<FileName, FileObject> files = fileSystemCache.remove(filesystem);
+        if (files != null) {
+            files.clear();
+        }
     }
 
     @Override
@@ -132,17 +243,20 @@ public class LRUFilesCache extends AbstractFilesCache {
         fileSystemCache.clear();
     }
 
-    private ReadWriteLockVisitor<Map<FileName, FileObject>> createLockingVisitors(final FileObject file) {
-        return createLockingVisitors(file.getFileSystem());
-    }
-
-    private ReadWriteLockVisitor<Map<FileName, FileObject>> createLockingVisitors(final FileSystem filesystem) {
-        return LockingVisitors.create(getOrCreateFilesystemCache(filesystem), rwLock);
+    /**
+     * Closes a file evicted from the cache to force it to detach.
+     */
+    private void close(final FileObject evicted) {
+        if (evicted != null) {
+            IOUtils.closeQuietly(evicted, e -> VfsLog.warn(getLogger(), log, Messages.getString("vfs.impl/LRUFilesCache-remove-ex.warn"), e));
+        }
     }
 
     @Override
     public FileObject getFile(final FileSystem filesystem, final FileName name) {
-        return createLockingVisitors(filesystem).applyReadLocked(m -> m.get(name));
+        // avoid creating filesystem entry for empty filesystem cache:
+        final Map<FileName, FileObject> files = fileSystemCache.get(filesystem);
+        return files != null ? files.get(name) : null;
     }
 
     /**
@@ -152,27 +266,25 @@ public class LRUFilesCache extends AbstractFilesCache {
      * @return An existing or new Map.
      */
     protected Map<FileName, FileObject> getOrCreateFilesystemCache(final FileSystem fileSystem) {
-        return fileSystemCache.computeIfAbsent(fileSystem, k -> new MyLRUMap(k, lruSize));
+        return fileSystemCache.computeIfAbsent(fileSystem, k -> new FileSystemCache(lruSize));
     }
 
     @Override
     public void putFile(final FileObject file) {
-        createLockingVisitors(file).acceptWriteLocked(m -> m.put(file.getName(), file));
+        getOrCreateFilesystemCache(file.getFileSystem()).put(file.getName(), file);
     }
 
     @Override
     public boolean putFileIfAbsent(final FileObject file) {
-        return createLockingVisitors(file).applyWriteLocked(m -> m.putIfAbsent(file.getName(), file) == null);
+        return getOrCreateFilesystemCache(file.getFileSystem()).putIfAbsent(file.getName(), file) == null;
     }
 
     @Override
     public void removeFile(final FileSystem filesystem, final FileName name) {
-        createLockingVisitors(filesystem).acceptWriteLocked(m -> {
-            m.remove(name);
-            if (m.isEmpty()) {
-                fileSystemCache.remove(filesystem);
-            }
-        });
+        final Map<FileName, FileObject> files = fileSystemCache.get(filesystem);
+        if (files != null) {
+            files.remove(name);
+        }
     }
 
     @Override
@@ -19,6 +19,7 @@ package org.apache.commons.vfs2.cache;
 import java.util.List;
 
 import org.apache.commons.vfs2.FileContent;
+import org.apache.commons.vfs2.FileCopyListener;
 import org.apache.commons.vfs2.FileObject;
 import org.apache.commons.vfs2.FileSelector;
 import org.apache.commons.vfs2.FileSystemException;
@@ -52,6 +53,13 @@ public class OnCallRefreshFileObject extends DecoratedFileObject {
         super.copyFrom(srcFile, selector);
     }
 
+    @Override
+    public void copyFrom(final FileObject srcFile, final FileSelector selector, final FileCopyListener listener)
+            throws FileSystemException {
+        refresh();
+        super.copyFrom(srcFile, selector, listener);
+    }
+
     @Override
     public void createFile() throws FileSystemException {
         refresh();
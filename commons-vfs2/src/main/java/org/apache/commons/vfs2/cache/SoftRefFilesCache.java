@@ -19,9 +19,9 @@ package org.apache.commons.vfs2.cache;
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
-import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -32,11 +32,29 @@ import org.apache.commons.vfs2.FileSystem;
 /**
  * This implementation caches every file as long as it is strongly reachable by the JVM. As soon as the JVM needs
  * memory - every softly reachable file will be discarded.
+ * <p>
+ * Files are kept in one {@link ConcurrentHashMap} per file system, so lookups and updates do not block each other. Each
+ * reference carries the file system and name of its file, which lets the release thread remove a cleared reference
+ * without a reverse lookup table.
+ * </p>
  *
  * @see SoftReference
  */
 public class SoftRefFilesCache extends AbstractFilesCache {
 
+    /**
+     * A reference that knows the cache key of its referent.
+     */
+    interface KeyedReference {
+
+        /**
+         * Gets the file system and name the referent was cached under.
+         *
+         * @return the cache key.
+         */
+        FileSystemAndNameKey getKey();
+    }
+
     /**
      * This thread will listen on the ReferenceQueue and remove the entry in the file cache as soon as the JVM removes
      * the reference.
@@ -61,9 +79,26 @@ public class SoftRefFilesCache extends AbstractFilesCache {
         }
     }
 
+    /**
+     * A soft reference that knows the cache key of its referent.
+     */
+    private static final class SoftFileReference extends SoftReference<FileObject> implements KeyedReference {
+
+        private final FileSystemAndNameKey key;
+
+        SoftFileReference(final FileObject file, final ReferenceQueue<FileObject> referenceQueue) {
+            super(file, referenceQueue);
+            key = new FileSystemAndNameKey(file.getFileSystem(), file.getName());
+        }
+
+        @Override
+        public FileSystemAndNameKey getKey() {
+            return key;
+        }
+    }
+
     private static final Log log = LogFactory.getLog(SoftRefFilesCache.class);
-    private final Map<FileSystem, Map<FileName, Reference<FileObject>>> fileSystemCache = new HashMap<>();
-    private final Map<Reference<FileObject>, FileSystemAndNameKey> refReverseMap = new HashMap<>(100);
+    private final ConcurrentMap<FileSystem, Map<FileName, Reference<FileObject>>> fileSystemCache = new ConcurrentHashMap<>();
     private final ReferenceQueue<FileObject> refQueue = new ReferenceQueue<>();
     private ReleaseThread releaseThread;
 
@@ -75,54 +110,46 @@ public class SoftRefFilesCache extends AbstractFilesCache {
     }
 
     @Override
-    public synchronized void clear(final FileSystem fileSystem) {
-        final Map<FileName, Reference<FileObject>> files = getOrCreateFilesystemCache(fileSystem);
-        final Iterator<FileSystemAndNameKey> iterKeys = refReverseMap.values().iterator();
-        while (iterKeys.hasNext()) {
-            final FileSystemAndNameKey key = iterKeys.next();
-            if (key.getFileSystem() == fileSystem) {
-                iterKeys.remove();
-                files.remove(key.getFileName());
+    public void clear(final FileSystem fileSystem) {
+        final Map<FileName, Reference<FileObject>> files = fileSystemCache.remove(fileSystem);
+        if (files != null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Close FileSystem: " + fileSystem.getRootName().getFriendlyURI());
             }
+            files.clear(); // help GC
         }
-        if (files.isEmpty()) {
-            close(fileSystem);
+        if (fileSystemCache.isEmpty()) {
+            endThread();
         }
     }
 
     @Override
-    public synchronized void close() {
+    public void close() {
         super.close();
-        endThread();
         fileSystemCache.clear();
-        refReverseMap.clear();
-    }
-
-    /**
-     * @param fileSystem The file system to close.
-     */
-    private synchronized void close(final FileSystem fileSystem) {
-        if (log.isDebugEnabled()) {
-            log.debug("Close FileSystem: " + fileSystem.getRootName().getFriendlyURI());
-        }
-        fileSystemCache.remove(fileSystem);
-        if (fileSystemCache.isEmpty()) {
-            endThread();
-        }
+        endThread();
     }
 
     /**
      * Constructs a new Reference.
+     * <p>
+     * The returned reference should implement {@link KeyedReference}; other references are only removed from the cache
+     * by scanning it once the JVM clears them.
+     * </p>
      *
      * @param file A file object.
      * @param referenceQueue A ReferenceQueue.
      * @return A new Reference on the given input.
      */
     protected Reference<FileObject> createReference(final FileObject file, final ReferenceQueue<FileObject> referenceQueue) {
-        return new SoftReference<>(file, referenceQueue);
+        return new SoftFileReference(file, referenceQueue);
     }
 
     private synchronized void endThread() {
+        // a file system may have been added since the caller saw an empty cache
+        if (!fileSystemCache.isEmpty()) {
+            return;
+        }
         final ReleaseThread thread = releaseThread;
         releaseThread = null;
         if (thread != null) {
@@ -131,15 +158,20 @@ public class SoftRefFilesCache extends AbstractFilesCache {
     }
 
     @Override
-    public synchronized FileObject getFile(final FileSystem fileSystem, final FileName fileName) {
-        final Map<FileName, Reference<FileObject>> files = getOrCreateFilesystemCache(fileSystem);
+    public FileObject getFile(final FileSystem fileSystem, final FileName fileName) {
+        // avoid creating filesystem entry for empty filesystem cache:
+        final Map<FileName, Reference<FileObject>> files = fileSystemCache.get(fileSystem);
+        if (files == null) {
+            return null;
+        }
         final Reference<FileObject> ref = files.get(fileName);
         if (ref == null) {
             return null;
         }
         final FileObject fo = ref.get();
         if (fo == null) {
-            removeFile(fileSystem, fileName);
+            // only drop the cleared reference, a concurrent put may already have replaced it
+            files.remove(fileName, ref);
         }
         return fo;
     }
@@ -150,11 +182,14 @@ public class SoftRefFilesCache extends AbstractFilesCache {
      * @param fileSystem The key.
      * @return An existing or new Map.
      */
-    protected synchronized Map<FileName, Reference<FileObject>> getOrCreateFilesystemCache(final FileSystem fileSystem) {
-        if (fileSystemCache.isEmpty()) {
+    protected Map<FileName, Reference<FileObject>> getOrCreateFilesystemCache(final FileSystem fileSystem) {
+        Map<FileName, Reference<FileObject>> files = fileSystemCache.get(fileSystem);
+        // we loop to make sure we never return null even when concurrent clean is called
+        while (files == null) {
+            files = fileSystemCache.computeIfAbsent(fileSystem, k -> new ConcurrentHashMap<>());
             startThread();
         }
-        return fileSystemCache.computeIfAbsent(fileSystem, k -> new HashMap<>());
+        return files;
     }
 
     private String getSafeName(final FileName fileName) {
@@ -170,16 +205,8 @@ public class SoftRefFilesCache extends AbstractFilesCache {
         if (log.isDebugEnabled()) {
             log.debug("putFile: " + this.getSafeName(fileObject));
         }
-        synchronized (this) {
-            final Map<FileName, Reference<FileObject>> files = getOrCreateFilesystemCache(fileObject.getFileSystem());
-            final Reference<FileObject> ref = createReference(fileObject, refQueue);
-            final FileSystemAndNameKey key = new FileSystemAndNameKey(fileObject.getFileSystem(), fileObject.getName());
-            final Reference<FileObject> old = files.put(fileObject.getName(), ref);
-            if (old != null) {
-                refReverseMap.remove(old);
-            }
-            refReverseMap.put(ref, key);
-        }
+        final Map<FileName, Reference<FileObject>> files = getOrCreateFilesystemCache(fileObject.getFileSystem());
+        files.put(fileObject.getName(), createReference(fileObject, refQueue));
     }
 
     @Override
@@ -187,49 +214,33 @@ public class SoftRefFilesCache extends AbstractFilesCache {
         if (log.isDebugEnabled()) {
             log.debug("putFile: " + this.getSafeName(fileObject));
         }
-        synchronized (this) {
-            final Map<FileName, Reference<FileObject>> files = getOrCreateFilesystemCache(fileObject.getFileSystem());
-            final Reference<FileObject> ref = createReference(fileObject, refQueue);
-            final FileSystemAndNameKey key = new FileSystemAndNameKey(fileObject.getFileSystem(), fileObject.getName());
-            final Reference<FileObject> reference = files.get(fileObject.getName());
-            if (reference != null && reference.get() != null) {
-                return false;
-            }
-            final Reference<FileObject> old = files.put(fileObject.getName(), ref);
-            if (old != null) {
-                refReverseMap.remove(old);
-            }
-            refReverseMap.put(ref, key);
-            return true;
-        }
+        final Map<FileName, Reference<FileObject>> files = getOrCreateFilesystemCache(fileObject.getFileSystem());
+        final Reference<FileObject> ref = createReference(fileObject, refQueue);
+        // replace a reference the JVM already cleared, keep one that is still alive
+        return files.compute(fileObject.getName(), (k, old) -> old != null && old.get() != null ? old : ref) == ref;
     }
 
     @Override
-    public synchronized void removeFile(final FileSystem fileSystem, final FileName fileName) {
-        if (removeFile(new FileSystemAndNameKey(fileSystem, fileName))) {
-            close(fileSystem);
-        }
-    }
-
-    private synchronized boolean removeFile(final FileSystemAndNameKey key) {
+    public void removeFile(final FileSystem fileSystem, final FileName fileName) {
         if (log.isDebugEnabled()) {
-            log.debug("removeFile: " + this.getSafeName(key.getFileName()));
+            log.debug("removeFile: " + this.getSafeName(fileName));
         }
-
-        final Map<?, ?> files = getOrCreateFilesystemCache(key.getFileSystem());
-
-        final Object ref = files.remove(key.getFileName());
-        if (ref != null) {
-            refReverseMap.remove(ref);
+        final Map<FileName, Reference<FileObject>> files = fileSystemCache.get(fileSystem);
+        if (files != null) {
+            files.remove(fileName);
         }
-
-        return files.isEmpty();
     }
 
-    private synchronized void removeFile(final Reference<?> ref) {
-        final FileSystemAndNameKey key = refReverseMap.get(ref);
-        if (key != null && removeFile(key)) {
-            close(key.getFileSystem());
+    private void removeFile(final Reference<?> ref) {
+        if (ref instanceof KeyedReference) {
+            final FileSystemAndNameKey key = ((KeyedReference) ref).getKey();
+            final Map<FileName, Reference<FileObject>> files = fileSystemCache.get(key.getFileSystem());
+            if (files != null) {
+                // the name may have been cached again with a new reference in the meantime
+                files.remove(key.getFileName(), ref);
+            }
+        } else {
+            fileSystemCache.values().forEach(files -> files.values().remove(ref));
         }
     }
 
@@ -245,8 +256,9 @@ public class SoftRefFilesCache extends AbstractFilesCache {
 
     @Override
     public String toString() {
-        return super.toString() + " [releaseThread=" + releaseThread
-            + (releaseThread == null ? "" : "(ID " + releaseThread.getId() + " is " + releaseThread.getState() + ")")
+        final ReleaseThread thread = releaseThread;
+        return super.toString() + " [releaseThread=" + thread
+            + (thread == null ? "" : "(ID " + thread.getId() + " is " + thread.getState() + ")")
             + "]";
     }
 }
@@ -31,6 +31,24 @@ import org.apache.commons.vfs2.FileObject;
  */
 public class WeakRefFilesCache extends SoftRefFilesCache {
 
+    /**
+     * A weak reference that knows the cache key of its referent.
+     */
+    private static final class WeakFileReference extends WeakReference<FileObject> implements KeyedReference {
+
+        private final FileSystemAndNameKey key;
+
+        WeakFileReference(final FileObject file, final ReferenceQueue<FileObject> referenceQueue) {
+            super(file, referenceQueue);
+            key = new FileSystemAndNameKey(file.getFileSystem(), file.getName());
+        }
+
+        @Override
+        public FileSystemAndNameKey getKey() {
+            return key;
+        }
+    }
+
     /**
      * Constructs a new instance.
      */
@@ -40,6 +58,6 @@ public class WeakRefFilesCache extends SoftRefFilesCache {
 
     @Override
     protected Reference<FileObject> createReference(final FileObject file, final ReferenceQueue<FileObject> refqueue) {
-        return new WeakReference<>(file, refqueue);
+        return new WeakFileReference(file, refqueue);
     }
 }
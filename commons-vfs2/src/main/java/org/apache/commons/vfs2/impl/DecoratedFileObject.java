@@ -21,6 +21,7 @@ import java.util.Iterator;
 import java.util.List;
 
 import org.apache.commons.vfs2.FileContent;
+import org.apache.commons.vfs2.FileCopyListener;
 import org.apache.commons.vfs2.FileName;
 import org.apache.commons.vfs2.FileObject;
 import org.apache.commons.vfs2.FileSelector;
@@ -66,6 +67,12 @@ public class DecoratedFileObject implements FileObject {
         fileObject.copyFrom(srcFile, selector);
     }
 
+    @Override
+    public void copyFrom(final FileObject srcFile, final FileSelector selector, final FileCopyListener listener)
+            throws FileSystemException {
+        fileObject.copyFrom(srcFile, selector, listener);
+    }
+
     @Override
     public void createFile() throws FileSystemException {
         fileObject.createFile();
@@ -17,10 +17,19 @@
 package org.apache.commons.vfs2.impl;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
@@ -30,6 +39,7 @@ import org.apache.commons.vfs2.FileListener;
 import org.apache.commons.vfs2.FileMonitor;
 import org.apache.commons.vfs2.FileName;
 import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystem;
 import org.apache.commons.vfs2.FileSystemException;
 import org.apache.commons.vfs2.provider.AbstractFileSystem;
 
@@ -62,6 +72,11 @@ import org.apache.commons.vfs2.provider.AbstractFileSystem;
  * For performance reasons, added a delay that increases as the number of files monitored increases. The default is a
  * delay of 1 second for every 1000 files processed.
  * </p>
+ * <p>
+ * Files on slow or remote file systems can be checked in parallel, see {@link #setParallelism(int)}. The files of each
+ * folder are then checked together with a single listing of the folder, and the folders of each file system are spread
+ * across at most {@link #getMaxChecksPerFileSystem()} threads, so that one slow server does not hold up the others.
+ * </p>
  * <h2>Example usage:</h2>
  *
  * <pre>
@@ -117,50 +132,58 @@ public class DefaultFileMonitor implements Runnable, FileMonitor, AutoCloseable
             refresh();
 
             try {
-                // If the file existed and now doesn't
-                if (exists && !fileObject.exists()) {
-                    exists = fileObject.exists();
-                    timestamp = -1;
-
-                    // Fire delete event
+                check(fileObject.exists());
+                checkForNewChildren();
+            } catch (final FileSystemException fse) {
+                LOG.error(fse.getLocalizedMessage(), fse);
+            }
+        }
 
-                    ((AbstractFileSystem) fileObject.getFileSystem()).fireFileDeleted(fileObject);
+        /**
+         * Fires the events for the file itself, given whether it exists now.
+         *
+         * @param nowExists whether the file exists now.
+         * @throws FileSystemException if an error occurs.
+         */
+        private void check(final boolean nowExists) throws FileSystemException {
+            // If the file existed and now doesn't
+            if (exists && !nowExists) {
+                exists = false;
+                timestamp = -1;
 
-                    // Remove listener in case file is re-created. Don't want to fire twice.
-                    if (defaultFileMonitor.getFileListener() != null) {
-                        fileObject.getFileSystem().removeListener(fileObject, defaultFileMonitor.getFileListener());
-                    }
+                // Fire delete event
 
-                    // Remove from map
-                    defaultFileMonitor.queueRemoveFile(fileObject);
-                } else if (exists && fileObject.exists()) {
+                ((AbstractFileSystem) fileObject.getFileSystem()).fireFileDeleted(fileObject);
 
-                    // Check the timestamp to see if it has been modified
-                    if (timestamp != fileObject.getContent().getLastModifiedTime()) {
-                        timestamp = fileObject.getContent().getLastModifiedTime();
-                        // Fire change event
+                // Remove listener in case file is re-created. Don't want to fire twice.
+                if (defaultFileMonitor.getFileListener() != null) {
+                    fileObject.getFileSystem().removeListener(fileObject, defaultFileMonitor.getFileListener());
+                }
 
-                        // Don't fire if it's a folder because new file children
-                        // and deleted files in a folder have their own event triggered.
-                        if (!fileObject.getType().hasChildren()) {
-                            ((AbstractFileSystem) fileObject.getFileSystem()).fireFileChanged(fileObject);
-                        }
-                    }
+                // Remove from map
+                defaultFileMonitor.queueRemoveFile(fileObject);
+            } else if (exists && nowExists) {
 
-                } else if (!exists && fileObject.exists()) {
-                    exists = fileObject.exists();
+                // Check the timestamp to see if it has been modified
+                if (timestamp != fileObject.getContent().getLastModifiedTime()) {
                     timestamp = fileObject.getContent().getLastModifiedTime();
+                    // Fire change event
+
                     // Don't fire if it's a folder because new file children
                     // and deleted files in a folder have their own event triggered.
                     if (!fileObject.getType().hasChildren()) {
-                        ((AbstractFileSystem) fileObject.getFileSystem()).fireFileCreated(fileObject);
+                        ((AbstractFileSystem) fileObject.getFileSystem()).fireFileChanged(fileObject);
                     }
                 }
 
-                checkForNewChildren();
-
-            } catch (final FileSystemException fse) {
-                LOG.error(fse.getLocalizedMessage(), fse);
+            } else if (!exists && nowExists) {
+                exists = true;
+                timestamp = fileObject.getContent().getLastModifiedTime();
+                // Don't fire if it's a folder because new file children
+                // and deleted files in a folder have their own event triggered.
+                if (!fileObject.getType().hasChildren()) {
+                    ((AbstractFileSystem) fileObject.getFileSystem()).fireFileCreated(fileObject);
+                }
             }
         }
 
@@ -170,41 +193,49 @@ public class DefaultFileMonitor implements Runnable, FileMonitor, AutoCloseable
         private void checkForNewChildren() {
             try {
                 if (fileObject.getType().hasChildren()) {
-                    final FileObject[] newChildren = fileObject.getChildren();
-                    if (children != null) {
-                        // See which new children are not listed in the current children map.
-                        final Map<FileName, Object> newChildrenMap = new HashMap<>();
-                        final Stack<FileObject> missingChildren = new Stack<>();
-
-                        for (final FileObject element : newChildren) {
-                            newChildrenMap.put(element.getName(), new Object()); // null ?
-                            // If the child's not there
-                            if (!children.containsKey(element.getName())) {
-                                missingChildren.push(element);
-                            }
-                        }
+                    checkForNewChildren(fileObject.getChildren());
+                }
+            } catch (final FileSystemException fse) {
+                LOG.error(fse.getLocalizedMessage(), fse);
+            }
+        }
 
-                        children = newChildrenMap;
+        /**
+         * Checks for new children in the given listing of the folder.
+         *
+         * @param newChildren The children of the folder.
+         */
+        private void checkForNewChildren(final FileObject[] newChildren) {
+            if (children != null) {
+                // See which new children are not listed in the current children map.
+                final Map<FileName, Object> newChildrenMap = new HashMap<>();
+                final Stack<FileObject> missingChildren = new Stack<>();
+
+                for (final FileObject element : newChildren) {
+                    newChildrenMap.put(element.getName(), new Object()); // null ?
+                    // If the child's not there
+                    if (!children.containsKey(element.getName())) {
+                        missingChildren.push(element);
+                    }
+                }
 
-                        // If there were missing children
-                        if (!missingChildren.empty()) {
+                children = newChildrenMap;
 
-                            while (!missingChildren.empty()) {
-                                fireAllCreate(missingChildren.pop());
-                            }
-                        }
+                // If there were missing children
+                if (!missingChildren.empty()) {
 
-                    } else if (newChildren.length > 0) {
-                        // First set of children - Break out the cigars
-                        children = new HashMap<>();
-                        for (final FileObject element : newChildren) {
-                            children.put(element.getName(), new Object()); // null?
-                            fireAllCreate(element);
-                        }
+                    while (!missingChildren.empty()) {
+                        fireAllCreate(missingChildren.pop());
                     }
                 }
-            } catch (final FileSystemException fse) {
-                LOG.error(fse.getLocalizedMessage(), fse);
+
+            } else if (newChildren.length > 0) {
+                // First set of children - Break out the cigars
+                children = new HashMap<>();
+                for (final FileObject element : newChildren) {
+                    children.put(element.getName(), new Object()); // null?
+                    fireAllCreate(element);
+                }
             }
         }
 
@@ -238,6 +269,17 @@ public class DefaultFileMonitor implements Runnable, FileMonitor, AutoCloseable
             }
         }
 
+        /**
+         * Tests whether the file was a folder when last checked, without asking the file system.
+         */
+        private boolean isFolder() {
+            try {
+                return fileObject.getType().hasChildren();
+            } catch (final FileSystemException fse) {
+                return false;
+            }
+        }
+
         /**
          * Clear the cache and re-request the file object.
          */
@@ -264,6 +306,66 @@ public class DefaultFileMonitor implements Runnable, FileMonitor, AutoCloseable
 
     }
 
+    /**
+     * The monitored files in a folder, checked together with one listing of the folder.
+     */
+    private static final class MonitoredFolder {
+
+        /**
+         * The agent of the folder, null if the folder itself is not monitored.
+         */
+        private FileMonitorAgent folderAgent;
+
+        /**
+         * The agents of the monitored files in the folder.
+         */
+        private final List<FileMonitorAgent> agents = new ArrayList<>();
+
+        /**
+         * Checks the files in the folder and, if the folder is monitored, its new children.
+         * <p>
+         * When the folder itself is monitored or several files in it are, the folder is listed once and the files are
+         * known to exist if they are listed. Otherwise each file is asked whether it exists.
+         * </p>
+         *
+         * @return the number of files checked.
+         */
+        private int check() {
+            // Discard cached state first, so that the listing can provide it again
+            agents.forEach(FileMonitorAgent::refresh);
+            FileObject[] listing = null;
+            try {
+                final FileObject folder = folderAgent != null ? folderAgent.fileObject
+                    : agents.size() > 1 ? agents.get(0).fileObject.getParent() : null;
+                if (folder != null) {
+                    folder.refresh();
+                    listing = folder.getChildren();
+                }
+            } catch (final FileSystemException fse) {
+                // The folder does not exist or cannot be listed, ask each file
+                listing = null;
+            }
+            final Set<FileName> listed = listing != null
+                ? Stream.of(listing).map(FileObject::getName).collect(Collectors.toSet()) : null;
+            for (final FileMonitorAgent agent : agents) {
+                try {
+                    final FileObject file = agent.fileObject;
+                    agent.check(listed != null ? listed.contains(file.getName()) : file.exists());
+                } catch (final FileSystemException fse) {
+                    LOG.error(fse.getLocalizedMessage(), fse);
+                }
+            }
+            if (folderAgent != null && listing != null) {
+                folderAgent.checkForNewChildren(listing);
+            }
+            return agents.size();
+        }
+
+        private FileSystem getFileSystem() {
+            return (folderAgent != null ? folderAgent : agents.get(0)).fileObject.getFileSystem();
+        }
+    }
+
     private static final ThreadFactory THREAD_FACTORY = new BasicThreadFactory.Builder().daemon(true).priority(Thread.MIN_PRIORITY).build();
 
     private static final Log LOG = LogFactory.getLog(DefaultFileMonitor.class);
@@ -272,6 +374,8 @@ public class DefaultFileMonitor implements Runnable, FileMonitor, AutoCloseable
 
     private static final int DEFAULT_MAX_FILES = 1000;
 
+    private static final int DEFAULT_MAX_CHECKS_PER_FILE_SYSTEM = 1;
+
     /**
      * Map from FileName to FileObject being monitored.
      */
@@ -317,6 +421,16 @@ public class DefaultFileMonitor implements Runnable, FileMonitor, AutoCloseable
      */
     private final FileListener listener;
 
+    /**
+     * The number of threads checking files, files are checked by the monitor thread if less than 2.
+     */
+    private int parallelism;
+
+    /**
+     * The maximum number of threads checking the files of a file system at a time when checking files in parallel.
+     */
+    private int maxChecksPerFileSystem = DEFAULT_MAX_CHECKS_PER_FILE_SYSTEM;
+
     /**
      * Constructs a new instance with the given listener.
      *
@@ -352,6 +466,77 @@ public class DefaultFileMonitor implements Runnable, FileMonitor, AutoCloseable
         }
     }
 
+    /**
+     * Checks the files of a shard of folders of a file system.
+     *
+     * @param folders The folders to check.
+     */
+    private void checkFolders(final List<MonitoredFolder> folders) {
+        int checked = 0;
+        for (final MonitoredFolder folder : folders) {
+            if (Thread.currentThread().isInterrupted() || !runFlag) {
+                return;
+            }
+            final int previous = checked;
+            checked += folder.check();
+            if (getChecksPerRun() > 0 && checked / getChecksPerRun() > previous / getChecksPerRun()) {
+                try {
+                    Thread.sleep(getDelayDuration().toMillis());
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks the files being monitored with the given executor, grouped by folder, spreading the folders of each file
+     * system across at most {@link #getMaxChecksPerFileSystem()} threads.
+     *
+     * @param executor The executor checking the files.
+     */
+    private void checkInParallel(final ExecutorService executor) {
+        final List<FileMonitorAgent> agents;
+        synchronized (monitorMap) {
+            agents = new ArrayList<>(monitorMap.values());
+        }
+        final Map<FileName, MonitoredFolder> folders = new LinkedHashMap<>();
+        for (final FileMonitorAgent agent : agents) {
+            final FileName name = agent.fileObject.getName();
+            folders.computeIfAbsent(name.getParent(), k -> new MonitoredFolder()).agents.add(agent);
+            if (agent.isFolder()) {
+                folders.computeIfAbsent(name, k -> new MonitoredFolder()).folderAgent = agent;
+            }
+        }
+        final Map<FileSystem, List<MonitoredFolder>> fileSystems = new LinkedHashMap<>();
+        for (final MonitoredFolder folder : folders.values()) {
+            fileSystems.computeIfAbsent(folder.getFileSystem(), k -> new ArrayList<>()).add(folder);
+        }
+        final List<Future<?>> futures = new ArrayList<>();
+        for (final List<MonitoredFolder> fileSystemFolders : fileSystems.values()) {
+            final int shards = Math.max(1, Math.min(getMaxChecksPerFileSystem(), fileSystemFolders.size()));
+            for (int shard = 0; shard < shards; shard++) {
+                final List<MonitoredFolder> shardFolders = new ArrayList<>();
+                for (int i = shard; i < fileSystemFolders.size(); i += shards) {
+                    shardFolders.add(fileSystemFolders.get(i));
+                }
+                futures.add(executor.submit(() -> checkFolders(shardFolders)));
+            }
+        }
+        for (final Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(f -> f.cancel(true));
+                return;
+            } catch (final ExecutionException e) {
+                LOG.error(e.getCause().getLocalizedMessage(), e.getCause());
+            }
+        }
+    }
+
     @Override
     public void close() {
         runFlag = false;
@@ -404,6 +589,27 @@ public class DefaultFileMonitor implements Runnable, FileMonitor, AutoCloseable
         return listener;
     }
 
+    /**
+     * Gets the maximum number of threads checking the files of a file system at a time when checking files in
+     * parallel.
+     *
+     * @return The maximum number of threads per file system.
+     * @since 2.11.0
+     */
+    public int getMaxChecksPerFileSystem() {
+        return maxChecksPerFileSystem;
+    }
+
+    /**
+     * Gets the number of threads checking files.
+     *
+     * @return The number of threads, files are checked by the monitor thread if less than 2.
+     * @since 2.11.0
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
     /**
      * Tests the recursive setting when adding files for monitoring.
      *
@@ -463,30 +669,39 @@ public class DefaultFileMonitor implements Runnable, FileMonitor, AutoCloseable
      */
     @Override
     public void run() {
+        final ExecutorService executor = getParallelism() > 1
+            ? Executors.newFixedThreadPool(getParallelism(), THREAD_FACTORY) : null;
         mainloop: while (!monitorThread.isInterrupted() && runFlag) {
-            // For each entry in the map
-            final Object[] fileNames;
-            synchronized (monitorMap) {
-                fileNames = monitorMap.keySet().toArray();
-            }
-            for (int iterFileNames = 0; iterFileNames < fileNames.length; iterFileNames++) {
-                final FileName fileName = (FileName) fileNames[iterFileNames];
-                final FileMonitorAgent agent;
-                synchronized (monitorMap) {
-                    agent = monitorMap.get(fileName);
+            if (executor != null) {
+                checkInParallel(executor);
+                if (monitorThread.isInterrupted() || !runFlag) {
+                    continue;
                 }
-                if (agent != null) {
-                    agent.check();
+            } else {
+                // For each entry in the map
+                final Object[] fileNames;
+                synchronized (monitorMap) {
+                    fileNames = monitorMap.keySet().toArray();
                 }
-                if (getChecksPerRun() > 0 && (iterFileNames + 1) % getChecksPerRun() == 0) {
-                    try {
-                        Thread.sleep(getDelayDuration().toMillis());
-                    } catch (final InterruptedException e) {
-                        Thread.currentThread().interrupt();
+                for (int iterFileNames = 0; iterFileNames < fileNames.length; iterFileNames++) {
+                    final FileName fileName = (FileName) fileNames[iterFileNames];
+                    final FileMonitorAgent agent;
+                    synchronized (monitorMap) {
+                        agent = monitorMap.get(fileName);
+                    }
+                    if (agent != null) {
+                        agent.check();
+                    }
+                    if (getChecksPerRun() > 0 && (iterFileNames + 1) % getChecksPerRun() == 0) {
+                        try {
+                            Thread.sleep(getDelayDuration().toMillis());
+                        } catch (final InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    if (monitorThread.isInterrupted() || !runFlag) {
+                        continue mainloop;
                     }
-                }
-                if (monitorThread.isInterrupted() || !runFlag) {
-                    continue mainloop;
                 }
             }
             while (!addStack.empty()) {
@@ -502,6 +717,9 @@ public class DefaultFileMonitor implements Runnable, FileMonitor, AutoCloseable
                 continue;
             }
         }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
         runFlag = true;
     }
 
@@ -535,6 +753,33 @@ public class DefaultFileMonitor implements Runnable, FileMonitor, AutoCloseable
         setDelay(delay > 0 ? Duration.ofMillis(delay) : DEFAULT_DELAY);
     }
 
+    /**
+     * Sets the maximum number of threads checking the files of a file system at a time when checking files in
+     * parallel, so that a slow server only holds up that many threads. The default is 1.
+     *
+     * @param maxChecksPerFileSystem The maximum number of threads per file system, at least 1.
+     * @since 2.11.0
+     */
+    public void setMaxChecksPerFileSystem(final int maxChecksPerFileSystem) {
+        this.maxChecksPerFileSystem = Math.max(1, maxChecksPerFileSystem);
+    }
+
+    /**
+     * Sets the number of threads checking files, taking effect when the monitor is started.
+     * <p>
+     * With 2 threads or more, files are checked in parallel, grouped by folder: a folder is listed once to learn which
+     * of its monitored files exist, instead of asking each of them. Listeners may then be notified from several threads
+     * at a time. The default is 0, checking files one by one on the monitor thread.
+     * </p>
+     *
+     * @param parallelism The number of threads.
+     * @see #setMaxChecksPerFileSystem(int)
+     * @since 2.11.0
+     */
+    public void setParallelism(final int parallelism) {
+        this.parallelism = parallelism;
+    }
+
     /**
      * Sets the recursive setting when adding files for monitoring.
      *
@@ -16,6 +16,8 @@
  */
 package org.apache.commons.vfs2.impl;
 
+import java.time.Duration;
+
 import org.apache.commons.vfs2.FileSystem;
 import org.apache.commons.vfs2.FileSystemConfigBuilder;
 import org.apache.commons.vfs2.FileSystemOptions;
@@ -23,6 +25,19 @@ import org.apache.commons.vfs2.UserAuthenticator;
 
 /**
  * Default options usable for all file systems.
+ * <p>
+ * The metadata cache time to live options let file objects reuse their type, children, content size and last modified
+ * time for a bounded time. Metadata older than its time to live is fetched again, which refreshes the file object as
+ * if by {@link org.apache.commons.vfs2.FileObject#refresh()}. These options are most useful with
+ * {@link org.apache.commons.vfs2.CacheStrategy#MANUAL} and {@link org.apache.commons.vfs2.CacheStrategy#ON_RESOLVE}:
+ * {@link org.apache.commons.vfs2.CacheStrategy#ON_CALL} refreshes file objects before every call.
+ * </p>
+ * <p>
+ * The traversal options let {@link org.apache.commons.vfs2.FileObject#findFiles(org.apache.commons.vfs2.FileSelector)}
+ * and related methods list several folders of a file system at once, which hides the round-trip latency of remote file
+ * systems when walking large trees. The copy parallelism option does the same for the files copied by
+ * {@link org.apache.commons.vfs2.FileObject#copyFrom(org.apache.commons.vfs2.FileObject, org.apache.commons.vfs2.FileSelector)}.
+ * </p>
  */
 public class DefaultFileSystemConfigBuilder extends FileSystemConfigBuilder {
 
@@ -56,6 +71,78 @@ public class DefaultFileSystemConfigBuilder extends FileSystemConfigBuilder {
         return DefaultFileSystem.class;
     }
 
+    /**
+     * Gets how many files a file system reads or writes at once when copying files.
+     *
+     * @param opts The FileSystemOptions.
+     * @return The copy parallelism, 0 if not set.
+     * @see #setCopyParallelism(FileSystemOptions, int)
+     * @since 2.11.0
+     */
+    public int getCopyParallelism(final FileSystemOptions opts) {
+        return getInteger(opts, "copyParallelism", 0);
+    }
+
+    /**
+     * Gets how long a file object reuses the names of its children.
+     *
+     * @param opts The FileSystemOptions.
+     * @return The time to live, or null if children are cached until the file object is refreshed.
+     * @see #setChildrenCacheTimeToLive(FileSystemOptions, Duration)
+     * @since 2.11.0
+     */
+    public Duration getChildrenCacheTimeToLive(final FileSystemOptions opts) {
+        return getDuration(opts, "childrenCacheTimeToLive");
+    }
+
+    /**
+     * Gets how long a file object reuses the size of its content.
+     *
+     * @param opts The FileSystemOptions.
+     * @return The time to live, or null if the size is not cached.
+     * @see #setContentSizeCacheTimeToLive(FileSystemOptions, Duration)
+     * @since 2.11.0
+     */
+    public Duration getContentSizeCacheTimeToLive(final FileSystemOptions opts) {
+        return getDuration(opts, "contentSizeCacheTimeToLive");
+    }
+
+    /**
+     * Gets how long a file object reuses its last modified time.
+     *
+     * @param opts The FileSystemOptions.
+     * @return The time to live, or null if the last modified time is not cached.
+     * @see #setLastModifiedTimeCacheTimeToLive(FileSystemOptions, Duration)
+     * @since 2.11.0
+     */
+    public Duration getLastModifiedTimeCacheTimeToLive(final FileSystemOptions opts) {
+        return getDuration(opts, "lastModifiedTimeCacheTimeToLive");
+    }
+
+    /**
+     * Gets how long a file object reuses its type.
+     *
+     * @param opts The FileSystemOptions.
+     * @return The time to live, or null if the type is cached until the file object is refreshed.
+     * @see #setTypeCacheTimeToLive(FileSystemOptions, Duration)
+     * @since 2.11.0
+     */
+    public Duration getTypeCacheTimeToLive(final FileSystemOptions opts) {
+        return getDuration(opts, "typeCacheTimeToLive");
+    }
+
+    /**
+     * Gets how many folders a file system lists at once when finding files.
+     *
+     * @param opts The FileSystemOptions.
+     * @return The traversal parallelism, 1 to traverse on the calling thread.
+     * @see #setTraversalParallelism(FileSystemOptions, int)
+     * @since 2.11.0
+     */
+    public int getTraversalParallelism(final FileSystemOptions opts) {
+        return getInteger(opts, "traversalParallelism", 1);
+    }
+
     /**
      * Gets the UserAuthenticator parameter.
      *
@@ -67,6 +154,124 @@ public class DefaultFileSystemConfigBuilder extends FileSystemConfigBuilder {
         return getParam(opts, "userAuthenticator");
     }
 
+    /**
+     * Tests whether parallel traversals return files in the same order as sequential ones.
+     *
+     * @param opts The FileSystemOptions.
+     * @return Whether parallel traversals are ordered.
+     * @see #setTraversalOrdered(FileSystemOptions, boolean)
+     * @since 2.11.0
+     */
+    public boolean isTraversalOrdered(final FileSystemOptions opts) {
+        return getBoolean(opts, "traversalOrdered", true);
+    }
+
+    /**
+     * Sets how long a file object reuses the names of its children before listing them again.
+     * <p>
+     * By default, children are cached until the file object is refreshed.
+     * </p>
+     *
+     * @param opts The FileSystemOptions.
+     * @param timeToLive The time to live, null or not positive to cache children until the file object is refreshed.
+     * @since 2.11.0
+     */
+    public void setChildrenCacheTimeToLive(final FileSystemOptions opts, final Duration timeToLive) {
+        setParam(opts, "childrenCacheTimeToLive", timeToLive);
+    }
+
+    /**
+     * Sets how many files a file system reads or writes at once when copying files.
+     * <p>
+     * By default, files are copied one at a time on the calling thread. A copy from or to a file system with a copy
+     * parallelism uses as many threads as the larger copy parallelism of its source and destination file systems,
+     * while each file system never reads or writes more files at once for copies than its own copy parallelism.
+     * Folders are still listed and created in order on the calling thread, while the first files are already being
+     * copied.
+     * </p>
+     *
+     * @param opts The FileSystemOptions.
+     * @param parallelism The copy parallelism, 0 or less to not set it.
+     * @since 2.11.0
+     */
+    public void setCopyParallelism(final FileSystemOptions opts, final int parallelism) {
+        setParam(opts, "copyParallelism", parallelism);
+    }
+
+    /**
+     * Sets how long a file object reuses the size of its content before asking the file system again.
+     * <p>
+     * By default, the size is not cached.
+     * </p>
+     *
+     * @param opts The FileSystemOptions.
+     * @param timeToLive The time to live, null or not positive to not cache the size.
+     * @since 2.11.0
+     */
+    public void setContentSizeCacheTimeToLive(final FileSystemOptions opts, final Duration timeToLive) {
+        setParam(opts, "contentSizeCacheTimeToLive", timeToLive);
+    }
+
+    /**
+     * Sets how long a file object reuses its last modified time before asking the file system again.
+     * <p>
+     * By default, the last modified time is not cached.
+     * </p>
+     *
+     * @param opts The FileSystemOptions.
+     * @param timeToLive The time to live, null or not positive to not cache the last modified time.
+     * @since 2.11.0
+     */
+    public void setLastModifiedTimeCacheTimeToLive(final FileSystemOptions opts, final Duration timeToLive) {
+        setParam(opts, "lastModifiedTimeCacheTimeToLive", timeToLive);
+    }
+
+    /**
+     * Sets whether parallel traversals return files in the same order as sequential ones.
+     * <p>
+     * By default, parallel traversals are ordered: the selected files are collected once the whole tree has been listed.
+     * Unordered traversals collect files as soon as their folder has been listed, in no particular order, and do not
+     * keep the listed tree in memory.
+     * </p>
+     *
+     * @param opts The FileSystemOptions.
+     * @param ordered Whether parallel traversals are ordered.
+     * @since 2.11.0
+     */
+    public void setTraversalOrdered(final FileSystemOptions opts, final boolean ordered) {
+        setParam(opts, "traversalOrdered", ordered);
+    }
+
+    /**
+     * Sets how many folders a file system lists at once when finding files.
+     * <p>
+     * By default, files are found on the calling thread, one folder at a time. With a parallelism greater than 1, the
+     * file system lists folders on up to that many threads shared by all traversals of the file system, while the
+     * {@link org.apache.commons.vfs2.FileSelector} is still only called on the calling thread.
+     * </p>
+     *
+     * @param opts The FileSystemOptions.
+     * @param parallelism The traversal parallelism, 1 or less to traverse on the calling thread.
+     * @since 2.11.0
+     */
+    public void setTraversalParallelism(final FileSystemOptions opts, final int parallelism) {
+        setParam(opts, "traversalParallelism", parallelism);
+    }
+
+    /**
+     * Sets how long a file object reuses its type before asking the file system again.
+     * <p>
+     * By default, the type is cached until the file object is refreshed.
+     * </p>
+     *
+     * @param opts The FileSystemOptions.
+     * @param timeToLive The time to live, null or not positive to cache the type until the file object is refreshed.
+     * @since 2.11.0
+     */
+    public void setTypeCacheTimeToLive(final FileSystemOptions opts, final Duration timeToLive) {
+        setParam(opts, "typeCacheTimeToLive", timeToLive);
+    }
+
     /**
      * Sets the user authenticator to get authentication information.
      *
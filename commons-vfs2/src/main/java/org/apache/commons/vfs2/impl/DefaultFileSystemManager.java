@@ -90,6 +90,17 @@ public class DefaultFileSystemManager implements FileSystemManager {
      */
     private final List<String> virtualFileSystemSchemes = new ArrayList<>();
 
+    /**
+     * The schemes of providers and virtual file systems, rebuilt when they are added or removed.
+     */
+    private volatile String[] schemes = ArrayUtils.EMPTY_STRING_ARRAY;
+
+    /**
+     * The schemes indexed by their length, so that extracting the scheme of a URI only compares the characters before
+     * its first ':' with the schemes of that length.
+     */
+    private volatile String[][] schemesByLength = {};
+
     /**
      * All components used by this manager.
      */
@@ -296,6 +307,7 @@ public class DefaultFileSystemManager implements FileSystemManager {
 
         // Add to map
         Arrays.stream(urlSchemes).forEach(scheme -> providers.put(scheme, provider));
+        updateSchemes();
 
         if (provider instanceof LocalFileProvider && localFileProvider == null) {
             localFileProvider = (LocalFileProvider) provider;
@@ -312,6 +324,7 @@ public class DefaultFileSystemManager implements FileSystemManager {
             rootUri = rootUri.substring(0, rootUri.indexOf(':'));
         }
         virtualFileSystemSchemes.add(rootUri);
+        updateSchemes();
     }
 
     /**
@@ -382,6 +395,7 @@ public class DefaultFileSystemManager implements FileSystemManager {
 
         // virtual schemas
         virtualFileSystemSchemes.clear();
+        updateSchemes();
 
         // setters and derived state
         defaultProvider = null;
@@ -487,6 +501,29 @@ public class DefaultFileSystemManager implements FileSystemManager {
         return fileObject;
     }
 
+    /**
+     * Extracts the scheme of a URI, like {@link UriParser#extractScheme(String[], String)} with the current schemes,
+     * but without scanning the URI past the longest scheme or allocating.
+     *
+     * @param uri The potential URI. May also be a name.
+     * @return The scheme name. Returns null if there is no scheme.
+     */
+    private String extractScheme(final String uri) {
+        final String[][] table = schemesByLength;
+        final int maxLength = Math.min(uri.length(), table.length);
+        for (int length = 0; length < maxLength; length++) {
+            if (uri.charAt(length) == ':') {
+                for (final String scheme : table[length]) {
+                    if (uri.startsWith(scheme)) {
+                        return scheme;
+                    }
+                }
+                return null;
+            }
+        }
+        return null;
+    }
+
     /**
      * Frees all unused resources created by this manager.
      */
@@ -650,10 +687,7 @@ public class DefaultFileSystemManager implements FileSystemManager {
      */
     @Override
     public String[] getSchemes() {
-        final List<String> schemes = new ArrayList<>(providers.size() + virtualFileSystemSchemes.size());
-        schemes.addAll(providers.keySet());
-        schemes.addAll(virtualFileSystemSchemes);
-        return schemes.toArray(ArrayUtils.EMPTY_STRING_ARRAY);
+        return schemes.clone();
     }
 
     /**
@@ -727,6 +761,7 @@ public class DefaultFileSystemManager implements FileSystemManager {
      */
     public void removeProvider(final String urlScheme) {
         final FileProvider provider = providers.remove(urlScheme);
+        updateSchemes();
         // check whether the same instance is not used somewhere else
         if (provider != null && !providers.containsValue(provider)) {
             closeComponent(provider);
@@ -788,7 +823,7 @@ public class DefaultFileSystemManager implements FileSystemManager {
         }
 
         // Extract the scheme
-        final String scheme = UriParser.extractScheme(getSchemes(), uri);
+        final String scheme = extractScheme(uri);
         if (scheme != null) {
             // An absolute URI - locate the provider
             final FileProvider provider = providers.get(scheme);
@@ -912,9 +947,8 @@ public class DefaultFileSystemManager implements FileSystemManager {
 
         final StringBuilder buffer = new StringBuilder(name);
 
-        // Adjust separators
-        UriParser.fixSeparators(buffer);
-        String scheme = UriParser.extractScheme(getSchemes(), buffer.toString());
+        // Adjust separators, the name is only copied again if that changed it
+        String scheme = extractScheme(UriParser.fixSeparators(buffer) ? buffer.toString() : name);
 
         // Determine whether to prepend the base path
         if (name.isEmpty() || scheme == null && buffer.charAt(0) != FileName.SEPARATOR_CHAR) {
@@ -984,7 +1018,7 @@ public class DefaultFileSystemManager implements FileSystemManager {
         }
 
         // Extract the scheme
-        final String scheme = UriParser.extractScheme(getSchemes(), uri);
+        final String scheme = extractScheme(uri);
         if (scheme != null) {
             // An absolute URI - locate the provider
             final FileProvider provider = providers.get(scheme);
@@ -1198,4 +1232,23 @@ public class DefaultFileSystemManager implements FileSystemManager {
         return getLocalFileProvider().findLocalFile(file);
     }
 
+    /**
+     * Rebuilds the scheme table from the providers and virtual file systems.
+     */
+    private void updateSchemes() {
+        final List<String> allSchemes = new ArrayList<>(providers.size() + virtualFileSystemSchemes.size());
+        allSchemes.addAll(providers.keySet());
+        allSchemes.addAll(virtualFileSystemSchemes);
+        final String[] newSchemes = allSchemes.toArray(ArrayUtils.EMPTY_STRING_ARRAY);
+        final int maxLength = Arrays.stream(newSchemes).mapToInt(String::length).max().orElse(-1);
+        final String[][] newSchemesByLength = new String[maxLength + 1][];
+        for (int length = 0; length <= maxLength; length++) {
+            final int schemeLength = length;
+            newSchemesByLength[length] = Arrays.stream(newSchemes).filter(scheme -> scheme.length() == schemeLength)
+                .toArray(String[]::new);
+        }
+        schemesByLength = newSchemesByLength;
+        schemes = newSchemes;
+    }
+
 }
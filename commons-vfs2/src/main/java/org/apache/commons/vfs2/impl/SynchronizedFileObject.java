@@ -19,6 +19,7 @@ package org.apache.commons.vfs2.impl;
 import java.util.List;
 
 import org.apache.commons.vfs2.FileContent;
+import org.apache.commons.vfs2.FileCopyListener;
 import org.apache.commons.vfs2.FileObject;
 import org.apache.commons.vfs2.FileSelector;
 import org.apache.commons.vfs2.FileSystemException;
@@ -53,6 +54,14 @@ public class SynchronizedFileObject extends DecoratedFileObject {
         }
     }
 
+    @Override
+    public void copyFrom(final FileObject srcFile, final FileSelector selector, final FileCopyListener listener)
+            throws FileSystemException {
+        synchronized (this) {
+            super.copyFrom(srcFile, selector, listener);
+        }
+    }
+
     @Override
     public void createFile() throws FileSystemException {
         synchronized (this) {
@@ -0,0 +1,663 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.impl;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadFactory;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.commons.vfs2.FileListener;
+import org.apache.commons.vfs2.FileMonitor;
+import org.apache.commons.vfs2.FileName;
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.NameScope;
+import org.apache.commons.vfs2.provider.AbstractFileSystem;
+import org.apache.commons.vfs2.provider.local.LocalFile;
+import org.apache.commons.vfs2.util.FileObjectUtils;
+
+/**
+ * A {@link FileMonitor} notified of changes to local files by a {@link WatchService}, such as inotify on Linux, instead
+ * of polling them.
+ * <p>
+ * The events are those of a {@link DefaultFileMonitor}: a monitored file fires a change event when its last modified
+ * time or size changes, and create and delete events when it appears or disappears. New children of a monitored folder
+ * fire create events and are monitored in turn, recursively if recursive descent is enabled. Directories are
+ * registered with the watch service, and only the files they report as changed are checked.
+ * </p>
+ * <p>
+ * Files of other providers are polled by a DefaultFileMonitor, configured with {@link #setDelay(Duration)} and
+ * {@link #setChecksPerRun(int)}. On platforms without native support, the WatchService itself polls, and changes to
+ * local files are noticed less quickly.
+ * </p>
+ * <h2>Example usage:</h2>
+ *
+ * <pre>
+ * FileSystemManager fsManager = VFS.getManager();
+ * FileObject listenDir = fsManager.resolveFile("/home/username/monitored/");
+ *
+ * WatchServiceFileMonitor fm = new WatchServiceFileMonitor(new CustomFileListener());
+ * fm.setRecursive(true);
+ * fm.addFile(listenDir);
+ * fm.start();
+ * </pre>
+ *
+ * @since 2.11.0
+ */
+public class WatchServiceFileMonitor implements FileMonitor, AutoCloseable {
+
+    /**
+     * The state of a monitored file.
+     */
+    private static final class Monitored {
+
+        private final FileObject fileObject;
+        private boolean exists;
+        private long timestamp;
+        private long size;
+
+        /**
+         * Whether the parent of the file is registered with the watch service for this file.
+         */
+        private boolean parentWatched;
+
+        /**
+         * Whether the file is a folder registered with the watch service.
+         */
+        private boolean watched;
+
+        private Monitored(final FileObject fileObject) {
+            this.fileObject = fileObject;
+            update();
+        }
+
+        /**
+         * Refreshes the state of the file.
+         *
+         * @return whether the file appeared, disappeared or changed.
+         */
+        private boolean update() {
+            final boolean oldExists = exists;
+            final long oldTimestamp = timestamp;
+            final long oldSize = size;
+            try {
+                fileObject.refresh();
+                exists = fileObject.exists();
+                timestamp = exists ? fileObject.getContent().getLastModifiedTime() : -1;
+                size = exists && fileObject.isFile() ? fileObject.getContent().getSize() : -1;
+            } catch (final FileSystemException fse) {
+                exists = false;
+                timestamp = -1;
+                size = -1;
+            }
+            return exists != oldExists || timestamp != oldTimestamp || size != oldSize;
+        }
+    }
+
+    /**
+     * A directory registered with the watch service, either a monitored folder or the parent of monitored files.
+     */
+    private static final class WatchedDirectory {
+
+        private final FileObject folder;
+        private final WatchKey key;
+
+        /**
+         * The number of monitored files that need this directory.
+         */
+        private int users;
+
+        private WatchedDirectory(final FileObject folder, final WatchKey key) {
+            this.folder = folder;
+            this.key = key;
+        }
+    }
+
+    private static final ThreadFactory THREAD_FACTORY = new BasicThreadFactory.Builder().daemon(true)
+        .priority(Thread.MIN_PRIORITY).build();
+
+    private static final Log LOG = LogFactory.getLog(WatchServiceFileMonitor.class);
+
+    private static AbstractFileSystem fileSystem(final FileObject fileObject) {
+        return (AbstractFileSystem) fileObject.getFileSystem();
+    }
+
+    private static boolean isLocal(final FileObject file) {
+        try {
+            return FileObjectUtils.getAbstractFileObject(file) instanceof LocalFile;
+        } catch (final FileSystemException fse) {
+            return false;
+        }
+    }
+
+    /**
+     * Monitored local files; guarded by this.
+     */
+    private final Map<FileName, Monitored> monitorMap = new HashMap<>();
+
+    /**
+     * Directories registered with the watch service, by key and by name; guarded by this.
+     */
+    private final Map<WatchKey, WatchedDirectory> watchedKeys = new HashMap<>();
+    private final Map<FileName, WatchedDirectory> watchedNames = new HashMap<>();
+
+    /**
+     * Notifications of the listeners queued while processing events, run by the watch thread once it releases the lock
+     * of this monitor; guarded by this.
+     */
+    private final List<Runnable> pendingNotifications = new ArrayList<>();
+
+    /**
+     * Polls the files of other providers.
+     */
+    private final DefaultFileMonitor pollingMonitor;
+
+    /**
+     * The number of files of other providers.
+     */
+    private int polledCount;
+
+    private boolean pollingStarted;
+
+    /**
+     * A listener object that if set, is notified on file creation and deletion.
+     */
+    private final FileListener listener;
+
+    private boolean recursive;
+
+    private boolean started;
+
+    /**
+     * The watch service, null until a local file is monitored and once this monitor is stopped; guarded by this.
+     */
+    private WatchService watchService;
+
+    /**
+     * The thread taking events from the watch service.
+     */
+    private Thread watchThread;
+
+    /**
+     * Constructs a new instance with the given listener.
+     *
+     * @param listener The listener.
+     */
+    public WatchServiceFileMonitor(final FileListener listener) {
+        this.listener = listener;
+        this.pollingMonitor = new DefaultFileMonitor(listener);
+    }
+
+    /**
+     * Adds a file to be monitored.
+     *
+     * @param file The FileObject to monitor.
+     */
+    @Override
+    public void addFile(final FileObject file) {
+        if (!isLocal(file)) {
+            synchronized (this) {
+                polledCount++;
+                pollingMonitor.addFile(file);
+                if (started && !pollingStarted) {
+                    pollingMonitor.start();
+                    pollingStarted = true;
+                }
+            }
+            return;
+        }
+        synchronized (this) {
+            if (monitorMap.containsKey(file.getName())) {
+                return;
+            }
+            final Monitored monitored = new Monitored(file);
+            monitorMap.put(file.getName(), monitored);
+            if (listener != null) {
+                file.getFileSystem().addListener(file, listener);
+            }
+            register(monitored);
+            try {
+                if (recursive && file.getType().hasChildren()) {
+                    // Add depth first
+                    Stream.of(file.getChildren()).forEach(this::addFile);
+                }
+            } catch (final FileSystemException fse) {
+                LOG.error(fse.getLocalizedMessage(), fse);
+            }
+        }
+    }
+
+    /**
+     * Checks a child of a watched directory, reported as changed by the watch service.
+     */
+    private void check(final FileObject folder, final FileObject child) {
+        final Monitored monitored = monitorMap.get(child.getName());
+        if (monitored != null) {
+            final boolean existed = monitored.exists;
+            if (!monitored.update()) {
+                return;
+            }
+            final FileObject fileObject = monitored.fileObject;
+            if (existed && !monitored.exists) {
+                fireDeleted(monitored);
+            } else if (existed) {
+                // Don't fire if it's a folder because new file children
+                // and deleted files in a folder have their own event triggered.
+                if (!isFolder(fileObject)) {
+                    pendingNotifications.add(() -> fileSystem(fileObject).fireFileChanged(fileObject));
+                }
+            } else if (isFolder(fileObject)) {
+                if (!monitored.watched) {
+                    monitored.watched = watch(fileObject);
+                }
+                checkNewChildren(fileObject);
+            } else {
+                pendingNotifications.add(() -> fileSystem(fileObject).fireFileCreated(fileObject));
+            }
+        } else if (folder != null && monitorMap.containsKey(folder.getName())) {
+            try {
+                child.refresh();
+                if (child.exists()) {
+                    fireAllCreate(child);
+                }
+            } catch (final FileSystemException fse) {
+                LOG.error(fse.getLocalizedMessage(), fse);
+            }
+        }
+    }
+
+    /**
+     * Checks all monitored children of a directory, when the watch service lost events.
+     */
+    private void checkAll(final WatchedDirectory directory) {
+        final FileName folderName = directory.folder.getName();
+        final List<Monitored> children = monitorMap.values().stream()
+            .filter(monitored -> folderName.equals(monitored.fileObject.getName().getParent()))
+            .collect(Collectors.toList());
+        children.forEach(monitored -> check(directory.folder, monitored.fileObject));
+        final Monitored folder = monitorMap.get(folderName);
+        if (folder != null && folder.exists) {
+            checkNewChildren(directory.folder);
+        }
+    }
+
+    /**
+     * Fires create events for the children of a monitored folder that are not monitored yet.
+     */
+    private void checkNewChildren(final FileObject folder) {
+        try {
+            folder.refresh();
+            if (isFolder(folder)) {
+                for (final FileObject child : folder.getChildren()) {
+                    if (!monitorMap.containsKey(child.getName())) {
+                        fireAllCreate(child);
+                    }
+                }
+            }
+        } catch (final FileSystemException fse) {
+            LOG.error(fse.getLocalizedMessage(), fse);
+        }
+    }
+
+    /**
+     * Stops monitoring the files that have been added.
+     */
+    @Override
+    public void close() {
+        final Thread thread;
+        final WatchService service;
+        synchronized (this) {
+            started = false;
+            thread = watchThread;
+            watchThread = null;
+            service = watchService;
+            watchService = null;
+            watchedKeys.clear();
+            watchedNames.clear();
+            monitorMap.values().forEach(monitored -> {
+                monitored.parentWatched = false;
+                monitored.watched = false;
+            });
+            pollingStarted = false;
+        }
+        // Wakes up the watch thread
+        IOUtils.closeQuietly(service);
+        // A listener may stop this monitor from the watch thread
+        if (thread != null && thread != Thread.currentThread()) {
+            try {
+                thread.join();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        pollingMonitor.close();
+    }
+
+    /**
+     * Queues create events for a new child of a monitored folder and, if recursive descent is enabled, for its
+     * descendants, and monitors them.
+     */
+    private void fireAllCreate(final FileObject child) throws FileSystemException {
+        addFile(child);
+        pendingNotifications.add(() -> fileSystem(child).fireFileCreated(child));
+        if (recursive && isFolder(child)) {
+            for (final FileObject grandChild : child.getChildren()) {
+                fireAllCreate(grandChild);
+            }
+        }
+    }
+
+    /**
+     * Queues delete events for a monitored file that disappeared and its monitored descendants, and stops monitoring
+     * them.
+     */
+    private void fireDeleted(final Monitored monitored) {
+        final FileName name = monitored.fileObject.getName();
+        final List<Monitored> descendants = monitorMap.values().stream()
+            .filter(descendant -> name.isDescendent(descendant.fileObject.getName()))
+            .sorted(Comparator.comparingInt((Monitored descendant) -> descendant.fileObject.getName().getDepth())
+                .reversed())
+            .collect(Collectors.toList());
+        descendants.add(monitored);
+        for (final Monitored deleted : descendants) {
+            if (deleted != monitored) {
+                deleted.update();
+            }
+            final FileObject fileObject = deleted.fileObject;
+            pendingNotifications.add(() -> {
+                fileSystem(fileObject).fireFileDeleted(fileObject);
+                // Remove listener in case file is re-created. Don't want to fire twice.
+                // A file re-created meanwhile has added the listener once more.
+                if (listener != null) {
+                    fileObject.getFileSystem().removeListener(fileObject, listener);
+                }
+            });
+            forget(deleted);
+        }
+    }
+
+    /**
+     * Stops monitoring a file, releasing the directories it needs.
+     */
+    private void forget(final Monitored monitored) {
+        final FileName name = monitored.fileObject.getName();
+        monitorMap.remove(name);
+        if (monitored.parentWatched) {
+            unwatch(name.getParent());
+            monitored.parentWatched = false;
+        }
+        if (monitored.watched) {
+            unwatch(name);
+            monitored.watched = false;
+        }
+    }
+
+    /**
+     * Gets the number of files of other providers to check per run.
+     *
+     * @return The number of files to check per iteration.
+     * @see DefaultFileMonitor#getChecksPerRun()
+     */
+    public int getChecksPerRun() {
+        return pollingMonitor.getChecksPerRun();
+    }
+
+    /**
+     * Gets the delay between runs polling the files of other providers.
+     *
+     * @return The delay period.
+     * @see DefaultFileMonitor#getDelayDuration()
+     */
+    public Duration getDelayDuration() {
+        return pollingMonitor.getDelayDuration();
+    }
+
+    private WatchService getWatchService() throws IOException {
+        if (watchService == null) {
+            watchService = FileSystems.getDefault().newWatchService();
+        }
+        return watchService;
+    }
+
+    private boolean isFolder(final FileObject fileObject) {
+        try {
+            return fileObject.getType().hasChildren();
+        } catch (final FileSystemException fse) {
+            return false;
+        }
+    }
+
+    /**
+     * Tests the recursive setting when adding files for monitoring.
+     *
+     * @return true if monitoring is enabled for children.
+     */
+    public boolean isRecursive() {
+        return recursive;
+    }
+
+    /**
+     * Takes the events of the watch service until it is closed.
+     */
+    private void processEvents(final WatchService service) {
+        try {
+            while (true) {
+                final WatchKey key = service.take();
+                final List<Runnable> notifications;
+                synchronized (this) {
+                    final List<WatchEvent<?>> events = key.pollEvents();
+                    final WatchedDirectory directory = watchedKeys.get(key);
+                    if (directory != null) {
+                        processEvents(directory, events);
+                        if (!key.reset()) {
+                            // The directory is gone, its parent reports it
+                            watchedKeys.remove(key);
+                            watchedNames.remove(directory.folder.getName());
+                        }
+                    }
+                    notifications = new ArrayList<>(pendingNotifications);
+                    pendingNotifications.clear();
+                }
+                // Outside the lock, so that a slow listener does not block addFile() and removeFile()
+                notifications.forEach(Runnable::run);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final ClosedWatchServiceException e) {
+            // Stopped
+        }
+    }
+
+    private void processEvents(final WatchedDirectory directory, final List<WatchEvent<?>> events) {
+        for (final WatchEvent<?> event : events) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                checkAll(directory);
+                return;
+            }
+        }
+        // A file written once is usually reported as created and modified
+        final Set<String> baseNames = new LinkedHashSet<>();
+        events.forEach(event -> baseNames.add(((Path) event.context()).getFileName().toString()));
+        for (final String baseName : baseNames) {
+            try {
+                check(directory.folder, directory.folder.resolveFile(baseName, NameScope.CHILD));
+            } catch (final FileSystemException fse) {
+                LOG.error(fse.getLocalizedMessage(), fse);
+            }
+        }
+    }
+
+    /**
+     * Registers the directories a monitored file needs with the watch service: its parent, to notice it appear and
+     * disappear, and the file itself if it is a folder, to notice new children. Directories already registered for the
+     * file are skipped.
+     */
+    private void register(final Monitored monitored) {
+        final FileObject fileObject = monitored.fileObject;
+        if (!monitored.parentWatched) {
+            try {
+                monitored.parentWatched = watch(fileObject.getParent());
+            } catch (final FileSystemException fse) {
+                LOG.error(fse.getLocalizedMessage(), fse);
+            }
+        }
+        if (!monitored.watched && isFolder(fileObject)) {
+            monitored.watched = watch(fileObject);
+        }
+    }
+
+    /**
+     * Removes a file from being monitored.
+     *
+     * @param file The FileObject to remove from monitoring.
+     */
+    @Override
+    public void removeFile(final FileObject file) {
+        if (!isLocal(file)) {
+            synchronized (this) {
+                polledCount--;
+                pollingMonitor.removeFile(file);
+            }
+            return;
+        }
+        synchronized (this) {
+            final Monitored monitored = monitorMap.get(file.getName());
+            if (monitored != null) {
+                forget(monitored);
+            }
+        }
+    }
+
+    /**
+     * Sets the number of files of other providers to check per run.
+     *
+     * @param checksPerRun A value less than 1 will disable this feature
+     * @see DefaultFileMonitor#setChecksPerRun(int)
+     */
+    public void setChecksPerRun(final int checksPerRun) {
+        pollingMonitor.setChecksPerRun(checksPerRun);
+    }
+
+    /**
+     * Sets the delay between runs polling the files of other providers.
+     *
+     * @param delay The delay period.
+     * @see DefaultFileMonitor#setDelay(Duration)
+     */
+    public void setDelay(final Duration delay) {
+        pollingMonitor.setDelay(delay);
+    }
+
+    /**
+     * Sets the recursive setting when adding files for monitoring.
+     *
+     * @param newRecursive true if monitoring should be enabled for children.
+     */
+    public void setRecursive(final boolean newRecursive) {
+        recursive = newRecursive;
+        pollingMonitor.setRecursive(newRecursive);
+    }
+
+    /**
+     * Starts monitoring the files that have been added.
+     */
+    public synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        // Registers again the files monitored before the monitor was stopped, even if files added since then
+        // created a new watch service
+        new ArrayList<>(monitorMap.values()).forEach(this::register);
+        try {
+            final WatchService service = getWatchService();
+            watchThread = THREAD_FACTORY.newThread(() -> processEvents(service));
+            watchThread.start();
+        } catch (final IOException e) {
+            LOG.error(e.getLocalizedMessage(), e);
+        }
+        if (polledCount > 0 && !pollingStarted) {
+            pollingMonitor.start();
+            pollingStarted = true;
+        }
+    }
+
+    /**
+     * Stops monitoring the files that have been added.
+     */
+    public void stop() {
+        close();
+    }
+
+    /**
+     * Releases a directory a monitored file needed, unregistering it from the watch service once no file needs it.
+     */
+    private void unwatch(final FileName folderName) {
+        final WatchedDirectory directory = folderName != null ? watchedNames.get(folderName) : null;
+        if (directory != null && --directory.users == 0) {
+            directory.key.cancel();
+            watchedKeys.remove(directory.key);
+            watchedNames.remove(folderName);
+        }
+    }
+
+    /**
+     * Registers a directory a monitored file needs with the watch service.
+     *
+     * @return whether the directory is registered.
+     */
+    private boolean watch(final FileObject folder) {
+        if (folder == null || !isFolder(folder)) {
+            return false;
+        }
+        WatchedDirectory directory = watchedNames.get(folder.getName());
+        if (directory == null) {
+            try {
+                final WatchKey key = folder.getPath().register(getWatchService(), StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+                directory = new WatchedDirectory(folder, key);
+                watchedKeys.put(key, directory);
+                watchedNames.put(folder.getName(), directory);
+            } catch (final IOException | UnsupportedOperationException e) {
+                LOG.error(e.getLocalizedMessage(), e);
+                return false;
+            }
+        }
+        directory.users++;
+        return true;
+    }
+}
@@ -131,6 +131,44 @@ public abstract class AbstractFileName implements FileName {
         return getKey().compareTo(name.getKey());
     }
 
+    /**
+     * Creates the name of a child of this file from its encoded base name, as listed by a file system.
+     * <p>
+     * This is a fast path for {@link org.apache.commons.vfs2.FileSystemManager#resolveName(FileName, String,
+     * NameScope)} with {@link NameScope#CHILD}: the child is derived from this name with
+     * {@link #createName(String, FileType)}, without parsing a URI. It only applies to names that the parser of the
+     * file system would leave as they are, that is without separators, escape sequences or reserved characters, and
+     * other than {@code "."} and {@code ".."}.
+     * </p>
+     *
+     * @param encodedName The encoded base name of the child.
+     * @param fileType The FileType of the child.
+     * @return The FileName of the child, or null if the name must be resolved by the file system manager.
+     * @since 2.11.0
+     */
+    public FileName createChildName(final String encodedName, final FileType fileType) {
+        final int length = encodedName.length();
+        if (length == 0 || ".".equals(encodedName) || "..".equals(encodedName)) {
+            return null;
+        }
+        for (int i = 0; i < length; i++) {
+            switch (encodedName.charAt(i)) {
+            case SEPARATOR_CHAR:
+            case UriParser.TRANS_SEPARATOR:
+            case '%':
+            case '?':
+            case LayeredFileName.LAYER_SEPARATOR:
+                return null;
+            default:
+                break;
+            }
+        }
+        if (ROOT_PATH.equals(absolutePath)) {
+            return createName(absolutePath + encodedName, fileType);
+        }
+        return createName(absolutePath + SEPARATOR_CHAR + encodedName, fileType);
+    }
+
     /**
      * Factory method for creating name instances.
      *
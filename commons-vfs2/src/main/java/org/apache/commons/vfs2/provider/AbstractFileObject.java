@@ -22,6 +22,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URL;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
 import java.security.AccessController;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
@@ -33,6 +35,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
@@ -41,12 +44,14 @@ import org.apache.commons.io.function.Uncheck;
 import org.apache.commons.vfs2.Capability;
 import org.apache.commons.vfs2.FileContent;
 import org.apache.commons.vfs2.FileContentInfoFactory;
+import org.apache.commons.vfs2.FileCopyListener;
 import org.apache.commons.vfs2.FileName;
 import org.apache.commons.vfs2.FileNotFolderException;
 import org.apache.commons.vfs2.FileObject;
 import org.apache.commons.vfs2.FileSelector;
 import org.apache.commons.vfs2.FileSystem;
 import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.FileSystemOptions;
 import org.apache.commons.vfs2.FileType;
 import org.apache.commons.vfs2.NameScope;
 import org.apache.commons.vfs2.RandomAccessContent;
@@ -66,11 +71,31 @@ import org.apache.commons.vfs2.util.RandomAccessMode;
  * TODO - Check caps in methods like getChildren(), etc, and give better error messages (eg 'this file type does not
  * support listing children', vs 'this is not a folder')
  * </p>
+ * <p>
+ * Cached state is guarded by the monitor of each file object rather than by the file system, so a slow operation on
+ * one file, like listing a remote folder, does not block operations on unrelated files. To avoid deadlocks, locks are
+ * only taken from a file towards its ancestors: a file may lock its parent while holding its own lock, but a folder
+ * must not lock its children while holding its own, for example when injecting attributes into them while listing.
+ * </p>
  *
  * @param <AFS> An AbstractFileSystem subclass
  */
 public abstract class AbstractFileObject<AFS extends AbstractFileSystem> implements FileObject {
 
+    /**
+     * A cached metadata value and the {@link System#nanoTime()} it expires at.
+     */
+    private static final class CachedMetadata {
+
+        private final long value;
+        private final long expiry;
+
+        CachedMetadata(final long value, final long timeToLive) {
+            this.value = value;
+            this.expiry = System.nanoTime() + timeToLive;
+        }
+    }
+
     /**
      * Same as {@link BufferedInputStream}.
      */
@@ -88,6 +113,10 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
         // Check the file itself
         final FileObject file = fileInfo.getFile();
         final int index = selected.size();
+        if (!depthwise) {
+            // Reserve the slot of this file before its descendants, see findFiles()
+            selected.add(null);
+        }
 
         // If the file is a folder, traverse it
         if (file.getType().hasChildren() && selector.traverseDescendants(fileInfo)) {
@@ -112,24 +141,37 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
                 selected.add(file);
             } else {
                 // Add this file before its descendants
-                selected.add(index, file);
+                selected.set(index, file);
             }
         }
     }
     private final AbstractFileName fileName;
 
     private final AFS fileSystem;
-    private FileContent content;
+    private volatile FileContent content;
     // Cached info
-    private boolean attached;
+    private volatile boolean attached;
 
-    private FileType type;
-    private FileObject parent;
+    private volatile FileType type;
+    private volatile FileObject parent;
 
     // Changed to hold only the name of the children and let the object
     // go into the global files cache
     // private FileObject[] children;
-    private FileName[] children;
+    private volatile FileName[] children;
+
+    /**
+     * When the cached type and children expire, in {@link System#nanoTime()} terms. Only used when the file system
+     * options configure a time to live for them.
+     */
+    private volatile long typeExpiry;
+    private volatile long childrenExpiry;
+
+    /**
+     * Content metadata, only cached when the file system options configure a time to live for it.
+     */
+    private volatile CachedMetadata contentSize;
+    private volatile CachedMetadata lastModifiedTime;
 
     private List<Object> objects;
 
@@ -156,7 +198,7 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
      * @throws FileSystemException if an error occurs.
      */
     private void attach() throws FileSystemException {
-        synchronized (fileSystem) {
+        synchronized (this) {
             if (attached) {
                 return;
             }
@@ -179,6 +221,22 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
         }
     }
 
+    /**
+     * Tests if the server can copy the content of this file to {@code destFile} by itself, without the content going
+     * through this client.
+     * <p>
+     * This implementation returns true if the file system has the {@link Capability#COPY_SERVER_SIDE} capability and
+     * {@code destFile} belongs to the same file system.
+     * </p>
+     *
+     * @param destFile The destination file.
+     * @return true if the server can copy this file to {@code destFile}.
+     * @since 2.11.0
+     */
+    protected boolean canCopyTo(final FileObject destFile) {
+        return fileSystem.hasCapability(Capability.COPY_SERVER_SIDE) && fileSystem == destFile.getFileSystem();
+    }
+
     /**
      * Tests if a simple rename to the file name of {@code newfile} is possible.
      *
@@ -199,20 +257,22 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
      */
     protected void childrenChanged(final FileName childName, final FileType newType) throws Exception {
         // TODO - this may be called when not attached
-
-        if (children != null && childName != null && newType != null) {
-            // TODO - figure out if children[] can be replaced by list
-            final ArrayList<FileName> list = new ArrayList<>(Arrays.asList(children));
-            if (newType.equals(FileType.IMAGINARY)) {
-                list.remove(childName);
-            } else {
-                list.add(childName);
+        synchronized (this) {
+            if (children != null && childName != null && newType != null) {
+                // TODO - figure out if children[] can be replaced by list
+                final ArrayList<FileName> list = new ArrayList<>(Arrays.asList(children));
+                if (newType.equals(FileType.IMAGINARY)) {
+                    list.remove(childName);
+                } else if (!list.contains(childName)) {
+                    // the children may have been listed again since the child was created
+                    list.add(childName);
+                }
+                children = list.toArray(FileName.EMPTY_ARRAY);
             }
-            children = list.toArray(FileName.EMPTY_ARRAY);
-        }
 
-        // removeChildrenCache();
-        onChildrenChanged(childName, newType);
+            // removeChildrenCache();
+            onChildrenChanged(childName, newType);
+        }
     }
 
     /**
@@ -223,21 +283,19 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
     @Override
     public void close() throws FileSystemException {
         final AtomicReference<Exception> ref = new AtomicReference<>();
-        synchronized (fileSystem) {
-            // Close the content
-            IOUtils.closeQuietly(content, ref::set);
-            if (ref.get() != null) {
-                content = null;
-            }
-            // Detach from the file
-            try {
-                detach();
-            } catch (final Exception e) {
-                ref.set(e);
-            }
-            if (ref.get() != null) {
-                throw new FileSystemException("vfs.provider/close.error", fileName, ref.get());
-            }
+        // Close the content outside this file's lock, closing an output stream notifies the parent folder
+        IOUtils.closeQuietly(content, ref::set);
+        if (ref.get() != null) {
+            content = null;
+        }
+        // Detach from the file
+        try {
+            detach();
+        } catch (final Exception e) {
+            ref.set(e);
+        }
+        if (ref.get() != null) {
+            throw new FileSystemException("vfs.provider/close.error", fileName, ref.get());
         }
     }
 
@@ -256,6 +314,31 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
         return this.toString().compareToIgnoreCase(file.toString());
     }
 
+    /**
+     * Has the server copy the content of this file to another file, if it can.
+     *
+     * @param destFile The destination file, whose parent folder is created if needed.
+     * @return true if the server copied the content, false if it must be copied through streams.
+     * @throws FileSystemException if an error occurs.
+     */
+    boolean copyContentTo(final FileObject destFile) throws FileSystemException {
+        if (!canCopyTo(destFile)) {
+            return false;
+        }
+        final AbstractFileObject destObject = FileObjectUtils.getAbstractFileObject(destFile);
+        destObject.prepareWrite(false);
+        try {
+            doCopyTo(destFile);
+            destObject.resetContentMetadata();
+            destObject.endOutput();
+        } catch (final RuntimeException re) {
+            throw re;
+        } catch (final Exception exc) {
+            throw new FileSystemException("vfs.provider/copy-file.error", exc, fileName, destFile.getName());
+        }
+        return true;
+    }
+
     /**
      * Copies another file to this file.
      *
@@ -265,39 +348,27 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
      */
     @Override
     public void copyFrom(final FileObject file, final FileSelector selector) throws FileSystemException {
-        if (!FileObjectUtils.exists(file)) {
-            throw new FileSystemException("vfs.provider/copy-missing-file.error", file);
-        }
-
-        // Locate the files to copy across
-        final ArrayList<FileObject> files = new ArrayList<>();
-        file.findFiles(selector, false, files);
-
-        // Copy everything across
-        for (final FileObject srcFile : files) {
-            // Determine the destination file
-            final String relPath = file.getName().getRelativeName(srcFile.getName());
-            final FileObject destFile = resolveFile(relPath, NameScope.DESCENDENT_OR_SELF);
-
-            // Clean up the destination file, if necessary
-            if (FileObjectUtils.exists(destFile) && destFile.getType() != srcFile.getType()) {
-                // The destination file exists, and is not of the same type,
-                // so delete it
-                // TODO - add a pluggable policy for deleting and overwriting existing files
-                destFile.deleteAll();
-            }
+        copyFrom(file, selector, null);
+    }
 
-            // Copy across
-            try {
-                if (srcFile.getType().hasContent()) {
-                    FileObjectUtils.writeContent(srcFile, destFile);
-                } else if (srcFile.getType().hasChildren()) {
-                    destFile.createFolder();
-                }
-            } catch (final IOException e) {
-                throw new FileSystemException("vfs.provider/copy-file.error", e, srcFile, destFile);
-            }
-        }
+    /**
+     * Copies another file to this file, reporting each copied file to a listener.
+     * <p>
+     * The selected files are copied while the source is still being walked. File systems configured with a copy
+     * parallelism copy several files at once, see
+     * {@link org.apache.commons.vfs2.impl.DefaultFileSystemConfigBuilder#setCopyParallelism(FileSystemOptions, int)}.
+     * </p>
+     *
+     * @param file The FileObject to copy.
+     * @param selector The FileSelector.
+     * @param listener The listener notified of each copied file, may be null.
+     * @throws FileSystemException if an error occurs.
+     * @since 2.11.0
+     */
+    @Override
+    public void copyFrom(final FileObject file, final FileSelector selector, final FileCopyListener listener)
+            throws FileSystemException {
+        FileCopier.copy(this, file, selector, listener);
     }
 
     /**
@@ -307,28 +378,27 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
      */
     @Override
     public void createFile() throws FileSystemException {
-        synchronized (fileSystem) {
-            try {
-                // VFS-210: We do not want to trunc any existing file, checking for its existence is
-                // still required
-                if (exists() && !isFile()) {
-                    throw new FileSystemException("vfs.provider/create-file.error", fileName);
-                }
+        // Not guarded by this file's lock: closing the output stream notifies the parent folder.
+        try {
+            // VFS-210: We do not want to trunc any existing file, checking for its existence is
+            // still required
+            if (exists() && !isFile()) {
+                throw new FileSystemException("vfs.provider/create-file.error", fileName);
+            }
 
-                if (!exists()) {
-                    try (FileContent content = getContent()) {
-                        if (content != null) {
-                            try (OutputStream ignored = content.getOutputStream()) {
-                                // Avoids NPE on OutputStream#close()
-                            }
+            if (!exists()) {
+                try (FileContent content = getContent()) {
+                    if (content != null) {
+                        try (OutputStream ignored = content.getOutputStream()) {
+                            // Avoids NPE on OutputStream#close()
                         }
                     }
                 }
-            } catch (final RuntimeException re) {
-                throw re;
-            } catch (final Exception e) {
-                throw new FileSystemException("vfs.provider/create-file.error", fileName, e);
             }
+        } catch (final RuntimeException re) {
+            throw re;
+        } catch (final Exception e) {
+            throw new FileSystemException("vfs.provider/create-file.error", fileName, e);
         }
     }
 
@@ -339,38 +409,43 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
      */
     @Override
     public void createFolder() throws FileSystemException {
-        synchronized (fileSystem) {
-            // VFS-210: we create a folder only if it does not already exist. So this check should be safe.
-            if (getType().hasChildren()) {
-                // Already exists as correct type
-                return;
-            }
-            if (getType() != FileType.IMAGINARY) {
-                throw new FileSystemException("vfs.provider/create-folder-mismatched-type.error", fileName);
-            }
-            /*
-             * VFS-210: checking for writable is not always possible as the security constraint might be more complex
-             * if (!isWriteable()) { throw new FileSystemException("vfs.provider/create-folder-read-only.error", name);
-             * }
-             */
+        // VFS-210: we create a folder only if it does not already exist. So this check should be safe.
+        if (getType().hasChildren()) {
+            // Already exists as correct type
+            return;
+        }
+        if (getType() != FileType.IMAGINARY) {
+            throw new FileSystemException("vfs.provider/create-folder-mismatched-type.error", fileName);
+        }
+        /*
+         * VFS-210: checking for writable is not always possible as the security constraint might be more complex
+         * if (!isWriteable()) { throw new FileSystemException("vfs.provider/create-folder-read-only.error", name);
+         * }
+         */
 
-            // Traverse up the hierarchy and make sure everything is a folder
-            final FileObject parent = getParent();
-            if (parent != null) {
-                parent.createFolder();
-            }
+        // Traverse up the hierarchy and make sure everything is a folder, before taking this file's lock
+        final FileObject parent = getParent();
+        if (parent != null) {
+            parent.createFolder();
+        }
 
-            try {
-                // Create the folder
-                doCreateFolder();
+        try {
+            synchronized (this) {
+                // Another thread may have created the folder while we were creating the ancestors
+                if (getType().hasChildren()) {
+                    return;
+                }
 
-                // Update cached info
-                handleCreate(FileType.FOLDER);
-            } catch (final RuntimeException re) {
-                throw re;
-            } catch (final Exception exc) {
-                throw new FileSystemException("vfs.provider/create-folder.error", fileName, exc);
+                // Create the folder and update cached info
+                doCreateFolder();
+                updateCreated(FileType.FOLDER);
             }
+
+            notifyCreated(FileType.FOLDER);
+        } catch (final RuntimeException re) {
+            throw re;
+        } catch (final Exception exc) {
+            throw new FileSystemException("vfs.provider/create-folder.error", fileName, exc);
         }
     }
 
@@ -446,27 +521,27 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
      * @throws FileSystemException if an error occurs.
      */
     private boolean deleteSelf() throws FileSystemException {
-        synchronized (fileSystem) {
-            // It's possible to delete a read-only file if you have write-execute access to the directory
+        // It's possible to delete a read-only file if you have write-execute access to the directory
 
-            /*
-             * VFS-210 if (getType() == FileType.IMAGINARY) { // File does not exist return false; }
-             */
+        /*
+         * VFS-210 if (getType() == FileType.IMAGINARY) { // File does not exist return false; }
+         */
 
-            try {
-                // Delete the file
+        try {
+            // Delete the file and update cached info
+            synchronized (this) {
                 doDelete();
-
-                // Update cached info
-                handleDelete();
-            } catch (final RuntimeException re) {
-                throw re;
-            } catch (final Exception exc) {
-                throw new FileSystemException("vfs.provider/delete.error", exc, fileName);
+                updateDeleted();
             }
 
-            return true;
+            notifyDeleted();
+        } catch (final RuntimeException re) {
+            throw re;
+        } catch (final Exception exc) {
+            throw new FileSystemException("vfs.provider/delete.error", exc, fileName);
         }
+
+        return true;
     }
 
     /**
@@ -476,7 +551,7 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
      * @throws Exception Thrown if an error occurs.
      */
     private void detach() throws Exception {
-        synchronized (fileSystem) {
+        synchronized (this) {
             if (attached) {
                 try {
                     doDetach();
@@ -492,6 +567,7 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
             setFileType(null);
             parent = null;
             removeChildrenCache();
+            resetContentMetadata();
         }
     }
 
@@ -511,6 +587,22 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
         // noop
     }
 
+    /**
+     * Has the server copy the content of this file to another file, replacing it if it exists. Is only called if
+     * {@link #canCopyTo} returns true, {@link #doGetType} returns {@link FileType#FILE}, and the parent folder of
+     * {@code destFile} exists.
+     * <p>
+     * This implementation throws an exception.
+     * </p>
+     *
+     * @param destFile The destination file.
+     * @throws Exception Thrown if an error occurs.
+     * @since 2.11.0
+     */
+    protected void doCopyTo(final FileObject destFile) throws Exception {
+        throw new FileSystemException("vfs.provider/copy-not-supported.error");
+    }
+
     /**
      * Create a FileContent implementation.
      *
@@ -689,6 +781,24 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
         throw new FileSystemException("vfs.provider/random-access-not-supported.error");
     }
 
+    /**
+     * Opens a file channel to read the file content from, so that copying it to another file channel is left to the
+     * operating system instead of going through Java buffers.
+     * <p>
+     * It is guaranteed that there are no open output streams for this file when this method is called.
+     * </p>
+     * <p>
+     * This implementation returns null, in which case the content is copied with streams.
+     * </p>
+     *
+     * @return A FileChannel positioned at the start of the file, or null if this file cannot provide one.
+     * @throws Exception Thrown if an error occurs.
+     * @since 2.11.0
+     */
+    protected FileChannel doGetReadChannel() throws Exception {
+        return null;
+    }
+
     /**
      * Determines the type of this file. Must not return null. The return value of this method is cached, so the
      * implementation can be expensive.
@@ -698,6 +808,23 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
      */
     protected abstract FileType doGetType() throws Exception;
 
+    /**
+     * Opens a file channel to write the file content to, so that copying another file channel to it is left to the
+     * operating system instead of going through Java buffers. Is only called under the same conditions as
+     * {@link #doGetOutputStream(boolean)}.
+     * <p>
+     * This implementation returns null, in which case the content is copied with streams.
+     * </p>
+     *
+     * @param bAppend true if the file should be appended to, false if it should be overwritten.
+     * @return A FileChannel to write to the file, or null if this file cannot provide one.
+     * @throws Exception Thrown if an error occurs.
+     * @since 2.11.0
+     */
+    protected FileChannel doGetWriteChannel(final boolean bAppend) throws Exception {
+        return null;
+    }
+
     /**
      * Determines if this file is executable. Is only called if {@link #doGetType} does not return
      * {@link FileType#IMAGINARY}.
@@ -993,6 +1120,10 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
 
     /**
      * Traverses the descendants of this file, and builds a list of selected files.
+     * <p>
+     * File systems configured with a traversal parallelism list several folders at once, see
+     * {@link org.apache.commons.vfs2.impl.DefaultFileSystemConfigBuilder#setTraversalParallelism(FileSystemOptions, int)}.
+     * </p>
      *
      * @param selector The FileSelector.
      * @param depthwise if true files are added after their descendants, before otherwise.
@@ -1004,12 +1135,25 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
             throws FileSystemException {
         try {
             if (exists()) {
-                // Traverse starting at this file
-                final DefaultFileSelectorInfo info = new DefaultFileSelectorInfo();
-                info.setBaseFolder(this);
-                info.setDepth(0);
-                info.setFile(this);
-                traverse(info, selector, depthwise, selected);
+                // Files found before their descendants fill slots reserved in a list of our own, the slots of files not
+                // selected are removed at the end instead of inserting each file in the middle of the list.
+                final List<FileObject> found = depthwise ? selected : new ArrayList<>();
+                final ExecutorService executor = fileSystem.getTraversalExecutor();
+                if (executor != null) {
+                    new ParallelFileTraversal(this, selector, executor, fileSystem.isTraversalOrdered())
+                        .traverse(this, depthwise, found);
+                } else {
+                    // Traverse starting at this file
+                    final DefaultFileSelectorInfo info = new DefaultFileSelectorInfo();
+                    info.setBaseFolder(this);
+                    info.setDepth(0);
+                    info.setFile(this);
+                    traverse(info, selector, depthwise, found);
+                }
+                if (!depthwise) {
+                    found.removeIf(Objects::isNull);
+                    selected.addAll(found);
+                }
             }
         } catch (final Exception e) {
             throw new FileSystemException("vfs.provider/find-files.error", fileName, e);
@@ -1025,6 +1169,54 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
         return fileSystem;
     }
 
+    /**
+     * Gets the size of the content of this file, from the metadata cache while it is fresh.
+     *
+     * @return The size of the file in bytes.
+     * @throws Exception if an error occurs.
+     */
+    long getCachedContentSize() throws Exception {
+        final long timeToLive = fileSystem.getContentSizeTimeToLive();
+        if (timeToLive <= 0) {
+            return doGetContentSize();
+        }
+        final CachedMetadata cached = contentSize;
+        if (useCachedMetadata(cached != null, cached != null ? cached.expiry : 0, timeToLive)) {
+            return cached.value;
+        }
+        if (cached != null) {
+            // attach again after the refresh of the expired size
+            getType();
+        }
+        final long size = doGetContentSize();
+        contentSize = new CachedMetadata(size, timeToLive);
+        return size;
+    }
+
+    /**
+     * Gets the last modified time of this file, from the metadata cache while it is fresh.
+     *
+     * @return The last modification time.
+     * @throws Exception if an error occurs.
+     */
+    long getCachedLastModifiedTime() throws Exception {
+        final long timeToLive = fileSystem.getLastModifiedTimeToLive();
+        if (timeToLive <= 0) {
+            return doGetLastModifiedTime();
+        }
+        final CachedMetadata cached = lastModifiedTime;
+        if (useCachedMetadata(cached != null, cached != null ? cached.expiry : 0, timeToLive)) {
+            return cached.value;
+        }
+        if (cached != null) {
+            // attach again after the refresh of the expired time
+            getType();
+        }
+        final long time = doGetLastModifiedTime();
+        lastModifiedTime = new CachedMetadata(time, timeToLive);
+        return time;
+    }
+
     /**
      * Returns a child of this file.
      *
@@ -1055,7 +1247,7 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
      */
     @Override
     public FileObject[] getChildren() throws FileSystemException {
-        synchronized (fileSystem) {
+        synchronized (this) {
             // VFS-210
             if (!fileSystem.hasCapability(Capability.LIST_CHILDREN)) {
                 throw new FileNotFolderException(fileName);
@@ -1065,6 +1257,7 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
              * VFS-210 if (!getType().hasChildren()) { throw new
              * FileSystemException("vfs.provider/list-children-not-folder.error", name); }
              */
+            useCachedMetadata(children != null, childrenExpiry, fileSystem.getChildrenTimeToLive());
             attach();
 
             // Use cached info, if present
@@ -1076,7 +1269,7 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
             final FileObject[] childrenObjects;
             try {
                 childrenObjects = doListChildrenResolved();
-                children = extractNames(childrenObjects);
+                setChildren(extractNames(childrenObjects));
             } catch (final FileSystemException exc) {
                 // VFS-210
                 throw exc;
@@ -1107,17 +1300,16 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
             }
             if (files.length == 0) {
                 // No children
-                children = FileName.EMPTY_ARRAY;
+                setChildren(FileName.EMPTY_ARRAY);
             } else {
                 // Create file objects for the children
                 final FileName[] cache = new FileName[files.length];
                 for (int i = 0; i < files.length; i++) {
-                    final String file = "./" + files[i]; // VFS-741: assume scheme prefix is file name only
-                    cache[i] = fileSystem.getFileSystemManager().resolveName(fileName, file, NameScope.CHILD);
+                    cache[i] = resolveChildName(files[i]);
                 }
                 // VFS-285: only assign the children file names after all of them have been
                 // resolved successfully to prevent an inconsistent internal state
-                children = cache;
+                setChildren(cache);
             }
 
             return resolveFiles(children);
@@ -1132,7 +1324,7 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
      */
     @Override
     public FileContent getContent() throws FileSystemException {
-        synchronized (fileSystem) {
+        synchronized (this) {
             attach();
             if (content == null) {
                 content = doCreateFileContent();
@@ -1253,23 +1445,7 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
      *             bAppend is true, and the underlying FileSystem does not support it
      */
     public OutputStream getOutputStream(final boolean bAppend) throws FileSystemException {
-        /*
-         * VFS-210 if (getType() != FileType.IMAGINARY && !getType().hasContent()) { throw new
-         * FileSystemException("vfs.provider/write-not-file.error", name); } if (!isWriteable()) { throw new
-         * FileSystemException("vfs.provider/write-read-only.error", name); }
-         */
-
-        if (bAppend && !fileSystem.hasCapability(Capability.APPEND_CONTENT)) {
-            throw new FileSystemException("vfs.provider/write-append-not-supported.error", fileName);
-        }
-
-        if (getType() == FileType.IMAGINARY) {
-            // Does not exist - make sure parent does
-            final FileObject parent = getParent();
-            if (parent != null) {
-                parent.createFolder();
-            }
-        }
+        prepareWrite(bAppend);
 
         // Get the raw output stream
         try {
@@ -1299,17 +1475,17 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
             return fileSystem.getParentLayer().getParent();
         }
 
-        synchronized (fileSystem) {
-            // Locate the parent of this file
-            if (parent == null) {
-                final FileName name = fileName.getParent();
-                if (name == null) {
-                    return null;
-                }
-                parent = fileSystem.resolveFileInternal(name);
+        // Locate the parent of this file, racing threads resolve the same cached instance
+        FileObject result = parent;
+        if (result == null) {
+            final FileName name = fileName.getParent();
+            if (name == null) {
+                return null;
             }
-            return parent;
+            result = fileSystem.resolveFileInternal(name);
+            parent = result;
         }
+        return result;
     }
 
     /**
@@ -1360,6 +1536,25 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
         }
     }
 
+    /**
+     * Opens a file channel to read the content of the file, if this file can provide one.
+     *
+     * @return A FileChannel to read this file's content, or null if not supported.
+     * @throws FileSystemException if an error occurs.
+     */
+    FileChannel getReadChannel() throws FileSystemException {
+        try {
+            return doGetReadChannel();
+        } catch (final org.apache.commons.vfs2.FileNotFoundException | FileNotFoundException
+                | NoSuchFileException exc) {
+            throw new org.apache.commons.vfs2.FileNotFoundException(fileName, exc);
+        } catch (final FileSystemException exc) {
+            throw exc;
+        } catch (final Exception exc) {
+            throw new FileSystemException("vfs.provider/read.error", fileName, exc);
+        }
+    }
+
     /**
      * Returns the file's type.
      *
@@ -1368,7 +1563,8 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
      */
     @Override
     public FileType getType() throws FileSystemException {
-        synchronized (fileSystem) {
+        synchronized (this) {
+            useCachedMetadata(type != null, typeExpiry, fileSystem.getTypeTimeToLive());
             attach();
 
             // VFS-210: get the type only if requested for
@@ -1407,6 +1603,25 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
         }
     }
 
+    /**
+     * Prepares this file for writing like {@link #getOutputStream(boolean)}, then opens a file channel to write the
+     * content of the file to, if this file can provide one.
+     *
+     * @param bAppend true when append to the file.
+     * @return A FileChannel to write this file's content, or null if not supported.
+     * @throws FileSystemException if an error occurs.
+     */
+    FileChannel getWriteChannel(final boolean bAppend) throws FileSystemException {
+        prepareWrite(bAppend);
+        try {
+            return doGetWriteChannel(bAppend);
+        } catch (final RuntimeException re) {
+            throw re;
+        } catch (final Exception exc) {
+            throw new FileSystemException("vfs.provider/write.error", exc, fileName);
+        }
+    }
+
     /**
      * Called when this file is changed.
      * <p>
@@ -1416,6 +1631,7 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
      * @throws Exception Thrown if an error occurs.
      */
     protected void handleChanged() throws Exception {
+        resetContentMetadata();
         // Notify the file system
         fileSystem.fireFileChanged(this);
     }
@@ -1427,23 +1643,8 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
      * @throws Exception Thrown if an error occurs.
      */
     protected void handleCreate(final FileType newType) throws Exception {
-        synchronized (fileSystem) {
-            if (attached) {
-                // Fix up state
-                injectType(newType);
-
-                removeChildrenCache();
-
-                // Notify subclass
-                onChange();
-            }
-
-            // Notify parent that its child list may no longer be valid
-            notifyParent(this.getName(), newType);
-
-            // Notify the file system
-            fileSystem.fireFileCreated(this);
-        }
+        updateCreated(newType);
+        notifyCreated(newType);
     }
 
     /**
@@ -1452,22 +1653,8 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
      * @throws Exception Thrown if an error occurs.
      */
     protected void handleDelete() throws Exception {
-        synchronized (fileSystem) {
-            if (attached) {
-                // Fix up state
-                injectType(FileType.IMAGINARY);
-                removeChildrenCache();
-
-                // Notify subclass
-                onChange();
-            }
-
-            // Notify parent that its child list may no longer be valid
-            notifyParent(this.getName(), FileType.IMAGINARY);
-
-            // Notify the file system
-            fileSystem.fireFileDeleted(this);
-        }
+        updateDeleted();
+        notifyDeleted();
     }
 
     /**
@@ -1674,6 +1861,9 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
 
     /**
      * Moves (rename) the file to another one.
+     * <p>
+     * When the file cannot be renamed, it is copied, by the server when it can, then deleted.
+     * </p>
      *
      * @param destFile The target FileObject.
      * @throws FileSystemException if an error occurs.
@@ -1737,6 +1927,35 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
         // noop
     }
 
+    /**
+     * Notifies the parent and the file system that this file was created. Must not be called while holding this file's
+     * lock.
+     *
+     * @param newType The type of the file.
+     * @throws Exception Thrown if an error occurs.
+     */
+    private void notifyCreated(final FileType newType) throws Exception {
+        // Notify parent that its child list may no longer be valid
+        notifyParent(this.getName(), newType);
+
+        // Notify the file system
+        fileSystem.fireFileCreated(this);
+    }
+
+    /**
+     * Notifies the parent and the file system that this file was deleted. Must not be called while holding this file's
+     * lock.
+     *
+     * @throws Exception Thrown if an error occurs.
+     */
+    private void notifyDeleted() throws Exception {
+        // Notify parent that its child list may no longer be valid
+        notifyParent(this.getName(), FileType.IMAGINARY);
+
+        // Notify the file system
+        fileSystem.fireFileDeleted(this);
+    }
+
     /**
      * Notify the parent of a change to its children, when a child is created or deleted.
      *
@@ -1745,16 +1964,18 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
      * @throws Exception Thrown if an error occurs.
      */
     private void notifyParent(final FileName childName, final FileType newType) throws Exception {
-        if (parent == null) {
+        FileObject parentObject = parent;
+        if (parentObject == null) {
             final FileName parentName = fileName.getParent();
             if (parentName != null) {
                 // Locate the parent, if it is cached
-                parent = fileSystem.getFileFromCache(parentName);
+                parentObject = fileSystem.getFileFromCache(parentName);
+                parent = parentObject;
             }
         }
 
-        if (parent != null) {
-            FileObjectUtils.getAbstractFileObject(parent).childrenChanged(childName, newType);
+        if (parentObject != null) {
+            FileObjectUtils.getAbstractFileObject(parentObject).childrenChanged(childName, newType);
         }
     }
 
@@ -1785,6 +2006,29 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
         // noop
     }
 
+    /**
+     * Makes sure this file can be written to, and that its parent folder exists.
+     */
+    private void prepareWrite(final boolean bAppend) throws FileSystemException {
+        /*
+         * VFS-210 if (getType() != FileType.IMAGINARY && !getType().hasContent()) { throw new
+         * FileSystemException("vfs.provider/write-not-file.error", name); } if (!isWriteable()) { throw new
+         * FileSystemException("vfs.provider/write-read-only.error", name); }
+         */
+
+        if (bAppend && !fileSystem.hasCapability(Capability.APPEND_CONTENT)) {
+            throw new FileSystemException("vfs.provider/write-append-not-supported.error", fileName);
+        }
+
+        if (getType() == FileType.IMAGINARY) {
+            // Does not exist - make sure parent does
+            final FileObject parent = getParent();
+            if (parent != null) {
+                parent.createFolder();
+            }
+        }
+    }
+
     /**
      * This will prepare the fileObject to get resynchronized with the underlying file system if required.
      *
@@ -1804,6 +2048,41 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
         children = null;
     }
 
+    /**
+     * Discards the cached content size and last modified time, after the content or its attributes changed.
+     */
+    void resetContentMetadata() {
+        contentSize = null;
+        lastModifiedTime = null;
+    }
+
+    /**
+     * Resolves the name of a child of this file from its encoded base name, as listed by the file system.
+     * <p>
+     * The name is created with {@link AbstractFileName#createChildName(String, FileType)} when possible, and only
+     * resolved by the file system manager when it needs to be normalized.
+     * </p>
+     *
+     * @param encodedName The encoded base name of the child, may end with a separator for a folder.
+     * @return The FileName of the child.
+     * @throws FileSystemException if the name is not the name of a child of this file.
+     * @since 2.11.0
+     */
+    protected FileName resolveChildName(final String encodedName) throws FileSystemException {
+        final int length = encodedName.length();
+        final FileName childName;
+        if (length > 1 && encodedName.charAt(length - 1) == FileName.SEPARATOR_CHAR) {
+            childName = fileName.createChildName(encodedName.substring(0, length - 1), FileType.FOLDER);
+        } else {
+            childName = fileName.createChildName(encodedName, FileType.FILE);
+        }
+        if (childName != null) {
+            return childName;
+        }
+        // VFS-741: assume scheme prefix is file name only
+        return fileSystem.getFileSystemManager().resolveName(fileName, "./" + encodedName, NameScope.CHILD);
+    }
+
     private FileObject resolveFile(final FileName child) throws FileSystemException {
         return resolveFileInternal(child);
     }
@@ -1868,6 +2147,69 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
         return objects;
     }
 
+    /**
+     * Updates the cached info of this file after it was created.
+     *
+     * @param newType The type of the file.
+     * @throws Exception Thrown if an error occurs.
+     */
+    private void updateCreated(final FileType newType) throws Exception {
+        synchronized (this) {
+            if (attached) {
+                // Fix up state
+                injectType(newType);
+
+                removeChildrenCache();
+                resetContentMetadata();
+
+                // Notify subclass
+                onChange();
+            }
+        }
+    }
+
+    /**
+     * Updates the cached info of this file after it was deleted.
+     *
+     * @throws Exception Thrown if an error occurs.
+     */
+    private void updateDeleted() throws Exception {
+        synchronized (this) {
+            if (attached) {
+                // Fix up state
+                injectType(FileType.IMAGINARY);
+                removeChildrenCache();
+                resetContentMetadata();
+
+                // Notify subclass
+                onChange();
+            }
+        }
+    }
+
+    /**
+     * Tests whether cached metadata can be used and records the outcome in the file system statistics. Metadata
+     * without a time to live is used until this file is refreshed and is not counted; expired metadata refreshes this
+     * file.
+     *
+     * @param cached Whether the metadata is cached.
+     * @param expiry When the cached metadata expires, in {@link System#nanoTime()} terms.
+     * @param timeToLive The time to live of the metadata in nanoseconds, 0 if not configured.
+     * @return Whether the cached metadata can be used.
+     * @throws FileSystemException if the refresh fails.
+     */
+    private boolean useCachedMetadata(final boolean cached, final long expiry, final long timeToLive) throws FileSystemException {
+        if (timeToLive <= 0) {
+            return cached;
+        }
+        final boolean hit = cached && System.nanoTime() - expiry < 0;
+        fileSystem.recordMetadataCacheAccess(hit);
+        if (cached && !hit) {
+            refresh();
+        }
+        return hit;
+    }
+
     @Override
     public boolean setExecutable(final boolean readable, final boolean ownerOnly) throws FileSystemException {
         try {
@@ -1877,10 +2219,22 @@ public abstract class AbstractFileObject<AFS extends AbstractFileSystem> impleme
         }
     }
 
+    private void setChildren(final FileName[] childrenNames) {
+        final long timeToLive = fileSystem.getChildrenTimeToLive();
+        if (timeToLive > 0) {
+            childrenExpiry = System.nanoTime() + timeToLive;
+        }
+        children = childrenNames;
+    }
+
     private void setFileType(final FileType type) {
         if (type != null && type != FileType.IMAGINARY) {
             Uncheck.run(() -> fileName.setType(type));
         }
+        final long timeToLive = fileSystem.getTypeTimeToLive();
+        if (timeToLive > 0) {
+            typeExpiry = System.nanoTime() + timeToLive;
+        }
         this.type = type;
     }
 
@@ -17,7 +17,7 @@
 package org.apache.commons.vfs2.provider;
 
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import org.apache.commons.vfs2.FileName;
@@ -38,10 +38,11 @@ public abstract class AbstractFileProvider extends AbstractVfsContainer implemen
     /**
      * The cached file systems.
      * <p>
-     * This is a mapping from {@link FileSystemKey} (root URI and options) to {@link FileSystem}.
+     * This is a mapping from {@link FileSystemKey} (root URI and options) to {@link FileSystem}, looked up by hash
+     * without locking.
      * </p>
      */
-    private final Map<FileSystemKey, FileSystem> fileSystemMap = new TreeMap<>(); // @GuardedBy("self")
+    private final Map<FileSystemKey, FileSystem> fileSystemMap = new ConcurrentHashMap<>();
 
     private FileNameParser fileNameParser;
 
@@ -65,11 +66,12 @@ public abstract class AbstractFileProvider extends AbstractVfsContainer implemen
     protected void addFileSystem(final Comparable<?> key, final FileSystem fs) throws FileSystemException {
         // Add to the container and initialize
         addComponent(fs);
-        final FileSystemKey treeKey = new FileSystemKey(key, fs.getFileSystemOptions());
-        ((AbstractFileSystem) fs).setCacheKey(treeKey);
-        synchronized (fileSystemMap) {
-            fileSystemMap.put(treeKey, fs);
-        }
+        // Key on a copy of the options, so that setting options afterwards does not change the key
+        final FileSystemOptions fileSystemOptions = fs.getFileSystemOptions();
+        final FileSystemKey cacheKey = new FileSystemKey(key,
+            fileSystemOptions != null ? (FileSystemOptions) fileSystemOptions.clone() : null);
+        ((AbstractFileSystem) fs).setCacheKey(cacheKey);
+        fileSystemMap.put(cacheKey, fs);
     }
 
     /**
@@ -77,9 +79,7 @@ public abstract class AbstractFileProvider extends AbstractVfsContainer implemen
      */
     @Override
     public void close() {
-        synchronized (fileSystemMap) {
-            fileSystemMap.clear();
-        }
+        fileSystemMap.clear();
         super.close();
     }
 
@@ -93,9 +93,7 @@ public abstract class AbstractFileProvider extends AbstractVfsContainer implemen
 
         final FileSystemKey key = fs.getCacheKey();
         if (key != null) {
-            synchronized (fileSystemMap) {
-                fileSystemMap.remove(key);
-            }
+            fileSystemMap.remove(key);
         }
 
         removeComponent(fs);
@@ -126,22 +124,14 @@ public abstract class AbstractFileProvider extends AbstractVfsContainer implemen
      * @return The file system instance, or null if it is not cached.
      */
     protected FileSystem findFileSystem(final Comparable<?> key, final FileSystemOptions fileSystemOptions) {
-        synchronized (fileSystemMap) {
-            return fileSystemMap.get(new FileSystemKey(key, fileSystemOptions));
-        }
+        return fileSystemMap.get(new FileSystemKey(key, fileSystemOptions));
     }
 
     /**
      * Frees unused resources.
      */
     public void freeUnusedResources() {
-        final AbstractFileSystem[] abstractFileSystems;
-        synchronized (fileSystemMap) {
-            // create snapshot under lock
-            abstractFileSystems = fileSystemMap.values().toArray(EMPTY_ABSTRACT_FILE_SYSTEMS);
-        }
-
-        // process snapshot outside lock
+        final AbstractFileSystem[] abstractFileSystems = fileSystemMap.values().toArray(EMPTY_ABSTRACT_FILE_SYSTEMS);
         Stream.of(abstractFileSystems).filter(AbstractFileSystem::isReleaseable)
                                       .forEach(AbstractFileSystem::closeCommunicationLink);
     }
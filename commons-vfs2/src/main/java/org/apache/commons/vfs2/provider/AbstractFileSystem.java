@@ -18,15 +18,21 @@ package org.apache.commons.vfs2.provider;
 
 import java.io.File;
 import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.commons.vfs2.CacheStrategy;
@@ -36,7 +42,6 @@ import org.apache.commons.vfs2.FileName;
 import org.apache.commons.vfs2.FileObject;
 import org.apache.commons.vfs2.FileSelector;
 import org.apache.commons.vfs2.FileSystem;
-import org.apache.commons.vfs2.FileSystemConfigBuilder;
 import org.apache.commons.vfs2.FileSystemException;
 import org.apache.commons.vfs2.FileSystemManager;
 import org.apache.commons.vfs2.FileSystemOptions;
@@ -60,6 +65,11 @@ public abstract class AbstractFileSystem extends AbstractVfsComponent implements
 
     private static final Log LOG = LogFactory.getLog(AbstractFileSystem.class);
 
+    /**
+     * Number of lock stripes used to create missing file objects, must be a power of two.
+     */
+    private static final int RESOLVE_LOCK_STRIPES = 64;
+
     /**
      * The "root" of the file system. This is always "/" so it isn't always the "real" root.
      */
@@ -97,6 +107,48 @@ public abstract class AbstractFileSystem extends AbstractVfsComponent implements
      */
     private final AtomicInteger openStreams = new AtomicInteger();
 
+    /**
+     * Striped monitors guarding the creation of file objects missing from the cache, so that resolving a given name
+     * creates at most one file object while unrelated names and cache hits do not contend.
+     */
+    private final Object[] resolveLocks = createResolveLocks();
+
+    /**
+     * Metadata cache time to live in nanoseconds, 0 when not configured.
+     */
+    private final long typeTimeToLive;
+    private final long childrenTimeToLive;
+    private final long contentSizeTimeToLive;
+    private final long lastModifiedTimeToLive;
+
+    /**
+     * Metadata cache statistics of the file objects of this file system.
+     */
+    private final LongAdder metadataCacheHits = new LongAdder();
+    private final LongAdder metadataCacheMisses = new LongAdder();
+
+    /**
+     * How many folders are listed at once by parallel traversals, and whether they return files in traversal order.
+     */
+    private final int traversalParallelism;
+    private final boolean traversalOrdered;
+
+    /**
+     * How many files are read or written at once by copies, 0 if not set, and the permits enforcing it.
+     */
+    private final int copyParallelism;
+    private final Semaphore copyPermits;
+
+    /**
+     * Copies the files of parallel copies, created on first use.
+     */
+    private ExecutorService copyExecutor;
+
+    /**
+     * Lists folders for parallel traversals, created on first use.
+     */
+    private ExecutorService traversalExecutor;
+
     /**
      * Only provided for Serializable subclasses.
      */
@@ -115,12 +167,31 @@ public abstract class AbstractFileSystem extends AbstractVfsComponent implements
         this.parentLayer = parentLayer;
         this.rootName = rootName;
         this.fileSystemOptions = fileSystemOptions;
-        final FileSystemConfigBuilder builder = DefaultFileSystemConfigBuilder.getInstance();
+        final DefaultFileSystemConfigBuilder builder = DefaultFileSystemConfigBuilder.getInstance();
         String uri = builder.getRootURI(fileSystemOptions);
         if (uri == null) {
             uri = rootName != null ? rootName.getURI() : null;
         }
         this.rootURI = uri;
+        this.typeTimeToLive = toNanos(builder.getTypeCacheTimeToLive(fileSystemOptions));
+        this.childrenTimeToLive = toNanos(builder.getChildrenCacheTimeToLive(fileSystemOptions));
+        this.contentSizeTimeToLive = toNanos(builder.getContentSizeCacheTimeToLive(fileSystemOptions));
+        this.lastModifiedTimeToLive = toNanos(builder.getLastModifiedTimeCacheTimeToLive(fileSystemOptions));
+        this.traversalParallelism = builder.getTraversalParallelism(fileSystemOptions);
+        this.traversalOrdered = builder.isTraversalOrdered(fileSystemOptions);
+        this.copyParallelism = Math.max(0, builder.getCopyParallelism(fileSystemOptions));
+        this.copyPermits = copyParallelism > 0 ? new Semaphore(copyParallelism) : null;
+    }
+
+    private static long toNanos(final Duration timeToLive) {
+        if (timeToLive == null || timeToLive.isNegative()) {
+            return 0;
+        }
+        try {
+            return timeToLive.toNanos();
+        } catch (final ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
     }
 
     /**
@@ -162,6 +233,16 @@ public abstract class AbstractFileSystem extends AbstractVfsComponent implements
     @Override
     public void close() {
         closeCommunicationLink();
+        synchronized (this) {
+            if (traversalExecutor != null) {
+                traversalExecutor.shutdownNow();
+                traversalExecutor = null;
+            }
+            if (copyExecutor != null) {
+                copyExecutor.shutdownNow();
+                copyExecutor = null;
+            }
+        }
     }
 
     /**
@@ -185,6 +266,31 @@ public abstract class AbstractFileSystem extends AbstractVfsComponent implements
      */
     protected abstract FileObject createFile(AbstractFileName name) throws Exception;
 
+    /**
+     * Creates and decorates a file object.
+     *
+     * @param name name referencing the new file.
+     * @return new decorated FileObject.
+     * @throws FileSystemException if the file cannot be created or decorated.
+     */
+    private FileObject createDecoratedFile(final FileName name) throws FileSystemException {
+        final FileObject file;
+        try {
+            file = createFile((AbstractFileName) name);
+        } catch (final Exception e) {
+            throw new FileSystemException("vfs.provider/resolve-file.error", name, e);
+        }
+        return decorateFileObject(file);
+    }
+
+    private static Object[] createResolveLocks() {
+        final Object[] locks = new Object[RESOLVE_LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+
     /**
      * Decorates the given file object.
      *
@@ -313,6 +419,45 @@ public abstract class AbstractFileSystem extends AbstractVfsComponent implements
         return cacheKey;
     }
 
+    long getChildrenTimeToLive() {
+        return childrenTimeToLive;
+    }
+
+    long getContentSizeTimeToLive() {
+        return contentSizeTimeToLive;
+    }
+
+    /**
+     * Gets the executor copying the files of parallel copies, shared by the copies from and to this file system.
+     *
+     * @return The executor, or null if this file system copies on the calling thread.
+     */
+    ExecutorService getCopyExecutor() {
+        if (copyParallelism <= 1) {
+            return null;
+        }
+        synchronized (this) {
+            if (copyExecutor == null) {
+                copyExecutor = Executors.newFixedThreadPool(copyParallelism,
+                    new BasicThreadFactory.Builder().namingPattern("vfs-copy-%d").daemon(true).build());
+            }
+            return copyExecutor;
+        }
+    }
+
+    int getCopyParallelism() {
+        return copyParallelism;
+    }
+
+    /**
+     * Gets the permits limiting how many files copies read or write at once on this file system.
+     *
+     * @return The permits, or null if not limited.
+     */
+    Semaphore getCopyPermits() {
+        return copyPermits;
+    }
+
     /**
      * Gets a cached file.
      *
@@ -328,6 +473,17 @@ public abstract class AbstractFileSystem extends AbstractVfsComponent implements
         return Objects.requireNonNull(filesCache, () -> Messages.getString("vfs.provider/files-cache-missing.error"));
     }
 
+    /**
+     * Gets the monitor guarding the creation of the file object for the given name.
+     *
+     * @param name The file name.
+     * @return The monitor for the stripe the name hashes to.
+     */
+    private Object getResolveLock(final FileName name) {
+        final int hash = name.hashCode();
+        return resolveLocks[(hash ^ hash >>> 16) & RESOLVE_LOCK_STRIPES - 1];
+    }
+
     /**
      * Gets the FileSystemManager used to instantiate this file system.
      *
@@ -358,6 +514,34 @@ public abstract class AbstractFileSystem extends AbstractVfsComponent implements
         return 0;
     }
 
+    long getLastModifiedTimeToLive() {
+        return lastModifiedTimeToLive;
+    }
+
+    /**
+     * Gets how many times the file objects of this file system used cached metadata instead of asking the file system.
+     * Only metadata with a configured time to live is counted.
+     *
+     * @return The number of metadata cache hits.
+     * @see DefaultFileSystemConfigBuilder#setTypeCacheTimeToLive(FileSystemOptions, Duration)
+     * @since 2.11.0
+     */
+    public long getMetadataCacheHitCount() {
+        return metadataCacheHits.sum();
+    }
+
+    /**
+     * Gets how many times the file objects of this file system asked the file system for metadata because it was not
+     * cached or had expired. Only metadata with a configured time to live is counted.
+     *
+     * @return The number of metadata cache misses.
+     * @see DefaultFileSystemConfigBuilder#setTypeCacheTimeToLive(FileSystemOptions, Duration)
+     * @since 2.11.0
+     */
+    public long getMetadataCacheMissCount() {
+        return metadataCacheMisses.sum();
+    }
+
     /**
      * Gets the parent layer if this is a layered file system.
      *
@@ -401,6 +585,32 @@ public abstract class AbstractFileSystem extends AbstractVfsComponent implements
         return rootURI;
     }
 
+    /**
+     * Gets the executor listing folders for parallel traversals.
+     *
+     * @return The executor, or null if this file system traverses on the calling thread.
+     */
+    ExecutorService getTraversalExecutor() {
+        if (traversalParallelism <= 1) {
+            return null;
+        }
+        synchronized (this) {
+            if (traversalExecutor == null) {
+                traversalExecutor = Executors.newFixedThreadPool(traversalParallelism,
+                    new BasicThreadFactory.Builder().namingPattern("vfs-traversal-%d").daemon(true).build());
+            }
+            return traversalExecutor;
+        }
+    }
+
+    long getTypeTimeToLive() {
+        return typeTimeToLive;
+    }
+
+    boolean isTraversalOrdered() {
+        return traversalOrdered;
+    }
+
     /**
      * Tests whether this file system has a particular capability.
      *
@@ -530,6 +740,10 @@ public abstract class AbstractFileSystem extends AbstractVfsComponent implements
 
     /**
      * Resolves a file by name.
+     * <p>
+     * Cache hits do not take any lock. On a cache miss, the file object is created under a lock striped by name, so
+     * that concurrent resolutions of the same name share one instance without serializing the whole file system.
+     * </p>
      *
      * @param name The FileName to resolve.
      * @param useCache whether to use the file cache.
@@ -538,34 +752,28 @@ public abstract class AbstractFileSystem extends AbstractVfsComponent implements
      * @return The resolved FileObject.
      * @throws FileSystemException if an error occurs.
      */
-    private synchronized FileObject resolveFile(final FileName name, final boolean useCache,
+    private FileObject resolveFile(final FileName name, final boolean useCache,
             final boolean applyRefreshPolicy) throws FileSystemException {
         if (!rootName.getRootURI().equals(name.getRootURI())) {
             throw new FileSystemException("vfs.provider/mismatched-fs-for-name.error", name, rootName,
                     name.getRootURI());
         }
 
-        // imario@apache.org ==> use getFileFromCache
         FileObject file;
         if (useCache) {
             file = getFileFromCache(name);
-        } else {
-            file = null;
-        }
-
-        if (file == null) {
-            try {
-                file = createFile((AbstractFileName) name);
-            } catch (final Exception e) {
-                throw new FileSystemException("vfs.provider/resolve-file.error", name, e);
-            }
-
-            file = decorateFileObject(file);
-
-            // imario@apache.org ==> use putFileToCache
-            if (useCache) {
-                putFileToCache(file);
+            if (file == null) {
+                synchronized (getResolveLock(name)) {
+                    // another thread may have created the file while we were waiting
+                    file = getFileFromCache(name);
+                    if (file == null) {
+                        file = createDecoratedFile(name);
+                        putFileToCache(file);
+                    }
+                }
             }
+        } else {
+            file = createDecoratedFile(name);
         }
 
         /*
@@ -605,7 +813,7 @@ public abstract class AbstractFileSystem extends AbstractVfsComponent implements
      * @throws FileSystemException if an error occurs.
      * @since 2.11.0
      */
-    synchronized FileObject resolveFileInternal(final FileName name) throws FileSystemException {
+    FileObject resolveFileInternal(final FileName name) throws FileSystemException {
         return resolveFile(name, true, false);
     }
 
@@ -621,6 +829,10 @@ public abstract class AbstractFileSystem extends AbstractVfsComponent implements
         throw new FileSystemException("vfs.provider/set-attribute-not-supported.error");
     }
 
+    void recordMetadataCacheAccess(final boolean hit) {
+        (hit ? metadataCacheHits : metadataCacheMisses).increment();
+    }
+
     void setCacheKey(final FileSystemKey cacheKey) {
         this.cacheKey = cacheKey;
     }
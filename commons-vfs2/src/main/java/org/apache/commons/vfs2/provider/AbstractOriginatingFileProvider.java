@@ -56,8 +56,13 @@ public abstract class AbstractOriginatingFileProvider extends AbstractFileProvid
             throws FileSystemException {
         // Check in the cache for the file system
         final FileName rootName = getContext().getFileSystemManager().resolveName(fileName, FileName.ROOT_PATH);
+        // Look up cached file systems without locking, only lock to create one
+        FileSystem fs = findFileSystem(rootName, fileSystemOptions);
+        if (fs == null) {
+            fs = getFileSystem(rootName, fileSystemOptions);
+        }
         // Locate the file
-        return getFileSystem(rootName, fileSystemOptions).resolveFile(fileName);
+        return fs.resolveFile(fileName);
     }
 
     /**
@@ -0,0 +1,421 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.commons.vfs2.FileSystemException;
+
+/**
+ * A pool of connections to a server, or of channels over a connection, shared by the threads using a file system.
+ * <p>
+ * A borrowed connection is either {@link #release(Object) released} once the operation is done, or
+ * {@link #invalidate(Object) invalidated} if it failed. When a maximum number of connections is set, borrowers wait for
+ * a connection to be released once they are all in use. Released connections are kept idle and lent again, most
+ * recently used first, while those idle for longer than the idle timeout are closed, except the minimum number of idle
+ * connections.
+ * </p>
+ * <p>
+ * Subclasses open, check and close the connections.
+ * </p>
+ *
+ * @param <C> The type of connections.
+ * @since 2.11.0
+ */
+public abstract class ConnectionPool<C> {
+
+    /**
+     * An idle connection.
+     */
+    private static final class Idle<C> {
+
+        private final C connection;
+        private final long idleSinceNanos = System.nanoTime();
+
+        Idle(final C connection) {
+            this.connection = connection;
+        }
+    }
+
+    private static final Log LOG = LogFactory.getLog(ConnectionPool.class);
+
+    private static long toNanos(final Duration duration) {
+        return duration == null || duration.isNegative() ? 0 : duration.toNanos();
+    }
+
+    private final String name;
+    private final int minIdle;
+    private final int maxTotal;
+    private final Duration acquireTimeout;
+    private final long idleTimeoutNanos;
+    private final boolean validateOnBorrow;
+
+    /**
+     * Permits to borrow a connection, null if the number of connections is not limited.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Idle connections, most recently released first; guarded by this.
+     */
+    private final Deque<Idle<C>> idle = new ArrayDeque<>();
+
+    /**
+     * Borrowed connections; guarded by this.
+     */
+    private final Set<C> active = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong destroyedCount = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param name The name of the server in error messages, usually the friendly URI of the root file.
+     * @param minIdle The number of idle connections kept open regardless of the idle timeout.
+     * @param maxTotal The maximum number of connections, 0 or less for no limit.
+     * @param acquireTimeout How long to wait for a connection when they are all in use, null or zero to wait
+     *        indefinitely.
+     * @param idleTimeout How long a connection may stay idle before it is closed, null or zero to keep idle connections
+     *        open.
+     * @param validateOnBorrow Whether idle connections are checked with a round trip to the server before they are lent.
+     * @param fair Whether waiting borrowers get connections in the order they asked for them.
+     */
+    protected ConnectionPool(final String name, final int minIdle, final int maxTotal, final Duration acquireTimeout,
+            final Duration idleTimeout, final boolean validateOnBorrow, final boolean fair) {
+        this.name = name;
+        this.maxTotal = Math.max(0, maxTotal);
+        this.minIdle = this.maxTotal > 0 ? Math.min(Math.max(0, minIdle), this.maxTotal) : Math.max(0, minIdle);
+        this.acquireTimeout = acquireTimeout;
+        this.idleTimeoutNanos = toNanos(idleTimeout);
+        this.validateOnBorrow = validateOnBorrow;
+        this.permits = this.maxTotal > 0 ? new Semaphore(this.maxTotal, fair) : null;
+    }
+
+    private void acquirePermit() throws FileSystemException {
+        if (permits == null || permits.tryAcquire()) {
+            return;
+        }
+        final long startNanos = System.nanoTime();
+        try {
+            final long timeoutNanos = toNanos(acquireTimeout);
+            if (timeoutNanos == 0) {
+                permits.acquire();
+            } else if (!permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new FileSystemException("vfs.provider/connection-pool-timeout.error", name, acquireTimeout);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FileSystemException("vfs.provider/connection-pool-interrupted.error", e, name);
+        } finally {
+            waitNanos.addAndGet(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Adds a connection opened outside of this pool to the idle connections, closing it if the pool is full.
+     *
+     * @param connection The connection.
+     */
+    public void add(final C connection) {
+        createdCount.incrementAndGet();
+        final boolean open = isOpen(connection);
+        final boolean kept;
+        synchronized (this) {
+            kept = open && (maxTotal == 0 || active.size() + idle.size() < maxTotal);
+            if (kept) {
+                idle.addFirst(new Idle<>(connection));
+            }
+        }
+        if (!kept) {
+            destroyConnection(connection);
+        }
+    }
+
+    /**
+     * Borrows a connection, waiting for one to be released if they are all in use.
+     *
+     * @return An idle connection, or a new one.
+     * @throws FileSystemException if no connection is released in time, or a connection cannot be opened.
+     */
+    public C borrow() throws FileSystemException {
+        acquirePermit();
+        boolean borrowed = false;
+        try {
+            C connection;
+            while ((connection = pollIdle()) != null && !isValid(connection)) {
+                destroyConnection(connection);
+            }
+            if (connection == null) {
+                connection = create();
+                createdCount.incrementAndGet();
+            }
+            synchronized (this) {
+                active.add(connection);
+            }
+            borrowed = true;
+            return connection;
+        } finally {
+            if (!borrowed && permits != null) {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Closes the idle connections. Borrowed connections are closed when they are released if they are no longer open.
+     */
+    public void clear() {
+        final List<Idle<C>> cleared;
+        synchronized (this) {
+            cleared = new ArrayList<>(idle);
+            idle.clear();
+        }
+        cleared.forEach(entry -> destroyConnection(entry.connection));
+    }
+
+    /**
+     * Opens a new connection.
+     *
+     * @return A new connection.
+     * @throws FileSystemException if the connection cannot be opened.
+     */
+    protected abstract C create() throws FileSystemException;
+
+    /**
+     * Closes a connection.
+     *
+     * @param connection The connection.
+     * @throws Exception if the connection cannot be closed.
+     */
+    protected abstract void destroy(C connection) throws Exception;
+
+    private void destroyConnection(final C connection) {
+        destroyedCount.incrementAndGet();
+        try {
+            destroy(connection);
+        } catch (final Exception e) {
+            LOG.debug("Cannot close connection to " + name, e);
+        }
+    }
+
+    /**
+     * Removes the idle connections that timed out, keeping the minimum number of idle connections; guarded by this.
+     */
+    private List<C> evict() {
+        if (idleTimeoutNanos == 0) {
+            return Collections.emptyList();
+        }
+        final List<C> evicted = new ArrayList<>();
+        final long nowNanos = System.nanoTime();
+        while (idle.size() > minIdle && nowNanos - idle.peekLast().idleSinceNanos > idleTimeoutNanos) {
+            evicted.add(idle.pollLast().connection);
+        }
+        return evicted;
+    }
+
+    /**
+     * Gets the number of borrowed connections.
+     *
+     * @return the number of borrowed connections.
+     */
+    public synchronized int getActiveCount() {
+        return active.size();
+    }
+
+    /**
+     * Gets the number of connections opened since this pool was created.
+     *
+     * @return the number of connections opened.
+     */
+    public long getCreatedCount() {
+        return createdCount.get();
+    }
+
+    /**
+     * Gets the number of connections closed since this pool was created.
+     *
+     * @return the number of connections closed.
+     */
+    public long getDestroyedCount() {
+        return destroyedCount.get();
+    }
+
+    /**
+     * Gets the number of idle connections.
+     *
+     * @return the number of idle connections.
+     */
+    public synchronized int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Gets the maximum number of connections.
+     *
+     * @return the maximum number of connections, 0 if not limited.
+     */
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    /**
+     * Gets the time borrowers spent waiting for a connection to be released, in total.
+     *
+     * @return the total wait time.
+     */
+    public Duration getWaitTime() {
+        return Duration.ofNanos(waitNanos.get());
+    }
+
+    /**
+     * Closes a borrowed connection that failed, so that it is not lent again.
+     *
+     * @param connection The connection.
+     */
+    public void invalidate(final C connection) {
+        final boolean wasActive;
+        synchronized (this) {
+            wasActive = active.remove(connection);
+        }
+        destroyConnection(connection);
+        if (wasActive && permits != null) {
+            permits.release();
+        }
+    }
+
+    /**
+     * Tests whether a connection is still open, without a round trip to the server.
+     *
+     * @param connection The connection.
+     * @return whether the connection is open.
+     */
+    protected abstract boolean isOpen(C connection);
+
+    private boolean isValid(final C connection) {
+        if (!isOpen(connection)) {
+            return false;
+        }
+        try {
+            return !validateOnBorrow || validate(connection);
+        } catch (final Exception e) {
+            LOG.debug("Invalid connection to " + name, e);
+            return false;
+        }
+    }
+
+    /**
+     * Takes the most recently released idle connection after closing those that timed out.
+     */
+    private C pollIdle() {
+        final List<C> evicted;
+        final Idle<C> entry;
+        synchronized (this) {
+            evicted = evict();
+            entry = idle.pollFirst();
+        }
+        evicted.forEach(this::destroyConnection);
+        return entry != null ? entry.connection : null;
+    }
+
+    /**
+     * Releases a borrowed connection, which is kept idle if it is still open. A connection that was not borrowed from
+     * this pool is {@link #add(Object) added} to it.
+     *
+     * @param connection The connection.
+     */
+    public void release(final C connection) {
+        final boolean wasActive;
+        synchronized (this) {
+            wasActive = active.remove(connection);
+        }
+        if (!wasActive) {
+            add(connection);
+            return;
+        }
+        final boolean open = isOpen(connection);
+        final List<C> evicted;
+        synchronized (this) {
+            if (open) {
+                idle.addFirst(new Idle<>(connection));
+            }
+            evicted = evict();
+        }
+        if (!open) {
+            destroyConnection(connection);
+        }
+        evicted.forEach(this::destroyConnection);
+        if (permits != null) {
+            permits.release();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + " [name=" + name + ", active=" + getActiveCount() + ", idle=" + getIdleCount()
+            + ", created=" + getCreatedCount() + ", destroyed=" + getDestroyedCount() + ", waitTime=" + getWaitTime()
+            + "]";
+    }
+
+    /**
+     * Checks an idle connection with a round trip to the server before it is lent, if enabled.
+     *
+     * @param connection The connection.
+     * @return whether the connection can be used.
+     * @throws Exception if the connection failed.
+     */
+    protected boolean validate(final C connection) throws Exception {
+        return true;
+    }
+
+    /**
+     * Opens connections until the minimum number of idle connections is reached.
+     *
+     * @throws FileSystemException if a connection cannot be opened.
+     */
+    public void warmUp() throws FileSystemException {
+        while (getIdleCount() < minIdle) {
+            if (permits != null && !permits.tryAcquire()) {
+                return;
+            }
+            try {
+                final C connection = create();
+                createdCount.incrementAndGet();
+                synchronized (this) {
+                    idle.addLast(new Idle<>(connection));
+                }
+            } finally {
+                if (permits != null) {
+                    permits.release();
+                }
+            }
+        }
+    }
+}
@@ -20,6 +20,8 @@ import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.security.cert.Certificate;
 import java.util.Collections;
 import java.util.Map;
@@ -392,6 +394,7 @@ public final class DefaultFileContent implements FileContent {
             threadLocal.remove();
         }
         streamClosed();
+        fileObject.resetContentMetadata();
         fileObject.endOutput();
     }
 
@@ -408,6 +411,8 @@ public final class DefaultFileContent implements FileContent {
             threadLocal.remove();
         }
         streamClosed();
+        // the content may have been written
+        fileObject.resetContentMetadata();
     }
 
     /**
@@ -557,7 +562,7 @@ public final class DefaultFileContent implements FileContent {
             throw new FileSystemException("vfs.provider/get-last-modified-no-exist.error", fileObject);
         }
         try {
-            return fileObject.doGetLastModifiedTime();
+            return fileObject.getCachedLastModifiedTime();
         } catch (final Exception e) {
             throw new FileSystemException("vfs.provider/get-last-modified.error", fileObject, e);
         }
@@ -657,7 +662,7 @@ public final class DefaultFileContent implements FileContent {
 
         try {
             // Get the size
-            return fileObject.doGetContentSize();
+            return fileObject.getCachedContentSize();
         } catch (final Exception exc) {
             throw new FileSystemException("vfs.provider/get-size.error", exc, fileObject);
         }
@@ -782,6 +787,7 @@ public final class DefaultFileContent implements FileContent {
             throw new FileSystemException("vfs.provider/set-last-modified-no-exist.error", fileObject);
         }
         try {
+            fileObject.resetContentMetadata();
             if (!fileObject.doSetLastModifiedTime(modTime)) {
                 throw new FileSystemException("vfs.provider/set-last-modified.error", fileObject);
             }
@@ -809,8 +815,68 @@ public final class DefaultFileContent implements FileContent {
         ((AbstractFileSystem) fileObject.getFileSystem()).streamOpened();
     }
 
+    /**
+     * Copies a file channel to this content with a file channel, leaving the copy to the operating system. The channel
+     * is tracked as an output stream of this file.
+     *
+     * @param input The source channel.
+     * @return The number of bytes copied, or -1 if this file cannot provide a file channel.
+     * @throws IOException Thrown if an error occurs copying the content.
+     */
+    private long transferFrom(final FileChannel input) throws IOException {
+        final FileContentThreadData threadData = getFileContentThreadData();
+        if (threadData.getOutputStream() != null) {
+            throw new FileSystemException("vfs.provider/write-in-use.error", fileObject);
+        }
+        final FileChannel output = fileObject.getWriteChannel(false);
+        if (output == null) {
+            return -1;
+        }
+        final FileContentOutputStream wrapped = new FileContentOutputStream(fileObject,
+            Channels.newOutputStream(output));
+        threadData.setOutputStream(wrapped);
+        streamOpened();
+        try (OutputStream ignored = wrapped) {
+            final long size = input.size();
+            long position = 0;
+            while (position < size) {
+                final long count = input.transferTo(position, size - position, output);
+                if (count <= 0) {
+                    // The source was truncated while copying
+                    break;
+                }
+                position += count;
+            }
+            return position;
+        }
+    }
+
+    /**
+     * Copies this content to another file with file channels, leaving the copy to the operating system. The channel
+     * is tracked as an input stream of this file.
+     *
+     * @param target The target content.
+     * @return The number of bytes copied, or -1 if either file cannot provide a file channel.
+     * @throws IOException Thrown if an error occurs copying the content.
+     */
+    private long transferTo(final DefaultFileContent target) throws IOException {
+        final FileChannel input = fileObject.getReadChannel();
+        if (input == null) {
+            return -1;
+        }
+        final InputStream wrapped = new RawFileContentInputStream(fileObject, Channels.newInputStream(input));
+        getFileContentThreadData().add(wrapped);
+        streamOpened();
+        try (InputStream ignored = wrapped) {
+            return target.transferFrom(input);
+        }
+    }
+
     /**
      * Writes this content to another FileContent.
+     * <p>
+     * When both files can provide file channels, such as two local files, the copy is left to the operating system.
+     * </p>
      *
      * @param fileContent The target FileContent.
      * @return The total number of bytes written
@@ -819,6 +885,12 @@ public final class DefaultFileContent implements FileContent {
      */
     @Override
     public long write(final FileContent fileContent) throws IOException {
+        if (fileContent instanceof DefaultFileContent) {
+            final long size = transferTo((DefaultFileContent) fileContent);
+            if (size >= 0) {
+                return size;
+            }
+        }
         try (OutputStream output = fileContent.getOutputStream()) {
             return write(output);
         }
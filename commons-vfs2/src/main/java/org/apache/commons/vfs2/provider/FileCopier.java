@@ -0,0 +1,313 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider;
+
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.vfs2.Capability;
+import org.apache.commons.vfs2.FileContent;
+import org.apache.commons.vfs2.FileCopyListener;
+import org.apache.commons.vfs2.FileName;
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSelectInfo;
+import org.apache.commons.vfs2.FileSelector;
+import org.apache.commons.vfs2.FileSystem;
+import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.FileType;
+import org.apache.commons.vfs2.NameScope;
+import org.apache.commons.vfs2.util.FileObjectUtils;
+
+/**
+ * Copies a tree of files for {@link FileObject#copyFrom(FileObject, FileSelector, FileCopyListener)}.
+ * <p>
+ * The source tree is walked lazily on the calling thread, which creates the destination folders as they are reached,
+ * before their descendants. When the source or destination file system has a copy parallelism, the content of files is
+ * copied by the copy threads of that file system while the walk goes on, each copy holding a permit of both file
+ * systems. Files that the server can copy by itself are not read and written by this client, see
+ * {@link AbstractFileObject#canCopyTo}.
+ * </p>
+ * <p>
+ * When the destination folder is a descendant of the source folder, it is not walked, so that the copy does not copy
+ * its own output.
+ * </p>
+ *
+ * @since 2.11.0
+ */
+public final class FileCopier {
+
+    private static final int IN_FLIGHT_PER_THREAD = 2;
+
+    /**
+     * How often a copy waiting for its tasks checks whether the file system was closed, dropping the tasks not started.
+     */
+    private static final long SHUTDOWN_CHECK_MILLIS = 100;
+
+    /**
+     * Has the server copy a file, if it can.
+     */
+    private static boolean copyServerSide(final FileObject srcFile, final FileObject destFile)
+            throws FileSystemException {
+        return srcFile.getFileSystem().hasCapability(Capability.COPY_SERVER_SIDE)
+            && FileObjectUtils.getAbstractFileObject(srcFile).copyContentTo(destFile);
+    }
+
+    /**
+     * Copies another file, and all its descendants, to a file.
+     *
+     * @param destFolder The destination file.
+     * @param srcFolder The source file to copy.
+     * @param selector The selector to use to select which files to copy.
+     * @param listener The listener notified of each copied file, may be null.
+     * @throws FileSystemException if the source file does not exist, or on error copying a file.
+     * @see FileObject#copyFrom(FileObject, FileSelector, FileCopyListener)
+     */
+    public static void copy(final FileObject destFolder, final FileObject srcFolder, final FileSelector selector,
+            final FileCopyListener listener) throws FileSystemException {
+        if (!FileObjectUtils.exists(srcFolder)) {
+            throw new FileSystemException("vfs.provider/copy-missing-file.error", srcFolder);
+        }
+        new FileCopier(destFolder, srcFolder, selector, listener).copy();
+    }
+
+    /**
+     * Wraps a selector so that it neither selects nor traverses the given folder.
+     */
+    private static FileSelector excluding(final FileName excludedName, final FileSelector selector) {
+        return new FileSelector() {
+            @Override
+            public boolean includeFile(final FileSelectInfo fileInfo) throws Exception {
+                return !excludedName.equals(fileInfo.getFile().getName()) && selector.includeFile(fileInfo);
+            }
+
+            @Override
+            public boolean traverseDescendents(final FileSelectInfo fileInfo) throws Exception {
+                return !excludedName.equals(fileInfo.getFile().getName()) && selector.traverseDescendants(fileInfo);
+            }
+        };
+    }
+
+    private static ExecutorService getCopyExecutor(final FileSystem fileSystem) {
+        return fileSystem instanceof AbstractFileSystem ? ((AbstractFileSystem) fileSystem).getCopyExecutor() : null;
+    }
+
+    private static int getCopyParallelism(final FileSystem fileSystem) {
+        return fileSystem instanceof AbstractFileSystem ? ((AbstractFileSystem) fileSystem).getCopyParallelism() : 0;
+    }
+
+    private static Semaphore getCopyPermits(final FileSystem fileSystem) {
+        return fileSystem instanceof AbstractFileSystem ? ((AbstractFileSystem) fileSystem).getCopyPermits() : null;
+    }
+
+    private final FileObject destFolder;
+    private final FileObject srcFolder;
+    private final FileSelector selector;
+    private final FileCopyListener listener;
+
+    /**
+     * Destination folders created by this copy, whose children cannot exist yet.
+     */
+    private final Set<FileName> createdFolders = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Permits of the source and destination file systems, in the order they are acquired to avoid deadlocks between
+     * concurrent copies, null if not limited.
+     */
+    private final Semaphore firstPermits;
+    private final Semaphore secondPermits;
+
+    private final AtomicReference<FileSystemException> failure = new AtomicReference<>();
+
+    /**
+     * Waits for permits given back by the copy tasks. Tasks not started when the file system is closed never run, so the
+     * wait fails once the executor is shut down.
+     */
+    private void acquire(final Semaphore inFlight, final int permits, final ExecutorService executor)
+            throws FileSystemException, InterruptedException {
+        while (!inFlight.tryAcquire(permits, SHUTDOWN_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (executor.isShutdown()) {
+                throw new FileSystemException("vfs.provider/copy-closed.error", srcFolder, destFolder);
+            }
+        }
+    }
+
+    private FileCopier(final FileObject destFolder, final FileObject srcFolder, final FileSelector selector,
+            final FileCopyListener listener) {
+        this.destFolder = destFolder;
+        this.srcFolder = srcFolder;
+        this.selector = srcFolder.getName().isDescendent(destFolder.getName(), NameScope.DESCENDENT)
+            ? excluding(destFolder.getName(), selector) : selector;
+        this.listener = listener;
+        Semaphore first = getCopyPermits(srcFolder.getFileSystem());
+        Semaphore second = getCopyPermits(destFolder.getFileSystem());
+        if (first == second) {
+            second = null;
+        } else if (first == null
+            || second != null && System.identityHashCode(first) > System.identityHashCode(second)) {
+            final Semaphore swap = first;
+            first = second;
+            second = swap;
+        }
+        this.firstPermits = first;
+        this.secondPermits = second;
+    }
+
+    /**
+     * Copies the selected files.
+     *
+     * @throws FileSystemException if a file cannot be copied.
+     */
+    private void copy() throws FileSystemException {
+        final FileSystem srcFileSystem = srcFolder.getFileSystem();
+        final FileSystem destFileSystem = destFolder.getFileSystem();
+        // The copy threads of the file system with the larger parallelism copy the files
+        final FileSystem parallelFileSystem = getCopyParallelism(srcFileSystem) >= getCopyParallelism(destFileSystem)
+            ? srcFileSystem : destFileSystem;
+        final int parallelism = getCopyParallelism(parallelFileSystem);
+        try {
+            if (parallelism <= 1) {
+                final Iterator<FileObject> files = srcFolder.walk(selector, false).iterator();
+                while (files.hasNext()) {
+                    copyFile(files.next());
+                }
+            } else {
+                copyParallel(parallelism, getCopyExecutor(parallelFileSystem));
+            }
+        } catch (final UncheckedIOException e) {
+            throw (FileSystemException) e.getCause();
+        }
+    }
+
+    /**
+     * Copies one file, whose destination parent folder exists.
+     */
+    private void copyFile(final FileObject srcFile) throws FileSystemException {
+        final String relPath = srcFolder.getName().getRelativeName(srcFile.getName());
+        final FileObject destFile = destFolder.resolveFile(relPath, NameScope.DESCENDENT_OR_SELF);
+        final FileType srcType = srcFile.getType();
+        final boolean destExists = !createdFolders.contains(destFile.getName().getParent())
+            && FileObjectUtils.exists(destFile);
+        try {
+            // Clean up the destination file, if necessary
+            if (destExists && destFile.getType() != srcType) {
+                // The destination file exists, and is not of the same type,
+                // so delete it
+                // TODO - add a pluggable policy for deleting and overwriting existing files
+                destFile.deleteAll();
+            }
+            if (srcType.hasContent()) {
+                final long size;
+                try (FileContent content = srcFile.getContent()) {
+                    if (copyServerSide(srcFile, destFile)) {
+                        size = listener != null ? content.getSize() : -1;
+                    } else {
+                        size = content.write(destFile);
+                    }
+                }
+                if (listener != null) {
+                    listener.fileCopied(srcFile, destFile, size);
+                }
+            } else if (srcType.hasChildren()) {
+                if (!destExists || destFile.getType() != srcType) {
+                    createdFolders.add(destFile.getName());
+                }
+                destFile.createFolder();
+            }
+        } catch (final Exception e) {
+            throw new FileSystemException("vfs.provider/copy-file.error", e, srcFile, destFile);
+        }
+    }
+
+    private void copyParallel(final int parallelism, final ExecutorService executor) throws FileSystemException {
+        final int maxInFlight = parallelism * IN_FLIGHT_PER_THREAD;
+        final Semaphore inFlight = new Semaphore(maxInFlight);
+        try {
+            final Iterator<FileObject> files = srcFolder.walk(selector, false).iterator();
+            while (files.hasNext() && failure.get() == null) {
+                final FileObject srcFile = files.next();
+                if (!srcFile.getType().hasContent()) {
+                    // Folders are created before their descendants are copied
+                    copyFile(srcFile);
+                    continue;
+                }
+                acquire(inFlight, 1, executor);
+                try {
+                    executor.execute(() -> {
+                        try {
+                            // Skip the files queued before another copy failed
+                            if (failure.get() == null) {
+                                copyFileWithPermits(srcFile);
+                            }
+                        } catch (final FileSystemException e) {
+                            failure.compareAndSet(null, e);
+                        } catch (final InterruptedException e) {
+                            // The file system was closed while the file waited for a permit
+                            Thread.currentThread().interrupt();
+                            failure.compareAndSet(null,
+                                new FileSystemException("vfs.provider/copy-file.error", e, srcFile, destFolder));
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } catch (final RejectedExecutionException e) {
+                    // The file system has been closed
+                    inFlight.release();
+                    failure.compareAndSet(null,
+                        new FileSystemException("vfs.provider/copy-file.error", e, srcFile, destFolder));
+                }
+            }
+            // Wait for the copies in flight
+            acquire(inFlight, maxInFlight, executor);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FileSystemException("vfs.provider/copy-file.error", e, srcFolder, destFolder);
+        }
+        final FileSystemException e = failure.get();
+        if (e != null) {
+            throw e;
+        }
+    }
+
+    private void copyFileWithPermits(final FileObject srcFile) throws FileSystemException, InterruptedException {
+        if (firstPermits != null) {
+            firstPermits.acquire();
+        }
+        try {
+            if (secondPermits != null) {
+                secondPermits.acquire();
+            }
+            try {
+                copyFile(srcFile);
+            } finally {
+                if (secondPermits != null) {
+                    secondPermits.release();
+                }
+            }
+        } finally {
+            if (firstPermits != null) {
+                firstPermits.release();
+            }
+        }
+    }
+}
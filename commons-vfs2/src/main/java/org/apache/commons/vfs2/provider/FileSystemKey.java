@@ -30,6 +30,8 @@ final class FileSystemKey implements Comparable<FileSystemKey> {
     /** Never null as the ctor sets it to EMPTY_OPTIONS if input is null. */
     private final FileSystemOptions fileSystemOptions;
 
+    private final int hash;
+
     /**
      * Creates the FS key.
      *
@@ -39,6 +41,7 @@ final class FileSystemKey implements Comparable<FileSystemKey> {
     FileSystemKey(final Comparable<?> key, final FileSystemOptions fileSystemOptions) {
         this.key = key;
         this.fileSystemOptions = fileSystemOptions != null ? fileSystemOptions : EMPTY_OPTIONS;
+        this.hash = 31 * key.hashCode() + this.fileSystemOptions.hashCode();
     }
 
     @Override
@@ -54,6 +57,23 @@ final class FileSystemKey implements Comparable<FileSystemKey> {
         return fileSystemOptions.compareTo(o.fileSystemOptions);
     }
 
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof FileSystemKey)) {
+            return false;
+        }
+        final FileSystemKey other = (FileSystemKey) obj;
+        return hash == other.hash && key.equals(other.key) && fileSystemOptions.equals(other.fileSystemOptions);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
     @Override
     public String toString() {
         return super.toString() + " [key=" + key + ", fileSystemOptions=" + fileSystemOptions + "]";
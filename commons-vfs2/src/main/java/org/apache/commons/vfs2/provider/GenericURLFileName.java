@@ -50,6 +50,14 @@ public class GenericURLFileName extends GenericFileName {
         this.queryString = queryString;
     }
 
+    /**
+     * Children do not inherit the query string of this name, so they are left to the parser when there is one.
+     */
+    @Override
+    public FileName createChildName(final String encodedName, final FileType fileType) {
+        return queryString == null ? super.createChildName(encodedName, fileType) : null;
+    }
+
     /**
      * Creates a FileName.
      *
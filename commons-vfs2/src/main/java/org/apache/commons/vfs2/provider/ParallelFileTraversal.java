@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSelector;
+import org.apache.commons.vfs2.FileSystemException;
+
+/**
+ * Traverses a tree of files listing several folders at once.
+ * <p>
+ * Folders are listed by the executor of the file system, together with the types of their children. The
+ * {@link FileSelector} is only called on the calling thread, with the same depths as a sequential traversal. An ordered
+ * traversal selects files once the whole tree has been listed, which yields the same list as a sequential traversal. An
+ * unordered traversal selects the files of a folder as soon as it has been listed.
+ * </p>
+ */
+final class ParallelFileTraversal {
+
+    /**
+     * A file of the traversed tree.
+     */
+    private static final class Node {
+
+        private final FileObject file;
+        private final int depth;
+
+        /**
+         * The children of a traversed folder, null otherwise.
+         */
+        private Node[] children;
+
+        Node(final FileObject file, final int depth) {
+            this.file = file;
+            this.depth = depth;
+        }
+
+        /**
+         * Lists this folder, fetching the types of its children so the calling thread does not ask for them one by one.
+         */
+        Node list() throws Exception {
+            final FileObject[] files = file.getChildren();
+            final Node[] nodes = new Node[files.length];
+            for (int i = 0; i < files.length; i++) {
+                files[i].getType();
+                nodes[i] = new Node(files[i], depth + 1);
+            }
+            children = nodes;
+            return this;
+        }
+    }
+
+    /**
+     * How often the traversal waiting for a listing checks whether the file system was closed, dropping the listings not
+     * started.
+     */
+    private static final long SHUTDOWN_CHECK_MILLIS = 100;
+
+    private static Node get(final Future<Node> future) throws Exception {
+        try {
+            return future.get();
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+    }
+
+    private final DefaultFileSelectorInfo info = new DefaultFileSelectorInfo();
+    private final FileSelector selector;
+    private final ExecutorService executor;
+    private final CompletionService<Node> completionService;
+    private final Set<Future<Node>> pending = new HashSet<>();
+    private final boolean ordered;
+
+    ParallelFileTraversal(final FileObject baseFolder, final FileSelector selector, final ExecutorService executor,
+            final boolean ordered) {
+        this.selector = selector;
+        this.executor = executor;
+        this.completionService = new ExecutorCompletionService<>(executor);
+        this.ordered = ordered;
+        info.setBaseFolder(baseFolder);
+    }
+
+    /**
+     * Waits for the next listed folder.
+     */
+    private Future<Node> poll(final FileObject file) throws FileSystemException, InterruptedException {
+        Future<Node> future;
+        while ((future = completionService.poll(SHUTDOWN_CHECK_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+            if (executor.isShutdown()) {
+                throw new FileSystemException("vfs.provider/traversal-closed.error", file);
+            }
+        }
+        return future;
+    }
+
+    /**
+     * Selects the files of a listed tree in the order of a sequential traversal.
+     */
+    private void select(final Node node, final boolean depthwise, final List<FileObject> selected) throws Exception {
+        final int index = selected.size();
+        if (!depthwise) {
+            // Reserve the slot of this file before its descendants, see AbstractFileObject.findFiles()
+            selected.add(null);
+        }
+        if (node.children != null) {
+            for (final Node child : node.children) {
+                select(child, depthwise, selected);
+            }
+        }
+        if (selector.includeFile(setInfo(node))) {
+            if (depthwise) {
+                selected.add(node.file);
+            } else {
+                selected.set(index, node.file);
+            }
+        }
+    }
+
+    private DefaultFileSelectorInfo setInfo(final Node node) {
+        info.setFile(node.file);
+        info.setDepth(node.depth);
+        return info;
+    }
+
+    /**
+     * Submits the listing of the given file if it is a folder the selector traverses.
+     *
+     * @return whether the file is listed.
+     */
+    private boolean submit(final Node node) throws Exception {
+        if (node.file.getType().hasChildren() && selector.traverseDescendants(setInfo(node))) {
+            pending.add(completionService.submit(node::list));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Traverses the given file and its descendants.
+     *
+     * @param file The file to start at.
+     * @param depthwise Whether files are added after their descendants, before otherwise. Ignored by unordered
+     *        traversals.
+     * @param selected The list receiving the selected files.
+     * @throws Exception if a folder cannot be listed or the selector fails.
+     */
+    void traverse(final FileObject file, final boolean depthwise, final List<FileObject> selected) throws Exception {
+        final Node root = new Node(file, 0);
+        try {
+            if (!submit(root)) {
+                select(root, depthwise, selected);
+                return;
+            }
+            while (!pending.isEmpty()) {
+                final Future<Node> future = poll(file);
+                pending.remove(future);
+                final Node folder = get(future);
+                for (final Node child : folder.children) {
+                    if (!submit(child) && !ordered) {
+                        select(child, depthwise, selected);
+                    }
+                }
+                if (!ordered) {
+                    // The children are selected on their own, once listed if they are folders.
+                    folder.children = null;
+                    select(folder, depthwise, selected);
+                }
+            }
+            if (ordered) {
+                select(root, depthwise, selected);
+            }
+        } finally {
+            for (final Future<Node> future : pending) {
+                future.cancel(true);
+            }
+            pending.clear();
+        }
+    }
+}
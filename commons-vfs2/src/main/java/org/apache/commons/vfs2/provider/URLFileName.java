@@ -53,6 +53,14 @@ public class URLFileName extends GenericFileName {
         this.queryString = queryString;
     }
 
+    /**
+     * Children do not inherit the query string of this name, so they are left to the parser when there is one.
+     */
+    @Override
+    public FileName createChildName(final String encodedName, final FileType fileType) {
+        return queryString == null ? super.createChildName(encodedName, fileType) : null;
+    }
+
     /**
      * Create a FileName.
      *
@@ -78,6 +78,10 @@ public class Bzip2FileObject extends CompressedFileFileObject<Bzip2FileSystem> {
 
     @Override
     protected InputStream doGetInputStream(final int bufferSize) throws Exception {
+        final InputStream replica = getReplicaInputStream();
+        if (replica != null) {
+            return replica;
+        }
         // check file
         return wrapInputStream(getName().getURI(), getContainer().getContent().getInputStream(bufferSize));
     }
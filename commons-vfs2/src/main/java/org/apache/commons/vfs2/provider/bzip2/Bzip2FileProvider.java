@@ -35,7 +35,7 @@ public class Bzip2FileProvider extends CompressedFileFileProvider {
 
     /** The provider's capabilities */
     protected static final Collection<Capability> capabilities = Collections.unmodifiableCollection(Arrays.asList(Capability.GET_LAST_MODIFIED,
-        Capability.GET_TYPE, Capability.LIST_CHILDREN, Capability.READ_CONTENT, Capability.WRITE_CONTENT, Capability.URI, Capability.COMPRESS));
+        Capability.GET_TYPE, Capability.LIST_CHILDREN, Capability.READ_CONTENT, Capability.RANDOM_ACCESS_READ, Capability.WRITE_CONTENT, Capability.URI, Capability.COMPRESS));
 
     /**
      * Constructs a new instance.
@@ -16,12 +16,21 @@
  */
 package org.apache.commons.vfs2.provider.compressed;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
 import org.apache.commons.vfs2.Capability;
+import org.apache.commons.vfs2.FileContent;
 import org.apache.commons.vfs2.FileObject;
 import org.apache.commons.vfs2.FileSystemException;
 import org.apache.commons.vfs2.FileType;
+import org.apache.commons.vfs2.RandomAccessContent;
+import org.apache.commons.vfs2.Selectors;
 import org.apache.commons.vfs2.provider.AbstractFileName;
 import org.apache.commons.vfs2.provider.AbstractFileObject;
+import org.apache.commons.vfs2.util.RandomAccessMode;
 
 /**
  * A compressed file.
@@ -29,6 +38,11 @@ import org.apache.commons.vfs2.provider.AbstractFileObject;
  * <p>
  * Such a file only has one child (the compressed file name with stripped last extension)
  * </p>
+ * <p>
+ * Random access to the content is served from a local copy of the decompressed content, made through the file
+ * replicator on first use and kept as long as the container does not change. While that copy is current, input streams
+ * are read from it as well instead of decompressing the container again.
+ * </p>
  *
  * @param <FS> A CompressedFileFileSystem
  */
@@ -43,6 +57,17 @@ public abstract class CompressedFileFileObject<FS extends CompressedFileFileSyst
     private final FileObject container;
     private final String[] children;
 
+    /**
+     * The local copy of the decompressed content, or null.
+     */
+    private File replica;
+
+    /**
+     * The last modified time and size of the container when {@link #replica} was made.
+     */
+    private long replicaContainerTime;
+    private long replicaContainerSize;
+
     /**
      * Constructs a new instance.
      *
@@ -78,6 +103,16 @@ public abstract class CompressedFileFileObject<FS extends CompressedFileFileSyst
         return SIZE_UNDEFINED;
     }
 
+    /**
+     * Serves random access from the local copy of the decompressed content, seeking in it does not decompress the
+     * container again.
+     */
+    @Override
+    protected RandomAccessContent doGetRandomAccessContent(final RandomAccessMode mode) throws Exception {
+        final File file = getReplica();
+        return getFileSystem().getFileSystemManager().toFileObject(file).getContent().getRandomAccessContent(mode);
+    }
+
     /**
      * Returns the last modified time of this file.
      */
@@ -105,6 +140,22 @@ public abstract class CompressedFileFileObject<FS extends CompressedFileFileSyst
         return children;
     }
 
+    @Override
+    protected void endOutput() throws Exception {
+        synchronized (this) {
+            deleteReplica();
+        }
+        super.endOutput();
+    }
+
+    private void deleteReplica() {
+        if (replica != null) {
+            // The replicator deletes whatever is left when it is closed.
+            replica.delete();
+            replica = null;
+        }
+    }
+
     /**
      * Gets the container.
      *
@@ -114,6 +165,50 @@ public abstract class CompressedFileFileObject<FS extends CompressedFileFileSyst
         return container;
     }
 
+    /**
+     * Gets the local copy of the decompressed content, replicating this file if there is no current copy.
+     *
+     * @return The local copy of the decompressed content.
+     * @throws FileSystemException if an error occurs.
+     * @since 2.11.0
+     */
+    protected File getReplica() throws FileSystemException {
+        synchronized (this) {
+            if (!isReplicaCurrent()) {
+                deleteReplica();
+                final FileContent content = container.getContent();
+                final long time = content.getLastModifiedTime();
+                final long size = content.getSize();
+                replica = getFileSystem().replicateFile(this, Selectors.SELECT_SELF);
+                replicaContainerTime = time;
+                replicaContainerSize = size;
+            }
+            return replica;
+        }
+    }
+
+    /**
+     * Opens the local copy of the decompressed content if it is still current, so that subclasses can read it instead
+     * of decompressing the container again.
+     *
+     * @return A stream over the decompressed content, or null if there is no current copy.
+     * @throws IOException if an error occurs.
+     * @since 2.11.0
+     */
+    protected InputStream getReplicaInputStream() throws IOException {
+        synchronized (this) {
+            return isReplicaCurrent() ? Files.newInputStream(replica.toPath()) : null;
+        }
+    }
+
+    private boolean isReplicaCurrent() throws FileSystemException {
+        if (replica == null || !replica.exists()) {
+            return false;
+        }
+        final FileContent content = container.getContent();
+        return content.getLastModifiedTime() == replicaContainerTime && content.getSize() == replicaContainerSize;
+    }
+
     /**
      * Determines if this file can be written to.
      *
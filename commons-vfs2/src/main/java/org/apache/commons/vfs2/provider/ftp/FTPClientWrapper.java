@@ -375,6 +375,17 @@ public class FTPClientWrapper implements FtpClient {
         return getFtpClient().sendCommand("OPTS", commandName + ' ' + commandOptions);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Does not reconnect, a dropped connection is reported as such.
+     * </p>
+     */
+    @Override
+    public boolean sendNoOp() throws IOException {
+        return ftpClient != null && ftpClient.sendNoOp();
+    }
+
     @Override
     public void setBufferSize(final int bufferSize) throws FileSystemException {
         getFtpClient().setBufferSize(bufferSize);
@@ -218,6 +218,18 @@ public interface FtpClient {
      */
     InputStream retrieveFileStream(String relPath, long restartOffset) throws IOException;
 
+    /**
+     * Sends a NOOP command to the server, to check that the connection is still alive.
+     *
+     * @return true if the server acknowledged the command.
+     * @throws IOException If an I/O error occurs.
+     * @since 2.11.0
+     */
+    default boolean sendNoOp() throws IOException {
+        // Backward compatibility: no round trip.
+        return isConnected();
+    }
+
     /**
      * Sets the buffer size for buffered data streams.
      *
@@ -91,9 +91,11 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
             final boolean ok;
             try {
                 ok = client.completePendingCommand() || isTransferAbortedOkReplyCode();
-            } finally {
-                getAbstractFileSystem().putClient(client);
+            } catch (final Exception e) {
+                getAbstractFileSystem().invalidateClient(client);
+                throw e;
             }
+            getAbstractFileSystem().putClient(client);
             if (!ok) {
                 throw new FileSystemException("vfs.provider.ftp/finish-get.error", getName());
             }
@@ -119,9 +121,11 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
             final boolean ok;
             try {
                 ok = client.completePendingCommand();
-            } finally {
-                getAbstractFileSystem().putClient(client);
+            } catch (final Exception e) {
+                getAbstractFileSystem().invalidateClient(client);
+                throw e;
             }
+            getAbstractFileSystem().putClient(client);
             if (!ok) {
                 throw new FileSystemException("vfs.provider.ftp/finish-put.error", getName());
             }
@@ -184,9 +188,11 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
         final FtpClient client = getAbstractFileSystem().getClient();
         try {
             ok = client.makeDirectory(relPath);
-        } finally {
-            getAbstractFileSystem().putClient(client);
+        } catch (final Exception e) {
+            getAbstractFileSystem().invalidateClient(client);
+            throw e;
         }
+        getAbstractFileSystem().putClient(client);
         if (!ok) {
             throw new FileSystemException("vfs.provider.ftp/create-folder.error", getName());
         }
@@ -197,7 +203,7 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
      */
     @Override
     protected void doDelete() throws Exception {
-        synchronized (getFileSystem()) {
+        synchronized (this) {
             if (ftpFile != null) {
                 final boolean ok;
                 final FtpClient ftpClient = getAbstractFileSystem().getClient();
@@ -207,9 +213,11 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
                     } else {
                         ok = ftpClient.deleteFile(relPath);
                     }
-                } finally {
-                    getAbstractFileSystem().putClient(ftpClient);
+                } catch (final Exception e) {
+                    getAbstractFileSystem().invalidateClient(ftpClient);
+                    throw e;
                 }
+                getAbstractFileSystem().putClient(ftpClient);
                 if (!ok) {
                     throw new FileSystemException("vfs.provider.ftp/delete-file.error", getName());
                 }
@@ -224,7 +232,7 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
      */
     @Override
     protected void doDetach() {
-        synchronized (getFileSystem()) {
+        synchronized (this) {
             ftpFile = null;
             childMap = null;
             mdtmSet = false;
@@ -233,38 +241,48 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
 
     /**
      * Fetches the children of this file, if not already cached.
+     * <p>
+     * The map is only published once complete, so that children looking up their entry never see a partial listing.
+     * </p>
+     *
+     * @return The children of this file by name, or null.
      */
-    private void doGetChildren() throws IOException {
+    private synchronized Map<String, FTPFile> doGetChildren() throws IOException {
         if (childMap != null) {
-            return;
+            return childMap;
         }
+        final String path = ftpFile != null && ftpFile.isSymbolicLink()
+                ? getFileSystem().getFileSystemManager().resolveName(getParent().getName(), ftpFile.getLink()).getPath()
+                : relPath;
+        final FTPFile[] tmpChildren;
         final FtpClient client = getAbstractFileSystem().getClient();
         try {
-            final String path = ftpFile != null && ftpFile.isSymbolicLink()
-                    ? getFileSystem().getFileSystemManager().resolveName(getParent().getName(), ftpFile.getLink()).getPath()
-                    : relPath;
-            final FTPFile[] tmpChildren = client.listFiles(path);
-            if (ArrayUtils.isEmpty(tmpChildren)) {
-                childMap = EMPTY_FTP_FILE_MAP;
-            } else {
-                childMap = new TreeMap<>();
-                // Remove '.' and '..' elements
-                for (int i = 0; i < tmpChildren.length; i++) {
-                    final FTPFile child = tmpChildren[i];
-                    if (child == null) {
-                        if (log.isDebugEnabled()) {
-                            log.debug(Messages.getString("vfs.provider.ftp/invalid-directory-entry.debug", Integer.valueOf(i), relPath));
-                        }
-                        continue;
-                    }
-                    if (!".".equals(child.getName()) && !"..".equals(child.getName())) {
-                        childMap.put(child.getName(), child);
+            tmpChildren = client.listFiles(path);
+        } catch (final Exception e) {
+            getAbstractFileSystem().invalidateClient(client);
+            throw e;
+        }
+        getAbstractFileSystem().putClient(client);
+        if (ArrayUtils.isEmpty(tmpChildren)) {
+            childMap = EMPTY_FTP_FILE_MAP;
+        } else {
+            final Map<String, FTPFile> children = new TreeMap<>();
+            // Remove '.' and '..' elements
+            for (int i = 0; i < tmpChildren.length; i++) {
+                final FTPFile child = tmpChildren[i];
+                if (child == null) {
+                    if (log.isDebugEnabled()) {
+                        log.debug(Messages.getString("vfs.provider.ftp/invalid-directory-entry.debug", Integer.valueOf(i), relPath));
                     }
+                    continue;
+                }
+                if (!".".equals(child.getName()) && !"..".equals(child.getName())) {
+                    children.put(child.getName(), child);
                 }
             }
-        } finally {
-            getAbstractFileSystem().putClient(client);
+            childMap = children;
         }
+        return childMap;
     }
 
     /**
@@ -272,7 +290,7 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
      */
     @Override
     protected long doGetContentSize() throws Exception {
-        synchronized (getFileSystem()) {
+        synchronized (this) {
             if (ftpFile == null) {
                 return 0;
             }
@@ -294,17 +312,19 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
     @Override
     protected InputStream doGetInputStream(final int bufferSize) throws Exception {
         final FtpClient client = getAbstractFileSystem().getClient();
+        final InputStream inputStream;
         try {
-            final InputStream inputStream = client.retrieveFileStream(relPath, 0);
-            // VFS-210
-            if (inputStream == null) {
-                throw new FileNotFoundException(getName().toString());
-            }
-            return new FtpInputStream(client, inputStream, bufferSize);
+            inputStream = client.retrieveFileStream(relPath, 0);
         } catch (final Exception e) {
-            getAbstractFileSystem().putClient(client);
+            getAbstractFileSystem().invalidateClient(client);
             throw e;
         }
+        // VFS-210
+        if (inputStream == null) {
+            getAbstractFileSystem().putClient(client);
+            throw new FileNotFoundException(getName().toString());
+        }
+        return new FtpInputStream(client, inputStream, bufferSize);
     }
 
     /**
@@ -314,7 +334,7 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
      */
     @Override
     protected long doGetLastModifiedTime() throws Exception {
-        synchronized (getFileSystem()) {
+        synchronized (this) {
             if (ftpFile == null) {
                 return DEFAULT_TIMESTAMP;
             }
@@ -336,22 +356,22 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
     @Override
     protected OutputStream doGetOutputStream(final boolean bAppend) throws Exception {
         final FtpClient client = getAbstractFileSystem().getClient();
+        final OutputStream out;
         try {
-            final OutputStream out;
             if (bAppend) {
                 out = client.appendFileStream(relPath);
             } else {
                 out = client.storeFileStream(relPath);
             }
-
-            FileSystemException.requireNonNull(out, "vfs.provider.ftp/output-error.debug", getName(),
-                    client.getReplyString());
-
-            return new FtpOutputStream(client, out);
         } catch (final Exception e) {
-            getAbstractFileSystem().putClient(client);
+            getAbstractFileSystem().invalidateClient(client);
             throw e;
         }
+        if (out == null) {
+            getAbstractFileSystem().putClient(client);
+            throw new FileSystemException("vfs.provider.ftp/output-error.debug", getName(), client.getReplyString());
+        }
+        return new FtpOutputStream(client, out);
     }
 
     @Override
@@ -365,7 +385,7 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
     @Override
     protected FileType doGetType() throws Exception {
         // VFS-210
-        synchronized (getFileSystem()) {
+        synchronized (this) {
             if (ftpFile == null) {
                 setFTPFile(false);
             }
@@ -402,22 +422,22 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
     @Override
     protected String[] doListChildren() throws Exception {
         // List the children of this file
-        doGetChildren();
+        final Map<String, FTPFile> children = doGetChildren();
 
         // VFS-210
-        if (childMap == null) {
+        if (children == null) {
             return null;
         }
 
         // TODO - get rid of this children stuff
-        final String[] childNames = childMap.values().stream().filter(Objects::nonNull).map(FTPFile::getName).toArray(String[]::new);
+        final String[] childNames = children.values().stream().filter(Objects::nonNull).map(FTPFile::getName).toArray(String[]::new);
 
         return UriParser.encode(childNames);
     }
 
     @Override
     protected FileObject[] doListChildrenResolved() throws Exception {
-        synchronized (getFileSystem()) {
+        synchronized (this) {
             if (ftpFile != null && ftpFile.isSymbolicLink()) {
                 final FileObject linkDest = getLinkDestination();
                 // VFS-437: Try to avoid a recursion loop.
@@ -435,15 +455,17 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
      */
     @Override
     protected void doRename(final FileObject newFile) throws Exception {
-        synchronized (getFileSystem()) {
+        synchronized (this) {
             final boolean ok;
+            final String newName = ((FtpFileObject) FileObjectUtils.getAbstractFileObject(newFile)).getRelPath();
             final FtpClient ftpClient = getAbstractFileSystem().getClient();
             try {
-                final String newName = ((FtpFileObject) FileObjectUtils.getAbstractFileObject(newFile)).getRelPath();
                 ok = ftpClient.rename(relPath, newName);
-            } finally {
-                getAbstractFileSystem().putClient(ftpClient);
+            } catch (final Exception e) {
+                getAbstractFileSystem().invalidateClient(ftpClient);
+                throw e;
             }
+            getAbstractFileSystem().putClient(ftpClient);
 
             if (!ok) {
                 throw new FileSystemException("vfs.provider.ftp/rename-file.error", getName().toString(), newFile);
@@ -459,7 +481,7 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
      * @param name The file name in its native form i.e. without URI stuff (%nn)
      * @param flush recreate children cache
      */
-    private FTPFile getChildFile(final String name, final boolean flush) throws IOException {
+    private synchronized FTPFile getChildFile(final String name, final boolean flush) throws IOException {
         /*
          * If we should flush cached children, clear our children map unless we're in the middle of a refresh in which
          * case we've just recently refreshed our children. No need to do it again when our children are refresh()ed,
@@ -470,11 +492,11 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
         }
 
         // List the children of this file
-        doGetChildren();
+        final Map<String, FTPFile> children = doGetChildren();
 
         // Look for the requested child
         // VFS-210 adds the null check.
-        return childMap != null ? childMap.get(name) : null;
+        return children != null ? children.get(name) : null;
     }
 
     /**
@@ -507,19 +529,13 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
             // [VFS-862] Fix ON_RESOLVE triggering refresh on internal navigation.
             // If a fresh LIST was done, propagate the new metadata to cached
             // child objects so they reflect the latest directory listing.
-            if (freshList && childMap != null) {
-                synchronized (getFileSystem()) {
-                    for (final FileObject child : result) {
-                        final FtpFileObject ftpChild = (FtpFileObject) FileObjectUtils
-                                .getAbstractFileObject(child);
-                        final FTPFile entry = childMap.get(
-                                UriParser.decode(child.getName().getBaseName()));
-                        if (entry != null) {
-                            ftpChild.ftpFile = entry;
-                            ftpChild.linkDestination = null;
-                            ftpChild.mdtmSet = false;
-                            ftpChild.injectType(null);
-                        }
+            // The children are updated without holding the lock of this folder, see AbstractFileObject.
+            final Map<String, FTPFile> children = childMap;
+            if (freshList && children != null) {
+                for (final FileObject child : result) {
+                    final FTPFile entry = children.get(UriParser.decode(child.getName().getBaseName()));
+                    if (entry != null) {
+                        ((FtpFileObject) FileObjectUtils.getAbstractFileObject(child)).setListedFile(entry);
                     }
                 }
             }
@@ -531,21 +547,24 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
 
     FtpInputStream getInputStream(final long filePointer) throws IOException {
         final FtpClient client = getAbstractFileSystem().getClient();
+        final InputStream instr;
         try {
-            final InputStream instr = client.retrieveFileStream(relPath, filePointer);
-            FileSystemException.requireNonNull(instr, "vfs.provider.ftp/input-error.debug", getName(),
-                    client.getReplyString());
-            return new FtpInputStream(client, instr);
-        } catch (final IOException e) {
-            getAbstractFileSystem().putClient(client);
+            instr = client.retrieveFileStream(relPath, filePointer);
+        } catch (final Exception e) {
+            getAbstractFileSystem().invalidateClient(client);
             throw e;
         }
+        if (instr == null) {
+            getAbstractFileSystem().putClient(client);
+            throw new FileSystemException("vfs.provider.ftp/input-error.debug", getName(), client.getReplyString());
+        }
+        return new FtpInputStream(client, instr);
     }
 
     private FileObject getLinkDestination() throws FileSystemException {
         if (linkDestination == null) {
             final String path;
-            synchronized (getFileSystem()) {
+            synchronized (this) {
                 path = ftpFile == null ? null : ftpFile.getLink();
             }
             final FileName parent = getName().getParent();
@@ -570,14 +589,20 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
             .getMdtmLastModifiedTime(abstractFileSystem.getFileSystemOptions());
         if (mdtmLastModifiedTime != null && mdtmLastModifiedTime.booleanValue()) {
             final FtpClient client = abstractFileSystem.getClient();
-            if (!mdtmSet && client.hasFeature("MDTM")) {
-                final Instant mdtmInstant = client.mdtmInstant(relPath);
-                final Calendar calendar = Calendar.getInstance(TimeZones.GMT);
-                final long epochMilli = mdtmInstant.toEpochMilli();
-                calendar.setTimeInMillis(epochMilli);
-                ftpFile.setTimestamp(calendar);
-                mdtmSet = true;
+            try {
+                if (!mdtmSet && client.hasFeature("MDTM")) {
+                    final Instant mdtmInstant = client.mdtmInstant(relPath);
+                    final Calendar calendar = Calendar.getInstance(TimeZones.GMT);
+                    final long epochMilli = mdtmInstant.toEpochMilli();
+                    calendar.setTimeInMillis(epochMilli);
+                    ftpFile.setTimestamp(calendar);
+                    mdtmSet = true;
+                }
+            } catch (final Exception e) {
+                abstractFileSystem.invalidateClient(client);
+                throw e;
             }
+            abstractFileSystem.putClient(client);
         }
         return ftpFile.getTimestamp().getTime().getTime();
     }
@@ -598,7 +623,7 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
 
         if (getType().equals(FileType.IMAGINARY)) {
             // file is deleted, avoid server lookup
-            synchronized (getFileSystem()) {
+            synchronized (this) {
                 ftpFile = UNKNOWN;
             }
             return;
@@ -611,9 +636,13 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
      * Called when the children of this file change.
      */
     @Override
-    protected void onChildrenChanged(final FileName child, final FileType newType) {
-        if (childMap != null && newType.equals(FileType.IMAGINARY)) {
-            Uncheck.run(() -> childMap.remove(UriParser.decode(child.getBaseName())));
+    protected synchronized void onChildrenChanged(final FileName child, final FileType newType) {
+        final Map<String, FTPFile> children = childMap;
+        if (children != null && newType.equals(FileType.IMAGINARY)) {
+            // Copy the published map rather than changing it under the children reading it
+            final Map<String, FTPFile> remaining = new TreeMap<>(children);
+            Uncheck.run(() -> remaining.remove(UriParser.decode(child.getBaseName())));
+            childMap = remaining;
         } else {
             // if child was added we have to rescan the children
             // TODO - get rid of this
@@ -629,7 +658,7 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
         if (inRefresh.compareAndSet(false, true)) {
             try {
                 super.refresh();
-                synchronized (getFileSystem()) {
+                synchronized (this) {
                     ftpFile = null;
                     childMap = null;
                 }
@@ -643,11 +672,23 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
         }
     }
 
+    /**
+     * Sets the internal FTPFile for this instance from the listing of its parent folder.
+     *
+     * @param entry The entry of this file in the listing.
+     */
+    private synchronized void setListedFile(final FTPFile entry) {
+        ftpFile = entry;
+        linkDestination = null;
+        mdtmSet = false;
+        injectType(null);
+    }
+
     /**
      * Sets the internal FTPFile for this instance.
      */
     private void setFTPFile(final boolean flush) throws IOException {
-        synchronized (getFileSystem()) {
+        synchronized (this) {
             final FtpFileObject parent = (FtpFileObject) FileObjectUtils.getAbstractFileObject(getParent());
             final FTPFile newFileInfo;
             if (parent != null) {
@@ -674,18 +715,22 @@ public class FtpFileObject extends AbstractFileObject<FtpFileSystem> {
      * </p>
      */
     private FTPFile verifyRootDirectory() throws IOException {
+        final boolean ok;
         final FtpClient client = getAbstractFileSystem().getClient();
         try {
             // relPath is always null for the root (constructor maps "." to null),
             // so this always resolves to CWD ".". The relPath check is defensive.
-            if (client.changeDirectory(relPath != null ? relPath : ".")) {
-                final FTPFile result = new FTPFile();
-                result.setType(FTPFile.DIRECTORY_TYPE);
-                return result;
-            }
-            return null;
-        } finally {
-            getAbstractFileSystem().putClient(client);
+            ok = client.changeDirectory(relPath != null ? relPath : ".");
+        } catch (final Exception e) {
+            getAbstractFileSystem().invalidateClient(client);
+            throw e;
         }
+        getAbstractFileSystem().putClient(client);
+        if (ok) {
+            final FTPFile result = new FTPFile();
+            result.setType(FTPFile.DIRECTORY_TYPE);
+            return result;
+        }
+        return null;
     }
 }
@@ -18,7 +18,6 @@ package org.apache.commons.vfs2.provider.ftp;
 
 import java.io.IOException;
 import java.util.Collection;
-import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -29,6 +28,7 @@ import org.apache.commons.vfs2.FileSystemOptions;
 import org.apache.commons.vfs2.VfsLog;
 import org.apache.commons.vfs2.provider.AbstractFileName;
 import org.apache.commons.vfs2.provider.AbstractFileSystem;
+import org.apache.commons.vfs2.provider.ConnectionPool;
 import org.apache.commons.vfs2.provider.GenericFileName;
 
 /**
@@ -36,15 +36,61 @@ import org.apache.commons.vfs2.provider.GenericFileName;
  */
 public class FtpFileSystem extends AbstractFileSystem {
 
+    /**
+     * Pools the connections of this file system, waiting borrowers getting them in order.
+     */
+    private final class ClientPool extends ConnectionPool<FtpClient> {
+
+        ClientPool(final FtpFileSystemConfigBuilder builder, final FileSystemOptions fileSystemOptions) {
+            super(getRootName().getFriendlyURI(), 0, getMaxConnections(builder.getMaxConnections(fileSystemOptions)),
+                builder.getConnectionAcquireTimeout(fileSystemOptions),
+                builder.getConnectionIdleTimeout(fileSystemOptions),
+                builder.getValidateConnectionOnBorrow(fileSystemOptions).booleanValue(), true);
+        }
+
+        @Override
+        protected FtpClient create() throws FileSystemException {
+            return createWrapper();
+        }
+
+        @Override
+        protected void destroy(final FtpClient client) {
+            closeConnection(client);
+        }
+
+        @Override
+        protected boolean isOpen(final FtpClient client) {
+            try {
+                return client.isConnected();
+            } catch (final FileSystemException e) {
+                return false;
+            }
+        }
+
+        @Override
+        protected boolean validate(final FtpClient client) throws IOException {
+            return client.sendNoOp();
+        }
+    }
+
     private static final Log LOG = LogFactory.getLog(FtpFileSystem.class);
 
+    /**
+     * The lowest limit of connections, since an operation may hold two of them at once.
+     */
+    private static final int MIN_MAX_CONNECTIONS = 2;
+
+    private static int getMaxConnections(final int maxConnections) {
+        return maxConnections > 0 ? Math.max(MIN_MAX_CONNECTIONS, maxConnections) : maxConnections;
+    }
+
     // private final String hostname;
     // private final int port;
     // private final String username;
     // private final String password;
 
-    // An idle client
-    private final AtomicReference<FtpClient> idleClient = new AtomicReference<>();
+    // The connections to the server
+    private final ClientPool clientPool;
 
     /**
      * Constructs a new instance.
@@ -60,7 +106,10 @@ public class FtpFileSystem extends AbstractFileSystem {
         // hostname = rootName.getHostName();
         // port = rootName.getPort();
 
-        idleClient.set(ftpClient);
+        clientPool = new ClientPool(FtpFileSystemConfigBuilder.getInstance(), fileSystemOptions);
+        if (ftpClient != null) {
+            clientPool.add(ftpClient);
+        }
     }
 
     /**
@@ -109,39 +158,53 @@ public class FtpFileSystem extends AbstractFileSystem {
 
     @Override
     protected void doCloseCommunicationLink() {
-        final FtpClient idle = idleClient.getAndSet(null);
-        // Clean up the connection
-        if (idle != null) {
-            closeConnection(idle);
-        }
+        // Clean up the idle connections
+        clientPool.clear();
     }
 
     /**
      * Creates an FTP client to use.
+     * <p>
+     * The client is borrowed from the pool of connections of this file system, and must be given back with
+     * {@link #putClient(FtpClient)}, or {@link #invalidateClient(FtpClient)} if it failed.
+     * </p>
      *
      * @return An FTPClient.
      * @throws FileSystemException if an error occurs.
      */
     public FtpClient getClient() throws FileSystemException {
-        FtpClient client = idleClient.getAndSet(null);
+        return clientPool.borrow();
+    }
 
-        if (client == null || !client.isConnected()) {
-            client = createWrapper();
-        }
+    /**
+     * Gets the pool of connections of this file system, to monitor its use.
+     *
+     * @return The pool of connections.
+     * @since 2.11.0
+     */
+    public ConnectionPool<FtpClient> getClientPool() {
+        return clientPool;
+    }
 
-        return client;
+    /**
+     * Closes an FTP client that failed, instead of returning it, so that it is not used again.
+     *
+     * @param client The FTPClient.
+     * @since 2.11.0
+     */
+    public void invalidateClient(final FtpClient client) {
+        clientPool.invalidate(client);
     }
 
     /**
      * Returns an FTP client after use.
+     * <p>
+     * The client is kept for reuse if it is still connected, and closed otherwise.
+     * </p>
      *
      * @param client The FTPClient.
      */
     public void putClient(final FtpClient client) {
-        // Save client for reuse if none is idle.
-        if (!idleClient.compareAndSet(null, client)) {
-            // An idle client is already present so close the connection.
-            closeConnection(client);
-        }
+        clientPool.release(client);
     }
 }
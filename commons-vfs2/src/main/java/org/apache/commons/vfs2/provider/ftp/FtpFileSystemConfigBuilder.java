@@ -40,6 +40,8 @@ public class FtpFileSystemConfigBuilder extends FileSystemConfigBuilder {
 
     private static final FtpFileSystemConfigBuilder BUILDER = new FtpFileSystemConfigBuilder();
 
+    private static final Duration DEFAULT_CONNECTION_ACQUIRE_TIMEOUT = Duration.ofMinutes(1);
+
     private static final String AUTODETECT_UTF8 = PREFIX + ".AUTODETECT_UTF8";
     private static final String CONNECT_TIMEOUT = PREFIX + ".CONNECT_TIMEOUT";
     private static final String DATA_TIMEOUT = PREFIX + ".DATA_TIMEOUT";
@@ -61,6 +63,10 @@ public class FtpFileSystemConfigBuilder extends FileSystemConfigBuilder {
     private static final String USER_DIR_IS_ROOT = PREFIX + ".USER_DIR_IS_ROOT";
     private static final String TRANSFER_ABORTED_OK_REPLY_CODES = PREFIX + ".TRANSFER_ABORTED_OK_REPLY_CODES";
     private static final String MDTM_LAST_MODIFED_TIME = PREFIX + ".MDTM_LAST_MODIFED_TIME";
+    private static final String CONNECTION_ACQUIRE_TIMEOUT = PREFIX + ".CONNECTION_ACQUIRE_TIMEOUT";
+    private static final String CONNECTION_IDLE_TIMEOUT = PREFIX + ".CONNECTION_IDLE_TIMEOUT";
+    private static final String MAX_CONNECTIONS = PREFIX + ".MAX_CONNECTIONS";
+    private static final String VALIDATE_CONNECTION_ON_BORROW = PREFIX + ".VALIDATE_CONNECTION_ON_BORROW";
 
     /**
      * Gets the singleton instance.
@@ -148,6 +154,30 @@ public class FtpFileSystemConfigBuilder extends FileSystemConfigBuilder {
         return getDuration(options, CONNECT_TIMEOUT);
     }
 
+    /**
+     * Gets how long to wait for a connection when the maximum number of connections are in use.
+     *
+     * @param options The FileSystemOptions.
+     * @return The acquire timeout, zero to wait indefinitely.
+     * @see #setConnectionAcquireTimeout(FileSystemOptions, Duration)
+     * @since 2.11.0
+     */
+    public Duration getConnectionAcquireTimeout(final FileSystemOptions options) {
+        return getDuration(options, CONNECTION_ACQUIRE_TIMEOUT, DEFAULT_CONNECTION_ACQUIRE_TIMEOUT);
+    }
+
+    /**
+     * Gets how long a connection may stay idle in the pool before it is closed.
+     *
+     * @param options The FileSystemOptions.
+     * @return The idle timeout, null to keep idle connections open.
+     * @see #setConnectionIdleTimeout(FileSystemOptions, Duration)
+     * @since 2.11.0
+     */
+    public Duration getConnectionIdleTimeout(final FileSystemOptions options) {
+        return getDuration(options, CONNECTION_IDLE_TIMEOUT);
+    }
+
     /**
      * Gets the control encoding.
      *
@@ -263,6 +293,18 @@ public class FtpFileSystemConfigBuilder extends FileSystemConfigBuilder {
         return getEnum(FtpFileType.class, options, FILE_TYPE);
     }
 
+    /**
+     * Gets the maximum number of connections open at once by a file system.
+     *
+     * @param options The FileSystemOptions.
+     * @return The maximum number of connections, 0 if not limited.
+     * @see #setMaxConnections(FileSystemOptions, int)
+     * @since 2.11.0
+     */
+    public int getMaxConnections(final FileSystemOptions options) {
+        return getInteger(options, MAX_CONNECTIONS, 0);
+    }
+
     /**
      * Gets the option to use FTP MDTM for {@link FileContent#getLastModifiedTime()}.
      *
@@ -397,6 +439,18 @@ public class FtpFileSystemConfigBuilder extends FileSystemConfigBuilder {
         return getBoolean(options, USER_DIR_IS_ROOT, Boolean.TRUE);
     }
 
+    /**
+     * Tests whether idle connections are checked with a NOOP command before they are reused.
+     *
+     * @param options The FileSystemOptions.
+     * @return true if idle connections are validated.
+     * @see #setValidateConnectionOnBorrow(FileSystemOptions, boolean)
+     * @since 2.11.0
+     */
+    public Boolean getValidateConnectionOnBorrow(final FileSystemOptions options) {
+        return getBoolean(options, VALIDATE_CONNECTION_ON_BORROW, Boolean.FALSE);
+    }
+
     /**
      * Sets the active port range.
      *
@@ -449,6 +503,37 @@ public class FtpFileSystemConfigBuilder extends FileSystemConfigBuilder {
         setConnectTimeout(options, Duration.ofMillis(duration));
     }
 
+    /**
+     * Sets how long to wait for a connection when the maximum number of connections are in use.
+     * <p>
+     * Threads waiting for a connection get one in the order they asked for it. Defaults to 1 minute, after which the
+     * operation fails: an operation may need a second connection while holding one, for instance to check the type of a
+     * file while reading it, so waiting indefinitely can hang once all the connections are in use.
+     * </p>
+     *
+     * @param options The FileSystemOptions.
+     * @param timeout The acquire timeout, zero to wait indefinitely.
+     * @see #setMaxConnections(FileSystemOptions, int)
+     * @since 2.11.0
+     */
+    public void setConnectionAcquireTimeout(final FileSystemOptions options, final Duration timeout) {
+        setParam(options, CONNECTION_ACQUIRE_TIMEOUT, timeout);
+    }
+
+    /**
+     * Sets how long a connection may stay idle in the pool before it is closed.
+     * <p>
+     * Defaults to keeping idle connections open until the file system is closed.
+     * </p>
+     *
+     * @param options The FileSystemOptions.
+     * @param timeout The idle timeout.
+     * @since 2.11.0
+     */
+    public void setConnectionIdleTimeout(final FileSystemOptions options, final Duration timeout) {
+        setParam(options, CONNECTION_IDLE_TIMEOUT, timeout);
+    }
+
     /**
      * See {@link org.apache.commons.net.ftp.FTP#setControlEncoding} for details and examples.
      *
@@ -573,6 +658,24 @@ public class FtpFileSystemConfigBuilder extends FileSystemConfigBuilder {
         setParam(options, FILE_TYPE, ftpFileType);
     }
 
+    /**
+     * Sets the maximum number of connections open at once by a file system.
+     * <p>
+     * Connections are reused by the threads of the file system, which wait for one to be released once the maximum is
+     * reached, instead of logging in again. Since an operation may hold two connections at once, a limit of 1 is raised
+     * to 2. A file system copying files in parallel needs more connections than copy threads. Defaults to 0, not
+     * limiting the number of connections.
+     * </p>
+     *
+     * @param options The FileSystemOptions.
+     * @param maxConnections The maximum number of connections, at least 2, or 0 for no limit.
+     * @see #setConnectionAcquireTimeout(FileSystemOptions, Duration)
+     * @since 2.11.0
+     */
+    public void setMaxConnections(final FileSystemOptions options, final int maxConnections) {
+        setParam(options, MAX_CONNECTIONS, Integer.valueOf(maxConnections));
+    }
+
     /**
      * Sets the option to use FTP MDTM for {@link FileContent#getLastModifiedTime()}.
      *
@@ -718,4 +821,17 @@ public class FtpFileSystemConfigBuilder extends FileSystemConfigBuilder {
     public void setUserDirIsRoot(final FileSystemOptions options, final boolean userDirIsRoot) {
         setParam(options, USER_DIR_IS_ROOT, toBooleanObject(userDirIsRoot));
     }
+
+    /**
+     * Sets whether idle connections are checked with a NOOP command before they are reused, so that connections dropped
+     * by the server are replaced rather than failing the operation.
+     *
+     * @param options The FileSystemOptions.
+     * @param validateConnectionOnBorrow true to validate idle connections.
+     * @since 2.11.0
+     */
+    public void setValidateConnectionOnBorrow(final FileSystemOptions options,
+            final boolean validateConnectionOnBorrow) {
+        setParam(options, VALIDATE_CONNECTION_ON_BORROW, toBooleanObject(validateConnectionOnBorrow));
+    }
 }
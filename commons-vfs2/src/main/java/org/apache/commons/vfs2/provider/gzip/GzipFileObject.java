@@ -65,6 +65,10 @@ public class GzipFileObject extends CompressedFileFileObject<GzipFileSystem> {
 
     @Override
     protected InputStream doGetInputStream(final int bufferSize) throws Exception {
+        final InputStream replica = getReplicaInputStream();
+        if (replica != null) {
+            return replica;
+        }
         return new GZIPInputStream(getContainer().getContent().getInputStream(), bufferSize);
     }
 
@@ -37,7 +37,7 @@ public class GzipFileProvider extends CompressedFileFileProvider {
      * Capabilities.
      */
     protected static final Collection<Capability> capabilities = Collections.unmodifiableCollection(Arrays.asList(Capability.GET_LAST_MODIFIED,
-        Capability.GET_TYPE, Capability.LIST_CHILDREN, Capability.WRITE_CONTENT, Capability.READ_CONTENT, Capability.URI, Capability.COMPRESS));
+        Capability.GET_TYPE, Capability.LIST_CHILDREN, Capability.WRITE_CONTENT, Capability.READ_CONTENT, Capability.RANDOM_ACCESS_READ, Capability.URI, Capability.COMPRESS));
 
     /**
      * Constructs a new instance.
@@ -113,7 +113,7 @@ public class HttpFileObject<FS extends HttpFileSystem> extends AbstractFileObjec
      */
     @Override
     protected void doDetach() throws Exception {
-        synchronized (getFileSystem()) {
+        synchronized (this) {
             method = null;
         }
     }
@@ -244,8 +244,8 @@ public class HttpFileObject<FS extends HttpFileSystem> extends AbstractFileObjec
      * @throws IOException Thrown if an IO error occurs.
      */
     HeadMethod getHeadMethod() throws IOException {
-        // need to synchronize on the file system as the detach method will clear out "method"
-        synchronized (getFileSystem()) {
+        // need to synchronize on this file as the detach method will clear out "method"
+        synchronized (this) {
             if (method != null) {
                 return method;
             }
@@ -17,10 +17,12 @@
 
 package org.apache.commons.vfs2.provider.http4;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.vfs2.FileContentInfoFactory;
 import org.apache.commons.vfs2.FileNotFoundException;
 import org.apache.commons.vfs2.FileSystemException;
@@ -31,7 +33,9 @@ import org.apache.commons.vfs2.provider.AbstractFileName;
 import org.apache.commons.vfs2.provider.AbstractFileObject;
 import org.apache.commons.vfs2.provider.GenericURLFileName;
 import org.apache.commons.vfs2.util.RandomAccessMode;
+import org.apache.commons.vfs2.util.SegmentedInputStream;
 import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.ClientProtocolException;
@@ -69,6 +73,16 @@ public class Http4FileObject<FS extends Http4FileSystem> extends AbstractFileObj
      */
     private HttpResponse lastHeadResponse;
 
+    /**
+     * The maximum number of segments downloaded at a time.
+     */
+    private final int downloadParallelism;
+
+    /**
+     * The size of downloaded segments.
+     */
+    private final long downloadSegmentSize;
+
     /**
      * Constructs {@code Http4FileObject}.
      *
@@ -92,6 +106,9 @@ public class Http4FileObject<FS extends Http4FileSystem> extends AbstractFileObj
         super(name, fileSystem);
         final FileSystemOptions fileSystemOptions = fileSystem.getFileSystemOptions();
         urlCharset = builder.getUrlCharset(fileSystemOptions);
+        downloadParallelism = Math.min(builder.getDownloadParallelism(fileSystemOptions),
+            builder.getMaxConnectionsPerHost(fileSystemOptions));
+        downloadSegmentSize = builder.getDownloadSegmentSize(fileSystemOptions);
         final String pathEncoded = ((GenericURLFileName) name).getPathQueryEncoded(getUrlCharset());
         internalURI = URIUtils.resolve(fileSystem.getInternalBaseURI(), pathEncoded);
     }
@@ -116,6 +133,10 @@ public class Http4FileObject<FS extends Http4FileSystem> extends AbstractFileObj
 
     @Override
     protected InputStream doGetInputStream(final int bufferSize) throws Exception {
+        final InputStream segmentedInputStream = getSegmentedInputStream();
+        if (segmentedInputStream != null) {
+            return segmentedInputStream;
+        }
         final HttpGet getRequest = new HttpGet(getInternalURI());
         final HttpResponse httpResponse = executeHttpUriRequest(getRequest);
         final int status = httpResponse.getStatusLine().getStatusCode();
@@ -208,6 +229,56 @@ public class Http4FileObject<FS extends Http4FileSystem> extends AbstractFileObj
         return executeHttpUriRequest(new HttpHead(getInternalURI()));
     }
 
+    /**
+     * Opens a range of the content, which the server must return as partial content.
+     */
+    private InputStream getRangeInputStream(final long first, final long last, final Header entityTag)
+            throws IOException {
+        final HttpGet getRequest = new HttpGet(getInternalURI());
+        getRequest.setHeader(HttpHeaders.RANGE, "bytes=" + first + "-" + last);
+        if (entityTag != null) {
+            // Fails rather than mixing versions if the file changes while it is downloaded
+            getRequest.setHeader(HttpHeaders.IF_RANGE, entityTag.getValue());
+        }
+        final HttpResponse httpResponse = executeHttpUriRequest(getRequest);
+        final int status = httpResponse.getStatusLine().getStatusCode();
+        if (status != HttpStatus.SC_PARTIAL_CONTENT) {
+            if (httpResponse instanceof Closeable) {
+                IOUtils.closeQuietly((Closeable) httpResponse);
+            }
+            throw new FileSystemException("vfs.provider.http/get-range.error", getName(), Long.valueOf(first),
+                Integer.valueOf(status));
+        }
+        return new MonitoredHttpResponseContentInputStream(httpResponse);
+    }
+
+    /**
+     * Gets a stream downloading the content in segments over several connections, if enabled, the file is larger than
+     * a segment, and the server accepts byte ranges.
+     *
+     * @return a segmented stream, or null to download the content with a single request.
+     */
+    private InputStream getSegmentedInputStream() throws IOException {
+        if (downloadParallelism <= 1) {
+            return null;
+        }
+        final HttpResponse headResponse = getLastHeadResponse();
+        final Header acceptRanges = headResponse.getFirstHeader(HttpHeaders.ACCEPT_RANGES);
+        final Header contentLength = headResponse.getFirstHeader(HTTP.CONTENT_LEN);
+        if (acceptRanges == null || !"bytes".equalsIgnoreCase(acceptRanges.getValue()) || contentLength == null) {
+            return null;
+        }
+        final long length = Long.parseLong(contentLength.getValue());
+        if (length <= downloadSegmentSize) {
+            return null;
+        }
+        final Header eTag = headResponse.getFirstHeader(HttpHeaders.ETAG);
+        // Weak entity tags cannot be used in If-Range
+        final Header entityTag = eTag != null && !eTag.getValue().startsWith("W/") ? eTag : null;
+        return new SegmentedInputStream(length, downloadSegmentSize, downloadParallelism,
+            (first, last) -> getRangeInputStream(first.longValue(), last.longValue(), entityTag));
+    }
+
     /**
      * Gets URL charset string.
      *
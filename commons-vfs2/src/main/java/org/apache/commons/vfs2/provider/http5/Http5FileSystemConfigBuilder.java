@@ -59,6 +59,22 @@ public class Http5FileSystemConfigBuilder extends FileSystemConfigBuilder {
      */
     private static final String MAX_HOST_CONNECTIONS = "http.connection-manager.max-per-host";
 
+    /**
+     * Defines the maximum number of segments of a file downloaded at a time with range requests.
+     * <p>
+     * This parameter expects a value of type {@link Integer}.
+     * </p>
+     */
+    private static final String DOWNLOAD_PARALLELISM = "http.download.parallelism";
+
+    /**
+     * Defines the size of the segments of a file downloaded with range requests.
+     * <p>
+     * This parameter expects a value of type {@link Long}.
+     * </p>
+     */
+    private static final String DOWNLOAD_SEGMENT_SIZE = "http.download.segment-size";
+
     /**
      * Defines the connection timeout of an HTTP request.
      * <p>
@@ -160,6 +176,16 @@ public class Http5FileSystemConfigBuilder extends FileSystemConfigBuilder {
      */
     private static final int DEFAULT_MAX_HOST_CONNECTIONS = 5;
 
+    /**
+     * The default value for {@link #DOWNLOAD_PARALLELISM} configuration.
+     */
+    private static final int DEFAULT_DOWNLOAD_PARALLELISM = 1;
+
+    /**
+     * The default value for {@link #DOWNLOAD_SEGMENT_SIZE} configuration.
+     */
+    private static final long DEFAULT_DOWNLOAD_SEGMENT_SIZE = 8 * 1024 * 1024;
+
     /**
      * The default value for {@link #CONNECTION_TIMEOUT} configuration.
      */
@@ -256,6 +282,30 @@ public class Http5FileSystemConfigBuilder extends FileSystemConfigBuilder {
         return getParam(opts, "cookies");
     }
 
+    /**
+     * Gets the maximum number of segments of a file downloaded at a time.
+     *
+     * @param opts The FileSystem options.
+     * @return The maximum number of segments downloaded at a time, 1 if files are downloaded with a single request.
+     * @see #setDownloadParallelism(FileSystemOptions, int)
+     * @since 2.11.0
+     */
+    public int getDownloadParallelism(final FileSystemOptions opts) {
+        return getInteger(opts, DOWNLOAD_PARALLELISM, DEFAULT_DOWNLOAD_PARALLELISM);
+    }
+
+    /**
+     * Gets the size of the segments of a file downloaded with range requests.
+     *
+     * @param opts The FileSystem options.
+     * @return The segment size in bytes.
+     * @see #setDownloadSegmentSize(FileSystemOptions, long)
+     * @since 2.11.0
+     */
+    public long getDownloadSegmentSize(final FileSystemOptions opts) {
+        return getLong(opts, DOWNLOAD_SEGMENT_SIZE, DEFAULT_DOWNLOAD_SEGMENT_SIZE);
+    }
+
     /**
      * Gets whether to follow redirects for the connection.
      *
@@ -481,6 +531,36 @@ public class Http5FileSystemConfigBuilder extends FileSystemConfigBuilder {
         setParam(opts, "cookies", cookies);
     }
 
+    /**
+     * Sets the maximum number of segments of a file downloaded at a time.
+     * <p>
+     * When greater than 1, files larger than the segment size are downloaded with range requests over several
+     * connections, if the server accepts byte ranges. The number of connections is also limited by the maximum number
+     * of connections per host. Each segment being downloaded is held in memory. Defaults to 1, downloading files with
+     * a single request.
+     * </p>
+     *
+     * @param opts The FileSystem options.
+     * @param downloadParallelism The maximum number of segments downloaded at a time.
+     * @see #setDownloadSegmentSize(FileSystemOptions, long)
+     * @since 2.11.0
+     */
+    public void setDownloadParallelism(final FileSystemOptions opts, final int downloadParallelism) {
+        setParam(opts, DOWNLOAD_PARALLELISM, Integer.valueOf(downloadParallelism));
+    }
+
+    /**
+     * Sets the size of the segments of a file downloaded with range requests. Defaults to 8 MiB.
+     *
+     * @param opts The FileSystem options.
+     * @param downloadSegmentSize The segment size in bytes.
+     * @see #setDownloadParallelism(FileSystemOptions, int)
+     * @since 2.11.0
+     */
+    public void setDownloadSegmentSize(final FileSystemOptions opts, final long downloadSegmentSize) {
+        setParam(opts, DOWNLOAD_SEGMENT_SIZE, Long.valueOf(downloadSegmentSize));
+    }
+
     /**
      * Sets whether to follow redirects for the connection.
      *
@@ -26,6 +26,7 @@ import org.apache.commons.vfs2.Capability;
 import org.apache.commons.vfs2.FileName;
 import org.apache.commons.vfs2.FileObject;
 import org.apache.commons.vfs2.FileSystem;
+import org.apache.commons.vfs2.FileSystemConfigBuilder;
 import org.apache.commons.vfs2.FileSystemException;
 import org.apache.commons.vfs2.FileSystemOptions;
 import org.apache.commons.vfs2.provider.AbstractOriginatingFileProvider;
@@ -100,6 +101,11 @@ public class DefaultLocalFileProvider extends AbstractOriginatingFileProvider im
         return capabilities;
     }
 
+    @Override
+    public FileSystemConfigBuilder getConfigBuilder() {
+        return LocalFileSystemConfigBuilder.getInstance();
+    }
+
     /**
      * Determines if a name is an absolute file name.
      *
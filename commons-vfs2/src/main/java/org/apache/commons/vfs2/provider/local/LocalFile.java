@@ -21,7 +21,9 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 
 import org.apache.commons.io.file.PathUtils;
 import org.apache.commons.vfs2.FileObject;
@@ -129,9 +131,21 @@ public class LocalFile extends AbstractFileObject<LocalFileSystem> {
 
     @Override
     protected RandomAccessContent doGetRandomAccessContent(final RandomAccessMode mode) throws Exception {
+        if (mode == RandomAccessMode.READ
+            && LocalFileSystemConfigBuilder.getInstance().isMemoryMappedRead(getFileSystem().getFileSystemOptions())) {
+            return new LocalFileMappedRandomAccessContent(file);
+        }
         return new LocalFileRandomAccessContent(file, mode);
     }
 
+    /**
+     * Opens a channel to read the file contents, null for a folder so that reading it fails as with streams.
+     */
+    @Override
+    protected FileChannel doGetReadChannel() throws IOException {
+        return file.isFile() ? FileChannel.open(file.toPath(), StandardOpenOption.READ) : null;
+    }
+
     /**
      * Returns the file's type.
      */
@@ -146,6 +160,15 @@ public class LocalFile extends AbstractFileObject<LocalFileSystem> {
         return FileType.FILE;
     }
 
+    /**
+     * Opens a channel to write the file contents to.
+     */
+    @Override
+    protected FileChannel doGetWriteChannel(final boolean append) throws IOException {
+        return FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
     /**
      * Determines if this file is hidden.
      */
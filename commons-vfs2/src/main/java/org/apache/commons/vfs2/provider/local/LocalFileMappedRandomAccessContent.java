@@ -0,0 +1,315 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider.local;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.provider.AbstractRandomAccessContent;
+import org.apache.commons.vfs2.util.RandomAccessMode;
+
+/**
+ * Implements read-only {@link org.apache.commons.vfs2.RandomAccessContent RandomAccessContent} for local files by
+ * mapping them in memory, so that reads are memory accesses rather than system calls.
+ * <p>
+ * Files are mapped in chunks, since a mapped buffer holds at most 2 GB. The length of the content is fixed when it is
+ * opened. Mapped chunks are released once they are garbage collected after this content is closed.
+ * </p>
+ */
+final class LocalFileMappedRandomAccessContent extends AbstractRandomAccessContent {
+
+    /**
+     * The default size of mapped chunks.
+     */
+    static final int CHUNK_SIZE = 1 << 30;
+
+    private static final int BYTE_VALUE_MASK = 0xFF;
+
+    private final long length;
+    private final int chunkShift;
+    private final long chunkMask;
+
+    /**
+     * The mapped chunks, null once closed.
+     */
+    private ByteBuffer[] chunks;
+
+    /**
+     * Holds values spanning two chunks.
+     */
+    private final ByteBuffer spanBuffer = ByteBuffer.allocate(Long.BYTES);
+
+    /**
+     * The buffer and offset of the value being read, set by {@link #prepareRead(int)}.
+     */
+    private ByteBuffer buffer;
+    private int bufferOffset;
+
+    private long filePointer;
+
+    private final InputStream rafis = new InputStream() {
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(Integer.MAX_VALUE, Math.max(0, length - filePointer));
+        }
+
+        @Override
+        public void close() throws IOException {
+            LocalFileMappedRandomAccessContent.this.close();
+        }
+
+        @Override
+        public int read() throws IOException {
+            return filePointer < length ? readUnsignedByte() : IOUtils.EOF;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            final int count = (int) Math.min(len, length - filePointer);
+            if (count <= 0) {
+                return IOUtils.EOF;
+            }
+            readFully(b, off, count);
+            return count;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            seek(filePointer + n);
+            return n;
+        }
+    };
+
+    LocalFileMappedRandomAccessContent(final File localFile) throws FileSystemException {
+        this(localFile, CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param localFile The file to map.
+     * @param chunkSize The size of mapped chunks, rounded down to a power of two.
+     */
+    LocalFileMappedRandomAccessContent(final File localFile, final int chunkSize) throws FileSystemException {
+        super(RandomAccessMode.READ);
+        chunkShift = Integer.numberOfTrailingZeros(Integer.highestOneBit(chunkSize));
+        chunkMask = (1L << chunkShift) - 1;
+        try (FileChannel channel = FileChannel.open(localFile.toPath(), StandardOpenOption.READ)) {
+            length = channel.size();
+            chunks = new ByteBuffer[(int) ((length + chunkMask) >>> chunkShift)];
+            for (int i = 0; i < chunks.length; i++) {
+                final long position = (long) i << chunkShift;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                    Math.min(chunkMask + 1, length - position));
+            }
+        } catch (final IOException e) {
+            throw new FileSystemException("vfs.provider/random-access-open-failed.error", e, localFile);
+        }
+    }
+
+    private ByteBuffer[] chunks() throws IOException {
+        if (chunks == null) {
+            throw new IOException("Stream Closed");
+        }
+        return chunks;
+    }
+
+    @Override
+    public void close() throws IOException {
+        chunks = null;
+        buffer = null;
+    }
+
+    @Override
+    public long getFilePointer() throws IOException {
+        return filePointer;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return rafis;
+    }
+
+    @Override
+    public long length() throws IOException {
+        return length;
+    }
+
+    /**
+     * Points {@link #buffer} and {@link #bufferOffset} at the given number of bytes from the file pointer, and moves
+     * the file pointer past them.
+     */
+    private void prepareRead(final int size) throws IOException {
+        final ByteBuffer[] mapped = chunks();
+        if (filePointer > length - size) {
+            throw new EOFException();
+        }
+        final ByteBuffer chunk = mapped[(int) (filePointer >>> chunkShift)];
+        final int offset = (int) (filePointer & chunkMask);
+        if (offset + size <= chunk.limit()) {
+            buffer = chunk;
+            bufferOffset = offset;
+            filePointer += size;
+        } else {
+            readFully(spanBuffer.array(), 0, size);
+            buffer = spanBuffer;
+            bufferOffset = 0;
+        }
+    }
+
+    @Override
+    public int read(final ByteBuffer dst) throws IOException {
+        final int count = read(dst, filePointer);
+        if (count > 0) {
+            filePointer += count;
+        }
+        return count;
+    }
+
+    @Override
+    public int read(final ByteBuffer dst, final long position) throws IOException {
+        final ByteBuffer[] mapped = chunks();
+        if (position < 0) {
+            throw new IllegalArgumentException("Negative position " + position);
+        }
+        if (!dst.hasRemaining()) {
+            return 0;
+        }
+        if (position >= length) {
+            return IOUtils.EOF;
+        }
+        final int count = (int) Math.min(dst.remaining(), length - position);
+        long current = position;
+        while (current < position + count) {
+            final ByteBuffer chunk = mapped[(int) (current >>> chunkShift)].duplicate();
+            final int offset = (int) (current & chunkMask);
+            final int n = (int) Math.min(chunk.limit() - offset, position + count - current);
+            chunk.position(offset);
+            chunk.limit(offset + n);
+            dst.put(chunk);
+            current += n;
+        }
+        return count;
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        prepareRead(Byte.BYTES);
+        return buffer.get(bufferOffset);
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        prepareRead(Character.BYTES);
+        return buffer.getChar(bufferOffset);
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        prepareRead(Double.BYTES);
+        return buffer.getDouble(bufferOffset);
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        prepareRead(Float.BYTES);
+        return buffer.getFloat(bufferOffset);
+    }
+
+    @Override
+    public void readFully(final byte[] b) throws IOException {
+        readFully(b, 0, b.length);
+    }
+
+    @Override
+    public void readFully(final byte[] b, final int off, final int len) throws IOException {
+        chunks();
+        if (len > length - filePointer) {
+            throw new EOFException();
+        }
+        read(ByteBuffer.wrap(b, off, len));
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        prepareRead(Integer.BYTES);
+        return buffer.getInt(bufferOffset);
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        prepareRead(Long.BYTES);
+        return buffer.getLong(bufferOffset);
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        prepareRead(Short.BYTES);
+        return buffer.getShort(bufferOffset);
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return readByte() & BYTE_VALUE_MASK;
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        return readShort() & 0xFFFF;
+    }
+
+    @Override
+    public String readUTF() throws IOException {
+        return DataInputStream.readUTF(this);
+    }
+
+    @Override
+    public void seek(final long pos) throws IOException {
+        if (pos < 0) {
+            throw new IOException("Negative seek offset");
+        }
+        filePointer = pos;
+    }
+
+    @Override
+    public void setLength(final long newLength) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int skipBytes(final int n) throws IOException {
+        final int count = (int) Math.max(0, Math.min(n, length - filePointer));
+        filePointer += count;
+        return count;
+    }
+}
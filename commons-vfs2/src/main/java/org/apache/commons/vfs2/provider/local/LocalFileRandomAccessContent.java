@@ -22,6 +22,8 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
 
 import org.apache.commons.vfs2.FileSystemException;
 import org.apache.commons.vfs2.provider.AbstractRandomAccessContent;
@@ -94,6 +96,11 @@ final class LocalFileRandomAccessContent extends AbstractRandomAccessContent {
         raf.close();
     }
 
+    @Override
+    public SeekableByteChannel getChannel() throws IOException {
+        return raf.getChannel();
+    }
+
     @Override
     public long getFilePointer() throws IOException {
         return raf.getFilePointer();
@@ -109,6 +116,16 @@ final class LocalFileRandomAccessContent extends AbstractRandomAccessContent {
         return raf.length();
     }
 
+    @Override
+    public int read(final ByteBuffer dst) throws IOException {
+        return raf.getChannel().read(dst);
+    }
+
+    @Override
+    public int read(final ByteBuffer dst, final long position) throws IOException {
+        return raf.getChannel().read(dst, position);
+    }
+
     @Override
     public boolean readBoolean() throws IOException {
         return raf.readBoolean();
@@ -189,6 +206,16 @@ final class LocalFileRandomAccessContent extends AbstractRandomAccessContent {
         return raf.skipBytes(n);
     }
 
+    @Override
+    public int write(final ByteBuffer src) throws IOException {
+        int count = 0;
+        // A file channel may write fewer bytes than requested
+        while (src.hasRemaining()) {
+            count += raf.getChannel().write(src);
+        }
+        return count;
+    }
+
     @Override
     public void write(final byte[] b) throws IOException {
         raf.write(b);
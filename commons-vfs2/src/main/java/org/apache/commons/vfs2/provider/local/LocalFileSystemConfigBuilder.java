@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider.local;
+
+import org.apache.commons.vfs2.FileSystem;
+import org.apache.commons.vfs2.FileSystemConfigBuilder;
+import org.apache.commons.vfs2.FileSystemOptions;
+import org.apache.commons.vfs2.RandomAccessContent;
+import org.apache.commons.vfs2.util.RandomAccessMode;
+
+/**
+ * Config Builder for the local file system.
+ *
+ * @since 2.11.0
+ */
+public final class LocalFileSystemConfigBuilder extends FileSystemConfigBuilder {
+
+    /** Memory mapped read key. */
+    private static final String MEMORY_MAPPED_READ_KEY = "memoryMappedRead";
+
+    /** Config builder SINGLETON. */
+    private static final LocalFileSystemConfigBuilder SINGLETON = new LocalFileSystemConfigBuilder();
+
+    /**
+     * Gets the singleton builder.
+     *
+     * @return The singleton builder.
+     */
+    public static LocalFileSystemConfigBuilder getInstance() {
+        return SINGLETON;
+    }
+
+    /**
+     * Constructs a new instance.
+     */
+    private LocalFileSystemConfigBuilder() {
+        super("local.");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Class<? extends FileSystem> getConfigClass() {
+        return LocalFileSystem.class;
+    }
+
+    /**
+     * Tests whether read-only random access content maps files in memory. Defaults to false.
+     *
+     * @param opts The FileSystem options.
+     * @return whether read-only random access content maps files in memory.
+     * @see #setMemoryMappedRead(FileSystemOptions, boolean)
+     */
+    public boolean isMemoryMappedRead(final FileSystemOptions opts) {
+        return getBoolean(opts, MEMORY_MAPPED_READ_KEY, false);
+    }
+
+    /**
+     * Sets whether {@link RandomAccessContent} opened in {@link RandomAccessMode#READ} mode maps files in memory, so
+     * that small reads cost memory accesses instead of system calls.
+     * <p>
+     * The length of mapped content is fixed when it is opened. On Windows, a mapped file cannot be deleted until the
+     * closed content is garbage collected.
+     * </p>
+     *
+     * @param opts The FileSystem options.
+     * @param memoryMappedRead whether read-only random access content maps files in memory.
+     */
+    public void setMemoryMappedRead(final FileSystemOptions opts, final boolean memoryMappedRead) {
+        setParam(opts, MEMORY_MAPPED_READ_KEY, memoryMappedRead);
+    }
+}
@@ -17,24 +17,47 @@
 package org.apache.commons.vfs2.provider.ram;
 
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.vfs2.FileName;
 import org.apache.commons.vfs2.FileSystemException;
 import org.apache.commons.vfs2.FileType;
 
 /**
  * RAM File Object Data.
+ * <p>
+ * The content is stored in blocks, so that growing a file does not copy it and files may exceed 2 GB. A file smaller
+ * than a block has a single block that grows as needed.
+ * </p>
  */
 final class RamFileData implements Serializable {
 
     /**
      * serialVersionUID format is YYYYMMDD for the date of the last binary change.
      */
-    private static final long serialVersionUID = 20101208L;
+    private static final long serialVersionUID = 20261017L;
+
+    /**
+     * The log2 of the block size.
+     */
+    private static final int BLOCK_SHIFT = 16;
+
+    /**
+     * The size of content blocks, small enough for the garbage collector to allocate them as regular objects.
+     */
+    static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+
+    private static final byte[][] EMPTY_BLOCKS = {};
+
+    private static int blockCount(final long size) {
+        return (int) ((size + BLOCK_MASK) >>> BLOCK_SHIFT);
+    }
 
     /**
      * File Name.
@@ -47,9 +70,14 @@ final class RamFileData implements Serializable {
     private FileType type;
 
     /**
-     * Bytes.
+     * Content blocks, all full but the last one; bytes past the size are zero.
+     */
+    private byte[][] blocks;
+
+    /**
+     * Content size.
      */
-    private byte[] content;
+    private long size;
 
     /**
      * Last modified time
@@ -99,7 +127,8 @@ final class RamFileData implements Serializable {
     /**
      */
     void clear() {
-        content = ArrayUtils.EMPTY_BYTE_ARRAY;
+        blocks = EMPTY_BLOCKS;
+        size = 0;
         updateLastModified();
         type = FileType.IMAGINARY;
         children.clear();
@@ -134,10 +163,15 @@ final class RamFileData implements Serializable {
     }
 
     /**
-     * @return The buffer.
+     * Copies the content to another file, which must be at least as large.
+     *
+     * @param data The file data to copy to.
      */
-    byte[] getContent() {
-        return content;
+    void copyContentTo(final RamFileData data) {
+        for (int i = 0; i < blockCount(size); i++) {
+            final long position = (long) i << BLOCK_SHIFT;
+            data.write(position, blocks[i], 0, (int) Math.min(BLOCK_SIZE, size - position));
+        }
     }
 
     /**
@@ -175,6 +209,67 @@ final class RamFileData implements Serializable {
         return getName().hashCode();
     }
 
+    /**
+     * Reads a byte.
+     *
+     * @param position The position of the byte.
+     * @return The byte, or -1 at or past the end of the content.
+     */
+    int read(final long position) {
+        if (position >= size) {
+            return -1;
+        }
+        return blocks[(int) (position >>> BLOCK_SHIFT)][(int) position & BLOCK_MASK] & 0xFF;
+    }
+
+    /**
+     * Reads bytes into an array.
+     *
+     * @param position The position of the first byte.
+     * @param b The array to fill.
+     * @param off The offset in the array.
+     * @param len The maximum number of bytes to read.
+     * @return The number of bytes read, or -1 at or past the end of the content.
+     */
+    int read(final long position, final byte[] b, final int off, final int len) {
+        if (position >= size) {
+            return -1;
+        }
+        final int count = (int) Math.min(len, size - position);
+        int done = 0;
+        while (done < count) {
+            final long current = position + done;
+            final int offset = (int) current & BLOCK_MASK;
+            final int n = Math.min(count - done, BLOCK_SIZE - offset);
+            System.arraycopy(blocks[(int) (current >>> BLOCK_SHIFT)], offset, b, off + done, n);
+            done += n;
+        }
+        return count;
+    }
+
+    /**
+     * Reads bytes into a buffer.
+     *
+     * @param position The position of the first byte.
+     * @param dst The buffer to fill.
+     * @return The number of bytes read, or -1 at or past the end of the content.
+     */
+    int read(final long position, final ByteBuffer dst) {
+        if (position >= size) {
+            return -1;
+        }
+        final int count = (int) Math.min(dst.remaining(), size - position);
+        int done = 0;
+        while (done < count) {
+            final long current = position + done;
+            final int offset = (int) current & BLOCK_MASK;
+            final int n = Math.min(count - done, BLOCK_SIZE - offset);
+            dst.put(blocks[(int) (current >>> BLOCK_SHIFT)], offset, n);
+            done += n;
+        }
+        return count;
+    }
+
     /**
      * Remove a child.
      *
@@ -193,30 +288,51 @@ final class RamFileData implements Serializable {
     }
 
     /**
-     * Resize the buffer
+     * Resize the content, truncating it or growing it with zeros.
      *
-     * @param newSize The new buffer size.
+     * @param newSize The new content size.
      */
     void resize(final long newSize) {
-        // A future implementation may allow longs/multiple buffer/and so on
-        if (newSize > Integer.MAX_VALUE) {
-            throw new IllegalArgumentException(
-                    String.format("newSize(%d) > Integer.MAX_VALUE(%d)", newSize, Integer.MAX_VALUE));
+        if (newSize < 0) {
+            throw new IllegalArgumentException("newSize(" + newSize + ") < 0");
+        }
+        final int oldCount = blockCount(size);
+        final int newCount = blockCount(newSize);
+        if (newSize < size) {
+            Arrays.fill(blocks, newCount, oldCount, null);
+            if (newCount > 0) {
+                final byte[] last = blocks[newCount - 1];
+                Arrays.fill(last, (int) (newSize - ((long) (newCount - 1) << BLOCK_SHIFT)), last.length, (byte) 0);
+            }
+        } else if (newCount > 0) {
+            if (newCount > blocks.length) {
+                blocks = Arrays.copyOf(blocks, Math.max(newCount, blocks.length * 2));
+            }
+            // Full blocks up to the last one, which only grows on its own while it is the first
+            for (int i = Math.max(0, oldCount - 1); i < newCount; i++) {
+                final int capacity = newCount > 1 ? BLOCK_SIZE : (int) newSize;
+                final byte[] block = blocks[i];
+                if (block == null) {
+                    blocks[i] = new byte[capacity];
+                } else if (block.length < capacity) {
+                    // Doubles a single block so that appending to a small file is amortized
+                    blocks[i] = Arrays.copyOf(block, Math.min(BLOCK_SIZE, Math.max(capacity, block.length * 2)));
+                }
+            }
         }
-        final int resize = (int) newSize;
-        final int size = size();
-        final byte[] newBuf = new byte[resize];
-        System.arraycopy(content, 0, newBuf, 0, Math.min(resize, size));
-        content = newBuf;
+        size = newSize;
         updateLastModified();
     }
 
     /**
-     * @param content The buffer.
+     * Takes the content of another file, sharing its blocks, for a file that is deleted afterwards.
+     *
+     * @param data The file data to take the content from.
      */
-    void setContent(final byte[] content) {
+    void setContent(final RamFileData data) {
         updateLastModified();
-        this.content = content;
+        this.blocks = data.blocks.clone();
+        this.size = data.size;
     }
 
     /**
@@ -234,10 +350,10 @@ final class RamFileData implements Serializable {
     }
 
     /**
-     * @return The size of the buffer
+     * @return The size of the content.
      */
-    int size() {
-        return content.length;
+    long size() {
+        return size;
     }
 
     /*
@@ -254,4 +370,41 @@ final class RamFileData implements Serializable {
         lastModifiedMillis = System.currentTimeMillis();
     }
 
+    /**
+     * Writes bytes from an array, within the content size.
+     *
+     * @param position The position of the first byte.
+     * @param b The bytes to write.
+     * @param off The offset in the array.
+     * @param len The number of bytes to write.
+     */
+    void write(final long position, final byte[] b, final int off, final int len) {
+        int done = 0;
+        while (done < len) {
+            final long current = position + done;
+            final int offset = (int) current & BLOCK_MASK;
+            final int n = Math.min(len - done, BLOCK_SIZE - offset);
+            System.arraycopy(b, off + done, blocks[(int) (current >>> BLOCK_SHIFT)], offset, n);
+            done += n;
+        }
+    }
+
+    /**
+     * Writes the remaining bytes of a buffer, within the content size.
+     *
+     * @param position The position of the first byte.
+     * @param src The bytes to write.
+     */
+    void write(final long position, final ByteBuffer src) {
+        final int len = src.remaining();
+        int done = 0;
+        while (done < len) {
+            final long current = position + done;
+            final int offset = (int) current & BLOCK_MASK;
+            final int n = Math.min(len - done, BLOCK_SIZE - offset);
+            src.get(blocks[(int) (current >>> BLOCK_SHIFT)], offset, n);
+            done += n;
+        }
+    }
+
 }
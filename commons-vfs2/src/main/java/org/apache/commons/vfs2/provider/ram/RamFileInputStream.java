@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider.ram;
+
+import java.io.InputStream;
+
+/**
+ * InputStream from a RamFile.
+ */
+final class RamFileInputStream extends InputStream {
+
+    private final RamFileData data;
+
+    private long position;
+
+    private long mark;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param data The file data.
+     */
+    RamFileInputStream(final RamFileData data) {
+        this.data = data;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0, data.size() - position));
+    }
+
+    @Override
+    public synchronized void mark(final int readLimit) {
+        mark = position;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public int read() {
+        final int b = data.read(position);
+        if (b >= 0) {
+            position++;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) {
+        if (len == 0) {
+            return 0;
+        }
+        final int count = data.read(position, b, off, len);
+        if (count > 0) {
+            position += count;
+        }
+        return count;
+    }
+
+    @Override
+    public synchronized void reset() {
+        position = mark;
+    }
+
+    @Override
+    public long skip(final long n) {
+        final long count = Math.max(0, Math.min(n, data.size() - position));
+        position += count;
+        return count;
+    }
+}
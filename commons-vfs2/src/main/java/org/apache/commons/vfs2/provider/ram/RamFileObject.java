@@ -16,12 +16,10 @@
  */
 package org.apache.commons.vfs2.provider.ram;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.vfs2.FileObject;
 import org.apache.commons.vfs2.FileSystemException;
 import org.apache.commons.vfs2.FileSystemOptions;
@@ -64,6 +62,19 @@ public class RamFileObject extends AbstractFileObject<RamFileSystem> {
         getAbstractFileSystem().attach(this);
     }
 
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.apache.commons.vfs2.provider.AbstractFileObject#doCopyTo(org.apache.commons.vfs2.FileObject)
+     */
+    @Override
+    protected void doCopyTo(final FileObject destFile) throws Exception {
+        final RamFileObject destRamFileObject = (RamFileObject) FileObjectUtils.getAbstractFileObject(destFile);
+        // Checks the file system capacity
+        destRamFileObject.resize(data.size());
+        data.copyContentTo(destRamFileObject.getData());
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -111,7 +122,7 @@ public class RamFileObject extends AbstractFileObject<RamFileSystem> {
             throw new FileSystemException("vfs.provider/read-not-file.error", getName());
         }
 
-        return new ByteArrayInputStream(data.getContent());
+        return new RamFileInputStream(data);
     }
 
     /*
@@ -132,7 +143,7 @@ public class RamFileObject extends AbstractFileObject<RamFileSystem> {
     @Override
     protected OutputStream doGetOutputStream(final boolean bAppend) throws Exception {
         if (!bAppend) {
-            data.setContent(ArrayUtils.EMPTY_BYTE_ARRAY);
+            data.resize(0);
         }
         return new RamFileOutputStream(this);
     }
@@ -250,7 +261,7 @@ public class RamFileObject extends AbstractFileObject<RamFileSystem> {
     /**
      * @return The size of the {@link RamFileData}.
      */
-    int size() {
+    long size() {
         return data == null ? 0 : data.size();
     }
 
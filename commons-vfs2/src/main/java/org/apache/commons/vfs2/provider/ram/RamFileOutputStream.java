@@ -72,16 +72,15 @@ public class RamFileOutputStream extends OutputStream {
     @Override
     public void write(final byte[] b, final int off, final int len) throws IOException {
         final RamFileData data = file.getData();
-        final int size = data.size();
-        final int newSize = size + len;
+        final long size = data.size();
         // Store the Exception in order to notify the client again on close()
         try {
-            file.resize(newSize);
+            file.resize(size + len);
         } catch (final IOException e) {
             exception = e;
             throw e;
         }
-        System.arraycopy(b, off, data.getContent(), size, len);
+        data.write(size, b, off, len);
     }
 
     /*
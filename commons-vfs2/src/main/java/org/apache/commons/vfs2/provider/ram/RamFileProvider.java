@@ -38,7 +38,8 @@ public class RamFileProvider extends AbstractOriginatingFileProvider {
                     Capability.GET_LAST_MODIFIED, Capability.SET_LAST_MODIFIED_FILE,
                     Capability.SET_LAST_MODIFIED_FOLDER, Capability.LIST_CHILDREN, Capability.READ_CONTENT,
                     Capability.URI, Capability.WRITE_CONTENT, Capability.APPEND_CONTENT, Capability.RANDOM_ACCESS_READ,
-                    Capability.RANDOM_ACCESS_SET_LENGTH, Capability.RANDOM_ACCESS_WRITE));
+                    Capability.RANDOM_ACCESS_SET_LENGTH, Capability.RANDOM_ACCESS_WRITE,
+                    Capability.COPY_SERVER_SIDE));
 
     /**
      * Constructs a new provider.
@@ -22,6 +22,7 @@ import java.io.DataOutputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.Objects;
 
@@ -98,11 +99,6 @@ public class RamFileRandomAccessContent implements RandomAccessContent {
      */
     protected int filePointer;
 
-    /**
-     * Buffer
-     */
-    private byte[] buf;
-
     /**
      * buffer
      */
@@ -139,7 +135,6 @@ public class RamFileRandomAccessContent implements RandomAccessContent {
     public RamFileRandomAccessContent(final RamFileObject file, final RandomAccessMode mode) {
         Objects.requireNonNull(file, "file");
         Objects.requireNonNull(mode, "mode");
-        buf = file.getData().getContent();
         this.file = file;
 
         rafis = new InputStream() {
@@ -211,7 +206,7 @@ public class RamFileRandomAccessContent implements RandomAccessContent {
     }
 
     private int getLeftBytes() {
-        return buf.length - filePointer;
+        return (int) Math.min(Integer.MAX_VALUE, file.getData().size() - filePointer);
     }
 
     /*
@@ -221,7 +216,40 @@ public class RamFileRandomAccessContent implements RandomAccessContent {
      */
     @Override
     public long length() throws IOException {
-        return buf.length;
+        return file.getData().size();
+    }
+
+    /**
+     * Grows the file, if needed, to write the given number of bytes at the file pointer.
+     */
+    private void prepareWrite(final int len) throws IOException {
+        final long end = (long) filePointer + len;
+        if (end > Integer.MAX_VALUE) {
+            throw new IOException("Attempt to write beyond 2 GB");
+        }
+        if (end > length()) {
+            file.resize(end);
+        }
+    }
+
+    @Override
+    public int read(final ByteBuffer dst) throws IOException {
+        final int count = read(dst, filePointer);
+        if (count > 0) {
+            filePointer += count;
+        }
+        return count;
+    }
+
+    @Override
+    public int read(final ByteBuffer dst, final long position) throws IOException {
+        if (position < 0) {
+            throw new IllegalArgumentException("Negative position " + position);
+        }
+        if (!dst.hasRemaining()) {
+            return 0;
+        }
+        return file.getData().read(position, dst);
     }
 
     /*
@@ -302,7 +330,7 @@ public class RamFileRandomAccessContent implements RandomAccessContent {
                     "Read length (" + len + ") is higher than buffer left bytes (" + getLeftBytes() + ") ");
         }
 
-        System.arraycopy(buf, filePointer, b, off, len);
+        file.getData().read(filePointer, b, off, len);
 
         filePointer += len;
     }
@@ -356,10 +384,12 @@ public class RamFileRandomAccessContent implements RandomAccessContent {
      */
     @Override
     public int readUnsignedByte() throws IOException {
-        if (filePointer < buf.length) {
-            return buf[filePointer++] & BYTE_VALUE_MASK;
+        final int b = file.getData().read(filePointer);
+        if (b < 0) {
+            throw new EOFException();
         }
-        throw new EOFException();
+        filePointer++;
+        return b;
     }
 
     /*
@@ -393,13 +423,15 @@ public class RamFileRandomAccessContent implements RandomAccessContent {
         if (pos < 0) {
             throw new IOException("Attempt to position before the start of the file");
         }
+        if (pos > Integer.MAX_VALUE) {
+            throw new IOException("Attempt to position beyond 2 GB");
+        }
         filePointer = (int) pos;
     }
 
     @Override
     public void setLength(final long newLength) throws IOException {
         file.resize(newLength);
-        buf = file.getData().getContent();
     }
 
     /*
@@ -415,7 +447,7 @@ public class RamFileRandomAccessContent implements RandomAccessContent {
 
         final long newPos = filePointer + n;
 
-        if (newPos > buf.length) {
+        if (newPos > length()) {
             throw new IndexOutOfBoundsException("Tyring to skip too much bytes");
         }
 
@@ -424,6 +456,15 @@ public class RamFileRandomAccessContent implements RandomAccessContent {
         return n;
     }
 
+    @Override
+    public int write(final ByteBuffer src) throws IOException {
+        final int len = src.remaining();
+        prepareWrite(len);
+        file.getData().write(filePointer, src);
+        filePointer += len;
+        return len;
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -441,12 +482,8 @@ public class RamFileRandomAccessContent implements RandomAccessContent {
      */
     @Override
     public void write(final byte[] b, final int off, final int len) throws IOException {
-        if (getLeftBytes() < len) {
-            final int newSize = buf.length + len - getLeftBytes();
-            file.resize(newSize);
-            buf = file.getData().getContent();
-        }
-        System.arraycopy(b, off, buf, filePointer, len);
+        prepareWrite(len);
+        file.getData().write(filePointer, b, off, len);
         filePointer += len;
     }
 
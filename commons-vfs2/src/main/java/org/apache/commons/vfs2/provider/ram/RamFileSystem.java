@@ -170,7 +170,7 @@ public class RamFileSystem extends AbstractFileSystem implements Serializable {
         }
         // Copy data
 
-        to.getData().setContent(from.getData().getContent());
+        to.getData().setContent(from.getData());
         to.getData().setLastModified(from.getData().getLastModified());
         to.getData().setType(from.getData().getType());
 
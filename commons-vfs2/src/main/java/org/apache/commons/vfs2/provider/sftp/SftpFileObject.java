@@ -27,7 +27,6 @@ import org.apache.commons.vfs2.FileNotFoundException;
 import org.apache.commons.vfs2.FileObject;
 import org.apache.commons.vfs2.FileSystemException;
 import org.apache.commons.vfs2.FileType;
-import org.apache.commons.vfs2.NameScope;
 import org.apache.commons.vfs2.RandomAccessContent;
 import org.apache.commons.vfs2.VFS;
 import org.apache.commons.vfs2.provider.AbstractFileName;
@@ -95,7 +94,7 @@ public class SftpFileObject extends AbstractFileObject<SftpFileSystem> {
     }
     private static final long MOD_TIME_FACTOR = 1000L;
 
-    private SftpATTRS attrs;
+    private volatile SftpATTRS attrs;
 
     private final String relPath;
 
@@ -111,6 +110,15 @@ public class SftpFileObject extends AbstractFileObject<SftpFileSystem> {
         relPath = UriParser.decode(fileSystem.getRootName().getRelativeName(fileName));
     }
 
+    /**
+     * Copies this file on the server.
+     */
+    @Override
+    protected void doCopyTo(final FileObject destFile) throws Exception {
+        final SftpFileObject destSftpFileObject = (SftpFileObject) FileObjectUtils.getAbstractFileObject(destFile);
+        getAbstractFileSystem().copy(relPath, destSftpFileObject.relPath);
+    }
+
     /**
      * Creates this file as a folder.
      */
@@ -119,9 +127,11 @@ public class SftpFileObject extends AbstractFileObject<SftpFileSystem> {
         final ChannelSftp channel = getAbstractFileSystem().getChannel();
         try {
             channel.mkdir(relPath);
-        } finally {
-            putChannel(channel);
+        } catch (final Exception e) {
+            putChannel(channel, e);
+            throw e;
         }
+        putChannel(channel);
     }
 
     /**
@@ -129,16 +139,20 @@ public class SftpFileObject extends AbstractFileObject<SftpFileSystem> {
      */
     @Override
     protected void doDelete() throws Exception {
+        // Before borrowing the channel, as fetching the type may borrow one as well
+        final boolean file = isFile();
         final ChannelSftp channel = getAbstractFileSystem().getChannel();
         try {
-            if (isFile()) {
+            if (file) {
                 channel.rm(relPath);
             } else {
                 channel.rmdir(relPath);
             }
-        } finally {
-            putChannel(channel);
+        } catch (final Exception e) {
+            putChannel(channel, e);
+            throw e;
         }
+        putChannel(channel);
     }
 
     /** @since 2.0 */
@@ -165,7 +179,13 @@ public class SftpFileObject extends AbstractFileObject<SftpFileSystem> {
     @Override
     protected InputStream doGetInputStream(final int bufferSize) throws Exception {
         // VFS-113: avoid NPE.
-        synchronized (getAbstractFileSystem()) {
+        synchronized (this) {
+            // VFS-210: sftp allows to gather an input stream even from a directory and will
+            // fail on first read. So we need to check the type anyway, before borrowing the channel
+            // as fetching the type may borrow one as well.
+            if (!getType().hasContent()) {
+                throw new FileSystemException("vfs.provider/read-not-file.error", getName());
+            }
             final ChannelSftp channel = getAbstractFileSystem().getChannel();
             // return channel.get(getName().getPath());
             // hmmm - using the in memory method is soooo much faster ...
@@ -180,16 +200,9 @@ public class SftpFileObject extends AbstractFileObject<SftpFileSystem> {
 
             final InputStream inputStream;
             try {
-                // VFS-210: sftp allows to gather an input stream even from a directory and will
-                // fail on first read. So we need to check the type anyway
-                if (!getType().hasContent()) {
-                    // VFS-832: Sftp channel should put back when throw an exception
-                    putChannel(channel);
-                    throw new FileSystemException("vfs.provider/read-not-file.error", getName());
-                }
                 inputStream = channel.get(relPath);
             } catch (final SftpException e) {
-                putChannel(channel);
+                putChannel(channel, e);
                 if (e.id == ChannelSftp.SSH_FX_NO_SUCH_FILE) {
                     throw new FileNotFoundException(getName());
                 }
@@ -222,7 +235,7 @@ public class SftpFileObject extends AbstractFileObject<SftpFileSystem> {
         try {
             return new SftpOutputStream(channel, channel.put(relPath, bAppend ? ChannelSftp.APPEND : ChannelSftp.OVERWRITE));
         } catch (final Exception ex) {
-            putChannel(channel);
+            putChannel(channel, ex);
             throw ex;
         }
 
@@ -293,42 +306,47 @@ public class SftpFileObject extends AbstractFileObject<SftpFileSystem> {
         final ChannelSftp channel = getAbstractFileSystem().getChannel();
 
         try {
-            // try the direct way to list the directory on the server to avoid too many round trips
-            vector = channel.ls(relPath);
-        } catch (final SftpException e) {
-            String workingDirectory = null;
             try {
-                if (relPath != null) {
-                    workingDirectory = channel.pwd();
-                    channel.cd(relPath);
+                // try the direct way to list the directory on the server to avoid too many round trips
+                vector = channel.ls(relPath);
+            } catch (final SftpException e) {
+                String workingDirectory = null;
+                try {
+                    if (relPath != null) {
+                        workingDirectory = channel.pwd();
+                        channel.cd(relPath);
+                    }
+                } catch (final SftpException ex) {
+                    // VFS-210: seems not to be a directory
+                    putChannel(channel, ex);
+                    return null;
                 }
-            } catch (final SftpException ex) {
-                // VFS-210: seems not to be a directory
-                return null;
-            }
 
-            SftpException lsEx = null;
-            try {
-                vector = channel.ls(".");
-            } catch (final SftpException ex) {
-                lsEx = ex;
-            } finally {
+                SftpException lsEx = null;
                 try {
-                    if (relPath != null) {
-                        channel.cd(workingDirectory);
+                    vector = channel.ls(".");
+                } catch (final SftpException ex) {
+                    lsEx = ex;
+                } finally {
+                    try {
+                        if (relPath != null) {
+                            channel.cd(workingDirectory);
+                        }
+                    } catch (final SftpException xe) {
+                        throw new FileSystemException("vfs.provider.sftp/change-work-directory-back.error",
+                                workingDirectory, lsEx);
                     }
-                } catch (final SftpException xe) {
-                    throw new FileSystemException("vfs.provider.sftp/change-work-directory-back.error",
-                            workingDirectory, lsEx);
                 }
-            }
 
-            if (lsEx != null) {
-                throw lsEx;
+                if (lsEx != null) {
+                    throw lsEx;
+                }
             }
-        } finally {
-            putChannel(channel);
+        } catch (final Exception e) {
+            putChannel(channel, e);
+            throw e;
         }
+        putChannel(channel);
         FileSystemException.requireNonNull(vector, "vfs.provider.sftp/list-children.error");
 
         // Extract the child names
@@ -346,8 +364,7 @@ public class SftpFileObject extends AbstractFileObject<SftpFileSystem> {
                 continue;
             }
 
-            final FileObject fo = resolveFileInternal(getFileSystem().getFileSystemManager()
-                    .resolveName(getName(), UriParser.encode(name), NameScope.CHILD));
+            final FileObject fo = resolveFileInternal(resolveChildName(UriParser.encode(name)));
 
             final SftpFileObject sftpChild = (SftpFileObject) FileObjectUtils.getAbstractFileObject(fo);
             sftpChild.setStat(stat.getAttrs());
@@ -367,13 +384,15 @@ public class SftpFileObject extends AbstractFileObject<SftpFileSystem> {
      */
     @Override
     protected void doRename(final FileObject newFile) throws Exception {
+        final SftpFileObject newSftpFileObject = (SftpFileObject) FileObjectUtils.getAbstractFileObject(newFile);
         final ChannelSftp channel = getAbstractFileSystem().getChannel();
         try {
-            final SftpFileObject newSftpFileObject = (SftpFileObject) FileObjectUtils.getAbstractFileObject(newFile);
             channel.rename(relPath, newSftpFileObject.relPath);
-        } finally {
-            putChannel(channel);
+        } catch (final Exception e) {
+            putChannel(channel, e);
+            throw e;
         }
+        putChannel(channel);
     }
 
     @Override
@@ -437,9 +456,11 @@ public class SftpFileObject extends AbstractFileObject<SftpFileSystem> {
         final ChannelSftp channel = getAbstractFileSystem().getChannel();
         try {
             channel.setStat(relPath, attrs);
-        } finally {
-            putChannel(channel);
+        } catch (final Exception e) {
+            putChannel(channel, e);
+            throw e;
         }
+        putChannel(channel);
     }
 
     /**
@@ -453,7 +474,7 @@ public class SftpFileObject extends AbstractFileObject<SftpFileSystem> {
         try {
             return new SftpInputStream(channel, channel.get(getName().getPathDecoded(), null, filePointer));
         } catch (final SftpException e) {
-            putChannel(channel);
+            putChannel(channel, e);
             throw new FileSystemException(e);
         }
     }
@@ -501,6 +522,19 @@ public class SftpFileObject extends AbstractFileObject<SftpFileSystem> {
         getAbstractFileSystem().putChannel(channel);
     }
 
+    /**
+     * Gives back a channel after an operation failed, closing it unless the server only replied with an error status.
+     */
+    @SuppressWarnings("resource") // does not allocate
+    private void putChannel(final ChannelSftp channel, final Exception failure) {
+        // JSch wraps the I/O errors of the channel in an SftpException
+        if (failure instanceof SftpException && failure.getCause() == null) {
+            putChannel(channel);
+        } else {
+            getAbstractFileSystem().invalidateChannel(channel);
+        }
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -515,9 +549,9 @@ public class SftpFileObject extends AbstractFileObject<SftpFileSystem> {
     }
 
     /**
-     * Sets attrs from listChildrenResolved
+     * Sets attrs from listChildrenResolved, without taking the lock of this file since the parent folder holds its own.
      */
-    private synchronized void setStat(final SftpATTRS attrs) {
+    private void setStat(final SftpATTRS attrs) {
         this.attrs = attrs;
     }
 
@@ -535,7 +569,8 @@ public class SftpFileObject extends AbstractFileObject<SftpFileSystem> {
             try {
                 // maybe the channel has some problems, so recreate the channel and retry
                 if (e.id != ChannelSftp.SSH_FX_NO_SUCH_FILE) {
-                    channelSftp.disconnect();
+                    getAbstractFileSystem().invalidateChannel(channelSftp);
+                    channelSftp = null;
                     channelSftp = getAbstractFileSystem().getChannel();
                     setStat(channelSftp.stat(relPath));
                 } else {
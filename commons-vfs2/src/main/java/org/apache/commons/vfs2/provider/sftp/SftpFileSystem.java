@@ -33,6 +33,7 @@ import org.apache.commons.vfs2.FileSystemException;
 import org.apache.commons.vfs2.FileSystemOptions;
 import org.apache.commons.vfs2.provider.AbstractFileName;
 import org.apache.commons.vfs2.provider.AbstractFileSystem;
+import org.apache.commons.vfs2.provider.ConnectionPool;
 import org.apache.commons.vfs2.provider.GenericFileName;
 
 import com.jcraft.jsch.ChannelExec;
@@ -46,6 +47,68 @@ import com.jcraft.jsch.SftpException;
  */
 public class SftpFileSystem extends AbstractFileSystem {
 
+    /**
+     * Pools the SFTP channels opened on the session, waiting borrowers getting them in order.
+     */
+    private final class ChannelPool extends ConnectionPool<ChannelSftp> {
+
+        ChannelPool(final FileSystemOptions fileSystemOptions) {
+            super(getRootName().getFriendlyURI(), BUILDER.getMinIdleChannels(fileSystemOptions),
+                BUILDER.getMaxChannels(fileSystemOptions), BUILDER.getChannelAcquireTimeout(fileSystemOptions),
+                BUILDER.getChannelIdleTimeout(fileSystemOptions), BUILDER.isValidateChannelOnBorrow(fileSystemOptions),
+                true);
+        }
+
+        @Override
+        protected ChannelSftp create() throws FileSystemException {
+            try {
+                final ChannelSftp channel = (ChannelSftp) getSession().openChannel("sftp");
+                channel.connect(DurationUtils.toMillisInt(connectTimeout));
+                final Boolean userDirIsRoot = BUILDER.getUserDirIsRoot(getFileSystemOptions());
+                final String workingDirectory = getRootName().getPath();
+                if (workingDirectory != null && (userDirIsRoot == null || !userDirIsRoot.booleanValue())) {
+                    try {
+                        channel.cd(workingDirectory);
+                    } catch (final SftpException e) {
+                        channel.disconnect();
+                        throw new FileSystemException("vfs.provider.sftp/change-work-directory.error", workingDirectory,
+                            e);
+                    }
+                }
+                final String fileNameEncoding = BUILDER.getFileNameEncoding(getFileSystemOptions());
+                if (fileNameEncoding != null) {
+                    try {
+                        channel.setFilenameEncoding(fileNameEncoding);
+                    } catch (final SftpException e) {
+                        channel.disconnect();
+                        throw new FileSystemException("vfs.provider.sftp/filename-encoding.error", fileNameEncoding);
+                    }
+                }
+                return channel;
+            } catch (final JSchException e) {
+                throw new FileSystemException("vfs.provider.sftp/connect.error", getRootName().getFriendlyURI(), e);
+            }
+        }
+
+        @Override
+        protected void destroy(final ChannelSftp channel) {
+            channel.disconnect();
+        }
+
+        @Override
+        protected boolean isOpen(final ChannelSftp channel) {
+            return channel.isConnected() && !channel.isClosed();
+        }
+
+        @Override
+        protected boolean validate(final ChannelSftp channel) throws SftpException {
+            channel.realpath(".");
+            return true;
+        }
+    }
+
+    private static final SftpFileSystemConfigBuilder BUILDER = SftpFileSystemConfigBuilder.getInstance();
+
     private static final Log LOG = LogFactory.getLog(SftpFileSystem.class);
 
     private static final int UNIDENTIFIED = -1;
@@ -64,7 +127,7 @@ public class SftpFileSystem extends AbstractFileSystem {
      */
     private volatile Session session;
 
-    private volatile ChannelSftp idleChannel;
+    private final ChannelPool channelPool;
 
     private final Duration connectTimeout;
 
@@ -99,8 +162,9 @@ public class SftpFileSystem extends AbstractFileSystem {
     protected SftpFileSystem(final GenericFileName rootName, final Session session, final FileSystemOptions fileSystemOptions) {
         super(rootName, null, fileSystemOptions);
         this.session = Objects.requireNonNull(session, "session");
-        connectTimeout = SftpFileSystemConfigBuilder.getInstance().getConnectTimeout(fileSystemOptions);
-        if (SftpFileSystemConfigBuilder.getInstance().isDisableDetectExecChannel(fileSystemOptions)) {
+        connectTimeout = BUILDER.getConnectTimeout(fileSystemOptions);
+        channelPool = new ChannelPool(fileSystemOptions);
+        if (BUILDER.isDisableDetectExecChannel(fileSystemOptions)) {
             execDisabled = true;
         } else {
             execDisabled = detectExecDisabled();
@@ -113,6 +177,32 @@ public class SftpFileSystem extends AbstractFileSystem {
     @Override
     protected void addCapabilities(final Collection<Capability> caps) {
         caps.addAll(SftpFileProvider.capabilities);
+        if (!execDisabled && BUILDER.isServerSideCopy(getFileSystemOptions())) {
+            caps.add(Capability.COPY_SERVER_SIDE);
+        }
+    }
+
+    /**
+     * Copies a file on the server with the {@code cp} command.
+     *
+     * @param srcPath The path of the source file, relative to the root of this file system.
+     * @param destPath The path of the destination file, relative to the root of this file system.
+     * @throws JSchException if a JSch error is detected.
+     * @throws IOException if an I/O error is detected, or the command fails.
+     */
+    void copy(final String srcPath, final String destPath) throws JSchException, IOException {
+        final StringBuilder command = new StringBuilder();
+        final Boolean userDirIsRoot = BUILDER.getUserDirIsRoot(getFileSystemOptions());
+        final String workingDirectory = getRootName().getPath();
+        if (workingDirectory != null && (userDirIsRoot == null || !userDirIsRoot.booleanValue())) {
+            // Commands run in the user directory
+            command.append("cd ").append(quote(workingDirectory)).append(" && ");
+        }
+        command.append("cp -- ").append(quote(srcPath)).append(' ').append(quote(destPath));
+        final int code = executeCommand(command.toString(), new StringBuilder());
+        if (code != 0) {
+            throw new FileSystemException("vfs.provider.sftp/copy.error", srcPath, destPath, code);
+        }
     }
 
     /**
@@ -139,14 +229,7 @@ public class SftpFileSystem extends AbstractFileSystem {
 
     @Override
     protected void doCloseCommunicationLink() {
-        if (idleChannel != null) {
-            synchronized (this) {
-                if (idleChannel != null) {
-                    idleChannel.disconnect();
-                    idleChannel = null;
-                }
-            }
-        }
+        channelPool.clear();
 
         if (session != null) {
             session.disconnect();
@@ -198,54 +281,27 @@ public class SftpFileSystem extends AbstractFileSystem {
 
     /**
      * Returns an SFTP channel to the server.
+     * <p>
+     * The channel is borrowed from the pool of channels of this file system, and must be given back with
+     * {@link #putChannel(ChannelSftp)}, or {@link #invalidateChannel(ChannelSftp)} if it failed.
+     * </p>
      *
      * @return new or reused channel, never null.
      * @throws FileSystemException if a session cannot be created.
      * @throws IOException         if an I/O error is detected.
      */
     protected ChannelSftp getChannel() throws IOException {
-        try {
-            // Use the pooled channel, or create a new one
-            ChannelSftp channel = null;
-            if (idleChannel != null) {
-                synchronized (this) {
-                    if (idleChannel != null) {
-                        channel = idleChannel;
-                        idleChannel = null;
-                    }
-                }
-            }
-
-            if (channel == null) {
-                channel = (ChannelSftp) getSession().openChannel("sftp");
-                channel.connect(DurationUtils.toMillisInt(connectTimeout));
-                final Boolean userDirIsRoot = SftpFileSystemConfigBuilder.getInstance()
-                    .getUserDirIsRoot(getFileSystemOptions());
-                final String workingDirectory = getRootName().getPath();
-                if (workingDirectory != null && (userDirIsRoot == null || !userDirIsRoot.booleanValue())) {
-                    try {
-                        channel.cd(workingDirectory);
-                    } catch (final SftpException e) {
-                        throw new FileSystemException("vfs.provider.sftp/change-work-directory.error", workingDirectory,
-                            e);
-                    }
-                }
-            }
-
-            final String fileNameEncoding = SftpFileSystemConfigBuilder.getInstance()
-                .getFileNameEncoding(getFileSystemOptions());
+        return channelPool.borrow();
+    }
 
-            if (fileNameEncoding != null) {
-                try {
-                    channel.setFilenameEncoding(fileNameEncoding);
-                } catch (final SftpException e) {
-                    throw new FileSystemException("vfs.provider.sftp/filename-encoding.error", fileNameEncoding);
-                }
-            }
-            return channel;
-        } catch (final JSchException e) {
-            throw new FileSystemException("vfs.provider.sftp/connect.error", getRootName().getFriendlyURI(), e);
-        }
+    /**
+     * Gets the pool of SFTP channels of this file system, to monitor its use.
+     *
+     * @return The pool of SFTP channels.
+     * @since 2.11.0
+     */
+    public ConnectionPool<ChannelSftp> getChannelPool() {
+        return channelPool;
     }
 
     /**
@@ -331,6 +387,25 @@ public class SftpFileSystem extends AbstractFileSystem {
         return uid;
     }
 
+    /**
+     * Opens the minimum number of idle SFTP channels.
+     */
+    @Override
+    public void init() throws FileSystemException {
+        super.init();
+        channelPool.warmUp();
+    }
+
+    /**
+     * Closes a channel that failed, instead of returning it to the pool, so that it is not used again.
+     *
+     * @param channelSftp The SFTP channel.
+     * @since 2.11.0
+     */
+    protected void invalidateChannel(final ChannelSftp channelSftp) {
+        channelPool.invalidate(channelSftp);
+    }
+
     /**
      * Tests whether the exec channel is disabled.
      *
@@ -356,24 +431,21 @@ public class SftpFileSystem extends AbstractFileSystem {
 
     /**
      * Returns a channel to the pool.
+     * <p>
+     * The channel is kept for reuse if it is still connected, and closed otherwise.
+     * </p>
      *
      * @param channelSftp The SFTP channel.
      */
     protected void putChannel(final ChannelSftp channelSftp) {
-        if (idleChannel == null) {
-            synchronized (this) {
-                if (idleChannel == null) {
-                    // put back the channel only if it is still connected
-                    if (channelSftp.isConnected() && !channelSftp.isClosed()) {
-                        idleChannel = channelSftp;
-                    }
-                } else {
-                    channelSftp.disconnect();
-                }
-            }
-        } else {
-            channelSftp.disconnect();
-        }
+        channelPool.release(channelSftp);
+    }
+
+    /**
+     * Quotes an argument of a shell command.
+     */
+    private static String quote(final String arg) {
+        return "'" + arg.replace("'", "'\\''") + "'";
     }
 
 }
@@ -129,9 +129,15 @@ public final class SftpFileSystemConfigBuilder extends FileSystemConfigBuilder {
 
     private static final String PROXY_TYPE = PREFIX + ".PROXY_TYPE";
     private static final String PROXY_USER = PREFIX + ".PROXY_USER";
+    private static final String SERVER_SIDE_COPY = PREFIX + ".SERVER_SIDE_COPY";
     private static final String SESSION_TIMEOUT = PREFIX + ".TIMEOUT";
     private static final String STRICT_HOST_KEY_CHECKING = PREFIX + ".STRICT_HOST_KEY_CHECKING";
     private static final String USER_DIR_IS_ROOT = PREFIX + ".USER_DIR_IS_ROOT";
+    private static final String CHANNEL_ACQUIRE_TIMEOUT = PREFIX + ".CHANNEL_ACQUIRE_TIMEOUT";
+    private static final String CHANNEL_IDLE_TIMEOUT = PREFIX + ".CHANNEL_IDLE_TIMEOUT";
+    private static final String MAX_CHANNELS = PREFIX + ".MAX_CHANNELS";
+    private static final String MIN_IDLE_CHANNELS = PREFIX + ".MIN_IDLE_CHANNELS";
+    private static final String VALIDATE_CHANNEL_ON_BORROW = PREFIX + ".VALIDATE_CHANNEL_ON_BORROW";
 
     /**
      * Gets the singleton builder.
@@ -146,6 +152,30 @@ public final class SftpFileSystemConfigBuilder extends FileSystemConfigBuilder {
         super("sftp.");
     }
 
+    /**
+     * Gets how long to wait for an SFTP channel when the maximum number of channels are in use.
+     *
+     * @param options The FileSystem options.
+     * @return The acquire timeout, zero to wait indefinitely.
+     * @see #setChannelAcquireTimeout(FileSystemOptions, Duration)
+     * @since 2.11.0
+     */
+    public Duration getChannelAcquireTimeout(final FileSystemOptions options) {
+        return this.getDuration(options, CHANNEL_ACQUIRE_TIMEOUT, Duration.ZERO);
+    }
+
+    /**
+     * Gets how long an SFTP channel may stay idle in the pool before it is closed.
+     *
+     * @param options The FileSystem options.
+     * @return The idle timeout, zero to keep idle channels open.
+     * @see #setChannelIdleTimeout(FileSystemOptions, Duration)
+     * @since 2.11.0
+     */
+    public Duration getChannelIdleTimeout(final FileSystemOptions options) {
+        return this.getDuration(options, CHANNEL_IDLE_TIMEOUT, Duration.ZERO);
+    }
+
     /**
      * Gets the names of the compression algorithms, comma-separated.
      *
@@ -288,6 +318,30 @@ public final class SftpFileSystemConfigBuilder extends FileSystemConfigBuilder {
         return getParam(options, KNOWN_HOSTS);
     }
 
+    /**
+     * Gets the maximum number of SFTP channels open at once on the session of a file system.
+     *
+     * @param options The FileSystem options.
+     * @return The maximum number of channels, 0 if not limited.
+     * @see #setMaxChannels(FileSystemOptions, int)
+     * @since 2.11.0
+     */
+    public int getMaxChannels(final FileSystemOptions options) {
+        return this.getInteger(options, MAX_CHANNELS, 0);
+    }
+
+    /**
+     * Gets the number of idle SFTP channels opened with the file system and kept open regardless of the idle timeout.
+     *
+     * @param options The FileSystem options.
+     * @return The minimum number of idle channels.
+     * @see #setMinIdleChannels(FileSystemOptions, int)
+     * @since 2.11.0
+     */
+    public int getMinIdleChannels(final FileSystemOptions options) {
+        return this.getInteger(options, MIN_IDLE_CHANNELS, 0);
+    }
+
     /**
      * Gets authentication order.
      *
@@ -485,6 +539,60 @@ public final class SftpFileSystemConfigBuilder extends FileSystemConfigBuilder {
         return this.getBoolean(options, LOAD_OPENSSH_CONFIG, Boolean.FALSE);
     }
 
+    /**
+     * Tests whether files are copied on the server with the {@code cp} command over the exec channel.
+     *
+     * @param options The FileSystem options.
+     * @return {@code true} if files are copied on the server, {@code false} by default.
+     * @see #setServerSideCopy(FileSystemOptions, boolean)
+     * @since 2.11.0
+     */
+    public boolean isServerSideCopy(final FileSystemOptions options) {
+        return this.getBoolean(options, SERVER_SIDE_COPY, Boolean.FALSE);
+    }
+
+    /**
+     * Tests whether idle SFTP channels are checked with a round trip to the server before they are reused.
+     *
+     * @param options The FileSystem options.
+     * @return {@code true} if idle channels are validated, {@code false} by default.
+     * @see #setValidateChannelOnBorrow(FileSystemOptions, boolean)
+     * @since 2.11.0
+     */
+    public boolean isValidateChannelOnBorrow(final FileSystemOptions options) {
+        return this.getBoolean(options, VALIDATE_CHANNEL_ON_BORROW, Boolean.FALSE);
+    }
+
+    /**
+     * Sets how long to wait for an SFTP channel when the maximum number of channels are in use.
+     * <p>
+     * Defaults to zero, waiting indefinitely.
+     * </p>
+     *
+     * @param options The FileSystem options.
+     * @param timeout The acquire timeout.
+     * @see #setMaxChannels(FileSystemOptions, int)
+     * @since 2.11.0
+     */
+    public void setChannelAcquireTimeout(final FileSystemOptions options, final Duration timeout) {
+        this.setParam(options, CHANNEL_ACQUIRE_TIMEOUT, timeout);
+    }
+
+    /**
+     * Sets how long an SFTP channel may stay idle in the pool before it is closed, except for the minimum number of idle
+     * channels.
+     * <p>
+     * Defaults to zero, keeping idle channels open until the file system is closed.
+     * </p>
+     *
+     * @param options The FileSystem options.
+     * @param timeout The idle timeout.
+     * @since 2.11.0
+     */
+    public void setChannelIdleTimeout(final FileSystemOptions options, final Duration timeout) {
+        this.setParam(options, CHANNEL_IDLE_TIMEOUT, timeout);
+    }
+
     /**
      * Configures the compression algorithms to use.
      * <p>
@@ -653,6 +761,38 @@ public final class SftpFileSystemConfigBuilder extends FileSystemConfigBuilder {
         this.setParam(options, LOAD_OPENSSH_CONFIG, toBooleanObject(loadOpenSSHConfig));
     }
 
+    /**
+     * Sets the maximum number of SFTP channels open at once on the session of a file system.
+     * <p>
+     * Channels are reused by the threads of the file system, which wait for one to be released once the maximum is
+     * reached, in the order they started waiting. Defaults to 0, not limiting the number of channels. Note that
+     * servers usually limit the number of channels of a session, 10 for OpenSSH.
+     * </p>
+     *
+     * @param options The FileSystem options.
+     * @param maxChannels The maximum number of channels, 0 for no limit.
+     * @see #setChannelAcquireTimeout(FileSystemOptions, Duration)
+     * @since 2.11.0
+     */
+    public void setMaxChannels(final FileSystemOptions options, final int maxChannels) {
+        this.setParam(options, MAX_CHANNELS, Integer.valueOf(maxChannels));
+    }
+
+    /**
+     * Sets the number of idle SFTP channels opened with the file system and kept open regardless of the idle timeout.
+     * <p>
+     * Defaults to 0.
+     * </p>
+     *
+     * @param options The FileSystem options.
+     * @param minIdleChannels The minimum number of idle channels.
+     * @see #setChannelIdleTimeout(FileSystemOptions, Duration)
+     * @since 2.11.0
+     */
+    public void setMinIdleChannels(final FileSystemOptions options, final int minIdleChannels) {
+        this.setParam(options, MIN_IDLE_CHANNELS, Integer.valueOf(minIdleChannels));
+    }
+
     /**
      * Configures authentication order.
      *
@@ -757,6 +897,22 @@ public final class SftpFileSystemConfigBuilder extends FileSystemConfigBuilder {
         this.setParam(options, PROXY_USER, proxyUser);
     }
 
+    /**
+     * Sets whether files copied within this file system are copied on the server with the {@code cp} command over the
+     * exec channel, instead of being downloaded and uploaded again.
+     * <p>
+     * Defaults to {@code false}, as it requires a shell with {@code cp} on the server. It has no effect when the exec
+     * channel is disabled.
+     * </p>
+     *
+     * @param options The FileSystem options.
+     * @param serverSideCopy true to copy files on the server.
+     * @since 2.11.0
+     */
+    public void setServerSideCopy(final FileSystemOptions options, final boolean serverSideCopy) {
+        this.setParam(options, SERVER_SIDE_COPY, toBooleanObject(serverSideCopy));
+    }
+
     /**
      * Sets the timeout value on Jsch session.
      *
@@ -826,6 +982,21 @@ public final class SftpFileSystemConfigBuilder extends FileSystemConfigBuilder {
         this.setParam(options, USER_DIR_IS_ROOT, toBooleanObject(userDirIsRoot));
     }
 
+    /**
+     * Sets whether idle SFTP channels are checked with a round trip to the server before they are reused, so that
+     * channels closed by the server are replaced rather than failing the operation.
+     * <p>
+     * Defaults to {@code false}.
+     * </p>
+     *
+     * @param options The FileSystem options.
+     * @param validateChannelOnBorrow true to validate idle channels.
+     * @since 2.11.0
+     */
+    public void setValidateChannelOnBorrow(final FileSystemOptions options, final boolean validateChannelOnBorrow) {
+        this.setParam(options, VALIDATE_CHANNEL_ON_BORROW, toBooleanObject(validateChannelOnBorrow));
+    }
+
     /**
      * Sets the Jsch UserInfo class to use.
      *
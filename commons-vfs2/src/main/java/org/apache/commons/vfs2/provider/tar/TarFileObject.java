@@ -64,6 +64,16 @@ public class TarFileObject extends AbstractFileObject<TarFileSystem> {
         children.add(childName.getBaseName());
     }
 
+    /**
+     * Releases the archive stream of the file system if this file's input stream still holds it.
+     */
+    @Override
+    protected void doDetach() throws Exception {
+        if (entry != null) {
+            getAbstractFileSystem().releaseTarFile(entry);
+        }
+    }
+
     /**
      * Returns the size of the file content (in bytes). Is only called if {@link #doGetType} returns
      * {@link FileType#FILE}.
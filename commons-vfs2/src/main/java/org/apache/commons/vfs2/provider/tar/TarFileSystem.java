@@ -17,18 +17,25 @@
 package org.apache.commons.vfs2.provider.tar;
 
 import java.io.File;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.GZIPInputStream;
 
 import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.EntryStreamOffsets;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.commons.vfs2.Capability;
@@ -48,6 +55,41 @@ import org.apache.commons.vfs2.provider.bzip2.Bzip2FileObject;
  * A read-only file system for Tar files.
  */
 public class TarFileSystem extends AbstractFileSystem {
+
+    /**
+     * Shields the shared archive stream from being closed by the reader of a single entry, and hands the stream back to
+     * the file system once the reader is done with it.
+     * <p>
+     * When the file of the entry is detached before the reader closes this stream, the file system gives the archive
+     * stream up to this reader, which then closes it.
+     * </p>
+     */
+    private final class SharedEntryInputStream extends FilterInputStream {
+
+        private final TarArchiveEntry entry;
+        private boolean closed;
+
+        /**
+         * Whether the file system gave the archive stream up to this reader, guarded by the file system.
+         */
+        private boolean detached;
+
+        SharedEntryInputStream(final InputStream in, final TarArchiveEntry entry) {
+            super(in);
+            this.entry = entry;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                if (releaseTarFile(this)) {
+                    IOUtils.closeQuietly(in);
+                }
+            }
+        }
+    }
+
     private static final Log LOG = LogFactory.getLog(TarFileSystem.class);
 
     private static final char[] ENC = {'!'};
@@ -57,9 +99,19 @@ public class TarFileSystem extends AbstractFileSystem {
     private TarArchiveInputStream tarFile;
 
     /**
-     * Cache doesn't need to be synchronized since it is read-only.
+     * The data offset of the entry {@link #tarFile} is positioned at, or {@link EntryStreamOffsets#OFFSET_UNKNOWN}.
+     */
+    private long tarFileEntryOffset = EntryStreamOffsets.OFFSET_UNKNOWN;
+
+    /**
+     * The reader {@link #tarFile} has been handed out to and which has not closed it yet, or null.
+     */
+    private SharedEntryInputStream tarFileReader;
+
+    /**
+     * The files of the archive. Files are added and removed concurrently by the threads resolving them.
      */
-    private final Map<FileName, FileObject> cache = new HashMap<>();
+    private final Map<FileName, FileObject> cache = new ConcurrentHashMap<>();
 
     /**
      * Constructs a new instance.
@@ -138,6 +190,8 @@ public class TarFileSystem extends AbstractFileSystem {
     @Override
     protected void doCloseCommunicationLink() {
         // Release the tar file
+        tarFileEntryOffset = EntryStreamOffsets.OFFSET_UNKNOWN;
+        tarFileReader = null;
         try {
             if (tarFile != null) {
                 tarFile.close();
@@ -159,6 +213,11 @@ public class TarFileSystem extends AbstractFileSystem {
 
     /**
      * Returns the input stream for the given entry.
+     * <p>
+     * The data of an entry of an uncompressed archive is read straight from its offset recorded by {@link #init()}.
+     * Entries of compressed archives are read from a stream over the whole archive, which is reused as long as entries
+     * are read in archive order.
+     * </p>
      *
      * @param entry The entry to seek.
      * @return The input stream for the given entry.
@@ -166,17 +225,41 @@ public class TarFileSystem extends AbstractFileSystem {
      */
     public InputStream getInputStream(final TarArchiveEntry entry) throws FileSystemException {
         Objects.requireNonNull(entry, "entry");
-        resetTarFile();
-        try {
-            ArchiveEntry next;
-            while ((next = tarFile.getNextEntry()) != null) {
-                if (next.equals(entry)) {
-                    return tarFile;
+        if (isSeekable(entry)) {
+            return openEntryStream(entry);
+        }
+        synchronized (this) {
+            if (tarFileReader != null) {
+                // Another reader still consumes the shared stream, scan a private one.
+                final TarArchiveInputStream stream = createTarFile(file);
+                try {
+                    if (seekEntry(stream, entry)) {
+                        return stream;
+                    }
+                } catch (final IOException e) {
+                    IOUtils.closeQuietly(stream);
+                    throw new FileSystemException(e);
                 }
+                IOUtils.closeQuietly(stream);
+                throw new FileNotFoundException(entry.toString());
+            }
+            try {
+                // Continue from the current position when the entry comes later in the archive.
+                if (tarFile == null || tarFileEntryOffset == EntryStreamOffsets.OFFSET_UNKNOWN
+                    || entry.getDataOffset() <= tarFileEntryOffset || !seekEntry(tarFile, entry)) {
+                    resetTarFile();
+                    if (!seekEntry(tarFile, entry)) {
+                        throw new FileNotFoundException(entry.toString());
+                    }
+                }
+                tarFileEntryOffset = entry.getDataOffset();
+                tarFileReader = new SharedEntryInputStream(tarFile, entry);
+                return tarFileReader;
+            } catch (final FileSystemException e) {
+                throw e;
+            } catch (final IOException e) {
+                throw new FileSystemException(e);
             }
-            throw new FileNotFoundException(entry.toString());
-        } catch (final IOException e) {
-            throw new FileSystemException(e);
         }
     }
 
@@ -201,6 +284,10 @@ public class TarFileSystem extends AbstractFileSystem {
         try {
             TarArchiveEntry entry;
             while ((entry = getTarFile().getNextTarEntry()) != null) {
+                if (entry.getDataOffset() == EntryStreamOffsets.OFFSET_UNKNOWN) {
+                    // The header has just been consumed, the stream is positioned at the start of the entry data.
+                    entry.setDataOffset(getTarFile().getBytesRead());
+                }
                 final AbstractFileName name = (AbstractFileName) getFileSystemManager().resolveName(getRootName(),
                     UriParser.encode(entry.getName(), ENC));
 
@@ -239,6 +326,29 @@ public class TarFileSystem extends AbstractFileSystem {
         }
     }
 
+    /**
+     * Tests whether the data of the given entry can be read directly from its offset in the local copy of the archive.
+     */
+    private boolean isSeekable(final TarArchiveEntry entry) {
+        return "tar".equalsIgnoreCase(getRootName().getScheme())
+            && entry.getDataOffset() != EntryStreamOffsets.OFFSET_UNKNOWN && !entry.isSparse();
+    }
+
+    private InputStream openEntryStream(final TarArchiveEntry entry) throws FileSystemException {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            channel.position(entry.getDataOffset());
+            return BoundedInputStream.builder()
+                .setInputStream(Channels.newInputStream(channel))
+                .setMaxCount(entry.getSize())
+                .get();
+        } catch (final IOException e) {
+            IOUtils.closeQuietly(channel);
+            throw new FileSystemException("vfs.provider.tar/open-tar-file.error", file, e);
+        }
+    }
+
     /**
      * Adds a file object to the cache.
      */
@@ -261,6 +371,53 @@ public class TarFileSystem extends AbstractFileSystem {
             tarFile = null;
         }
         tarFile = createTarFile(file);
+        tarFileEntryOffset = EntryStreamOffsets.OFFSET_UNKNOWN;
+    }
+
+    /**
+     * Releases the archive stream read by the reader of the given entry, when the file of the entry is detached.
+     * <p>
+     * A reader that never closes its stream would otherwise keep the archive stream in use, so that every later read
+     * scans a private stream. The reader keeps reading from the archive stream, which is no longer shared, and the next
+     * reader opens a new one.
+     * </p>
+     *
+     * @param entry The entry of the detached file.
+     */
+    synchronized void releaseTarFile(final TarArchiveEntry entry) {
+        if (tarFileReader != null && tarFileReader.entry == entry) {
+            tarFileReader.detached = true;
+            tarFileReader = null;
+            tarFile = null;
+            tarFileEntryOffset = EntryStreamOffsets.OFFSET_UNKNOWN;
+        }
+    }
+
+    /**
+     * Hands the archive stream back to this file system once a reader closes it.
+     *
+     * @return whether the file system gave the archive stream up to the reader, which must close it.
+     */
+    private synchronized boolean releaseTarFile(final SharedEntryInputStream stream) {
+        if (stream == tarFileReader) {
+            tarFileReader = null;
+        }
+        return stream.detached;
+    }
+
+    /**
+     * Advances the given stream to the given entry.
+     *
+     * @return whether the entry was found.
+     */
+    private boolean seekEntry(final TarArchiveInputStream stream, final TarArchiveEntry entry) throws IOException {
+        ArchiveEntry next;
+        while ((next = stream.getNextEntry()) != null) {
+            if (next.equals(entry)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
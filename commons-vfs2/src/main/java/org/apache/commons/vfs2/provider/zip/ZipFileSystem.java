@@ -22,8 +22,8 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -55,9 +55,9 @@ public class ZipFileSystem extends AbstractFileSystem {
     private ZipFile zipFile;
 
     /**
-     * Cache doesn't need to be synchronized since it is read-only.
+     * The files of the archive. Files are added and removed concurrently by the threads resolving them.
      */
-    private final Map<FileName, FileObject> cache = new HashMap<>();
+    private final Map<FileName, FileObject> cache = new ConcurrentHashMap<>();
 
     /**
      * Constructs a new instance.
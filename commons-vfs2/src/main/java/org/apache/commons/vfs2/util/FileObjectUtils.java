@@ -77,7 +77,7 @@ public final class FileObjectUtils {
      * @since 2.6.0
      */
     public static byte[] getContentAsByteArray(final FileObject file) throws IOException {
-        synchronized (file.getFileSystem()) {
+        synchronized (file) {
             try (FileContent content = file.getContent()) {
                 return content.getByteArray();
             }
@@ -94,7 +94,7 @@ public final class FileObjectUtils {
      * @since 2.4
      */
     public static String getContentAsString(final FileObject file, final Charset charset) throws IOException {
-        synchronized (file.getFileSystem()) {
+        synchronized (file) {
             try (FileContent content = file.getContent()) {
                 return content.getString(charset);
             }
@@ -111,7 +111,7 @@ public final class FileObjectUtils {
      * @since 2.4
      */
     public static String getContentAsString(final FileObject file, final String charset) throws IOException {
-        synchronized (file.getFileSystem()) {
+        synchronized (file) {
             try (FileContent content = file.getContent()) {
                 return content.getString(charset);
             }
@@ -18,6 +18,7 @@ package org.apache.commons.vfs2.util;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 import org.apache.commons.vfs2.RandomAccessContent;
 
@@ -96,6 +97,16 @@ public class MonitorRandomAccessContent implements RandomAccessContent {
     protected void onClose() throws IOException {
     }
 
+    @Override
+    public int read(final ByteBuffer dst) throws IOException {
+        return content.read(dst);
+    }
+
+    @Override
+    public int read(final ByteBuffer dst, final long position) throws IOException {
+        return content.read(dst, position);
+    }
+
     @Override
     public boolean readBoolean() throws IOException {
         return content.readBoolean();
@@ -181,6 +192,11 @@ public class MonitorRandomAccessContent implements RandomAccessContent {
         return content.skipBytes(n);
     }
 
+    @Override
+    public int write(final ByteBuffer src) throws IOException {
+        return content.write(src);
+    }
+
     @Override
     public void write(final byte[] b) throws IOException {
         content.write(b);
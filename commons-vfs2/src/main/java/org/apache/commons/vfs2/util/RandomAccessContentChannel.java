@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.util.Objects;
+
+import org.apache.commons.vfs2.RandomAccessContent;
+
+/**
+ * A SeekableByteChannel over a RandomAccessContent, sharing its file pointer.
+ *
+ * @since 2.11.0
+ */
+public class RandomAccessContentChannel implements SeekableByteChannel {
+
+    private final RandomAccessContent content;
+    private boolean open = true;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param content The content, closed when this channel is closed.
+     */
+    public RandomAccessContentChannel(final RandomAccessContent content) {
+        this.content = Objects.requireNonNull(content, "content");
+    }
+
+    private void checkOpen() throws ClosedChannelException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (open) {
+            open = false;
+            content.close();
+        }
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public long position() throws IOException {
+        checkOpen();
+        return content.getFilePointer();
+    }
+
+    @Override
+    public SeekableByteChannel position(final long newPosition) throws IOException {
+        checkOpen();
+        if (newPosition < 0) {
+            throw new IllegalArgumentException("Negative position " + newPosition);
+        }
+        content.seek(newPosition);
+        return this;
+    }
+
+    @Override
+    public int read(final ByteBuffer dst) throws IOException {
+        checkOpen();
+        return content.read(dst);
+    }
+
+    /**
+     * Reads a sequence of bytes from the content at the given position, without moving the position of this channel.
+     *
+     * @param dst The buffer into which bytes are to be transferred.
+     * @param position The position at which to read.
+     * @return The number of bytes read, possibly zero, or -1 if the position is at or past the end of the content.
+     * @throws IOException Thrown if an I/O error occurs.
+     * @see RandomAccessContent#read(ByteBuffer, long)
+     */
+    public int read(final ByteBuffer dst, final long position) throws IOException {
+        checkOpen();
+        return content.read(dst, position);
+    }
+
+    @Override
+    public long size() throws IOException {
+        checkOpen();
+        return content.length();
+    }
+
+    @Override
+    public SeekableByteChannel truncate(final long size) throws IOException {
+        checkOpen();
+        if (size < 0) {
+            throw new IllegalArgumentException("Negative size " + size);
+        }
+        if (size < content.length()) {
+            content.setLength(size);
+        }
+        if (content.getFilePointer() > size) {
+            content.seek(size);
+        }
+        return this;
+    }
+
+    @Override
+    public int write(final ByteBuffer src) throws IOException {
+        checkOpen();
+        return content.write(src);
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.function.IOBiFunction;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+/**
+ * An InputStream that downloads content in segments, several at a time, and reads them in order.
+ * <p>
+ * The content is split into segments of a given size, each opened with a range request from the first to the last
+ * byte of the segment, both inclusive. Segments are fetched ahead of the reader by a pool of threads, up to the given
+ * parallelism, and kept in memory until they are read.
+ * </p>
+ *
+ * @since 2.11.0
+ */
+public class SegmentedInputStream extends InputStream {
+
+    private static final int EOF = -1;
+
+    private final long length;
+    private final int segmentSize;
+    private final IOBiFunction<Long, Long, InputStream> rangeOpener;
+    private final ExecutorService executor;
+
+    /**
+     * Segments being fetched, in order.
+     */
+    private final Deque<Future<byte[]>> segments = new ArrayDeque<>();
+
+    /**
+     * The offset of the first segment not fetched yet.
+     */
+    private long nextOffset;
+
+    private byte[] segment;
+    private int position;
+    private boolean closed;
+
+    /**
+     * Constructs a new instance and starts fetching the first segments.
+     *
+     * @param length The length of the content.
+     * @param segmentSize The size of segments, at most {@link Integer#MAX_VALUE}.
+     * @param parallelism The maximum number of segments fetched at a time.
+     * @param rangeOpener Opens a stream on a range of the content, given the offsets of its first and last bytes.
+     */
+    public SegmentedInputStream(final long length, final long segmentSize, final int parallelism,
+            final IOBiFunction<Long, Long, InputStream> rangeOpener) {
+        this.length = length;
+        this.segmentSize = (int) Math.max(1, Math.min(segmentSize, Integer.MAX_VALUE));
+        this.rangeOpener = rangeOpener;
+        final int threads = Math.max(1, parallelism);
+        this.executor = Executors.newFixedThreadPool(threads,
+            new BasicThreadFactory.Builder().namingPattern("vfs-download-%d").daemon(true).build());
+        for (int i = 0; i < threads; i++) {
+            fetchNext();
+        }
+    }
+
+    @Override
+    public int available() throws IOException {
+        return segment != null ? segment.length - position : 0;
+    }
+
+    /**
+     * Closes this stream and cancels the segments being fetched.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            segments.forEach(future -> future.cancel(true));
+            segments.clear();
+            executor.shutdownNow();
+            segment = null;
+        }
+    }
+
+    private byte[] fetch(final long first, final long last) throws IOException {
+        final byte[] buffer = new byte[(int) (last - first + 1)];
+        try (InputStream inputStream = rangeOpener.apply(Long.valueOf(first), Long.valueOf(last))) {
+            IOUtils.readFully(inputStream, buffer);
+        }
+        return buffer;
+    }
+
+    private void fetchNext() {
+        if (nextOffset < length) {
+            final long first = nextOffset;
+            final long last = Math.min(length, first + segmentSize) - 1;
+            nextOffset = last + 1;
+            segments.add(executor.submit(() -> fetch(first, last)));
+        }
+    }
+
+    /**
+     * Makes the next segment current once the current one is read.
+     *
+     * @return false at the end of the content.
+     */
+    private boolean nextSegment() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        while (segment == null || position == segment.length) {
+            final Future<byte[]> future = segments.poll();
+            if (future == null) {
+                return false;
+            }
+            try {
+                segment = future.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            } catch (final ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IOException(e.getCause());
+            }
+            position = 0;
+            fetchNext();
+        }
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!nextSegment()) {
+            return EOF;
+        }
+        return segment[position++] & 0xff;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!nextSegment()) {
+            return EOF;
+        }
+        final int count = Math.min(len, segment.length - position);
+        System.arraycopy(segment, position, b, off, count);
+        position += count;
+        return count;
+    }
+}
@@ -18,10 +18,15 @@ package org.apache.commons.vfs2;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import java.io.File;
 
+import org.apache.commons.vfs2.impl.DefaultFileSystemManager;
+import org.apache.commons.vfs2.provider.ram.RamFileProvider;
+import org.apache.commons.vfs2.provider.ram.RamFileSystemConfigBuilder;
 import org.apache.commons.vfs2.provider.sftp.IdentityInfo;
 import org.apache.commons.vfs2.provider.sftp.SftpFileSystemConfigBuilder;
 import org.junit.jupiter.api.Test;
@@ -159,4 +164,36 @@ public class FileSystemOptionsTest {
             new File(privKey1), new File(pubKey1), new byte[] {1, 2, 4}
         );
     }
+
+    @Test
+    public void testFileSystemLookup() throws FileSystemException {
+        try (DefaultFileSystemManager manager = new DefaultFileSystemManager()) {
+            manager.addProvider("ram", new RamFileProvider());
+            manager.init();
+            final FileSystemOptions options = new FileSystemOptions();
+            RamFileSystemConfigBuilder.getInstance().setMaxSize(options, 100L);
+            final FileSystem fileSystem = manager.resolveFile("ram:///a", options).getFileSystem();
+            final FileSystemOptions equalOptions = new FileSystemOptions();
+            RamFileSystemConfigBuilder.getInstance().setMaxSize(equalOptions, 100L);
+            assertSame(fileSystem, manager.resolveFile("ram:///b", equalOptions).getFileSystem());
+            // Setting an option afterwards does not change the key of the cached file system
+            RamFileSystemConfigBuilder.getInstance().setMaxSize(options, 200L);
+            assertNotSame(fileSystem, manager.resolveFile("ram:///c", options).getFileSystem());
+            assertSame(fileSystem, manager.resolveFile("ram:///d", equalOptions).getFileSystem());
+        }
+    }
+
+    @Test
+    public void testHashCodeAfterSetOption() {
+        final JUnitConfigBuilder builder = JUnitConfigBuilder.getInstance();
+        final FileSystemOptions expected = new FileSystemOptions();
+        builder.setNames(expected, new String[] {"A", "B"});
+        final FileSystemOptions actual = new FileSystemOptions();
+        builder.setNames(actual, new String[] {"A", "C"});
+        assertNotEquals(expected, actual);
+        assertNotEquals(expected.hashCode(), actual.hashCode());
+        builder.setNames(actual, new String[] {"A", "B"});
+        assertEquals(expected, actual);
+        assertEquals(expected.hashCode(), actual.hashCode());
+    }
 }
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link FileObject#walk(FileSelector, boolean)}.
+ */
+public class FileWalkTest {
+
+    private static FileObject baseFolder;
+
+    /**
+     * Creates a RAM FS.
+     *
+     * @throws Exception
+     */
+    @BeforeAll
+    public static void setUpClass() throws Exception {
+        baseFolder = VFS.getManager().resolveFile("ram://" + FileWalkTest.class.getName());
+        baseFolder.deleteAll();
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 4; j++) {
+                baseFolder.resolveFile("dir" + i + "/sub" + j + "/file.txt").createFile();
+            }
+            baseFolder.resolveFile("dir" + i + "/file" + i + ".txt").createFile();
+            baseFolder.resolveFile("dir" + i + "/empty").createFolder();
+        }
+    }
+
+    /**
+     * Deletes RAM FS files.
+     *
+     * @throws Exception
+     */
+    @AfterAll
+    public static void tearDownClass() throws Exception {
+        if (baseFolder != null) {
+            baseFolder.deleteAll();
+        }
+    }
+
+    private static List<FileObject> findFiles(final FileSelector selector, final boolean depthwise)
+            throws FileSystemException {
+        final List<FileObject> selected = new ArrayList<>();
+        baseFolder.findFiles(selector, depthwise, selected);
+        return selected;
+    }
+
+    @Test
+    public void testLazy() throws FileSystemException {
+        final AtomicInteger traversed = new AtomicInteger();
+        final FileSelector selector = new FileSelector() {
+            @Override
+            public boolean includeFile(final FileSelectInfo fileInfo) {
+                return true;
+            }
+
+            @Override
+            public boolean traverseDescendents(final FileSelectInfo fileInfo) {
+                traversed.incrementAndGet();
+                return true;
+            }
+        };
+        assertEquals(baseFolder, baseFolder.walk(selector, false).findFirst().get());
+        assertEquals(1, traversed.get());
+        // The deepest first file is at most three folders down
+        traversed.set(0);
+        assertEquals(1, baseFolder.walk(selector, true).limit(1).count());
+        assertTrue(traversed.get() <= 3);
+    }
+
+    @Test
+    public void testMissingFile() throws FileSystemException {
+        assertEquals(0, baseFolder.resolveFile("missing").walk(Selectors.SELECT_ALL, true).count());
+    }
+
+    @Test
+    public void testSameOrderAsFindFiles() throws FileSystemException {
+        for (final boolean depthwise : new boolean[] {true, false}) {
+            for (final FileSelector selector : new FileSelector[] {Selectors.SELECT_ALL, Selectors.SELECT_FILES,
+                Selectors.SELECT_CHILDREN, Selectors.EXCLUDE_SELF, new FileDepthSelector(1, 2)}) {
+                assertEquals(findFiles(selector, depthwise),
+                    baseFolder.walk(selector, depthwise).collect(Collectors.toList()));
+            }
+        }
+    }
+
+    @Test
+    public void testSelectorFailure() throws FileSystemException {
+        final FileSelector selector = new FileSelector() {
+            @Override
+            public boolean includeFile(final FileSelectInfo fileInfo) {
+                if (fileInfo.getDepth() == 2) {
+                    throw new IllegalStateException();
+                }
+                return true;
+            }
+
+            @Override
+            public boolean traverseDescendents(final FileSelectInfo fileInfo) {
+                return true;
+            }
+        };
+        final UncheckedIOException e = assertThrows(UncheckedIOException.class,
+            () -> baseFolder.walk(selector, false).count());
+        assertInstanceOf(FileSystemException.class, e.getCause());
+        assertInstanceOf(IllegalStateException.class, e.getCause().getCause());
+    }
+}
@@ -18,6 +18,9 @@ package org.apache.commons.vfs2;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 import org.apache.commons.vfs2.util.RandomAccessMode;
 import org.junit.jupiter.api.Test;
 
@@ -36,6 +39,11 @@ public class ProviderRandomReadTests extends AbstractProviderTestCase {
         return new Capability[] { Capability.GET_TYPE, Capability.RANDOM_ACCESS_READ };
     }
 
+    private static String toString(final ByteBuffer buffer) {
+        buffer.flip();
+        return StandardCharsets.US_ASCII.decode(buffer).toString();
+    }
+
     /**
      * Read a file.
      */
@@ -81,4 +89,32 @@ public class ProviderRandomReadTests extends AbstractProviderTestCase {
         }
     }
 
+    /**
+     * Read a file into byte buffers.
+     */
+    @Test
+    public void testRandomReadBuffer() throws Exception {
+        try (FileObject file = getReadFolder().resolveFile("file1.txt");
+            RandomAccessContent ra = file.getContent().getRandomAccessContent(RandomAccessMode.READ)) {
+            final ByteBuffer heapBuffer = ByteBuffer.allocate(4);
+            assertEquals(4, ra.read(heapBuffer));
+            assertEquals(TEST_DATA.substring(0, 4), toString(heapBuffer));
+            assertEquals(4, ra.getFilePointer(), "fp");
+
+            // positional reads leave the file pointer alone
+            final ByteBuffer directBuffer = ByteBuffer.allocateDirect(7);
+            assertEquals(7, ra.read(directBuffer, 10));
+            assertEquals(TEST_DATA.substring(10, 17), toString(directBuffer));
+            assertEquals(4, ra.getFilePointer(), "fp");
+            assertEquals(-1, ra.read(ByteBuffer.allocate(1), TEST_DATA.length()));
+
+            // reads stop at the end of the content
+            ra.seek(15);
+            final ByteBuffer largeBuffer = ByteBuffer.allocate(100);
+            assertEquals(TEST_DATA.length() - 15, ra.read(largeBuffer));
+            assertEquals(TEST_DATA.substring(15), toString(largeBuffer));
+            assertEquals(-1, ra.read(ByteBuffer.allocate(1)));
+        }
+    }
+
 }
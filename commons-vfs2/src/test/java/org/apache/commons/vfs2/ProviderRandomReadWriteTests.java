@@ -17,6 +17,11 @@
 package org.apache.commons.vfs2;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
 
 import org.apache.commons.vfs2.util.RandomAccessMode;
 import org.junit.jupiter.api.Test;
@@ -91,4 +96,37 @@ public class ProviderRandomReadWriteTests extends AbstractProviderTestCase {
         }
     }
 
+    /**
+     * Writes a file through a channel.
+     */
+    @Test
+    public void testRandomWriteChannel() throws Exception {
+        try (FileObject file = createScratchFolder().resolveFile("random_write_channel.txt")) {
+            file.createFile();
+            final SeekableByteChannel channel = file.getContent().getRandomAccessContent(RandomAccessMode.READWRITE)
+                .getChannel();
+            try {
+                final ByteBuffer data = ByteBuffer.wrap(TEST_DATA.getBytes(StandardCharsets.US_ASCII));
+                assertEquals(TEST_DATA.length(), channel.write(data));
+                assertEquals(TEST_DATA.length(), channel.position());
+                assertEquals(TEST_DATA.length(), channel.size());
+
+                // overwrite from a direct buffer
+                final ByteBuffer directBuffer = ByteBuffer.allocateDirect(4);
+                directBuffer.put("That".getBytes(StandardCharsets.US_ASCII)).flip();
+                assertEquals(4, channel.position(0).write(directBuffer));
+                assertEquals(4, channel.position());
+
+                final ByteBuffer buffer = ByteBuffer.allocate(TEST_DATA.length());
+                assertEquals(TEST_DATA.length(), channel.position(0).read(buffer));
+                assertEquals("That" + TEST_DATA.substring(4), new String(buffer.array(), StandardCharsets.US_ASCII));
+            } finally {
+                channel.close();
+            }
+            assertFalse(channel.isOpen());
+            assertFalse(file.getContent().isOpen());
+            assertEquals("That" + TEST_DATA.substring(4), file.getContent().getString(StandardCharsets.US_ASCII));
+        }
+    }
+
 }
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.cache;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystem;
+import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.FilesCache;
+import org.apache.commons.vfs2.impl.DefaultFileSystemManager;
+import org.apache.commons.vfs2.provider.ram.RamFileProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@link FilesCache} implementations when many threads look up and store files of the same file system.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Threads(Threads.MAX)
+public class FilesCacheBenchmark {
+
+    private static final int FILE_COUNT = 4096;
+
+    @Param({"default", "lru", "softref", "weakref"})
+    private String cacheType;
+
+    private DefaultFileSystemManager manager;
+
+    private FilesCache cache;
+
+    private FileSystem fileSystem;
+
+    /** Keeps the cached files strongly reachable so the reference based caches keep them. */
+    private FileObject[] files;
+
+    private FilesCache createCache() {
+        switch (cacheType) {
+        case "lru":
+            // leave room for uneven segments, eviction would close the benchmark files
+            return new LRUFilesCache(2 * FILE_COUNT);
+        case "softref":
+            return new SoftRefFilesCache();
+        case "weakref":
+            return new WeakRefFilesCache();
+        default:
+            return new DefaultFilesCache();
+        }
+    }
+
+    @Benchmark
+    public FileObject getFile() {
+        return cache.getFile(fileSystem, files[ThreadLocalRandom.current().nextInt(FILE_COUNT)].getName());
+    }
+
+    @Benchmark
+    public boolean putFileIfAbsent() {
+        return cache.putFileIfAbsent(files[ThreadLocalRandom.current().nextInt(FILE_COUNT)]);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws FileSystemException {
+        manager = new DefaultFileSystemManager();
+        manager.setFilesCache(new NullFilesCache());
+        manager.addProvider("ram", new RamFileProvider());
+        manager.init();
+        cache = createCache();
+        files = new FileObject[FILE_COUNT];
+        for (int i = 0; i < FILE_COUNT; i++) {
+            files[i] = manager.resolveFile("ram:///dir" + i % 64 + "/file" + i + ".txt");
+            cache.putFile(files[i]);
+        }
+        fileSystem = files[0].getFileSystem();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cache.close();
+        manager.close();
+    }
+}
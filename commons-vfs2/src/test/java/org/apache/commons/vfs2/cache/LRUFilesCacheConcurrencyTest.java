@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.impl.DecoratedFileObject;
+import org.apache.commons.vfs2.impl.DefaultFileSystemManager;
+import org.apache.commons.vfs2.provider.ram.RamFileProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link LRUFilesCache} eviction and its use by many threads.
+ */
+public class LRUFilesCacheConcurrencyTest {
+
+    /**
+     * Counts how often the cache closes a file.
+     */
+    private static final class CloseCountingFileObject extends DecoratedFileObject {
+
+        private final AtomicInteger closeCount = new AtomicInteger();
+
+        CloseCountingFileObject(final FileObject fileObject) {
+            super(fileObject);
+        }
+
+        @Override
+        public void close() throws FileSystemException {
+            closeCount.incrementAndGet();
+            super.close();
+        }
+    }
+
+    private static final int THREADS = 8;
+
+    private DefaultFileSystemManager manager;
+
+    private ExecutorService executor;
+
+    private CloseCountingFileObject createFile(final String path) throws FileSystemException {
+        return new CloseCountingFileObject(manager.resolveFile("ram:///" + path));
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        manager = new DefaultFileSystemManager();
+        manager.setFilesCache(new NullFilesCache());
+        manager.addProvider("ram", new RamFileProvider());
+        manager.init();
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        manager.close();
+    }
+
+    @Test
+    public void testConcurrentGetAndPut() throws Exception {
+        final int lruSize = 512;
+        final LRUFilesCache cache = new LRUFilesCache(lruSize);
+        final CloseCountingFileObject[] files = new CloseCountingFileObject[4 * lruSize];
+        for (int i = 0; i < files.length; i++) {
+            files[i] = createFile("dir" + i % 16 + "/file" + i + ".txt");
+        }
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 20_000; i++) {
+                    final FileObject file = files[ThreadLocalRandom.current().nextInt(files.length)];
+                    if (cache.getFile(file.getFileSystem(), file.getName()) == null) {
+                        cache.putFileIfAbsent(file);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (final Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        final int size = cache.getOrCreateFilesystemCache(files[0].getFileSystem()).size();
+        assertTrue(size > 0 && size <= lruSize, Integer.toString(size));
+        // every file that is not cached anymore was closed on eviction
+        for (final CloseCountingFileObject file : files) {
+            if (cache.getFile(file.getFileSystem(), file.getName()) != file) {
+                assertTrue(file.closeCount.get() > 0, file.getName().toString());
+            }
+        }
+        cache.close();
+    }
+
+    @Test
+    public void testEvictionClosesLeastRecentlyUsedFile() throws Exception {
+        final LRUFilesCache cache = new LRUFilesCache(2);
+        final CloseCountingFileObject file1 = createFile("file1.txt");
+        final CloseCountingFileObject file2 = createFile("file2.txt");
+        final CloseCountingFileObject file3 = createFile("file3.txt");
+        cache.putFile(file1);
+        cache.putFile(file2);
+        // file1 becomes the most recently used file
+        assertSame(file1, cache.getFile(file1.getFileSystem(), file1.getName()));
+        cache.putFile(file3);
+
+        assertNull(cache.getFile(file2.getFileSystem(), file2.getName()));
+        assertEquals(1, file2.closeCount.get());
+        assertSame(file1, cache.getFile(file1.getFileSystem(), file1.getName()));
+        assertSame(file3, cache.getFile(file3.getFileSystem(), file3.getName()));
+        assertEquals(0, file1.closeCount.get());
+        assertEquals(0, file3.closeCount.get());
+        cache.close();
+    }
+
+    @Test
+    public void testFileSystemsHaveIndependentCapacity() throws Exception {
+        final LRUFilesCache cache = new LRUFilesCache(2);
+        try (DefaultFileSystemManager otherManager = new DefaultFileSystemManager()) {
+            otherManager.addProvider("ram", new RamFileProvider());
+            otherManager.init();
+            final FileObject other = otherManager.resolveFile("ram:///other.txt");
+            cache.putFile(other);
+            for (int i = 0; i < 10; i++) {
+                cache.putFile(createFile("file" + i + ".txt"));
+            }
+            assertSame(other, cache.getFile(other.getFileSystem(), other.getName()));
+        }
+        cache.close();
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.vfs2.FileName;
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystem;
+import org.apache.commons.vfs2.impl.DefaultFileSystemManager;
+import org.apache.commons.vfs2.provider.ram.RamFileProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link SoftRefFilesCache} and {@link WeakRefFilesCache} when used by many threads.
+ */
+public class SoftRefFilesCacheConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    private static final int FILE_COUNT = 100;
+
+    private DefaultFileSystemManager manager;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        manager = new DefaultFileSystemManager();
+        // every resolve creates a new file object, the caches under test are used directly
+        manager.setFilesCache(new NullFilesCache());
+        manager.addProvider("ram", new RamFileProvider());
+        manager.init();
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        manager.close();
+    }
+
+    private void assertOneWinnerPerName(final SoftRefFilesCache cache) throws Exception {
+        final FileObject[][] files = new FileObject[THREADS][FILE_COUNT];
+        for (int t = 0; t < THREADS; t++) {
+            for (int i = 0; i < FILE_COUNT; i++) {
+                files[t][i] = manager.resolveFile("ram:///dir/file" + i + ".txt");
+            }
+        }
+        final AtomicInteger[] winners = new AtomicInteger[FILE_COUNT];
+        for (int i = 0; i < FILE_COUNT; i++) {
+            winners[i] = new AtomicInteger();
+        }
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final FileObject[] threadFiles = files[t];
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < FILE_COUNT; i++) {
+                    if (cache.putFileIfAbsent(threadFiles[i])) {
+                        winners[i].incrementAndGet();
+                    }
+                    assertNotNull(cache.getFile(threadFiles[i].getFileSystem(), threadFiles[i].getName()));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (final Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        for (int i = 0; i < FILE_COUNT; i++) {
+            assertEquals(1, winners[i].get(), "file" + i);
+        }
+        final FileSystem fileSystem = files[0][0].getFileSystem();
+        cache.clear(fileSystem);
+        assertNull(cache.getFile(fileSystem, files[0][0].getName()));
+        cache.close();
+    }
+
+    @Test
+    public void testConcurrentPutFileIfAbsentSoftRef() throws Exception {
+        assertOneWinnerPerName(new SoftRefFilesCache());
+    }
+
+    @Test
+    public void testConcurrentPutFileIfAbsentWeakRef() throws Exception {
+        assertOneWinnerPerName(new WeakRefFilesCache());
+    }
+
+    /**
+     * A name whose file was collected can be cached again, and the late release of the old reference must not remove
+     * the new entry.
+     */
+    @Test
+    public void testPutFileIfAbsentReplacesCollectedFile() throws Exception {
+        final WeakRefFilesCache cache = new WeakRefFilesCache();
+        FileObject first = manager.resolveFile("ram:///collected.txt");
+        final FileSystem fileSystem = first.getFileSystem();
+        final FileName name = first.getName();
+        assertTrue(cache.putFileIfAbsent(first));
+
+        final WeakReference<FileObject> collected = new WeakReference<>(first);
+        first = null;
+        for (int i = 0; i < 100 && collected.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(collected.get());
+
+        final FileObject second = manager.resolveFile("ram:///collected.txt");
+        assertTrue(cache.putFileIfAbsent(second));
+        // give the release thread time to process the collected reference
+        Thread.sleep(100);
+        assertSame(second, cache.getFile(fileSystem, name));
+        cache.close();
+    }
+}
@@ -338,6 +338,53 @@ public class DefaultFileMonitorTest {
         }
     }
 
+    @Test
+    public void testParallelChildFileRecreated() throws Exception {
+        writeToFile(testFile);
+        try (FileObject fileObj = fileSystemManager.resolveFile(testDir.toURI().toURL().toString())) {
+            try (DefaultFileMonitor monitor = new DefaultFileMonitor(new TestFileListener())) {
+                monitor.setDelay(DELAY_MILLIS);
+                monitor.setParallelism(4);
+                monitor.setMaxChecksPerFileSystem(2);
+                monitor.setRecursive(true);
+                monitor.addFile(fileObj);
+                monitor.start();
+                resetStatus();
+                Thread.sleep(DELAY_MILLIS * 5);
+                testFile.delete();
+                waitFor(Status.DELETED, DELAY_MILLIS * 30, PeekLocation.LAST);
+                resetStatus();
+                Thread.sleep(DELAY_MILLIS * 5);
+                writeToFile(testFile);
+                waitFor(Status.CREATED, DELAY_MILLIS * 30, PeekLocation.FIRST);
+            }
+        }
+    }
+
+    @Test
+    public void testParallelFilesInFolder() throws Exception {
+        final File otherFile = new File(testDir, "testReload2.properties");
+        writeToFile(testFile);
+        writeToFile(otherFile);
+        try (FileObject fileObject = fileSystemManager.resolveFile(testFile.toURI());
+                FileObject otherFileObject = fileSystemManager.resolveFile(otherFile.toURI());
+                DefaultFileMonitor monitor = new DefaultFileMonitor(new TestFileListener())) {
+            monitor.setDelay(DELAY_MILLIS);
+            monitor.setParallelism(2);
+            monitor.addFile(fileObject);
+            monitor.addFile(otherFileObject);
+            monitor.start();
+            Thread.sleep(DELAY_MILLIS * 10);
+            assertTrue(otherFile.setLastModified(System.currentTimeMillis()), "setLastModified succeeded");
+            waitFor(Status.CHANGED, DELAY_MILLIS * 10, PeekLocation.LAST);
+            resetStatus();
+            testFile.delete();
+            waitFor(Status.DELETED, DELAY_MILLIS * 10, PeekLocation.LAST);
+        } finally {
+            otherFile.delete();
+        }
+    }
+
     private void waitFor(final Status expected, final long timeoutMillis, final PeekLocation peekLocation) throws InterruptedException {
         if (expected == getStatus(peekLocation)) {
             return;
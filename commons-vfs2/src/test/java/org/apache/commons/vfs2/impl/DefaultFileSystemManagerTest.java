@@ -27,6 +27,8 @@ import static org.junit.jupiter.api.Assertions.fail;
 import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 
 import org.apache.commons.vfs2.CacheStrategy;
 import org.apache.commons.vfs2.FileName;
@@ -52,6 +54,11 @@ import org.mockito.Mockito;
  */
 public class DefaultFileSystemManagerTest {
 
+    private static List<String> sorted(final String[] schemes) {
+        Arrays.sort(schemes);
+        return Arrays.asList(schemes);
+    }
+
     @Test
     public void testAddAndRemoveProvider() throws FileSystemException {
         try (DefaultFileSystemManager fileSystemManager = new DefaultFileSystemManager()) {
@@ -166,6 +173,26 @@ public class DefaultFileSystemManagerTest {
         }
     }
 
+    @Test
+    public void testGetSchemes() throws FileSystemException {
+        try (DefaultFileSystemManager fileSystemManager = new DefaultFileSystemManager()) {
+            final RamFileProvider provider = new RamFileProvider();
+            fileSystemManager.addProvider(new String[] {"ram", "ram2"}, provider);
+            assertEquals(Arrays.asList("ram", "ram2"), sorted(fileSystemManager.getSchemes()));
+            assertEquals("ram2", fileSystemManager.resolveURI("ram2:///a:b").getScheme());
+            // The array is a copy
+            fileSystemManager.getSchemes()[0] = "changed";
+            assertEquals(Arrays.asList("ram", "ram2"), sorted(fileSystemManager.getSchemes()));
+
+            fileSystemManager.removeProvider("ram2");
+            assertEquals(Arrays.asList("ram"), sorted(fileSystemManager.getSchemes()));
+            assertThrows(FileSystemException.class, () -> fileSystemManager.resolveURI("ram2:///"));
+
+            fileSystemManager.addVirtualFileSystemScheme("virtual:/root");
+            assertEquals(Arrays.asList("ram", "virtual"), sorted(fileSystemManager.getSchemes()));
+        }
+    }
+
     /**
      * Even if the file name is absolute, the base file must be given. This is an inconsistency in the API, but it is documented as such.
      *
@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.vfs2.FileChangeEvent;
+import org.apache.commons.vfs2.FileListener;
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystemManager;
+import org.apache.commons.vfs2.VFS;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link WatchServiceFileMonitor}.
+ */
+public class WatchServiceFileMonitorTest {
+
+    private class TestFileListener implements FileListener {
+
+        @Override
+        public void fileChanged(final FileChangeEvent event) throws Exception {
+            events.add("changed " + event.getFileObject().getName().getBaseName());
+        }
+
+        @Override
+        public void fileCreated(final FileChangeEvent event) throws Exception {
+            events.add("created " + event.getFileObject().getName().getBaseName());
+        }
+
+        @Override
+        public void fileDeleted(final FileChangeEvent event) throws Exception {
+            events.add("deleted " + event.getFileObject().getName().getBaseName());
+        }
+    }
+
+    private static final int DELAY_MILLIS = 100;
+
+    private final Deque<String> events = new ConcurrentLinkedDeque<>();
+
+    private FileSystemManager fileSystemManager;
+
+    private File testDir;
+
+    private File testFile;
+
+    private FileObject resolve(final File file) throws IOException {
+        return fileSystemManager.resolveFile(file.toURI());
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        fileSystemManager = VFS.getManager();
+        testDir = Files.createTempDirectory("vfs-monitor").toFile();
+        testFile = new File(testDir, "test.properties");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(testDir);
+    }
+
+    @Test
+    public void testChildCreatedInRecursiveFolder() throws Exception {
+        final File subDir = new File(testDir, "sub");
+        subDir.mkdir();
+        try (WatchServiceFileMonitor monitor = new WatchServiceFileMonitor(new TestFileListener())) {
+            monitor.setRecursive(true);
+            monitor.addFile(resolve(testDir));
+            monitor.start();
+            writeToFile(new File(subDir, "child.txt"));
+            waitFor("created child.txt");
+            new File(subDir, "child.txt").delete();
+            waitFor("deleted child.txt");
+        }
+    }
+
+    @Test
+    public void testFileAddedWhileStopped() throws Exception {
+        writeToFile(testFile);
+        // In another directory, so that it does not register the directory of the test file again
+        final File subDir = new File(testDir, "sub");
+        subDir.mkdir();
+        final File otherFile = new File(subDir, "other.properties");
+        try (WatchServiceFileMonitor monitor = new WatchServiceFileMonitor(new TestFileListener())) {
+            monitor.addFile(resolve(testFile));
+            monitor.start();
+            monitor.stop();
+            monitor.addFile(resolve(otherFile));
+            monitor.start();
+            writeToFile(otherFile);
+            waitFor("created other.properties");
+            // The file monitored before the stop is still monitored
+            testFile.delete();
+            waitFor("deleted test.properties");
+        }
+    }
+
+    @Test
+    public void testFileCreated() throws Exception {
+        try (WatchServiceFileMonitor monitor = new WatchServiceFileMonitor(new TestFileListener())) {
+            monitor.addFile(resolve(testFile));
+            monitor.start();
+            writeToFile(testFile);
+            waitFor("created test.properties");
+        }
+    }
+
+    @Test
+    public void testFileDeleted() throws Exception {
+        writeToFile(testFile);
+        try (WatchServiceFileMonitor monitor = new WatchServiceFileMonitor(new TestFileListener())) {
+            monitor.addFile(resolve(testFile));
+            monitor.start();
+            testFile.delete();
+            waitFor("deleted test.properties");
+        }
+    }
+
+    @Test
+    public void testFileModified() throws Exception {
+        writeToFile(testFile);
+        try (WatchServiceFileMonitor monitor = new WatchServiceFileMonitor(new TestFileListener())) {
+            monitor.addFile(resolve(testFile));
+            monitor.start();
+            Files.write(testFile.toPath(), "string=value2\n".getBytes(StandardCharsets.UTF_8));
+            waitFor("changed test.properties");
+        }
+    }
+
+    @Test
+    public void testFileMonitorRestarted() throws Exception {
+        try (WatchServiceFileMonitor monitor = new WatchServiceFileMonitor(new TestFileListener())) {
+            monitor.addFile(resolve(testFile));
+            monitor.start();
+            writeToFile(testFile);
+            waitFor("created test.properties");
+            monitor.stop();
+            monitor.start();
+            testFile.delete();
+            waitFor("deleted test.properties");
+        }
+    }
+
+    @Test
+    public void testFolderDeleted() throws Exception {
+        final File subDir = new File(testDir, "sub");
+        subDir.mkdir();
+        writeToFile(new File(subDir, "child.txt"));
+        try (WatchServiceFileMonitor monitor = new WatchServiceFileMonitor(new TestFileListener())) {
+            monitor.setRecursive(true);
+            monitor.addFile(resolve(subDir));
+            monitor.start();
+            FileUtils.deleteDirectory(subDir);
+            waitFor("deleted sub");
+            assertEquals("deleted child.txt", events.peekFirst());
+        }
+    }
+
+    @Test
+    public void testPollsOtherProviders() throws Exception {
+        final FileObject ramFile = fileSystemManager.resolveFile("ram:///monitored.txt");
+        try (WatchServiceFileMonitor monitor = new WatchServiceFileMonitor(new TestFileListener())) {
+            monitor.setDelay(Duration.ofMillis(DELAY_MILLIS));
+            monitor.addFile(ramFile);
+            monitor.start();
+            try (OutputStream out = ramFile.getContent().getOutputStream()) {
+                out.write(1);
+            }
+            waitFor("created monitored.txt");
+        } finally {
+            ramFile.delete();
+        }
+    }
+
+    @Test
+    public void testSlowListenerDoesNotBlockAddFile() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        try (WatchServiceFileMonitor monitor = new WatchServiceFileMonitor(new TestFileListener() {
+            @Override
+            public void fileCreated(final FileChangeEvent event) throws Exception {
+                super.fileCreated(event);
+                release.await();
+            }
+        })) {
+            monitor.addFile(resolve(testFile));
+            monitor.start();
+            writeToFile(testFile);
+            waitFor("created test.properties");
+            final FileObject otherFile = resolve(new File(testDir, "other.properties"));
+            CompletableFuture.runAsync(() -> monitor.addFile(otherFile)).get(10, TimeUnit.SECONDS);
+            CompletableFuture.runAsync(() -> monitor.removeFile(otherFile)).get(10, TimeUnit.SECONDS);
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void testStopFromListener() throws Exception {
+        final AtomicReference<WatchServiceFileMonitor> monitorRef = new AtomicReference<>();
+        try (WatchServiceFileMonitor monitor = new WatchServiceFileMonitor(new TestFileListener() {
+            @Override
+            public void fileCreated(final FileChangeEvent event) throws Exception {
+                monitorRef.get().stop();
+                events.add("stopped");
+            }
+        })) {
+            monitorRef.set(monitor);
+            monitor.addFile(resolve(testFile));
+            monitor.start();
+            writeToFile(testFile);
+            waitFor("stopped");
+        }
+    }
+
+    private void waitFor(final String expected) throws InterruptedException {
+        // The WatchService polls on platforms without native support
+        for (int i = 0; i < 200 && !events.contains(expected); i++) {
+            Thread.sleep(DELAY_MILLIS);
+        }
+        assertNotNull(events.peekLast(), "No event occurred");
+        assertEquals(expected, events.stream().filter(expected::equals).findFirst().orElse(null),
+            "Incorrect events " + events);
+    }
+
+    private void writeToFile(final File file) throws IOException {
+        Files.write(file.toPath(), "string=value1".getBytes(StandardCharsets.UTF_8));
+    }
+}
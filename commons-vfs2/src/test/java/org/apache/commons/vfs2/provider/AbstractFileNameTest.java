@@ -17,13 +17,44 @@
 package org.apache.commons.vfs2.provider;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 import org.apache.commons.vfs2.FileName;
+import org.apache.commons.vfs2.FileSystemException;
 import org.apache.commons.vfs2.FileType;
+import org.apache.commons.vfs2.NameScope;
+import org.apache.commons.vfs2.impl.DefaultFileSystemManager;
+import org.apache.commons.vfs2.provider.ram.RamFileProvider;
 import org.junit.jupiter.api.Test;
 
 public class AbstractFileNameTest {
 
+    @Test
+    public void testCreateChildName() throws FileSystemException {
+        try (DefaultFileSystemManager manager = new DefaultFileSystemManager()) {
+            manager.addProvider("ram", new RamFileProvider());
+            manager.init();
+            for (final String parent : new String[] {"ram:///", "ram:///some/folder"}) {
+                final AbstractFileName parentName = (AbstractFileName) manager.resolveURI(parent);
+                for (final String child : new String[] {"file.txt", "a b", "ram:name", ".hidden", "..."}) {
+                    final FileName childName = parentName.createChildName(child, FileType.FILE);
+                    assertEquals(manager.resolveName(parentName, "./" + child, NameScope.CHILD), childName);
+                    assertEquals(childName.getURI(), manager.resolveName(parentName, "./" + child).getURI());
+                    assertEquals(FileType.FILE, childName.getType());
+                    assertEquals(parentName, childName.getParent());
+                }
+                assertEquals(FileType.FOLDER, parentName.createChildName("folder", FileType.FOLDER).getType());
+                // Names that need to be normalized are left to the parser
+                for (final String child : new String[] {"", ".", "..", "a/b", "a\\b", "a%20b", "a?b", "a!b"}) {
+                    assertNull(parentName.createChildName(child, FileType.FILE), child);
+                }
+            }
+            final GenericURLFileName urlName = new GenericURLFileName("http", "localhost", 80, 80, null, null, "/path",
+                FileType.FOLDER, "query=test");
+            assertNull(urlName.createChildName("file.txt", FileType.FILE));
+        }
+    }
+
     @Test
     public void testHashSignEncoded() {
         final AbstractFileName fileName = new AbstractFileName("file", "/foo/bar/file#name.txt", FileType.FILE) {
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.FileType;
+import org.apache.commons.vfs2.impl.StandardFileSystemManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the contention between a thread repeatedly listing a large folder and threads querying the type of
+ * unrelated files of the same file system.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Group)
+public class AbstractFileObjectBenchmark {
+
+    private static final int FILE_COUNT = 1024;
+
+    private StandardFileSystemManager manager;
+
+    private FileObject listedFolder;
+
+    private FileObject[] files;
+
+    @Benchmark
+    @Group("listAndGetType")
+    @GroupThreads(7)
+    public FileType getType() throws FileSystemException {
+        final FileObject file = files[ThreadLocalRandom.current().nextInt(FILE_COUNT)];
+        file.refresh();
+        return file.getType();
+    }
+
+    @Benchmark
+    @Group("listAndGetType")
+    @GroupThreads(1)
+    public FileObject[] listChildren() throws FileSystemException {
+        listedFolder.refresh();
+        return listedFolder.getChildren();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws FileSystemException {
+        manager = new StandardFileSystemManager();
+        manager.init();
+        listedFolder = manager.resolveFile("ram:///listed");
+        for (int i = 0; i < FILE_COUNT; i++) {
+            listedFolder.resolveFile("child" + i + ".txt").createFile();
+        }
+        files = new FileObject[FILE_COUNT];
+        for (int i = 0; i < FILE_COUNT; i++) {
+            files[i] = manager.resolveFile("ram:///other/dir" + i % 32 + "/file" + i + ".txt");
+            files[i].createFile();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        manager.close();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider;
+
+import java.io.File;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.commons.vfs2.FileName;
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystem;
+import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.impl.StandardFileSystemManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link FileSystem#resolveFile(FileName)} throughput when many threads resolve files on the same file
+ * system.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Threads(Threads.MAX)
+public class AbstractFileSystemBenchmark {
+
+    private static final int NAME_COUNT = 4096;
+
+    @Param({"ram", "file"})
+    private String scheme;
+
+    private StandardFileSystemManager manager;
+
+    private FileSystem fileSystem;
+
+    private FileName[] names;
+
+    @Benchmark
+    public FileObject resolveFile() throws FileSystemException {
+        return fileSystem.resolveFile(names[ThreadLocalRandom.current().nextInt(NAME_COUNT)]);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws FileSystemException {
+        manager = new StandardFileSystemManager();
+        manager.init();
+        final String rootUri = "file".equals(scheme) ? new File(System.getProperty("java.io.tmpdir")).toURI().toString() : "ram:///";
+        final FileObject root = manager.resolveFile(rootUri);
+        fileSystem = root.getFileSystem();
+        names = new FileName[NAME_COUNT];
+        for (int i = 0; i < NAME_COUNT; i++) {
+            names[i] = manager.resolveName(root.getName(), "vfs-benchmark/dir" + i % 64 + "/file" + i + ".txt");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        manager.close();
+    }
+}
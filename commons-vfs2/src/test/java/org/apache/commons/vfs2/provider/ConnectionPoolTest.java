@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.vfs2.FileSystemException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link ConnectionPool}.
+ */
+public class ConnectionPoolTest {
+
+    private static final class Connection {
+
+        private boolean open = true;
+        private boolean broken;
+    }
+
+    private static final class TestPool extends ConnectionPool<Connection> {
+
+        private int validated;
+
+        TestPool(final int minIdle, final int maxTotal, final Duration acquireTimeout, final Duration idleTimeout,
+                final boolean validateOnBorrow) {
+            super("test://", minIdle, maxTotal, acquireTimeout, idleTimeout, validateOnBorrow, true);
+        }
+
+        @Override
+        protected Connection create() {
+            return new Connection();
+        }
+
+        @Override
+        protected void destroy(final Connection connection) {
+            connection.open = false;
+        }
+
+        @Override
+        protected boolean isOpen(final Connection connection) {
+            return connection.open;
+        }
+
+        @Override
+        protected boolean validate(final Connection connection) {
+            validated++;
+            return !connection.broken;
+        }
+    }
+
+    @Test
+    public void testAcquireTimeout() throws Exception {
+        final TestPool pool = new TestPool(0, 2, Duration.ofMillis(50), null, false);
+        pool.borrow();
+        pool.borrow();
+        assertThrows(FileSystemException.class, pool::borrow);
+        assertEquals(2, pool.getActiveCount());
+        assertTrue(pool.getWaitTime().toMillis() >= 50);
+    }
+
+    @Test
+    public void testIdleTimeout() throws Exception {
+        final TestPool pool = new TestPool(1, 0, null, Duration.ofMillis(1), false);
+        final Connection first = pool.borrow();
+        final Connection second = pool.borrow();
+        final Connection third = pool.borrow();
+        pool.release(first);
+        pool.release(second);
+        pool.release(third);
+        Thread.sleep(20);
+        // The oldest idle connections are closed, keeping the minimum number of idle connections
+        assertSame(third, pool.borrow());
+        assertFalse(first.open);
+        assertFalse(second.open);
+        assertEquals(2, pool.getDestroyedCount());
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        final TestPool pool = new TestPool(0, 1, Duration.ofMillis(50), null, false);
+        final Connection connection = pool.borrow();
+        pool.invalidate(connection);
+        assertFalse(connection.open);
+        assertNotSame(connection, pool.borrow());
+        assertEquals(2, pool.getCreatedCount());
+        assertEquals(1, pool.getDestroyedCount());
+    }
+
+    @Test
+    public void testReleaseClosedConnection() throws Exception {
+        final TestPool pool = new TestPool(0, 0, null, null, false);
+        final Connection connection = pool.borrow();
+        connection.open = false;
+        pool.release(connection);
+        assertEquals(0, pool.getIdleCount());
+        assertEquals(1, pool.getDestroyedCount());
+        assertNotSame(connection, pool.borrow());
+    }
+
+    @Test
+    public void testReleaseUnknownConnection() throws Exception {
+        final TestPool pool = new TestPool(0, 0, null, null, false);
+        final Connection connection = new Connection();
+        pool.release(connection);
+        assertEquals(1, pool.getIdleCount());
+        assertEquals(1, pool.getCreatedCount());
+        assertSame(connection, pool.borrow());
+    }
+
+    @Test
+    public void testReuse() throws Exception {
+        final TestPool pool = new TestPool(0, 0, null, null, false);
+        final Connection connection = pool.borrow();
+        assertEquals(1, pool.getActiveCount());
+        pool.release(connection);
+        assertEquals(0, pool.getActiveCount());
+        assertEquals(1, pool.getIdleCount());
+        for (int i = 0; i < 3; i++) {
+            final Connection borrowed = pool.borrow();
+            assertSame(connection, borrowed);
+            pool.release(borrowed);
+        }
+        assertEquals(1, pool.getCreatedCount());
+        assertEquals(0, pool.getDestroyedCount());
+    }
+
+    @Test
+    public void testValidateOnBorrow() throws Exception {
+        final TestPool pool = new TestPool(0, 0, null, null, true);
+        final Connection connection = pool.borrow();
+        pool.release(connection);
+        assertSame(connection, pool.borrow());
+        assertEquals(1, pool.validated);
+        connection.broken = true;
+        pool.release(connection);
+        assertNotSame(connection, pool.borrow());
+        assertFalse(connection.open);
+    }
+
+    @Test
+    public void testWaitForRelease() throws Exception {
+        final TestPool pool = new TestPool(0, 1, null, null, false);
+        final Connection connection = pool.borrow();
+        final CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pool.borrow();
+            } catch (final FileSystemException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(20);
+        assertFalse(waiting.isDone());
+        pool.release(connection);
+        assertSame(connection, waiting.get(10, TimeUnit.SECONDS));
+        assertEquals(1, pool.getCreatedCount());
+    }
+
+    @Test
+    public void testWarmUp() throws Exception {
+        final TestPool pool = new TestPool(2, 4, null, null, false);
+        pool.warmUp();
+        assertEquals(2, pool.getIdleCount());
+        assertEquals(2, pool.getCreatedCount());
+        pool.borrow();
+        pool.borrow();
+        assertEquals(2, pool.getCreatedCount());
+        pool.clear();
+        assertEquals(0, pool.getIdleCount());
+    }
+}
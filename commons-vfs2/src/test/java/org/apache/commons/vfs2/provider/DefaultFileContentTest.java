@@ -18,6 +18,7 @@ package org.apache.commons.vfs2.provider;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -29,6 +30,7 @@ import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Random;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.io.IOUtils;
@@ -37,6 +39,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.function.FailableFunction;
 import org.apache.commons.vfs2.FileContent;
 import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystemException;
 import org.apache.commons.vfs2.FileSystemManager;
 import org.apache.commons.vfs2.VFS;
 import org.junit.jupiter.api.Test;
@@ -205,4 +208,43 @@ public class DefaultFileContentTest {
         }
     }
 
+    @Test
+    public void testWriteLocalFile() throws Exception {
+        final byte[] data = new byte[3 * 1024 * 1024 + 17];
+        new Random(42).nextBytes(data);
+        final Path src = Files.write(Files.createTempFile("temp-file-name", ".tmp"), data);
+        final Path dest = Files.createTempFile("temp-file-name", ".tmp");
+        Files.write(dest, new byte[5 * 1024 * 1024]);
+        final FileSystemManager fileSystemManager = VFS.getManager();
+
+        try (FileObject srcFile = fileSystemManager.resolveFile(src.toAbsolutePath().toString());
+                FileObject destFile = fileSystemManager.resolveFile(dest.toAbsolutePath().toString())) {
+            assertEquals(data.length, srcFile.getContent().write(destFile));
+            assertFalse(srcFile.isContentOpen());
+            assertFalse(destFile.isContentOpen());
+            assertEquals(data.length, destFile.getContent().getSize());
+            assertArrayEquals(data, Files.readAllBytes(dest));
+        } finally {
+            Files.delete(src);
+            Files.delete(dest);
+        }
+    }
+
+    @Test
+    public void testWriteLocalFileInUse() throws Exception {
+        final Path src = Files.write(Files.createTempFile("temp-file-name", ".tmp"),
+            expected.getBytes(StandardCharsets.UTF_8));
+        final Path dest = Files.createTempFile("temp-file-name", ".tmp");
+        final FileSystemManager fileSystemManager = VFS.getManager();
+
+        try (FileObject srcFile = fileSystemManager.resolveFile(src.toAbsolutePath().toString());
+                FileObject destFile = fileSystemManager.resolveFile(dest.toAbsolutePath().toString());
+                OutputStream output = destFile.getContent().getOutputStream()) {
+            assertThrows(FileSystemException.class, () -> srcFile.getContent().write(destFile));
+            assertFalse(srcFile.isContentOpen());
+        } finally {
+            Files.delete(src);
+            Files.delete(dest);
+        }
+    }
 }
@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.apache.commons.vfs2.FileCopyListener;
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSelector;
+import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.FileSystemOptions;
+import org.apache.commons.vfs2.Selectors;
+import org.apache.commons.vfs2.impl.DefaultFileSystemConfigBuilder;
+import org.apache.commons.vfs2.impl.DefaultFileSystemManager;
+import org.apache.commons.vfs2.provider.ram.RamFileProvider;
+import org.apache.commons.vfs2.provider.ram.RamFileSystemConfigBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link AbstractFileObject#copyFrom(FileObject, FileSelector, FileCopyListener)} with and without a copy
+ * parallelism.
+ */
+public class FileCopierTest {
+
+    private DefaultFileSystemManager manager;
+
+    private FileObject srcRoot;
+
+    private static List<String> list(final FileObject root) throws IOException {
+        final List<FileObject> selected = new ArrayList<>();
+        root.findFiles(Selectors.SELECT_ALL, false, selected);
+        final List<String> names = new ArrayList<>();
+        for (final FileObject file : selected) {
+            final String name = root.getName().getRelativeName(file.getName());
+            names.add(file.isFile() ? name + "=" + file.getContent().getString(StandardCharsets.UTF_8) : name);
+        }
+        // RAM folders list their children in creation order
+        Collections.sort(names);
+        return names;
+    }
+
+    private static void write(final FileObject file, final String content) throws IOException {
+        try (OutputStream out = file.getContent().getOutputStream()) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private FileObject resolveDest(final String path, final int parallelism) throws FileSystemException {
+        final FileSystemOptions options = new FileSystemOptions();
+        DefaultFileSystemConfigBuilder.getInstance().setCopyParallelism(options, parallelism);
+        return manager.resolveFile("ram:///" + path, options);
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        manager = new DefaultFileSystemManager();
+        manager.addProvider("ram", new RamFileProvider());
+        manager.init();
+        srcRoot = manager.resolveFile("ram:///src");
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 4; j++) {
+                write(srcRoot.resolveFile("dir" + i + "/sub" + j + "/file.txt"), "file " + i + j);
+            }
+            srcRoot.resolveFile("dir" + i + "/empty").createFolder();
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        manager.close();
+    }
+
+    private void testCopyIntoDescendant(final FileObject root) throws Exception {
+        final List<String> expected = list(root);
+        final FileObject destRoot = root.resolveFile("dir0/copy");
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> destRoot.copyFrom(root, Selectors.SELECT_ALL));
+        assertEquals(expected, list(destRoot));
+        assertFalse(destRoot.resolveFile("dir0/copy").exists());
+    }
+
+    @Test
+    public void testCloseDuringParallelCopy() throws Exception {
+        final FileObject destRoot = resolveDest("dest", 2);
+        final CountDownLatch started = new CountDownLatch(2);
+        final CountDownLatch release = new CountDownLatch(1);
+        // Holds both copy threads until the file system is closed, with more files queued
+        final FileCopyListener listener = (srcFile, destFile, size) -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        };
+        final ExecutorService closer = Executors.newSingleThreadExecutor();
+        try {
+            closer.execute(() -> {
+                try {
+                    started.await();
+                    manager.closeFileSystem(destRoot.getFileSystem());
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertTimeoutPreemptively(Duration.ofSeconds(30),
+                () -> assertThrows(FileSystemException.class,
+                    () -> destRoot.copyFrom(srcRoot, Selectors.SELECT_ALL, listener)));
+        } finally {
+            release.countDown();
+            closer.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCopyIntoDescendant() throws Exception {
+        testCopyIntoDescendant(srcRoot);
+    }
+
+    @Test
+    public void testListenerFailure() throws Exception {
+        final FileObject destRoot = resolveDest("dest", 4);
+        final AtomicInteger copied = new AtomicInteger();
+        final FileCopyListener listener = (srcFile, destFile, size) -> {
+            if (copied.incrementAndGet() == 3) {
+                throw new IllegalStateException();
+            }
+        };
+        final FileSystemException e = assertThrows(FileSystemException.class,
+            () -> destRoot.copyFrom(srcRoot, Selectors.SELECT_ALL, listener));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    @Test
+    public void testParallelCopy() throws Exception {
+        final FileObject destRoot = resolveDest("dest", 4);
+        final Map<String, Long> sizes = new ConcurrentHashMap<>();
+        destRoot.copyFrom(srcRoot, Selectors.SELECT_ALL, (srcFile, destFile, size) -> {
+            assertEquals(srcRoot.getName().getRelativeName(srcFile.getName()),
+                destRoot.getName().getRelativeName(destFile.getName()));
+            assertNull(sizes.put(srcFile.getName().getPath(), size));
+        });
+        assertEquals(list(srcRoot), list(destRoot));
+        assertEquals(16, sizes.size());
+        assertTrue(sizes.values().stream().allMatch(size -> size == "file 00".length()));
+    }
+
+    @Test
+    public void testParallelCopyIntoDescendant() throws Exception {
+        final FileObject root = resolveDest("parallel", 4);
+        root.copyFrom(srcRoot, Selectors.SELECT_ALL);
+        testCopyIntoDescendant(root);
+    }
+
+    @Test
+    public void testParallelCopiesShareThreads() throws Exception {
+        final Set<String> threads = ConcurrentHashMap.newKeySet();
+        final FileCopyListener listener = (srcFile, destFile, size) -> threads.add(Thread.currentThread().getName());
+        resolveDest("dest1", 2).copyFrom(srcRoot, Selectors.SELECT_ALL, listener);
+        resolveDest("dest2", 2).copyFrom(srcRoot, Selectors.SELECT_ALL, listener);
+        // Both copies run on the copy threads of the destination file system
+        assertTrue(threads.size() <= 2, threads::toString);
+    }
+
+    @Test
+    public void testParallelCopyReplacesFiles() throws Exception {
+        final FileObject destRoot = resolveDest("dest", 4);
+        destRoot.resolveFile("dir0/sub0").createFile();
+        write(destRoot.resolveFile("dir1/sub1/file.txt"), "old content");
+        destRoot.copyFrom(srcRoot, Selectors.SELECT_ALL, null);
+        assertEquals(list(srcRoot), list(destRoot));
+    }
+
+    @Test
+    public void testServerSideCopy() throws Exception {
+        final FileObject destRoot = manager.resolveFile("ram:///dest");
+        assertSame(srcRoot.getFileSystem(), destRoot.getFileSystem());
+        write(destRoot.resolveFile("dir1/sub1/file.txt"), "old content");
+        final Map<String, Long> sizes = new ConcurrentHashMap<>();
+        destRoot.copyFrom(srcRoot, Selectors.SELECT_ALL,
+            (srcFile, destFile, size) -> assertNull(sizes.put(srcFile.getName().getPath(), size)));
+        assertEquals(list(srcRoot), list(destRoot));
+        assertEquals(16, sizes.size());
+        assertTrue(sizes.values().stream().allMatch(size -> size == "file 00".length()));
+        // The copy does not share the content of the source
+        write(srcRoot.resolveFile("dir0/sub0/file.txt"), "new content");
+        assertEquals("file 00",
+            destRoot.resolveFile("dir0/sub0/file.txt").getContent().getString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testServerSideCopyMaxSize() throws Exception {
+        final FileSystemOptions options = new FileSystemOptions();
+        RamFileSystemConfigBuilder.getInstance().setMaxSize(options, 10L);
+        final FileObject root = manager.resolveFile("ram:///", options);
+        final FileObject srcFile = root.resolveFile("src.txt");
+        write(srcFile, "0123456");
+        final FileObject destFile = root.resolveFile("dest.txt");
+        assertThrows(FileSystemException.class, () -> destFile.copyFrom(srcFile, Selectors.SELECT_SELF));
+    }
+
+    @Test
+    public void testSequentialMatchesParallel() throws Exception {
+        final FileObject sequentialRoot = resolveDest("sequential", 0);
+        final FileObject parallelRoot = resolveDest("parallel", 4);
+        final List<String> sequentialFiles = new ArrayList<>();
+        sequentialRoot.copyFrom(srcRoot, Selectors.SELECT_FILES,
+            (srcFile, destFile, size) -> sequentialFiles.add(destFile.getName().getBaseName()));
+        parallelRoot.copyFrom(srcRoot, Selectors.SELECT_FILES, null);
+        assertEquals(16, sequentialFiles.size());
+        assertEquals(list(sequentialRoot), list(parallelRoot));
+        assertEquals(list(srcRoot).stream().filter(name -> name.contains("=")).collect(Collectors.toList()),
+            list(parallelRoot).stream().filter(name -> name.contains("=")).collect(Collectors.toList()));
+    }
+}
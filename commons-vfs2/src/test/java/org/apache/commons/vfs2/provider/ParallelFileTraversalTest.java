@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSelectInfo;
+import org.apache.commons.vfs2.FileSelector;
+import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.FileSystemOptions;
+import org.apache.commons.vfs2.FileType;
+import org.apache.commons.vfs2.FileTypeSelector;
+import org.apache.commons.vfs2.Selectors;
+import org.apache.commons.vfs2.impl.DefaultFileSystemConfigBuilder;
+import org.apache.commons.vfs2.impl.DefaultFileSystemManager;
+import org.apache.commons.vfs2.provider.ram.RamFileProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link AbstractFileObject#findFiles(FileSelector, boolean, List)} on file systems configured with a traversal
+ * parallelism against the sequential traversal.
+ */
+public class ParallelFileTraversalTest {
+
+    private DefaultFileSystemManager manager;
+
+    private FileObject sequentialRoot;
+
+    private static List<String> find(final FileObject root, final FileSelector selector, final boolean depthwise)
+            throws FileSystemException {
+        final List<FileObject> selected = new ArrayList<>();
+        root.findFiles(selector, depthwise, selected);
+        return selected.stream().map(file -> file.getName().getPath()).collect(Collectors.toList());
+    }
+
+    private FileObject createTree(final FileSystemOptions options) throws FileSystemException {
+        final FileObject root = manager.resolveFile("ram:///tree", options);
+        for (int i = 0; i < 8; i++) {
+            for (int j = 0; j < 8; j++) {
+                root.resolveFile("dir" + i + "/sub" + j + "/file.txt").createFile();
+            }
+            root.resolveFile("dir" + i + "/file" + i + ".txt").createFile();
+            root.resolveFile("dir" + i + "/empty").createFolder();
+        }
+        return root;
+    }
+
+    private FileObject createTree(final int parallelism, final boolean ordered) throws FileSystemException {
+        final FileSystemOptions options = new FileSystemOptions();
+        DefaultFileSystemConfigBuilder.getInstance().setTraversalParallelism(options, parallelism);
+        DefaultFileSystemConfigBuilder.getInstance().setTraversalOrdered(options, ordered);
+        return createTree(options);
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        manager = new DefaultFileSystemManager();
+        manager.addProvider("ram", new RamFileProvider());
+        manager.init();
+        sequentialRoot = createTree(null);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        manager.close();
+    }
+
+    @Test
+    public void testCloseDuringTraversal() throws Exception {
+        final FileObject parallelRoot = createTree(2, true);
+        final ExecutorService executor = ((AbstractFileObject<?>) parallelRoot).getAbstractFileSystem()
+            .getTraversalExecutor();
+        final CountDownLatch release = new CountDownLatch(1);
+        // Holds both traversal threads so the listings stay queued until the file system is closed
+        for (int i = 0; i < 2; i++) {
+            executor.execute(() -> {
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        final CountDownLatch traversing = new CountDownLatch(1);
+        final FileSelector selector = new FileSelector() {
+            @Override
+            public boolean includeFile(final FileSelectInfo fileInfo) {
+                return true;
+            }
+
+            @Override
+            public boolean traverseDescendents(final FileSelectInfo fileInfo) {
+                traversing.countDown();
+                return true;
+            }
+        };
+        final ExecutorService closer = Executors.newSingleThreadExecutor();
+        try {
+            closer.execute(() -> {
+                try {
+                    traversing.await();
+                    manager.closeFileSystem(parallelRoot.getFileSystem());
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertTimeoutPreemptively(Duration.ofSeconds(30),
+                () -> assertThrows(FileSystemException.class, () -> find(parallelRoot, selector, true)));
+        } finally {
+            release.countDown();
+            closer.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testOrderedMatchesSequential() throws Exception {
+        final FileObject parallelRoot = createTree(4, true);
+        assertNotNull(((AbstractFileObject<?>) parallelRoot).getAbstractFileSystem().getTraversalExecutor());
+        for (final boolean depthwise : new boolean[] {true, false}) {
+            for (final FileSelector selector : new FileSelector[] {Selectors.SELECT_ALL, Selectors.SELECT_FILES,
+                Selectors.SELECT_CHILDREN, Selectors.EXCLUDE_SELF, new FileTypeSelector(FileType.FOLDER)}) {
+                assertEquals(find(sequentialRoot, selector, depthwise), find(parallelRoot, selector, depthwise));
+            }
+        }
+    }
+
+    @Test
+    public void testSelectorCalledOnCallingThread() throws Exception {
+        final FileObject parallelRoot = createTree(4, true);
+        final Thread caller = Thread.currentThread();
+        final FileSelector selector = new FileSelector() {
+            @Override
+            public boolean includeFile(final FileSelectInfo fileInfo) {
+                assertSame(caller, Thread.currentThread());
+                return true;
+            }
+
+            @Override
+            public boolean traverseDescendents(final FileSelectInfo fileInfo) {
+                assertSame(caller, Thread.currentThread());
+                return fileInfo.getDepth() < 2;
+            }
+        };
+        assertEquals(find(sequentialRoot, selector, true), find(parallelRoot, selector, true));
+    }
+
+    @Test
+    public void testSelectorFailure() throws Exception {
+        final FileObject parallelRoot = createTree(4, true);
+        final FileSelector selector = new FileSelector() {
+            @Override
+            public boolean includeFile(final FileSelectInfo fileInfo) {
+                return true;
+            }
+
+            @Override
+            public boolean traverseDescendents(final FileSelectInfo fileInfo) {
+                if (fileInfo.getDepth() == 2) {
+                    throw new IllegalStateException();
+                }
+                return true;
+            }
+        };
+        final FileSystemException e = assertThrows(FileSystemException.class, () -> find(parallelRoot, selector, true));
+        assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void testUnorderedFindsSameFiles() throws Exception {
+        final FileObject parallelRoot = createTree(4, false);
+        final List<String> expected = find(sequentialRoot, Selectors.SELECT_ALL, true);
+        final List<String> actual = find(parallelRoot, Selectors.SELECT_ALL, true);
+        assertEquals(expected.size(), actual.size());
+        assertTrue(actual.containsAll(expected));
+        assertFalse(find(parallelRoot, Selectors.SELECT_FILES, true).isEmpty());
+    }
+}
@@ -16,22 +16,36 @@
  */
 package org.apache.commons.vfs2.provider;
 
+import org.apache.commons.vfs2.FileName;
+import org.apache.commons.vfs2.FileObject;
 import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.impl.DefaultFileSystemManager;
+import org.apache.commons.vfs2.provider.ram.RamFileProvider;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Warmup;
 
 @BenchmarkMode(Mode.Throughput)
 @Warmup(iterations = 2)
 @Measurement(iterations = 5)
+@State(Scope.Benchmark)
 public class UriParserBenchmark {
 
     private static final String PATH_TO_NORMALIZE = "file:///this/../is/a%2flong%2Fpath/./for testing/normlisePath%2fmethod.txt";
     private static final String[] SCHEMES = {"file", "ftp", "ftps", "webdav", "temp", "ram", "http", "https", "sftp", "zip", "jar", "tgz", "gz"};
     private static final String PATH_TO_ENCODE = "file:///this/is/path/to/encode/for/testing/encode.perf";
     private static final char[] ENCODE_RESERVED = new char[] {' ', '#'};
+    private static final String URI_TO_RESOLVE = "ram:///this/is/a/long/path/for/testing/resolveFile.txt";
+    private static final String NAME_TO_RESOLVE = "is/a/long/path/for/testing/resolveName.txt";
+
+    private DefaultFileSystemManager manager;
+    private FileName baseName;
 
     public void encode() throws FileSystemException {
         UriParser.encode(PATH_TO_ENCODE, ENCODE_RESERVED);
@@ -48,4 +62,28 @@ public class UriParserBenchmark {
         UriParser.fixSeparators(path);
         UriParser.normalisePath(path);
     }
+
+    @Benchmark
+    public FileObject resolveFile() throws FileSystemException {
+        return manager.resolveFile(URI_TO_RESOLVE);
+    }
+
+    @Benchmark
+    public FileName resolveName() throws FileSystemException {
+        return manager.resolveName(baseName, NAME_TO_RESOLVE);
+    }
+
+    @Setup
+    public void setUp() throws FileSystemException {
+        manager = new DefaultFileSystemManager();
+        // One provider for all schemes, only the size of the scheme table matters
+        manager.addProvider(SCHEMES, new RamFileProvider());
+        manager.init();
+        baseName = manager.resolveFile("ram:///this").getName();
+    }
+
+    @TearDown
+    public void tearDown() {
+        manager.close();
+    }
 }
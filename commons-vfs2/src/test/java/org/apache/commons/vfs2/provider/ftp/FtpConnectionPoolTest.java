@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider.ftp;
+
+import static org.apache.commons.vfs2.VfsTestUtils.getTestDirectory;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.FileSystemOptions;
+import org.apache.commons.vfs2.impl.DefaultFileSystemManager;
+import org.apache.commons.vfs2.provider.ConnectionPool;
+import org.apache.ftpserver.ftplet.FtpException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the pool of connections of {@link FtpFileSystem} against the embedded FTP server, opening more streams at once
+ * than {@link FtpFileSystemConfigBuilder#setMaxConnections(FileSystemOptions, int)} allows.
+ */
+public class FtpConnectionPoolTest {
+
+    private static final int MAX_CONNECTIONS = 2;
+
+    private static final String CONTENT = "This is a test file.";
+
+    @BeforeAll
+    public static void setUpClass() throws FtpException {
+        FtpProviderTest.setUpClass(getTestDirectory(), null, null);
+    }
+
+    @AfterAll
+    public static void tearDownClass() {
+        FtpProviderTest.tearDownClass();
+    }
+
+    private DefaultFileSystemManager manager;
+
+    private final List<InputStream> streams = new ArrayList<>();
+
+    private ConnectionPool<FtpClient> getClientPool(final FileObject file) {
+        return ((FtpFileSystem) file.getFileSystem()).getClientPool();
+    }
+
+    /**
+     * Opens streams on the file until all the connections of the pool are borrowed.
+     */
+    private void openAllConnections(final FileObject file) throws FileSystemException {
+        for (int i = 0; i < MAX_CONNECTIONS; i++) {
+            streams.add(file.getContent().getInputStream());
+        }
+        assertEquals(MAX_CONNECTIONS, getClientPool(file).getActiveCount());
+    }
+
+    private String read(final FileObject file) throws Exception {
+        try (InputStream inputStream = file.getContent().getInputStream()) {
+            return IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+        }
+    }
+
+    private FileObject resolveFile(final Duration acquireTimeout) throws FileSystemException {
+        final FileSystemOptions options = new FileSystemOptions();
+        final FtpFileSystemConfigBuilder builder = FtpFileSystemConfigBuilder.getInstance();
+        builder.setPassiveMode(options, true);
+        builder.setMaxConnections(options, MAX_CONNECTIONS);
+        if (acquireTimeout != null) {
+            builder.setConnectionAcquireTimeout(options, acquireTimeout);
+        }
+        final FileObject file = manager.resolveFile(FtpProviderTest.getConnectionUri() + "/read-tests/file1.txt",
+            options);
+        assertTrue(file.exists());
+        return file;
+    }
+
+    @BeforeEach
+    public void setUp() throws FileSystemException {
+        manager = new DefaultFileSystemManager();
+        manager.addProvider("ftp", new FtpFileProvider());
+        manager.init();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        for (final InputStream stream : streams) {
+            stream.close();
+        }
+        manager.close();
+    }
+
+    @Test
+    public void testAcquireTimeout() throws Exception {
+        final Duration acquireTimeout = Duration.ofSeconds(1);
+        final FileObject file = resolveFile(acquireTimeout);
+        final ConnectionPool<FtpClient> pool = getClientPool(file);
+        openAllConnections(file);
+
+        final FileSystemException e = assertThrows(FileSystemException.class, () -> read(file));
+        assertEquals("vfs.provider/connection-pool-timeout.error", e.getCode());
+        assertTrue(pool.getWaitTime().compareTo(acquireTimeout) >= 0, pool::toString);
+        assertEquals(MAX_CONNECTIONS, pool.getActiveCount());
+
+        // The pool still lends the connections given back after a timeout
+        streams.remove(0).close();
+        assertEquals(CONTENT, read(file));
+    }
+
+    @Test
+    public void testAtLeastTwoConnections() throws Exception {
+        final FileSystemOptions options = new FileSystemOptions();
+        FtpFileSystemConfigBuilder.getInstance().setPassiveMode(options, true);
+        FtpFileSystemConfigBuilder.getInstance().setMaxConnections(options, 1);
+        final FileObject file = manager.resolveFile(FtpProviderTest.getConnectionUri() + "/read-tests/file1.txt",
+            options);
+        // Reading the content of a file may check its type with a second connection
+        assertEquals(2, getClientPool(file).getMaxTotal());
+        assertEquals(CONTENT, read(file));
+    }
+
+    @Test
+    public void testBorrowWaitsForRelease() throws Exception {
+        final FileObject file = resolveFile(null);
+        final ConnectionPool<FtpClient> pool = getClientPool(file);
+        openAllConnections(file);
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<String> content = executor.submit(() -> read(file));
+            assertThrows(TimeoutException.class, () -> content.get(500, TimeUnit.MILLISECONDS));
+            assertFalse(content.isDone());
+            assertEquals(MAX_CONNECTIONS, pool.getActiveCount());
+
+            try (InputStream stream = streams.remove(0)) {
+                assertEquals(CONTENT, IOUtils.toString(stream, StandardCharsets.UTF_8));
+            }
+            assertEquals(CONTENT, content.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(pool.getWaitTime().toMillis() >= 500, pool::toString);
+        assertEquals(MAX_CONNECTIONS - 1, pool.getActiveCount());
+        assertTrue(pool.getCreatedCount() <= MAX_CONNECTIONS, pool::toString);
+    }
+}
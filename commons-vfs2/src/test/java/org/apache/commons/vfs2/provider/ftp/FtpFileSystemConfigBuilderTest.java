@@ -17,6 +17,9 @@
 package org.apache.commons.vfs2.provider.ftp;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
@@ -39,6 +42,24 @@ public class FtpFileSystemConfigBuilderTest {
         assertEquals(Range.between(2121, 2125), instance.getActivePortRange(options));
     }
 
+    @Test
+    public void testConnectionPool() {
+        final FtpFileSystemConfigBuilder instance = FtpFileSystemConfigBuilder.getInstance();
+        final FileSystemOptions options = new FileSystemOptions();
+        assertEquals(0, instance.getMaxConnections(options));
+        assertEquals(Duration.ofMinutes(1), instance.getConnectionAcquireTimeout(options));
+        assertNull(instance.getConnectionIdleTimeout(options));
+        assertFalse(instance.getValidateConnectionOnBorrow(options));
+        instance.setMaxConnections(options, 4);
+        instance.setConnectionAcquireTimeout(options, Duration.ofSeconds(10));
+        instance.setConnectionIdleTimeout(options, Duration.ofMinutes(1));
+        instance.setValidateConnectionOnBorrow(options, true);
+        assertEquals(4, instance.getMaxConnections(options));
+        assertEquals(Duration.ofSeconds(10), instance.getConnectionAcquireTimeout(options));
+        assertEquals(Duration.ofMinutes(1), instance.getConnectionIdleTimeout(options));
+        assertTrue(instance.getValidateConnectionOnBorrow(options));
+    }
+
     @Test
     public void testControlEncoding() {
         final FileSystemOptions options = new FileSystemOptions();
@@ -17,6 +17,7 @@
 
 package org.apache.commons.vfs2.provider.gzip;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
@@ -24,16 +25,43 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.GZIPOutputStream;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.vfs2.FileContent;
 import org.apache.commons.vfs2.FileObject;
 import org.apache.commons.vfs2.FileSystemManager;
+import org.apache.commons.vfs2.RandomAccessContent;
 import org.apache.commons.vfs2.VFS;
+import org.apache.commons.vfs2.impl.StandardFileSystemManager;
+import org.apache.commons.vfs2.util.RandomAccessMode;
 import org.junit.jupiter.api.Test;
 
 public class GzipTest {
 
+    private static byte[] content(final int length, final int seed) {
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i * 31 + seed);
+        }
+        return bytes;
+    }
+
+    private static void assertRandomRead(final byte[] expected, final FileObject file) throws IOException {
+        try (RandomAccessContent content = file.getContent().getRandomAccessContent(RandomAccessMode.READ)) {
+            assertEquals(expected.length, content.length());
+            for (final int pos : new int[] {expected.length - 1, 0, expected.length / 2, 7}) {
+                content.seek(pos);
+                assertEquals(expected[pos], content.readByte(), "position " + pos);
+                assertEquals(pos + 1, content.getFilePointer());
+            }
+        }
+    }
+
     @Test
     public void testCreateGzipFileSystem() throws IOException {
         final File gzFile = new File("src/test/resources/test-data/好.txt.gz");
@@ -52,4 +80,36 @@ public class GzipTest {
             }
         }
     }
+
+    @Test
+    public void testRandomAccess() throws IOException {
+        final File gzFile = Files.createTempFile("vfs-gzip", ".txt.gz").toFile();
+        try (StandardFileSystemManager manager = new StandardFileSystemManager()) {
+            manager.init();
+            final byte[] first = content(100_000, 1);
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzFile.toPath()))) {
+                out.write(first);
+            }
+            final String baseName = gzFile.getName().replace(".gz", "");
+            final FileObject file = manager.resolveFile("gz:" + gzFile.toURI() + "!/" + baseName);
+            assertRandomRead(first, file);
+            // Served from the decompressed copy
+            assertRandomRead(first, file);
+            try (InputStream in = file.getContent().getInputStream()) {
+                assertArrayEquals(first, IOUtils.toByteArray(in));
+            }
+
+            // Writing through VFS replaces the decompressed copy
+            final byte[] second = content(50_000, 2);
+            try (OutputStream out = file.getContent().getOutputStream()) {
+                out.write(second);
+            }
+            assertRandomRead(second, file);
+            try (InputStream in = file.getContent().getInputStream()) {
+                assertArrayEquals(second, IOUtils.toByteArray(in));
+            }
+        } finally {
+            gzFile.delete();
+        }
+    }
 }
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider.local;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystemOptions;
+import org.apache.commons.vfs2.RandomAccessContent;
+import org.apache.commons.vfs2.VFS;
+import org.apache.commons.vfs2.util.RandomAccessMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link LocalFileMappedRandomAccessContent}, with small chunks so that values span chunks.
+ */
+public class LocalFileMappedRandomAccessContentTest {
+
+    private static final int CHUNK_SIZE = 8;
+
+    private File file;
+
+    private byte[] data;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        file = Files.createTempFile("vfs-mapped", ".bin").toFile();
+        try (OutputStream out = Files.newOutputStream(file.toPath());
+            DataOutputStream dataOut = new DataOutputStream(out)) {
+            dataOut.writeByte(-1);
+            // spans the first two chunks
+            dataOut.writeLong(0x0102030405060708L);
+            dataOut.writeInt(42);
+            dataOut.writeShort(-2);
+            dataOut.writeChar('x');
+            dataOut.writeDouble(Math.PI);
+            dataOut.writeFloat(1.5f);
+            dataOut.writeBoolean(true);
+            dataOut.writeUTF("mapped");
+        }
+        data = Files.readAllBytes(file.toPath());
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file.toPath());
+    }
+
+    @Test
+    public void testClose() throws IOException {
+        final LocalFileMappedRandomAccessContent content = new LocalFileMappedRandomAccessContent(file, CHUNK_SIZE);
+        content.close();
+        assertThrows(IOException.class, content::readByte);
+    }
+
+    @Test
+    public void testInputStream() throws IOException {
+        try (LocalFileMappedRandomAccessContent content = new LocalFileMappedRandomAccessContent(file, CHUNK_SIZE)) {
+            content.seek(3);
+            assertArrayEquals(Arrays.copyOfRange(data, 3, data.length), IOUtils.toByteArray(content.getInputStream()));
+            assertEquals(IOUtils.EOF, content.getInputStream().read());
+        }
+    }
+
+    @Test
+    public void testMemoryMappedReadOption() throws Exception {
+        final FileSystemOptions options = new FileSystemOptions();
+        LocalFileSystemConfigBuilder.getInstance().setMemoryMappedRead(options, true);
+        try (FileObject fileObject = VFS.getManager().resolveFile(file.toURI().toString(), options);
+            RandomAccessContent content = fileObject.getContent().getRandomAccessContent(RandomAccessMode.READ)) {
+            content.seek(1);
+            assertEquals(0x0102030405060708L, content.readLong());
+            // The length of mapped content is fixed when it is opened
+            Files.write(file.toPath(), new byte[1], StandardOpenOption.APPEND);
+            assertEquals(data.length, content.length());
+        }
+    }
+
+    @Test
+    public void testRead() throws IOException {
+        try (LocalFileMappedRandomAccessContent content = new LocalFileMappedRandomAccessContent(file, CHUNK_SIZE)) {
+            assertEquals(data.length, content.length());
+            assertEquals(-1, content.readByte());
+            assertEquals(0x0102030405060708L, content.readLong());
+            assertEquals(42, content.readInt());
+            assertEquals(-2, content.readShort());
+            assertEquals('x', content.readChar());
+            assertEquals(Math.PI, content.readDouble());
+            assertEquals(1.5f, content.readFloat());
+            assertEquals(true, content.readBoolean());
+            assertEquals("mapped", content.readUTF());
+            assertEquals(data.length, content.getFilePointer());
+            assertThrows(EOFException.class, content::readByte);
+
+            content.seek(13);
+            assertEquals(0xFFFE, content.readUnsignedShort());
+            content.seek(0);
+            assertEquals(0xFF, content.readUnsignedByte());
+            assertEquals(4, content.skipBytes(4));
+            assertEquals(5, content.getFilePointer());
+        }
+    }
+
+    @Test
+    public void testReadBuffer() throws IOException {
+        try (LocalFileMappedRandomAccessContent content = new LocalFileMappedRandomAccessContent(file, CHUNK_SIZE)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(data.length + 10);
+            assertEquals(data.length - 2, content.read(buffer, 2));
+            assertEquals(0, content.getFilePointer());
+            buffer.flip();
+            final byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            assertArrayEquals(Arrays.copyOfRange(data, 2, data.length), bytes);
+            assertEquals(IOUtils.EOF, content.read(ByteBuffer.allocate(1), data.length));
+
+            final byte[] fully = new byte[data.length];
+            content.readFully(fully);
+            assertArrayEquals(data, fully);
+            assertThrows(EOFException.class, () -> content.readFully(new byte[1]));
+        }
+    }
+
+    @Test
+    public void testSetLength() throws IOException {
+        try (LocalFileMappedRandomAccessContent content = new LocalFileMappedRandomAccessContent(file, CHUNK_SIZE)) {
+            assertThrows(UnsupportedOperationException.class, () -> content.setLength(0));
+            assertThrows(UnsupportedOperationException.class, () -> content.writeInt(0));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider.ram;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.commons.vfs2.VFS;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the block storage of {@link RamFileData}.
+ */
+public class RamFileDataTest {
+
+    private static final int BLOCK_SIZE = RamFileData.BLOCK_SIZE;
+
+    private static RamFileData data() throws Exception {
+        return new RamFileData(VFS.getManager().resolveURI("ram:///file"));
+    }
+
+    private static byte[] random(final int length) {
+        final byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static byte[] read(final RamFileData data) {
+        final byte[] bytes = new byte[(int) data.size()];
+        assertEquals(bytes.length == 0 ? -1 : bytes.length, data.read(0, bytes, 0, bytes.length));
+        return bytes;
+    }
+
+    @Test
+    public void testAppend() throws Exception {
+        final RamFileData data = data();
+        final byte[] expected = random(3 * BLOCK_SIZE + 17);
+        // Appends with a length that does not divide the block size
+        for (int position = 0; position < expected.length; position += 1000) {
+            final int len = Math.min(1000, expected.length - position);
+            data.resize(position + len);
+            data.write(position, expected, position, len);
+        }
+        assertEquals(expected.length, data.size());
+        assertArrayEquals(expected, read(data));
+        assertEquals(expected[BLOCK_SIZE] & 0xFF, data.read(BLOCK_SIZE));
+        assertEquals(-1, data.read(expected.length));
+    }
+
+    @Test
+    public void testBuffers() throws Exception {
+        final RamFileData data = data();
+        final byte[] expected = random(2 * BLOCK_SIZE);
+        data.resize(expected.length);
+        final ByteBuffer direct = ByteBuffer.allocateDirect(expected.length);
+        direct.put(expected).flip();
+        data.write(0, direct);
+        final ByteBuffer heap = ByteBuffer.allocate(BLOCK_SIZE);
+        assertEquals(BLOCK_SIZE, data.read(BLOCK_SIZE / 2, heap));
+        assertArrayEquals(Arrays.copyOfRange(expected, BLOCK_SIZE / 2, BLOCK_SIZE / 2 + BLOCK_SIZE), heap.array());
+        assertEquals(-1, data.read(expected.length, heap));
+    }
+
+    @Test
+    public void testCopyContentTo() throws Exception {
+        final RamFileData data = data();
+        final byte[] expected = random(BLOCK_SIZE + 5);
+        data.resize(expected.length);
+        data.write(0, expected, 0, expected.length);
+        final RamFileData copy = data();
+        copy.resize(expected.length);
+        data.copyContentTo(copy);
+        assertArrayEquals(expected, read(copy));
+    }
+
+    @Test
+    public void testTruncateThenGrowWithZeros() throws Exception {
+        final RamFileData data = data();
+        final byte[] bytes = random(2 * BLOCK_SIZE + 10);
+        data.resize(bytes.length);
+        data.write(0, bytes, 0, bytes.length);
+        data.resize(BLOCK_SIZE - 10);
+        assertArrayEquals(Arrays.copyOf(bytes, BLOCK_SIZE - 10), read(data));
+        data.resize(bytes.length);
+        assertArrayEquals(Arrays.copyOf(bytes, BLOCK_SIZE - 10), Arrays.copyOf(read(data), BLOCK_SIZE - 10));
+        assertArrayEquals(new byte[bytes.length - BLOCK_SIZE + 10],
+            Arrays.copyOfRange(read(data), BLOCK_SIZE - 10, bytes.length));
+        data.resize(0);
+        assertArrayEquals(new byte[0], read(data));
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider.ram;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileType;
+import org.apache.commons.vfs2.impl.DefaultFileSystemManager;
+import org.apache.commons.vfs2.provider.AbstractFileObject;
+import org.apache.commons.vfs2.util.FileObjectUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the per file object locking of {@link AbstractFileObject} with the RAM provider.
+ */
+public class RamFileObjectConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    private static final int FILES_PER_THREAD = 50;
+
+    private DefaultFileSystemManager manager;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        manager = new DefaultFileSystemManager();
+        manager.addProvider("ram", new RamFileProvider());
+        manager.init();
+        executor = Executors.newFixedThreadPool(THREADS + 1);
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        manager.close();
+    }
+
+    /**
+     * A slow listing of one folder must only stall that folder, not other files of the same file system.
+     */
+    @Test
+    public void testSlowListingDoesNotBlockOtherFiles() throws Exception {
+        final FileObject busy = manager.resolveFile("ram:///busy");
+        busy.resolveFile("child.txt").createFile();
+        final FileObject other = manager.resolveFile("ram:///other/file.txt");
+        other.createFile();
+        other.refresh();
+        busy.refresh();
+
+        // RamFileSystem lists the children of a folder while holding the monitor of its children collection
+        final Object listingMonitor = ((RamFileObject) FileObjectUtils.getAbstractFileObject(busy)).getData().getChildren();
+        final AtomicReference<Thread> listingThread = new AtomicReference<>();
+        final Future<FileObject[]> listing;
+        synchronized (listingMonitor) {
+            listing = executor.submit(() -> {
+                listingThread.set(Thread.currentThread());
+                return busy.getChildren();
+            });
+            // wait until the listing thread is stuck in the listing
+            while (listingThread.get() == null || listingThread.get().getState() != Thread.State.BLOCKED) {
+                Thread.sleep(10);
+            }
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                assertEquals(FileType.FILE, other.getType());
+                assertEquals(1, other.getParent().getChildren().length);
+            });
+        }
+        assertEquals(1, listing.get().length);
+    }
+
+    /**
+     * Many threads creating, inspecting and deleting files in the same folder must neither deadlock nor lose updates to
+     * the cached children of the folder.
+     */
+    @Test
+    public void testConcurrentCreateListDelete() throws Exception {
+        final FileObject folder = manager.resolveFile("ram:///stress");
+        folder.createFolder();
+        // cache the children so that create and delete notifications have to update them
+        assertEquals(0, folder.getChildren().length);
+
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < FILES_PER_THREAD; i++) {
+                    final FileObject file = folder.resolveFile("sub" + i % 4 + "/t" + thread + "-" + i + ".txt");
+                    file.createFile();
+                    assertEquals(FileType.FILE, file.getType());
+                    assertTrue(file.getParent().getChildren().length > 0);
+                    folder.getChildren();
+                    if (i % 2 == 1) {
+                        assertTrue(file.delete());
+                        assertEquals(FileType.IMAGINARY, file.getType());
+                    }
+                }
+                return null;
+            }));
+        }
+
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        });
+
+        assertEquals(4, folder.getChildren().length);
+        final Set<String> names = new HashSet<>();
+        for (final FileObject sub : folder.getChildren()) {
+            Arrays.stream(sub.getChildren()).forEach(f -> names.add(f.getName().getBaseName()));
+        }
+        assertEquals(THREADS * FILES_PER_THREAD / 2, names.size());
+        for (int t = 0; t < THREADS; t++) {
+            for (int i = 0; i < FILES_PER_THREAD; i += 2) {
+                assertTrue(names.contains("t" + t + "-" + i + ".txt"));
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider.ram;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.apache.commons.vfs2.CacheStrategy;
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.FileSystemOptions;
+import org.apache.commons.vfs2.cache.NullFilesCache;
+import org.apache.commons.vfs2.impl.DefaultFileSystemConfigBuilder;
+import org.apache.commons.vfs2.impl.DefaultFileSystemManager;
+import org.apache.commons.vfs2.provider.AbstractFileSystem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the metadata cache time to live options of {@link DefaultFileSystemConfigBuilder} with the RAM provider.
+ * <p>
+ * The files cache is disabled, so that each resolve returns a new file object for the same file and one of them can
+ * observe changes made through the other.
+ * </p>
+ */
+public class RamFileObjectMetadataCacheTest {
+
+    private DefaultFileSystemManager manager;
+
+    private FileSystemOptions options;
+
+    private static void write(final FileObject file, final String content) throws IOException {
+        try (OutputStream out = file.getContent().getOutputStream()) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private FileObject resolve(final String path) throws FileSystemException {
+        return manager.resolveFile("ram:///" + path, options);
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        manager = new DefaultFileSystemManager();
+        manager.setFilesCache(new NullFilesCache());
+        manager.setCacheStrategy(CacheStrategy.MANUAL);
+        manager.addProvider("ram", new RamFileProvider());
+        manager.init();
+        options = new FileSystemOptions();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        manager.close();
+    }
+
+    @Test
+    public void testContentSizeCachedWithinTimeToLive() throws Exception {
+        DefaultFileSystemConfigBuilder.getInstance().setContentSizeCacheTimeToLive(options, Duration.ofMinutes(10));
+        final FileObject writer = resolve("file.txt");
+        write(writer, "abc");
+        final FileObject reader = resolve("file.txt");
+        final AbstractFileSystem fileSystem = (AbstractFileSystem) reader.getFileSystem();
+
+        assertEquals(3, reader.getContent().getSize());
+        assertEquals(0, fileSystem.getMetadataCacheHitCount());
+        assertEquals(1, fileSystem.getMetadataCacheMissCount());
+
+        write(writer, "abcdef");
+        assertEquals(3, reader.getContent().getSize());
+        assertEquals(1, fileSystem.getMetadataCacheHitCount());
+
+        // writing through the file object itself discards its cached size
+        write(reader, "abcdefgh");
+        assertEquals(8, reader.getContent().getSize());
+
+        reader.refresh();
+        write(writer, "a");
+        assertEquals(1, reader.getContent().getSize());
+    }
+
+    @Test
+    public void testContentSizeExpires() throws Exception {
+        DefaultFileSystemConfigBuilder.getInstance().setContentSizeCacheTimeToLive(options, Duration.ofMillis(1));
+        final FileObject writer = resolve("file.txt");
+        write(writer, "abc");
+        final FileObject reader = resolve("file.txt");
+        assertEquals(3, reader.getContent().getSize());
+
+        write(writer, "abcdef");
+        Thread.sleep(20);
+        assertEquals(6, reader.getContent().getSize());
+    }
+
+    @Test
+    public void testNoTimeToLive() throws Exception {
+        final FileObject writer = resolve("file.txt");
+        write(writer, "abc");
+        final FileObject reader = resolve("file.txt");
+        final AbstractFileSystem fileSystem = (AbstractFileSystem) reader.getFileSystem();
+        assertEquals(3, reader.getContent().getSize());
+        assertTrue(reader.exists());
+        write(writer, "abcdef");
+        assertEquals(6, reader.getContent().getSize());
+        assertEquals(0, fileSystem.getMetadataCacheHitCount());
+        assertEquals(0, fileSystem.getMetadataCacheMissCount());
+    }
+
+    @Test
+    public void testTypeCachedWithinTimeToLive() throws Exception {
+        DefaultFileSystemConfigBuilder.getInstance().setTypeCacheTimeToLive(options, Duration.ofMinutes(10));
+        final FileObject creator = resolve("file.txt");
+        creator.createFile();
+        final FileObject observer = resolve("file.txt");
+        final AbstractFileSystem fileSystem = (AbstractFileSystem) observer.getFileSystem();
+
+        assertTrue(observer.exists());
+        creator.delete();
+        final long hits = fileSystem.getMetadataCacheHitCount();
+        assertTrue(observer.exists());
+        assertEquals(hits + 1, fileSystem.getMetadataCacheHitCount());
+
+        observer.refresh();
+        assertFalse(observer.exists());
+    }
+
+    @Test
+    public void testTypeExpires() throws Exception {
+        DefaultFileSystemConfigBuilder.getInstance().setTypeCacheTimeToLive(options, Duration.ofMillis(1));
+        final FileObject creator = resolve("file.txt");
+        creator.createFile();
+        final FileObject observer = resolve("file.txt");
+        assertTrue(observer.exists());
+
+        creator.delete();
+        Thread.sleep(20);
+        final AbstractFileSystem fileSystem = (AbstractFileSystem) observer.getFileSystem();
+        final long misses = fileSystem.getMetadataCacheMissCount();
+        assertFalse(observer.exists());
+        assertEquals(misses + 1, fileSystem.getMetadataCacheMissCount());
+    }
+
+    @Test
+    public void testChildrenExpire() throws Exception {
+        DefaultFileSystemConfigBuilder.getInstance().setChildrenCacheTimeToLive(options, Duration.ofMillis(200));
+        final FileObject creator = resolve("dir");
+        creator.createFolder();
+        final FileObject observer = resolve("dir");
+        assertEquals(0, observer.getChildren().length);
+
+        resolve("dir/child.txt").createFile();
+        assertEquals(0, observer.getChildren().length);
+        Thread.sleep(300);
+        assertEquals(1, observer.getChildren().length);
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.provider.sftp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.vfs2.Capability;
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.FileSystemOptions;
+import org.apache.commons.vfs2.Selectors;
+import org.apache.commons.vfs2.impl.DefaultFileSystemManager;
+import org.apache.commons.vfs2.provider.ConnectionPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.jcraft.jsch.ChannelSftp;
+
+/**
+ * Tests the pool of channels of {@link SftpFileSystem} against the embedded SFTP server, with fewer channels than the
+ * files read at once.
+ */
+public class SftpChannelPoolTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private DefaultFileSystemManager manager;
+
+    private FileSystemOptions createOptions(final int maxChannels) {
+        final FileSystemOptions options = new FileSystemOptions();
+        final SftpFileSystemConfigBuilder builder = SftpFileSystemConfigBuilder.getInstance();
+        builder.setStrictHostKeyChecking(options, "no");
+        builder.setMaxChannels(options, maxChannels);
+        return options;
+    }
+
+    private ConnectionPool<ChannelSftp> getChannelPool(final FileObject file) {
+        return ((SftpFileSystem) file.getFileSystem()).getChannelPool();
+    }
+
+    private String read(final FileObject file) throws Exception {
+        try (InputStream inputStream = file.getContent().getInputStream()) {
+            return IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+        }
+    }
+
+    private FileObject resolveFile(final String path, final FileSystemOptions options) throws FileSystemException {
+        return manager.resolveFile(SftpTestServerHelper.getConnectionUri() + path, options);
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        SftpTestServerHelper.startServer();
+        manager = new DefaultFileSystemManager();
+        manager.addProvider("sftp", new SftpFileProvider());
+        manager.init();
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        manager.close();
+        SftpTestServerHelper.stopServer();
+    }
+
+    /**
+     * Reads files never stat'ed before from more threads than there are channels. Each read gets the type of its file
+     * before borrowing the channel to read it, so that no reader waits for a channel while holding one.
+     */
+    @Test
+    public void testConcurrentReads() throws Exception {
+        final FileSystemOptions options = createOptions(2);
+        final String[] paths = {"/read-tests/file1.txt", "/read-tests/dir1/file1.txt", "/read-tests/dir1/file2.txt",
+            "/read-tests/dir1/file3.txt"};
+        final ExecutorService executor = Executors.newFixedThreadPool(paths.length);
+        try {
+            final List<Future<String>> contents = new ArrayList<>();
+            for (final String path : paths) {
+                final FileObject file = resolveFile(path, options);
+                contents.add(executor.submit(() -> read(file)));
+            }
+            assertTimeoutPreemptively(TIMEOUT, () -> {
+                for (final Future<String> content : contents) {
+                    content.get();
+                }
+            });
+        } finally {
+            executor.shutdownNow();
+        }
+        final ConnectionPool<ChannelSftp> pool = getChannelPool(resolveFile("/read-tests", options));
+        assertEquals(0, pool.getActiveCount(), pool::toString);
+        assertTrue(pool.getCreatedCount() <= 2, pool::toString);
+    }
+
+    @Test
+    public void testReadWithOneChannel() throws Exception {
+        final FileObject file = resolveFile("/read-tests/file1.txt", createOptions(1));
+        final String content = assertTimeoutPreemptively(TIMEOUT, () -> {
+            return read(file);
+        });
+        assertEquals("This is a test file.", content);
+        assertEquals(0, getChannelPool(file).getActiveCount());
+    }
+
+    /**
+     * Copies a file with the {@code cp} command of the server, which needs no channel, so a single channel is enough.
+     */
+    @Test
+    public void testServerSideCopy() throws Exception {
+        final FileSystemOptions options = createOptions(1);
+        SftpFileSystemConfigBuilder.getInstance().setServerSideCopy(options, true);
+        final FileObject src = resolveFile("/read-tests/file1.txt", options);
+        final FileObject dest = resolveFile("/write-tests/sftp-server-side-copy.txt", options);
+        assertTrue(src.getFileSystem().hasCapability(Capability.COPY_SERVER_SIDE));
+        try {
+            final int copyCount = SftpTestServerHelper.getCopyCount();
+            assertTimeoutPreemptively(TIMEOUT, () -> dest.copyFrom(src, Selectors.SELECT_SELF));
+            assertEquals(copyCount + 1, SftpTestServerHelper.getCopyCount());
+            assertEquals("This is a test file.", read(dest));
+            assertEquals(0, getChannelPool(dest).getActiveCount());
+        } finally {
+            dest.delete();
+        }
+    }
+}
@@ -17,6 +17,8 @@
 package org.apache.commons.vfs2.provider.sftp;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.Duration;
 
@@ -30,6 +32,27 @@ public class SftpFileSystemConfigBuilderTest {
 
     private static final Duration ONE_MINUTE = Duration.ofMinutes(1);
 
+    @Test
+    public void testChannelPool() {
+        final FileSystemOptions options = new FileSystemOptions();
+        final SftpFileSystemConfigBuilder builder = SftpFileSystemConfigBuilder.getInstance();
+        assertEquals(0, builder.getMaxChannels(options));
+        assertEquals(0, builder.getMinIdleChannels(options));
+        assertEquals(Duration.ZERO, builder.getChannelAcquireTimeout(options));
+        assertEquals(Duration.ZERO, builder.getChannelIdleTimeout(options));
+        assertFalse(builder.isValidateChannelOnBorrow(options));
+        builder.setMaxChannels(options, 8);
+        builder.setMinIdleChannels(options, 2);
+        builder.setChannelAcquireTimeout(options, ONE_MINUTE);
+        builder.setChannelIdleTimeout(options, ONE_MINUTE);
+        builder.setValidateChannelOnBorrow(options, true);
+        assertEquals(8, builder.getMaxChannels(options));
+        assertEquals(2, builder.getMinIdleChannels(options));
+        assertEquals(ONE_MINUTE, builder.getChannelAcquireTimeout(options));
+        assertEquals(ONE_MINUTE, builder.getChannelIdleTimeout(options));
+        assertTrue(builder.isValidateChannelOnBorrow(options));
+    }
+
     @Test
     public void testConnectTimeout() {
         final FileSystemOptions options = new FileSystemOptions();
@@ -43,6 +66,15 @@ public class SftpFileSystemConfigBuilderTest {
         assertEquals(ONE_MINUTE.toMillis(), (long) builder.getConnectTimeoutMillis(options));
     }
 
+    @Test
+    public void testServerSideCopy() {
+        final FileSystemOptions options = new FileSystemOptions();
+        final SftpFileSystemConfigBuilder builder = SftpFileSystemConfigBuilder.getInstance();
+        assertFalse(builder.isServerSideCopy(options));
+        builder.setServerSideCopy(options, true);
+        assertTrue(builder.isServerSideCopy(options));
+    }
+
     @Test
     public void testSessionTimeout() {
         final FileSystemOptions options = new FileSystemOptions();
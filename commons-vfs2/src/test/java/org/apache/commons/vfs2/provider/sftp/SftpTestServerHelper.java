@@ -26,6 +26,7 @@ import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.PosixFilePermission;
 import java.security.Principal;
 import java.util.ArrayList;
@@ -38,9 +39,13 @@ import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.file.PathUtils;
+import org.apache.commons.io.function.IOSupplier;
 import org.apache.commons.lang3.Strings;
 import org.apache.sshd.common.file.virtualfs.VirtualFileSystemFactory;
 import org.apache.sshd.server.Environment;
@@ -67,18 +72,41 @@ public final class SftpTestServerHelper {
      */
     private static class TestCommandFactory implements CommandFactory {
 
+        /**
+         * The {@code cp} command run by {@link SftpFileSystem} to copy files on the server.
+         */
+        private static final Pattern COPY_COMMAND = Pattern.compile("(?:cd '(.*)' && )?cp -- '(.*)' '(.*)'");
+
+        private static String unquote(final String arg) {
+            return arg.replace("'\\''", "'");
+        }
+
         @Override
         public Command createCommand(final ChannelSession channel, final String command) throws IOException {
             if (command.startsWith("id -u")) {
-                return createIdCommand("1000");
+                return createCommand(() -> "1000");
             }
             if (command.startsWith("id -G")) {
-                return createIdCommand("1000 1001 1002");
+                return createCommand(() -> "1000 1001 1002");
+            }
+            final Matcher copy = COPY_COMMAND.matcher(command);
+            if (copy.matches()) {
+                final Path home = getTestDirectoryFile().toPath().toAbsolutePath();
+                final Path directory = copy.group(1) == null ? home : home.resolve(unquote(copy.group(1)).replaceFirst("^/+", ""));
+                return createCommand(() -> {
+                    Files.copy(directory.resolve(unquote(copy.group(2))), directory.resolve(unquote(copy.group(3))),
+                        StandardCopyOption.REPLACE_EXISTING);
+                    COPY_COUNT.incrementAndGet();
+                    return null;
+                });
             }
             throw new IOException("Unknown command: " + command);
         }
 
-        private Command createIdCommand(final String output) {
+        /**
+         * Creates a command printing the result of an action, which fails with exit code 1 if the action throws.
+         */
+        private Command createCommand(final IOSupplier<String> action) {
             return new Command() {
 
                 private ExitCallback callback;
@@ -109,8 +137,17 @@ public final class SftpTestServerHelper {
 
                 @Override
                 public void start(final ChannelSession channel, final Environment env) throws IOException {
-                    out.write((output + "\n").getBytes());
-                    out.flush();
+                    final String output;
+                    try {
+                        output = action.get();
+                    } catch (final IOException e) {
+                        callback.onExit(1, e.toString());
+                        return;
+                    }
+                    if (output != null) {
+                        out.write((output + "\n").getBytes());
+                        out.flush();
+                    }
                     callback.onExit(0);
                 }
             };
@@ -226,6 +263,8 @@ public final class SftpTestServerHelper {
         }
     }
 
+    private static final AtomicInteger COPY_COUNT = new AtomicInteger();
+
     private static final String DEFAULT_USER = "testuser";
 
     private static final int TEST_UID = 1000;
@@ -245,6 +284,15 @@ public final class SftpTestServerHelper {
         return connectionUri;
     }
 
+    /**
+     * Gets the number of files copied on the server with the {@code cp} command.
+     *
+     * @return The number of files copied by the server.
+     */
+    public static int getCopyCount() {
+        return COPY_COUNT.get();
+    }
+
     /**
      * Checks if the server is running.
      *
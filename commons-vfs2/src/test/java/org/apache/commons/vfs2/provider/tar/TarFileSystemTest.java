@@ -16,19 +16,107 @@
  */
 package org.apache.commons.vfs2.provider.tar;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
-
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.vfs2.FileObject;
 import org.apache.commons.vfs2.FileSystemException;
 import org.apache.commons.vfs2.FilesCache;
+import org.apache.commons.vfs2.Selectors;
 import org.apache.commons.vfs2.cache.WeakRefFilesCache;
 import org.apache.commons.vfs2.impl.StandardFileSystemManager;
+import org.apache.commons.vfs2.util.FileObjectUtils;
 import org.junit.jupiter.api.Test;
 
 public class TarFileSystemTest {
 
+    private static byte[] expectedContent(final FileObject file) throws IOException {
+        final String path = file.getName().getPathDecoded().substring(1);
+        return Files.readAllBytes(new File("src/test/resources/test-data", path).toPath());
+    }
+
+    /**
+     * Reads every file of an archive in archive order, in reverse order, and with two streams open at once.
+     */
+    private void testReadEntries(final String scheme, final String filePath) throws IOException {
+        final String fileUri = scheme + ":file:" + new File(filePath).getAbsolutePath() + "!/read-tests";
+        try (StandardFileSystemManager manager = new StandardFileSystemManager()) {
+            manager.init();
+            final FileObject root = manager.resolveFile(fileUri);
+            final List<FileObject> files = new ArrayList<>(Arrays.asList(root.findFiles(Selectors.SELECT_FILES)));
+            assertFalse(files.isEmpty());
+            for (final FileObject file : files) {
+                assertArrayEquals(expectedContent(file), file.getContent().getByteArray(), file.toString());
+            }
+            Collections.reverse(files);
+            for (final FileObject file : files) {
+                assertArrayEquals(expectedContent(file), file.getContent().getByteArray(), file.toString());
+            }
+            final FileObject first = files.get(0);
+            final FileObject second = files.get(files.size() - 1);
+            try (InputStream in1 = first.getContent().getInputStream();
+                InputStream in2 = second.getContent().getInputStream()) {
+                assertArrayEquals(expectedContent(second), IOUtils.toByteArray(in2), second.toString());
+                assertArrayEquals(expectedContent(first), IOUtils.toByteArray(in1), first.toString());
+            }
+        }
+    }
+
+    /**
+     * A reader that never closes its stream gives the shared archive stream up once its file is detached.
+     */
+    @Test
+    public void testReadTgzEntryAfterLeakedStream() throws Exception {
+        final String fileUri = "tgz:file:" + new File("src/test/resources/test-data/test.tgz").getAbsolutePath()
+            + "!/read-tests";
+        try (StandardFileSystemManager manager = new StandardFileSystemManager()) {
+            manager.init();
+            final FileObject[] files = manager.resolveFile(fileUri).findFiles(Selectors.SELECT_FILES);
+            final TarFileObject first = (TarFileObject) FileObjectUtils.getAbstractFileObject(files[0]);
+            final TarFileObject second = (TarFileObject) FileObjectUtils.getAbstractFileObject(files[1]);
+            final InputStream leaked = first.doGetInputStream(0);
+            try (InputStream in = second.doGetInputStream(0)) {
+                // The shared stream is in use, a private one is scanned
+                assertTrue(in instanceof TarArchiveInputStream);
+            }
+            first.refresh();
+            try (InputStream in = second.doGetInputStream(0)) {
+                assertFalse(in instanceof TarArchiveInputStream);
+                assertArrayEquals(expectedContent(second), IOUtils.toByteArray(in), second.toString());
+            }
+            // The leaked stream still reads its entry from the stream it was given up
+            assertArrayEquals(expectedContent(first), IOUtils.toByteArray(leaked), first.toString());
+            leaked.close();
+        }
+    }
+
+    @Test
+    public void testReadTarEntries() throws IOException {
+        testReadEntries("tar", "src/test/resources/test-data/test.tar");
+    }
+
+    @Test
+    public void testReadTbz2Entries() throws IOException {
+        testReadEntries("tbz2", "src/test/resources/test-data/test.tbz2");
+    }
+
+    @Test
+    public void testReadTgzEntries() throws IOException {
+        testReadEntries("tgz", "src/test/resources/test-data/test.tgz");
+    }
+
     @Test
     public void testTarFileUseDefaultFilesCache() throws FileSystemException {
         testUseWeakRefFilesCache("tar", "src/test/resources/test-data/test.tar", null);
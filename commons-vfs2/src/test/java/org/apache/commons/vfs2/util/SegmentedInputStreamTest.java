@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.vfs2.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.function.IOBiFunction;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link SegmentedInputStream}.
+ */
+public class SegmentedInputStreamTest {
+
+    private static byte[] content(final int length) {
+        final byte[] content = new byte[length];
+        new Random(length).nextBytes(content);
+        return content;
+    }
+
+    private static IOBiFunction<Long, Long, InputStream> opener(final byte[] content, final List<String> ranges) {
+        return (first, last) -> {
+            ranges.add(first + "-" + last);
+            return new ByteArrayInputStream(content, first.intValue(), (int) (last - first + 1));
+        };
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        final List<String> ranges = new CopyOnWriteArrayList<>();
+        try (InputStream in = new SegmentedInputStream(0, 10, 4, opener(new byte[0], ranges))) {
+            assertEquals(-1, in.read());
+            assertEquals(-1, in.read(new byte[10]));
+        }
+        assertEquals(0, ranges.size());
+    }
+
+    @Test
+    public void testRangeFailure() throws IOException {
+        final byte[] content = content(100);
+        final IOBiFunction<Long, Long, InputStream> opener = (first, last) -> {
+            if (first.longValue() == 30) {
+                throw new IOException("range " + first);
+            }
+            return new ByteArrayInputStream(content, first.intValue(), (int) (last - first + 1));
+        };
+        try (InputStream in = new SegmentedInputStream(content.length, 10, 4, opener)) {
+            final byte[] buffer = new byte[30];
+            assertEquals(30, IOUtils.read(in, buffer));
+            final IOException e = assertThrows(IOException.class, in::read);
+            assertEquals("range 30", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testRead() throws IOException {
+        final byte[] content = content(1001);
+        final List<String> ranges = new CopyOnWriteArrayList<>();
+        try (InputStream in = new SegmentedInputStream(content.length, 100, 3, opener(content, ranges))) {
+            assertArrayEquals(content, IOUtils.toByteArray(in));
+            assertEquals(-1, in.read());
+        }
+        assertEquals(11, ranges.size());
+        // The last segment holds the single byte past the last full segment
+        assertTrue(ranges.contains("1000-1000"));
+    }
+
+    @Test
+    public void testReadAfterClose() throws IOException {
+        final byte[] content = content(25);
+        final InputStream in = new SegmentedInputStream(content.length, 4, 2,
+            opener(content, new CopyOnWriteArrayList<>()));
+        in.close();
+        assertThrows(IOException.class, in::read);
+    }
+
+    @Test
+    public void testReadSingleBytes() throws IOException {
+        final byte[] content = content(25);
+        try (InputStream in = new SegmentedInputStream(content.length, 4, 2,
+            opener(content, new CopyOnWriteArrayList<>()))) {
+            for (final byte b : content) {
+                assertEquals(b & 0xff, in.read());
+            }
+            assertEquals(-1, in.read());
+        }
+    }
+}